@@ -0,0 +1,119 @@
+package com.projectmaster.app.common.cache;
+
+import com.projectmaster.app.common.transaction.TransactionCallbacks;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Small in-memory cache whose entries expire after a TTL, for state that is read on hot
+ * paths and changed rarely. Evictions happen now and again once the current transaction
+ * commits, so a reader racing the change cannot re-cache the old value; a value loaded
+ * while any eviction ran is returned but not cached. Evictions are local to this node.
+ */
+@Slf4j
+public class TtlCache<K, V> {
+
+    private final String name;
+    private final long ttlNanos;
+    private final int maxEntries;
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    // Bumped by every eviction, so a load that started before one is not cached
+    private final AtomicLong evictions = new AtomicLong();
+
+    private record Entry<V>(V value, long expiresAtNanos) {
+    }
+
+    public TtlCache(String name, Duration ttl, int maxEntries) {
+        this.name = name;
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * The cached value for a key, loading it if missing or expired. A null from the loader
+     * is returned without being cached.
+     */
+    public V get(K key, Supplier<? extends V> loader) {
+        return get(key, value -> true, loader);
+    }
+
+    /**
+     * The cached value for a key if it is live and still current, otherwise a freshly
+     * loaded one that replaces it
+     */
+    public V get(K key, Predicate<? super V> current, Supplier<? extends V> loader) {
+        long now = System.nanoTime();
+        Entry<V> cached = entries.get(key);
+        if (cached != null && now - cached.expiresAtNanos() < 0 && current.test(cached.value())) {
+            return cached.value();
+        }
+
+        long evictionsBefore = evictions.get();
+        V value = loader.get();
+        if (value == null) {
+            entries.remove(key);
+            return null;
+        }
+        if (entries.size() >= maxEntries) {
+            evictExpired(now);
+        }
+        // Checked under the key's lock: an eviction of the key either bumps the count first
+        // or removes this entry after it is stored
+        Entry<V> loaded = new Entry<>(value, now + ttlNanos);
+        entries.compute(key, (k, existing) -> evictions.get() == evictionsBefore ? loaded : existing);
+        return value;
+    }
+
+    /**
+     * Drop a key now and again once the current transaction (if any) commits
+     */
+    public void evict(K key) {
+        evictNow(key);
+        TransactionCallbacks.afterCommit(() -> evictNow(key));
+    }
+
+    /**
+     * Drop every entry now and again once the current transaction (if any) commits
+     */
+    public void evictAll() {
+        evictAllNow();
+        TransactionCallbacks.afterCommit(this::evictAllNow);
+    }
+
+    /**
+     * Number of entries held, live or expired
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private void evictNow(K key) {
+        entries.compute(key, (k, existing) -> {
+            evictions.incrementAndGet();
+            return null;
+        });
+    }
+
+    private void evictAllNow() {
+        // clear() locks each bin in turn, so a store that passed the check before the
+        // count was bumped still holds its bin's lock and is cleared once it lets go
+        evictions.incrementAndGet();
+        entries.clear();
+    }
+
+    private void evictExpired(long now) {
+        entries.values().removeIf(entry -> now - entry.expiresAtNanos() >= 0);
+        if (entries.size() >= maxEntries) {
+            // Everything is still live; start over rather than track recency on the hot path
+            log.debug("{} cache full with {} live entries, clearing", name, entries.size());
+            entries.clear();
+        }
+    }
+}
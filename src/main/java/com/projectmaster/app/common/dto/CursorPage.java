@@ -0,0 +1,68 @@
+package com.projectmaster.app.common.dto;
+
+import com.projectmaster.app.common.entity.BaseEntity;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * One page of a keyset-paginated feed. Carries no totals; clients request the
+ * next page by sending nextCursor back until hasNext is false.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasNext;
+    private int size;
+
+    /**
+     * Build a page from rows fetched with {@link KeysetCursor#limitFor(int)}, in feed order
+     */
+    public static <E extends BaseEntity, T> CursorPage<T> from(List<E> rows, int pageSize, Function<E, T> mapper) {
+        return from(rows, pageSize, BaseEntity::getCreatedAt, BaseEntity::getId, mapper);
+    }
+
+    /**
+     * Build a page from projected rows, reading the cursor position through the given accessors
+     */
+    public static <E, T> CursorPage<T> from(List<E> rows, int pageSize, Function<E, Instant> createdAt,
+                                            Function<E, UUID> id, Function<E, T> mapper) {
+        boolean hasNext = rows.size() > pageSize;
+        List<E> page = hasNext ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            E last = page.get(page.size() - 1);
+            nextCursor = KeysetCursor.of(createdAt.apply(last), id.apply(last)).encode();
+        }
+
+        return CursorPage.<T>builder()
+                .items(page.stream().map(mapper).toList())
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .size(page.size())
+                .build();
+    }
+
+    /**
+     * Put rows loaded by id back into the feed order of the keyset id query
+     */
+    public static <E extends BaseEntity> List<E> inIdOrder(List<UUID> ids, List<E> rows) {
+        Map<UUID, E> byId = rows.stream().collect(Collectors.toMap(BaseEntity::getId, Function.identity(), (a, b) -> a));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+}
@@ -0,0 +1,75 @@
+package com.projectmaster.app.common.dto;
+
+import com.projectmaster.app.common.exception.ProjectMasterException;
+import lombok.Getter;
+import org.springframework.data.domain.Limit;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in a feed ordered by (createdAt DESC, id DESC), exchanged with clients
+ * as an opaque URL-safe token. Feed queries select rows strictly after this position.
+ */
+@Getter
+public final class KeysetCursor {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    // Sorts after every real row, so the first page needs no separate query
+    private static final KeysetCursor START =
+            new KeysetCursor(Instant.parse("9999-12-31T23:59:59Z"), new UUID(-1L, -1L));
+
+    private final Instant createdAt;
+    private final UUID id;
+
+    private KeysetCursor(Instant createdAt, UUID id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    public static KeysetCursor of(Instant createdAt, UUID id) {
+        return new KeysetCursor(createdAt, id);
+    }
+
+    /**
+     * Decode a continuation token; a missing token means the start of the feed
+     */
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return START;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|", 3);
+            return new KeysetCursor(Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1])),
+                    UUID.fromString(parts[2]));
+        } catch (RuntimeException e) {
+            throw new ProjectMasterException("Invalid pagination cursor", "INVALID_CURSOR");
+        }
+    }
+
+    public String encode() {
+        String raw = createdAt.getEpochSecond() + "|" + createdAt.getNano() + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Clamp a requested page size to 1..MAX_PAGE_SIZE
+     */
+    public static int pageSize(Integer requested) {
+        if (requested == null || requested < 1) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(requested, MAX_PAGE_SIZE);
+    }
+
+    /**
+     * Query limit for a page: one extra row tells whether another page exists
+     */
+    public static Limit limitFor(int pageSize) {
+        return Limit.of(pageSize + 1);
+    }
+}
@@ -0,0 +1,35 @@
+package com.projectmaster.app.common.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Number of live records pointing at a stored blob. When the count drops to zero the
+ * blob is kept for a grace period and then removed by the storage garbage collector.
+ */
+@Entity
+@Table(name = "blob_references",
+       uniqueConstraints = @UniqueConstraint(name = "uk_blob_references_storage_key", columnNames = "storage_key"),
+       indexes = @Index(name = "idx_blob_references_released_at", columnList = "released_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BlobReference extends BaseEntity {
+
+    @Column(name = "storage_key", nullable = false, length = 64)
+    private String storageKey;
+
+    @Builder.Default
+    @Column(name = "reference_count", nullable = false)
+    private Long referenceCount = 0L;
+
+    @Column(name = "size_bytes")
+    private Long sizeBytes;
+
+    @Column(name = "released_at")
+    private Instant releasedAt;
+}
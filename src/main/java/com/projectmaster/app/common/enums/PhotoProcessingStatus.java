@@ -0,0 +1,17 @@
+package com.projectmaster.app.common.enums;
+
+public enum PhotoProcessingStatus {
+    PROCESSING("Processing"),
+    READY("Ready"),
+    FAILED("Failed");
+
+    private final String displayName;
+
+    PhotoProcessingStatus(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+}
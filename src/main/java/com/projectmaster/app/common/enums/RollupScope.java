@@ -0,0 +1,16 @@
+package com.projectmaster.app.common.enums;
+
+public enum RollupScope {
+    PROJECT("Project"),
+    USER("User");
+
+    private final String displayName;
+
+    RollupScope(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+}
@@ -0,0 +1,18 @@
+package com.projectmaster.app.common.enums;
+
+public enum SearchEntityType {
+    CUSTOMER("Customer"),
+    SUPPLIER("Supplier"),
+    CONTRACTOR("Contractor"),
+    PROJECT("Project");
+
+    private final String displayName;
+
+    SearchEntityType(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+}
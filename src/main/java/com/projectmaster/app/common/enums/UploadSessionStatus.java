@@ -0,0 +1,19 @@
+package com.projectmaster.app.common.enums;
+
+public enum UploadSessionStatus {
+    INITIATED("Initiated"),
+    COMPLETED("Completed"),
+    CONSUMED("Consumed"),
+    ABORTED("Aborted"),
+    EXPIRED("Expired");
+
+    private final String displayName;
+
+    UploadSessionStatus(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+}
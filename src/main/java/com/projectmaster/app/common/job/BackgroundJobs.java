@@ -0,0 +1,78 @@
+package com.projectmaster.app.common.job;
+
+import com.projectmaster.app.common.transaction.TransactionCallbacks;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs persisted jobs on virtual threads, at most once at a time per job id on this node.
+ * Jobs are expected to be resumable: one submitted while shutting down is dropped and left
+ * for the owner's periodic sweep to submit again. The owning service calls shutdown from
+ * its @PreDestroy.
+ */
+@Slf4j
+public class BackgroundJobs {
+
+    private final String name;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Set<UUID> inFlight = ConcurrentHashMap.newKeySet();
+
+    public BackgroundJobs(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Run a job unless it is already running on this node
+     */
+    public void submit(UUID jobId, Runnable job) {
+        if (!inFlight.add(jobId)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    job.run();
+                } finally {
+                    inFlight.remove(jobId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(jobId);
+            log.warn("{} jobs are shutting down; {} will be picked up by the sweep", name, jobId);
+        }
+    }
+
+    /**
+     * Run a job once the current transaction (if any) commits
+     */
+    public void submitAfterCommit(UUID jobId, Runnable job) {
+        TransactionCallbacks.afterCommit(() -> submit(jobId, job));
+    }
+
+    /**
+     * The underlying executor, for work a job fans out to
+     */
+    public Executor executor() {
+        return executor;
+    }
+
+    /**
+     * Interrupt running jobs and wait briefly for them to stop
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
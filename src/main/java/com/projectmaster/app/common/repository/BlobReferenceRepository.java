@@ -0,0 +1,75 @@
+package com.projectmaster.app.common.repository;
+
+import com.projectmaster.app.common.entity.BlobReference;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface BlobReferenceRepository extends JpaRepository<BlobReference, UUID> {
+
+    /**
+     * Atomically add a reference to a blob, creating the row if needed
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO blob_references (id, storage_key, reference_count, size_bytes, released_at, created_at, updated_at) " +
+           "VALUES (gen_random_uuid(), :storageKey, 1, :sizeBytes, NULL, now(), now()) " +
+           "ON CONFLICT (storage_key) DO UPDATE SET " +
+           "reference_count = blob_references.reference_count + 1, released_at = NULL, updated_at = now()", nativeQuery = true)
+    void acquire(@Param("storageKey") String storageKey, @Param("sizeBytes") long sizeBytes);
+
+    /**
+     * Record a stored blob as unreferenced so the collection job can remove it; leaves an
+     * existing row alone, as other records may reference the same content. Runs in its own
+     * transaction as it is called once the transaction that stored the blob has rolled back
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query(value = "INSERT INTO blob_references (id, storage_key, reference_count, size_bytes, released_at, created_at, updated_at) " +
+           "VALUES (gen_random_uuid(), :storageKey, 0, :sizeBytes, now(), now(), now()) " +
+           "ON CONFLICT (storage_key) DO NOTHING", nativeQuery = true)
+    void registerUnreferenced(@Param("storageKey") String storageKey, @Param("sizeBytes") long sizeBytes);
+
+    /**
+     * Atomically drop a reference to a blob, stamping the release time when the last one goes
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE blob_references SET reference_count = GREATEST(reference_count - 1, 0), " +
+           "released_at = CASE WHEN reference_count <= 1 THEN now() ELSE released_at END, updated_at = now() " +
+           "WHERE storage_key = :storageKey", nativeQuery = true)
+    int release(@Param("storageKey") String storageKey);
+
+    /**
+     * Find blobs that have had no references since before the cutoff
+     */
+    @Query("SELECT r.storageKey FROM BlobReference r " +
+           "WHERE r.referenceCount = 0 AND r.releasedAt < :cutoff ORDER BY r.releasedAt")
+    List<String> findKeysReleasedBefore(@Param("cutoff") Instant cutoff, Limit limit);
+
+    /**
+     * Lock a blob's row if it is unreferenced and no transaction is acquiring it; a concurrent
+     * acquire then waits until the locking transaction ends
+     */
+    @Query(value = "SELECT storage_key FROM blob_references WHERE storage_key = :storageKey AND reference_count = 0 " +
+           "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<String> lockIfUnreferenced(@Param("storageKey") String storageKey);
+
+    /**
+     * Remove a blob's row if it is still unreferenced; returns 0 if it was re-acquired meanwhile
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM blob_references WHERE storage_key = :storageKey AND reference_count = 0", nativeQuery = true)
+    int deleteIfUnreferenced(@Param("storageKey") String storageKey);
+}
@@ -0,0 +1,258 @@
+package com.projectmaster.app.common.service;
+
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOException;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+
+/**
+ * Produces web renditions of camera photos: the image is turned upright according to its
+ * EXIF orientation, scaled so the longest side fits a cap, and re-encoded as a plain JPEG.
+ * The output carries no EXIF at all, so GPS position and device details are dropped.
+ */
+@Component
+public class ImageNormalizer {
+
+    private static final float JPEG_QUALITY = 0.85f;
+    private static final int ORIENTATION_TAG = 0x0112;
+    private static final byte[] EXIF_HEADER = "Exif\0\0".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * A normalised JPEG and the upright dimensions of the image it was made from
+     */
+    public record Rendition(byte[] jpeg, int width, int height, int originalWidth, int originalHeight) {
+    }
+
+    /**
+     * Thrown when the content is not an image the decoder can read, as opposed to a failure
+     * reading the content itself
+     */
+    public static class UnreadableImageException extends IOException {
+        public UnreadableImageException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+    /**
+     * Whether the decoder has a reader for the content's image format
+     */
+    public boolean canDecode(InputStreamSource source) throws IOException {
+        try (InputStream in = source.getInputStream();
+             ImageInputStream imageIn = ImageIO.createImageInputStream(in)) {
+            return imageIn != null && ImageIO.getImageReaders(imageIn).hasNext();
+        }
+    }
+
+    /**
+     * Build a rendition whose longest side is at most maxDimension
+     */
+    public Rendition normalize(Resource source, int maxDimension) throws IOException {
+        int orientation;
+        try (InputStream in = source.getInputStream()) {
+            orientation = readExifOrientation(in);
+        }
+
+        try (InputStream in = source.getInputStream();
+             ImageInputStream imageIn = ImageIO.createImageInputStream(in)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(imageIn);
+            if (!readers.hasNext()) {
+                throw new UnreadableImageException("Unsupported image format", null);
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(imageIn, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                // Skip pixels while decoding so a 48MP frame is never fully materialised
+                int step = Math.max(1, Math.max(width, height) / (maxDimension * 2));
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                BufferedImage upright = orient(scale(reader.read(0, param), maxDimension), orientation);
+
+                boolean swapped = orientation >= 5;
+                return new Rendition(encodeJpeg(upright), upright.getWidth(), upright.getHeight(),
+                        swapped ? height : width, swapped ? width : height);
+            } catch (IIOException e) {
+                throw new UnreadableImageException("Image could not be decoded: " + e.getMessage(), e);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * EXIF orientation (1-8) of a JPEG stream, or 1 when the stream is not a JPEG or carries
+     * no orientation. Reads only the segments before the image data.
+     */
+    public static int readExifOrientation(InputStream stream) throws IOException {
+        DataInputStream in = new DataInputStream(stream);
+        try {
+            if (in.readUnsignedShort() != 0xFFD8) {
+                return 1;
+            }
+            while (true) {
+                int marker = in.readUnsignedByte();
+                if (marker != 0xFF) {
+                    return 1;
+                }
+                int type = in.readUnsignedByte();
+                while (type == 0xFF) {
+                    type = in.readUnsignedByte();
+                }
+                if (type == 0xDA || type == 0xD9) {
+                    // Start of scan or end of image: no more metadata segments
+                    return 1;
+                }
+                int length = in.readUnsignedShort() - 2;
+                if (length < 0) {
+                    return 1;
+                }
+                if (type == 0xE1) {
+                    byte[] segment = in.readNBytes(length);
+                    int orientation = orientationFromApp1(segment);
+                    if (orientation > 0) {
+                        return orientation;
+                    }
+                } else {
+                    in.skipNBytes(length);
+                }
+            }
+        } catch (EOFException e) {
+            return 1;
+        }
+    }
+
+    /**
+     * Orientation from an APP1 segment, or 0 if it is not an EXIF segment with one
+     */
+    private static int orientationFromApp1(byte[] segment) {
+        if (segment.length < EXIF_HEADER.length + 8) {
+            return 0;
+        }
+        for (int i = 0; i < EXIF_HEADER.length; i++) {
+            if (segment[i] != EXIF_HEADER[i]) {
+                return 0;
+            }
+        }
+
+        // TIFF header: byte order, the magic number 42, then the offset of IFD0
+        ByteBuffer tiff = ByteBuffer.wrap(segment, EXIF_HEADER.length, segment.length - EXIF_HEADER.length).slice();
+        if (tiff.get(0) == 'I' && tiff.get(1) == 'I') {
+            tiff.order(ByteOrder.LITTLE_ENDIAN);
+        } else if (tiff.get(0) != 'M' || tiff.get(1) != 'M') {
+            return 0;
+        }
+        if (tiff.getShort(2) != 42) {
+            return 0;
+        }
+
+        long ifdOffset = tiff.getInt(4) & 0xFFFFFFFFL;
+        if (ifdOffset + 2 > tiff.limit()) {
+            return 0;
+        }
+        int entries = tiff.getShort((int) ifdOffset) & 0xFFFF;
+        for (int i = 0; i < entries; i++) {
+            int entry = (int) ifdOffset + 2 + i * 12;
+            if (entry + 12 > tiff.limit()) {
+                return 0;
+            }
+            if ((tiff.getShort(entry) & 0xFFFF) == ORIENTATION_TAG) {
+                int orientation = tiff.getShort(entry + 8) & 0xFFFF;
+                return orientation >= 1 && orientation <= 8 ? orientation : 0;
+            }
+        }
+        return 0;
+    }
+
+    private static BufferedImage scale(BufferedImage image, int maxDimension) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        double ratio = Math.min(1.0, (double) maxDimension / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(height * ratio));
+
+        // JPEG has no alpha channel, so transparent areas are flattened onto white
+        BufferedImage target = new BufferedImage(targetWidth, targetHeight, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, targetWidth, targetHeight);
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(image, 0, 0, targetWidth, targetHeight, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    /**
+     * Apply an EXIF orientation so the image displays upright without metadata
+     */
+    private static BufferedImage orient(BufferedImage image, int orientation) {
+        if (orientation <= 1 || orientation > 8) {
+            return image;
+        }
+        int w = image.getWidth();
+        int h = image.getHeight();
+        AffineTransform transform = switch (orientation) {
+            case 2 -> new AffineTransform(-1, 0, 0, 1, w, 0);  // mirror horizontally
+            case 3 -> new AffineTransform(-1, 0, 0, -1, w, h); // rotate 180
+            case 4 -> new AffineTransform(1, 0, 0, -1, 0, h);  // mirror vertically
+            case 5 -> new AffineTransform(0, 1, 1, 0, 0, 0);   // transpose
+            case 6 -> new AffineTransform(0, 1, -1, 0, h, 0);  // rotate 90 clockwise
+            case 7 -> new AffineTransform(0, -1, -1, 0, h, w); // transverse
+            default -> new AffineTransform(0, -1, 1, 0, 0, w); // rotate 90 counter-clockwise
+        };
+
+        boolean swapped = orientation >= 5;
+        BufferedImage target = new BufferedImage(swapped ? h : w, swapped ? w : h, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.drawImage(image, transform, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private static byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(bytes)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.setOutput(out);
+            // No source metadata is passed, so only a bare JFIF header is written
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,263 @@
+package com.projectmaster.app.common.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Generates JPEG thumbnails of images at a few fixed sizes. Thumbnails are cached on
+ * disk by source key and size, and the most recently used ones are also held in a
+ * byte-bounded in-memory LRU. Source keys must identify immutable content (a content
+ * checksum, or the id of a file that is never rewritten).
+ */
+@Service
+@Slf4j
+public class ThumbnailService {
+
+    public static final int[] SIZES = {128, 256, 512};
+
+    private static final Pattern SOURCE_KEY_PATTERN = Pattern.compile("[A-Za-z0-9_-]{1,128}");
+    private static final Set<String> SUPPORTED_MIME_TYPES = Set.of(
+            "image/jpeg", "image/jpg", "image/png", "image/gif", "image/bmp");
+    private static final float JPEG_QUALITY = 0.82f;
+
+    @Value("${app.thumbnails.cache-dir:uploads/thumbnails}")
+    private String cacheDir;
+
+    @Value("${app.thumbnails.memory-cache-bytes:33554432}") // 32MB default
+    private long memoryCacheBytes;
+
+    private final Map<String, byte[]> memoryCache = new LinkedHashMap<>(256, 0.75f, true);
+    private long memoryCacheSize;
+
+    /**
+     * Source of the original image, opened only when a thumbnail must be generated
+     */
+    @FunctionalInterface
+    public interface ImageSource {
+        Resource open() throws IOException;
+    }
+
+    /**
+     * Whether thumbnails can be generated for this MIME type
+     */
+    public static boolean supports(String mimeType) {
+        return mimeType != null && SUPPORTED_MIME_TYPES.contains(mimeType.toLowerCase());
+    }
+
+    /**
+     * Smallest fixed size that covers the requested size, capped at the largest
+     */
+    public static int fixedSizeFor(int requestedSize) {
+        for (int size : SIZES) {
+            if (requestedSize <= size) {
+                return size;
+            }
+        }
+        return SIZES[SIZES.length - 1];
+    }
+
+    /**
+     * Get a thumbnail, generating and caching it on first request
+     */
+    public Resource getThumbnail(String sourceKey, int requestedSize, ImageSource source) throws IOException {
+        int size = fixedSizeFor(requestedSize);
+        String cacheKey = cacheKey(sourceKey, size);
+
+        byte[] thumbnail = getCached(cacheKey);
+        if (thumbnail == null) {
+            Path path = diskPath(sourceKey, size);
+            if (Files.exists(path)) {
+                thumbnail = Files.readAllBytes(path);
+            } else {
+                thumbnail = generate(source, size);
+                writeToDisk(path, thumbnail);
+            }
+            putCached(cacheKey, thumbnail);
+        }
+        return new ByteArrayResource(thumbnail);
+    }
+
+    /**
+     * Generate every fixed size in the background so the first gallery view is served from cache
+     */
+    @Async
+    public void pregenerate(String sourceKey, ImageSource source) {
+        for (int size : SIZES) {
+            try {
+                Path path = diskPath(sourceKey, size);
+                if (!Files.exists(path)) {
+                    writeToDisk(path, generate(source, size));
+                }
+            } catch (IOException | RuntimeException e) {
+                log.warn("Failed to pre-generate {}px thumbnail for {}", size, sourceKey, e);
+                return;
+            }
+        }
+        log.debug("Pre-generated thumbnails for {}", sourceKey);
+    }
+
+    /**
+     * Drop every cached size of a source whose content is being deleted
+     */
+    public void evict(String sourceKey) {
+        for (int size : SIZES) {
+            removeCached(cacheKey(sourceKey, size));
+            try {
+                Files.deleteIfExists(diskPath(sourceKey, size));
+            } catch (IOException e) {
+                log.warn("Failed to delete cached thumbnail for {}", sourceKey, e);
+            }
+        }
+    }
+
+    private byte[] generate(ImageSource source, int size) throws IOException {
+        BufferedImage original = readSubsampled(source.open(), size);
+        BufferedImage scaled = scale(original, size);
+        return encodeJpeg(scaled);
+    }
+
+    /**
+     * Decode the image, skipping pixels so the decoded bitmap is about twice the target
+     * size instead of the full camera resolution
+     */
+    private BufferedImage readSubsampled(Resource resource, int size) throws IOException {
+        try (InputStream in = resource.getInputStream();
+             ImageInputStream imageIn = ImageIO.createImageInputStream(in)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(imageIn);
+            if (!readers.hasNext()) {
+                throw new IOException("Unsupported image format");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(imageIn, true, true);
+                int longestSide = Math.max(reader.getWidth(0), reader.getHeight(0));
+                int step = Math.max(1, longestSide / (size * 2));
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage scale(BufferedImage image, int size) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        double ratio = Math.min(1.0, (double) size / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(height * ratio));
+
+        // JPEG has no alpha channel, so transparent areas are flattened onto white
+        BufferedImage target = new BufferedImage(targetWidth, targetHeight, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, targetWidth, targetHeight);
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(image, 0, 0, targetWidth, targetHeight, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(bytes)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+
+    private void writeToDisk(Path path, byte[] thumbnail) throws IOException {
+        Files.createDirectories(path.getParent());
+        Path temp = Files.createTempFile(path.getParent(), "thumb-", ".part");
+        try {
+            Files.write(temp, thumbnail);
+            try {
+                Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private Path diskPath(String sourceKey, int size) {
+        if (sourceKey == null || !SOURCE_KEY_PATTERN.matcher(sourceKey).matches()) {
+            throw new IllegalArgumentException("Invalid thumbnail source key: " + sourceKey);
+        }
+        String shard = sourceKey.length() >= 2 ? sourceKey.substring(0, 2) : sourceKey;
+        return Paths.get(cacheDir, shard, cacheKey(sourceKey, size) + ".jpg");
+    }
+
+    private static String cacheKey(String sourceKey, int size) {
+        return sourceKey + "_" + size;
+    }
+
+    private synchronized byte[] getCached(String cacheKey) {
+        return memoryCache.get(cacheKey);
+    }
+
+    private synchronized void removeCached(String cacheKey) {
+        byte[] removed = memoryCache.remove(cacheKey);
+        if (removed != null) {
+            memoryCacheSize -= removed.length;
+        }
+    }
+
+    private synchronized void putCached(String cacheKey, byte[] thumbnail) {
+        if (thumbnail.length > memoryCacheBytes) {
+            return;
+        }
+        byte[] previous = memoryCache.put(cacheKey, thumbnail);
+        memoryCacheSize += thumbnail.length - (previous != null ? previous.length : 0);
+
+        Iterator<byte[]> eldest = memoryCache.values().iterator();
+        while (memoryCacheSize > memoryCacheBytes && eldest.hasNext()) {
+            memoryCacheSize -= eldest.next().length;
+            eldest.remove();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.projectmaster.app.common.storage;
+
+import com.projectmaster.app.common.repository.BlobReferenceRepository;
+import com.projectmaster.app.common.service.ThumbnailService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+
+/**
+ * Deletes one unreferenced blob in its own transaction. The blob's row stays locked until
+ * its content is gone, so an upload of the same content acquiring a reference meanwhile
+ * waits and then finds the content missing rather than referencing a deleted blob.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class BlobDeletionService {
+
+    private final BlobReferenceRepository blobReferenceRepository;
+    private final BlobStorage blobStorage;
+    private final ThumbnailService thumbnailService;
+
+    /**
+     * Delete a blob and its row if it is still unreferenced; returns false if it was
+     * re-acquired, is being acquired, or could not be deleted
+     */
+    public boolean deleteIfUnreferenced(String storageKey) {
+        if (blobReferenceRepository.lockIfUnreferenced(storageKey).isEmpty()) {
+            return false;
+        }
+        try {
+            thumbnailService.evict(storageKey);
+            blobStorage.delete(storageKey);
+        } catch (IOException e) {
+            // The row stays so the next run tries again
+            log.error("Failed to delete unreferenced blob {}", storageKey, e);
+            return false;
+        }
+        return blobReferenceRepository.deleteIfUnreferenced(storageKey) > 0;
+    }
+}
@@ -0,0 +1,108 @@
+package com.projectmaster.app.common.storage;
+
+import com.projectmaster.app.common.repository.BlobReferenceRepository;
+import com.projectmaster.app.common.transaction.TransactionCallbacks;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Reference counting for content-addressed blobs. Records that point at a blob acquire
+ * a reference in their own transaction and release it when archived or deleted; a
+ * scheduled job removes blobs that have stayed unreferenced for the grace period, which
+ * leaves room to restore an archived record without losing its content. The job locks a
+ * blob's row while deleting its content, so an acquire racing it waits until the content
+ * is gone and can then tell that it must be stored again.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BlobReferenceService {
+
+    private final BlobReferenceRepository blobReferenceRepository;
+    private final BlobStorage blobStorage;
+    private final BlobDeletionService blobDeletionService;
+
+    @Value("${app.storage.gc.grace-hours:24}")
+    private long graceHours;
+
+    @Value("${app.storage.gc.batch-size:200}")
+    private int batchSize;
+
+    /**
+     * Add a reference to a stored blob
+     */
+    public void acquire(String storageKey, Long sizeBytes) {
+        if (storageKey != null) {
+            blobReferenceRepository.acquire(storageKey, sizeBytes != null ? sizeBytes : 0L);
+        }
+    }
+
+    /**
+     * Store content and add a reference to it. Storing content identical to an unreferenced
+     * blob is skipped, which may coincide with the job deleting that blob, so the content is
+     * stored again if it is missing once the reference is held. If the surrounding
+     * transaction rolls back, the reference goes with it and the blob is handed to the job
+     */
+    public StoredBlob storeAndAcquire(InputStreamSource content) throws IOException {
+        StoredBlob blob;
+        try (InputStream input = content.getInputStream()) {
+            blob = blobStorage.store(input);
+        }
+        TransactionCallbacks.afterRollback(
+                () -> blobReferenceRepository.registerUnreferenced(blob.getKey(), blob.getSize()));
+        acquire(blob.getKey(), blob.getSize());
+        if (!blobStorage.exists(blob.getKey())) {
+            log.info("Blob {} was collected while being stored, storing it again", blob.getKey());
+            try (InputStream input = content.getInputStream()) {
+                blobStorage.store(input);
+            }
+        }
+        return blob;
+    }
+
+    /**
+     * Drop a reference to a stored blob
+     */
+    public void release(String storageKey) {
+        if (storageKey != null && blobReferenceRepository.release(storageKey) == 0) {
+            log.warn("Released blob {} that had no reference row", storageKey);
+        }
+    }
+
+    /**
+     * Delete blobs unreferenced for longer than the grace period (scheduled job)
+     */
+    @Scheduled(cron = "${app.storage.gc.cron:0 15 3 * * ?}") // Run daily at 3:15 AM by default
+    public void collectUnreferencedBlobs() {
+        Instant cutoff = Instant.now().minus(Duration.ofHours(graceHours));
+        int freed = 0;
+
+        List<String> keys = blobReferenceRepository.findKeysReleasedBefore(cutoff, Limit.of(batchSize));
+        while (!keys.isEmpty()) {
+            for (String storageKey : keys) {
+                if (blobDeletionService.deleteIfUnreferenced(storageKey)) {
+                    freed++;
+                }
+            }
+            if (keys.size() < batchSize) {
+                break;
+            }
+            keys = blobReferenceRepository.findKeysReleasedBefore(cutoff, Limit.of(batchSize));
+        }
+
+        if (freed > 0) {
+            log.info("Deleted {} unreferenced blobs", freed);
+        }
+    }
+}
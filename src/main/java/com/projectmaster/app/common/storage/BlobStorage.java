@@ -0,0 +1,30 @@
+package com.projectmaster.app.common.storage;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Content-addressed binary storage. Blobs are keyed by the lowercase hex SHA-256
+ * of their bytes, so storing identical content twice yields the same key.
+ */
+public interface BlobStorage {
+
+    /**
+     * Stream content into storage, hashing it on the way through
+     */
+    StoredBlob store(InputStream content) throws IOException;
+
+    /**
+     * Get a readable resource for a stored blob; reading it streams from storage
+     */
+    Resource load(String key) throws IOException;
+
+    boolean exists(String key);
+
+    /**
+     * Remove a blob; returns false if it was not present
+     */
+    boolean delete(String key) throws IOException;
+}
@@ -0,0 +1,119 @@
+package com.projectmaster.app.common.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/**
+ * Blob storage on the local filesystem. Blobs live at {root}/ab/cd/{key} where
+ * ab and cd are the first two byte pairs of the key, keeping directories small.
+ * Content is written to a temp file and renamed into place once its hash is known.
+ * This is the default backend (app.storage.backend=local).
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.backend", havingValue = "local", matchIfMissing = true)
+@Slf4j
+public class LocalFileSystemBlobStorage implements BlobStorage {
+
+    private static final Pattern KEY_PATTERN = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path root;
+    private final Path tempDir;
+
+    public LocalFileSystemBlobStorage(@Value("${app.storage.local.root:uploads/blobs}") String root) throws IOException {
+        this.root = Paths.get(root).toAbsolutePath().normalize();
+        this.tempDir = this.root.resolve("tmp");
+        Files.createDirectories(tempDir);
+    }
+
+    @Override
+    public StoredBlob store(InputStream content) throws IOException {
+        MessageDigest digest = newDigest();
+        Path temp = Files.createTempFile(tempDir, "upload-", ".part");
+        long size;
+        try {
+            try (DigestInputStream in = new DigestInputStream(content, digest);
+                 OutputStream out = Files.newOutputStream(temp)) {
+                size = in.transferTo(out);
+            }
+
+            byte[] sha256 = digest.digest();
+            String key = HexFormat.of().formatHex(sha256);
+            Path target = pathFor(key);
+
+            if (Files.exists(target)) {
+                log.debug("Blob {} already stored, discarding duplicate upload", key);
+            } else {
+                Files.createDirectories(target.getParent());
+                moveIntoPlace(temp, target);
+            }
+            return new StoredBlob(key, size, sha256);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public Resource load(String key) throws IOException {
+        Path path = pathFor(key);
+        if (!Files.exists(path)) {
+            throw new FileNotFoundException("Blob not found: " + key);
+        }
+        return new FileSystemResource(path);
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return Files.exists(pathFor(key));
+    }
+
+    @Override
+    public boolean delete(String key) throws IOException {
+        return Files.deleteIfExists(pathFor(key));
+    }
+
+    private Path pathFor(String key) {
+        if (key == null || !KEY_PATTERN.matcher(key).matches()) {
+            throw new IllegalArgumentException("Invalid blob key: " + key);
+        }
+        return root.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key);
+    }
+
+    private void moveIntoPlace(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target);
+        } catch (FileAlreadyExistsException e) {
+            // A concurrent upload of the same content won the race; its bytes are identical
+            log.debug("Blob {} stored concurrently", target.getFileName());
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.projectmaster.app.common.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.regex.Pattern;
+
+/**
+ * Blob storage in an S3-compatible object store, enabled with app.storage.backend=s3.
+ * Objects are addressed path-style as {endpoint}/{bucket}/{prefix}/ab/cd/{key}. Uploads
+ * are spooled to a local temp file while hashing, since the key is the content hash and
+ * must be known before the PUT; reads stream straight from the object store.
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.backend", havingValue = "s3")
+@Slf4j
+public class S3BlobStorage implements BlobStorage {
+
+    private static final Pattern KEY_PATTERN = Pattern.compile("[0-9a-f]{64}");
+
+    private final HttpClient httpClient;
+    private final S3RequestSigner signer;
+    private final String bucketUrl;
+    private final String prefix;
+    private final Path spoolDir;
+
+    public S3BlobStorage(@Value("${app.storage.s3.endpoint}") String endpoint,
+                         @Value("${app.storage.s3.region:us-east-1}") String region,
+                         @Value("${app.storage.s3.bucket}") String bucket,
+                         @Value("${app.storage.s3.access-key}") String accessKey,
+                         @Value("${app.storage.s3.secret-key}") String secretKey,
+                         @Value("${app.storage.s3.prefix:blobs}") String prefix,
+                         @Value("${app.storage.s3.spool-dir:${java.io.tmpdir}}") String spoolDir) throws IOException {
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        this.signer = new S3RequestSigner(region, accessKey, secretKey);
+        this.bucketUrl = endpoint.replaceAll("/+$", "") + "/" + bucket;
+        this.prefix = prefix.replaceAll("^/+|/+$", "");
+        this.spoolDir = Paths.get(spoolDir).toAbsolutePath().normalize();
+        Files.createDirectories(this.spoolDir);
+    }
+
+    @Override
+    public StoredBlob store(InputStream content) throws IOException {
+        MessageDigest digest = newDigest();
+        Path temp = Files.createTempFile(spoolDir, "blob-", ".part");
+        try {
+            long size;
+            try (DigestInputStream in = new DigestInputStream(content, digest);
+                 OutputStream out = Files.newOutputStream(temp)) {
+                size = in.transferTo(out);
+            }
+
+            byte[] sha256 = digest.digest();
+            String key = HexFormat.of().formatHex(sha256);
+
+            if (head(key).isPresent()) {
+                log.debug("Blob {} already stored, discarding duplicate upload", key);
+            } else {
+                // The key is the payload hash, so the body is signed without a second read
+                HttpResponse<Void> response = send("PUT", key, key, HttpRequest.BodyPublishers.ofFile(temp),
+                        HttpResponse.BodyHandlers.discarding());
+                requireSuccess(response, "store", key);
+            }
+            return new StoredBlob(key, size, sha256);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public Resource load(String key) throws IOException {
+        OptionalLong length = head(key);
+        if (length.isEmpty()) {
+            throw new FileNotFoundException("Blob not found: " + key);
+        }
+        return new ObjectResource(key, length.getAsLong());
+    }
+
+    @Override
+    public boolean exists(String key) {
+        try {
+            return head(key).isPresent();
+        } catch (IOException e) {
+            log.warn("Failed to check blob {}", key, e);
+            return false;
+        }
+    }
+
+    @Override
+    public boolean delete(String key) throws IOException {
+        if (head(key).isEmpty()) {
+            return false;
+        }
+        HttpResponse<Void> response = send("DELETE", key, S3RequestSigner.EMPTY_PAYLOAD_SHA256,
+                HttpRequest.BodyPublishers.noBody(), HttpResponse.BodyHandlers.discarding());
+        requireSuccess(response, "delete", key);
+        return true;
+    }
+
+    /**
+     * Content length of a stored object, or empty if it does not exist
+     */
+    private OptionalLong head(String key) throws IOException {
+        HttpResponse<Void> response = send("HEAD", key, S3RequestSigner.EMPTY_PAYLOAD_SHA256,
+                HttpRequest.BodyPublishers.noBody(), HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() == 404) {
+            return OptionalLong.empty();
+        }
+        requireSuccess(response, "check", key);
+        return response.headers().firstValueAsLong("Content-Length");
+    }
+
+    private <T> HttpResponse<T> send(String method, String key, String payloadSha256,
+                                     HttpRequest.BodyPublisher body, HttpResponse.BodyHandler<T> handler) throws IOException {
+        URI uri = objectUri(key);
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofMinutes(5))
+                .method(method, body);
+        for (Map.Entry<String, String> header : signer.sign(method, uri, payloadSha256, Instant.now()).entrySet()) {
+            request.header(header.getKey(), header.getValue());
+        }
+
+        try {
+            return httpClient.send(request.build(), handler);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted during " + method + " of blob " + key);
+        }
+    }
+
+    private URI objectUri(String key) {
+        if (key == null || !KEY_PATTERN.matcher(key).matches()) {
+            throw new IllegalArgumentException("Invalid blob key: " + key);
+        }
+        String path = key.substring(0, 2) + "/" + key.substring(2, 4) + "/" + key;
+        return URI.create(bucketUrl + "/" + (prefix.isEmpty() ? "" : prefix + "/") + path);
+    }
+
+    private static void requireSuccess(HttpResponse<?> response, String operation, String key) throws IOException {
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("Failed to " + operation + " blob " + key + ": HTTP " + response.statusCode());
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * A stored object; each getInputStream() issues a GET and streams the body
+     */
+    private class ObjectResource extends AbstractResource {
+
+        private final String key;
+        private final long contentLength;
+
+        ObjectResource(String key, long contentLength) {
+            this.key = key;
+            this.contentLength = contentLength;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            HttpResponse<InputStream> response = send("GET", key, S3RequestSigner.EMPTY_PAYLOAD_SHA256,
+                    HttpRequest.BodyPublishers.noBody(), HttpResponse.BodyHandlers.ofInputStream());
+            if (response.statusCode() == 404) {
+                response.body().close();
+                throw new FileNotFoundException("Blob not found: " + key);
+            }
+            if (response.statusCode() / 100 != 2) {
+                response.body().close();
+                throw new IOException("Failed to read blob " + key + ": HTTP " + response.statusCode());
+            }
+            return response.body();
+        }
+
+        @Override
+        public boolean exists() {
+            return S3BlobStorage.this.exists(key);
+        }
+
+        @Override
+        public long contentLength() {
+            return contentLength;
+        }
+
+        @Override
+        public long lastModified() {
+            // Blobs are immutable, so there is no meaningful modification time
+            return -1;
+        }
+
+        @Override
+        public String getFilename() {
+            return key;
+        }
+
+        @Override
+        public String getDescription() {
+            return "S3 blob [" + key + "]";
+        }
+    }
+}
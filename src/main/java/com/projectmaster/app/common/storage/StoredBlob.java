@@ -0,0 +1,25 @@
+package com.projectmaster.app.common.storage;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Base64;
+
+/**
+ * Result of storing a blob: its content key, size and raw SHA-256 digest
+ */
+@Getter
+@AllArgsConstructor
+public class StoredBlob {
+
+    private final String key;
+    private final long size;
+    private final byte[] sha256;
+
+    /**
+     * Base64 form of the digest, as stored in Document.checksum
+     */
+    public String getBase64Checksum() {
+        return Base64.getEncoder().encodeToString(sha256);
+    }
+}
@@ -0,0 +1,132 @@
+package com.projectmaster.app.common.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourceRegion;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * Builds file-backed responses that honour conditional and Range requests:
+ * If-None-Match (304), Range (206 with one or more ResourceRegions), If-Range
+ * (falls back to the full body when the validator no longer matches) and
+ * unsatisfiable ranges (416). Bodies are streamed from the Resource, never buffered.
+ */
+public final class ResourceResponses {
+
+    private ResourceResponses() {
+    }
+
+    public static ResponseEntity<?> serve(HttpServletRequest request, Resource resource, MediaType contentType,
+                                          String etag, String contentDisposition) throws IOException {
+        long contentLength = resource.contentLength();
+        long lastModified = lastModified(resource);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (etag != null) {
+            headers.setETag(etag);
+        }
+        if (lastModified > 0) {
+            headers.setLastModified(lastModified);
+        }
+        if (contentDisposition != null) {
+            headers.set(HttpHeaders.CONTENT_DISPOSITION, contentDisposition);
+        }
+
+        if (etag != null && matchesAny(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).build();
+        }
+
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range == null) {
+            return ResponseEntity.ok().headers(headers).contentType(contentType)
+                    .contentLength(contentLength).body(resource);
+        }
+        if (!ifRangeSatisfied(request.getHeader(HttpHeaders.IF_RANGE), etag, lastModified)) {
+            // Spring MVC would apply the Range header to a Resource body, so send the stale client a plain stream
+            StreamingResponseBody body = out -> {
+                try (InputStream in = resource.getInputStream()) {
+                    in.transferTo(out);
+                }
+            };
+            return ResponseEntity.ok().headers(headers).contentType(contentType)
+                    .contentLength(contentLength).body(body);
+        }
+
+        List<ResourceRegion> regions;
+        try {
+            regions = HttpRange.toResourceRegions(HttpRange.parseRanges(range), resource);
+        } catch (IllegalArgumentException e) {
+            headers.set(HttpHeaders.CONTENT_RANGE, "bytes */" + contentLength);
+            return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE).headers(headers).build();
+        }
+
+        ResponseEntity.BodyBuilder partial = ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
+                .headers(headers).contentType(contentType);
+        // Content-Range and multipart/byteranges framing are written by ResourceRegionHttpMessageConverter
+        return regions.size() == 1 ? partial.body(regions.get(0)) : partial.body(regions);
+    }
+
+    /**
+     * Strong validator for a file whose content has no stored checksum: size and modification time
+     */
+    public static String fileEtag(Resource resource) throws IOException {
+        return "\"" + Long.toHexString(resource.contentLength()) + "-" + Long.toHexString(lastModified(resource)) + "\"";
+    }
+
+    /**
+     * Quote a stored checksum as an entity tag
+     */
+    public static String etagOf(String checksum) {
+        return checksum != null ? "\"" + checksum + "\"" : null;
+    }
+
+    private static boolean matchesAny(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag) || tag.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean ifRangeSatisfied(String ifRange, String etag, long lastModified) {
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            // If-Range requires a strong comparison, so weak tags never match
+            return etag != null && ifRange.equals(etag);
+        }
+        try {
+            long since = ZonedDateTime.parse(ifRange, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+            return lastModified > 0 && lastModified / 1000 == since / 1000;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    private static long lastModified(Resource resource) {
+        try {
+            return resource.lastModified();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+}
@@ -21,7 +21,12 @@ public class CompanyDto {
     private String email;
     private String website;
     private String taxNumber;
+    // State whose master holidays the company inherits, e.g. NSW; null for national holidays only
+    private String holidayState;
     private Boolean active;
     private Instant createdAt;
     private Instant updatedAt;
+
+    // Set on creation; poll /api/workflow/templates/copy-jobs/{id} for the standard workflow copy
+    private UUID workflowCopyJobId;
 }
@@ -36,4 +36,8 @@ public class Company extends BaseEntity {
     @Builder.Default
     @Column(name = "active", nullable = false)
     private Boolean active = true;
+
+    // State whose master holidays apply on top of the national ones, e.g. NSW; null for national only
+    @Column(name = "holiday_state", length = 10)
+    private String holidayState;
 }
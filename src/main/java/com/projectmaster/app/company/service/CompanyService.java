@@ -7,9 +7,11 @@ import com.projectmaster.app.company.dto.CompanyDto;
 import com.projectmaster.app.company.dto.CompanySearchRequest;
 import com.projectmaster.app.company.entity.Company;
 import com.projectmaster.app.company.repository.CompanyRepository;
+import com.projectmaster.app.core.service.HolidayCalendarCache;
 import com.projectmaster.app.user.dto.CreateUserRequest;
 import com.projectmaster.app.user.service.UserService;
-import com.projectmaster.app.workflow.service.WorkflowCopyService;
+import com.projectmaster.app.workflow.entity.WorkflowCopyJob;
+import com.projectmaster.app.workflow.service.WorkflowCopyJobService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -19,6 +21,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -30,8 +33,8 @@ public class CompanyService {
 
     private final CompanyRepository companyRepository;
     private final UserService userService;
-    private final WorkflowCopyService workflowCopyService;
-    private final com.projectmaster.app.core.service.HolidayService holidayService;
+    private final WorkflowCopyJobService workflowCopyJobService;
+    private final HolidayCalendarCache holidayCalendarCache;
 
     public CompanyDto createCompany(CompanyDto companyDto) {
         log.info("Creating company with name: {}", companyDto.getName());
@@ -53,6 +56,7 @@ public class CompanyService {
                 .email(companyDto.getEmail())
                 .website(companyDto.getWebsite())
                 .taxNumber(companyDto.getTaxNumber())
+                .holidayState(normalizeHolidayState(companyDto.getHolidayState()))
                 .active(true)
                 .build();
 
@@ -62,13 +66,12 @@ public class CompanyService {
         // Create default admin user for the company
         createDefaultAdminUser(savedCompany);
 
-        // Copy standard workflows to the new company
-        copyStandardWorkflowsToCompany(savedCompany);
+        // Copy standard workflows to the new company in the background
+        UUID workflowCopyJobId = startStandardWorkflowCopy(savedCompany);
 
-        // Copy master holidays to the new company
-        copyMasterHolidaysToCompany(savedCompany);
-
-        return mapToDto(savedCompany);
+        CompanyDto createdCompany = mapToDto(savedCompany);
+        createdCompany.setWorkflowCopyJobId(workflowCopyJobId);
+        return createdCompany;
     }
 
     private void createDefaultAdminUser(Company company) {
@@ -104,29 +107,17 @@ public class CompanyService {
         }
     }
 
-    private void copyStandardWorkflowsToCompany(Company company) {
-        log.info("Copying standard workflows to company: {}", company.getName());
+    private UUID startStandardWorkflowCopy(Company company) {
+        log.info("Starting standard workflow copy for company: {}", company.getName());
         
         try {
-            workflowCopyService.copyStandardWorkflowsToCompany(company);
-            log.info("Successfully copied standard workflows to company: {}", company.getName());
+            WorkflowCopyJob job = workflowCopyJobService.startStandardWorkflowCopy(company);
+            return job.getId();
         } catch (Exception e) {
-            log.error("Failed to copy standard workflows to company: {}", company.getName(), e);
+            log.error("Failed to start standard workflow copy for company: {}", company.getName(), e);
             // Don't throw exception here to avoid rolling back company creation
             // The company should still be created even if workflow copying fails
-        }
-    }
-
-    private void copyMasterHolidaysToCompany(Company company) {
-        log.info("Copying master holidays to company: {}", company.getName());
-        
-        try {
-            holidayService.copyMasterHolidaysToCompany(company.getId());
-            log.info("Successfully copied master holidays to company: {}", company.getName());
-        } catch (Exception e) {
-            log.error("Failed to copy master holidays to company: {}", company.getName(), e);
-            // Don't throw exception here to avoid rolling back company creation
-            // The company should still be created even if holiday copying fails
+            return null;
         }
     }
 
@@ -202,6 +193,12 @@ public class CompanyService {
         company.setEmail(companyDto.getEmail());
         company.setWebsite(companyDto.getWebsite());
         company.setTaxNumber(companyDto.getTaxNumber());
+        String holidayState = normalizeHolidayState(companyDto.getHolidayState());
+        if (!Objects.equals(holidayState, company.getHolidayState())) {
+            company.setHolidayState(holidayState);
+            // The company now inherits a different state's master holidays
+            holidayCalendarCache.evict(id);
+        }
 
         Company updatedCompany = companyRepository.save(company);
         log.info("Company updated successfully with ID: {}", updatedCompany.getId());
@@ -242,9 +239,14 @@ public class CompanyService {
                 .email(company.getEmail())
                 .website(company.getWebsite())
                 .taxNumber(company.getTaxNumber())
+                .holidayState(company.getHolidayState())
                 .active(company.getActive())
                 .createdAt(company.getCreatedAt())
                 .updatedAt(company.getUpdatedAt())
                 .build();
     }
+
+    private String normalizeHolidayState(String holidayState) {
+        return holidayState == null || holidayState.isBlank() ? null : holidayState.trim().toUpperCase();
+    }
 }
@@ -5,6 +5,7 @@ import com.projectmaster.app.contractor.dto.ContractingCompanyResponse;
 import com.projectmaster.app.contractor.dto.ContractingCompanySearchRequest;
 import com.projectmaster.app.contractor.entity.*;
 import com.projectmaster.app.contractor.repository.ContractingCompanyRepository;
+import com.projectmaster.app.search.service.SearchIndexService;
 import com.projectmaster.app.user.entity.User;
 import com.projectmaster.app.user.service.UserService;
 import com.projectmaster.app.user.repository.UserRepository;
@@ -36,6 +37,7 @@ public class ContractingCompanyService {
     private final SpecialtyService specialtyService;
     private final UserService userService;
     private final UserRepository userRepository;
+    private final SearchIndexService searchIndexService;
 
     /**
      * Create a new contracting company
@@ -87,6 +89,7 @@ public class ContractingCompanyService {
         createDefaultAdminUser(contractingCompany, request.getEmail());
 
         contractingCompany = contractingCompanyRepository.save(contractingCompany);
+        searchIndexService.indexContractor(contractingCompany);
         return mapToResponse(contractingCompany);
     }
 
@@ -272,6 +275,7 @@ public class ContractingCompanyService {
         }
 
         contractingCompany = contractingCompanyRepository.save(contractingCompany);
+        searchIndexService.indexContractor(contractingCompany);
         return mapToResponse(contractingCompany);
     }
 
@@ -290,6 +294,7 @@ public class ContractingCompanyService {
 
         contractingCompany.setActive(false);
         contractingCompanyRepository.save(contractingCompany);
+        searchIndexService.indexContractor(contractingCompany);
     }
 
     /**
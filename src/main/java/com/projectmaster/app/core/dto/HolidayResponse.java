@@ -18,5 +18,9 @@ public class HolidayResponse {
     private LocalDate holidayDate;
     private String holidayName;
     private String description;
+    // Master holidays only; null for national holidays
+    private String stateCode;
+    // True for a company's own addition to the master calendar
+    private Boolean companySpecific;
 }
 
@@ -3,6 +3,7 @@ package com.projectmaster.app.core.dto;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -22,5 +23,9 @@ public class UpdateHolidaysRequest {
     @NotEmpty(message = "At least one holiday date is required")
     @Valid
     private List<HolidayDateDto> holidays;
+    
+    // Master holidays only: the state calendar to replace; null for the national calendar
+    @Size(max = 10, message = "State code must not exceed 10 characters")
+    private String stateCode;
 }
 
@@ -7,6 +7,10 @@ import lombok.*;
 
 import java.time.LocalDate;
 
+/**
+ * A company's change to the master calendar it inherits: an extra holiday, or a master
+ * holiday the company works through. Companies only store their differences.
+ */
 @Entity
 @Table(name = "company_holidays",
        uniqueConstraints = @UniqueConstraint(columnNames = {"company_id", "holiday_year", "holiday_date"}))
@@ -32,5 +36,11 @@ public class CompanyHoliday extends BaseEntity {
 
     @Column(name = "description")
     private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Builder.Default
+    @Column(name = "override_type", nullable = false, length = 10,
+            columnDefinition = "VARCHAR(10) DEFAULT 'ADDITION' NOT NULL")
+    private HolidayOverrideType overrideType = HolidayOverrideType.ADDITION;
 }
 
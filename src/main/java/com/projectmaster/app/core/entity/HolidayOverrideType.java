@@ -0,0 +1,9 @@
+package com.projectmaster.app.core.entity;
+
+/**
+ * How a company holiday changes the master calendar
+ */
+public enum HolidayOverrideType {
+    ADDITION,   // A holiday the master calendar does not have, or a renamed master holiday
+    REMOVAL     // A master holiday the company treats as a working day
+}
@@ -6,9 +6,13 @@ import lombok.*;
 
 import java.time.LocalDate;
 
+/**
+ * A holiday of the shared master calendar. National holidays have no state code; state
+ * holidays apply to companies whose holiday state matches.
+ */
 @Entity
 @Table(name = "master_holidays", 
-       uniqueConstraints = @UniqueConstraint(columnNames = {"holiday_year", "holiday_date"}))
+       uniqueConstraints = @UniqueConstraint(columnNames = {"holiday_year", "holiday_date", "state_code"}))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -27,5 +31,8 @@ public class MasterHoliday extends BaseEntity {
 
     @Column(name = "description")
     private String description;
+
+    @Column(name = "state_code", length = 10)
+    private String stateCode;
 }
 
@@ -2,6 +2,8 @@ package com.projectmaster.app.core.repository;
 
 import com.projectmaster.app.core.entity.CompanyHoliday;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,6 +14,19 @@ public interface CompanyHolidayRepository extends JpaRepository<CompanyHoliday,
     
     List<CompanyHoliday> findByCompanyIdAndHolidayYearOrderByHolidayDate(UUID companyId, Integer holidayYear);
     
+    List<CompanyHoliday> findByCompanyIdAndHolidayYearBetween(UUID companyId, Integer fromYear, Integer toYear);
+    
     void deleteByCompanyIdAndHolidayYear(UUID companyId, Integer holidayYear);
-}
 
+    /**
+     * A stamp of everything a company's calendar is compiled from: the master holidays, the
+     * company's overrides and the company row (for its holiday state). Row counts catch
+     * deletions; the latest update time catches inserts and edits.
+     */
+    @Query(value = "SELECT concat_ws('|', " +
+           "(SELECT count(*) || '@' || coalesce(max(updated_at)::text, '') FROM master_holidays), " +
+           "(SELECT count(*) || '@' || coalesce(max(updated_at)::text, '') FROM company_holidays " +
+           "WHERE company_id = :companyId), " +
+           "(SELECT updated_at::text FROM companies WHERE id = :companyId))", nativeQuery = true)
+    String findCalendarVersion(@Param("companyId") UUID companyId);
+}
@@ -2,6 +2,8 @@ package com.projectmaster.app.core.repository;
 
 import com.projectmaster.app.core.entity.MasterHoliday;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,6 +14,19 @@ public interface MasterHolidayRepository extends JpaRepository<MasterHoliday, UU
     
     List<MasterHoliday> findByHolidayYearOrderByHolidayDate(Integer holidayYear);
     
+    /**
+     * Holidays of one layer of the master calendar; a null state code selects the national layer
+     */
+    List<MasterHoliday> findByHolidayYearAndStateCodeOrderByHolidayDate(Integer holidayYear, String stateCode);
+    
+    /**
+     * National holidays plus those of the given state, for a range of years
+     */
+    @Query("SELECT h FROM MasterHoliday h WHERE h.holidayYear BETWEEN :fromYear AND :toYear " +
+           "AND (h.stateCode IS NULL OR h.stateCode = :stateCode) ORDER BY h.holidayDate")
+    List<MasterHoliday> findCalendarHolidays(@Param("fromYear") Integer fromYear,
+                                             @Param("toYear") Integer toYear,
+                                             @Param("stateCode") String stateCode);
+    
     void deleteByHolidayYear(Integer holidayYear);
 }
-
@@ -0,0 +1,160 @@
+package com.projectmaster.app.core.service;
+
+import com.projectmaster.app.common.cache.TtlCache;
+import com.projectmaster.app.company.entity.Company;
+import com.projectmaster.app.company.repository.CompanyRepository;
+import com.projectmaster.app.core.dto.HolidayResponse;
+import com.projectmaster.app.core.entity.CompanyHoliday;
+import com.projectmaster.app.core.entity.HolidayOverrideType;
+import com.projectmaster.app.core.entity.MasterHoliday;
+import com.projectmaster.app.core.repository.CompanyHolidayRepository;
+import com.projectmaster.app.core.repository.MasterHolidayRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Compiled working-day calendars keyed by company. A company's calendar is layered: the
+ * national master holidays, those of the company's holiday state, then the company's own
+ * additions and removals. Each calendar is stored with the version of the rows it was
+ * compiled from and recompiled once that version moves, so a change made on any node is
+ * picked up on the next read; HolidayService also evicts locally so this node drops the
+ * calendar without waiting for the read.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class HolidayCalendarCache {
+
+    private final MasterHolidayRepository masterHolidayRepository;
+    private final CompanyHolidayRepository companyHolidayRepository;
+    private final CompanyRepository companyRepository;
+
+    @Value("${app.holidays.calendar-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Value("${app.holidays.calendar-cache.max-entries:2000}")
+    private int maxEntries;
+
+    @Value("${app.holidays.calendar-cache.years-back:1}")
+    private int yearsBack;
+
+    @Value("${app.holidays.calendar-cache.years-ahead:10}")
+    private int yearsAhead;
+
+    private TtlCache<UUID, CompiledCalendar> cache;
+
+    private record CompiledCalendar(String version, WorkingDayIndex index) {
+    }
+
+    @PostConstruct
+    public void init() {
+        cache = new TtlCache<>("Holiday calendar", Duration.ofSeconds(ttlSeconds), maxEntries);
+    }
+
+    /**
+     * The company's working-day calendar from January of yearsBack years ago to December
+     * of yearsAhead years from now
+     */
+    public WorkingDayIndex get(UUID companyId) {
+        // Read before compiling, so a change landing in between only costs another compile
+        String version = companyHolidayRepository.findCalendarVersion(companyId);
+        int currentYear = LocalDate.now().getYear();
+        return cache.get(companyId,
+                calendar -> Objects.equals(calendar.version(), version),
+                () -> new CompiledCalendar(version,
+                        compile(companyId, currentYear - yearsBack, currentYear + yearsAhead))).index();
+    }
+
+    /**
+     * The company's calendar widened to whole years covering both dates. Dates inside the
+     * cached window are served from the cache; wider windows are compiled without caching.
+     */
+    public WorkingDayIndex covering(UUID companyId, LocalDate from, LocalDate to) {
+        WorkingDayIndex index = get(companyId);
+        if (index.covers(from) && index.covers(to)) {
+            return index;
+        }
+        int fromYear = Math.min(index.firstDay().getYear(), from.getYear());
+        int toYear = Math.max(index.lastDay().getYear(), to.getYear());
+        log.debug("Compiling working-day calendar for company {} outside the cached window: {}-{}",
+                companyId, fromYear, toYear);
+        return compile(companyId, fromYear, toYear);
+    }
+
+    /**
+     * Drop a company's calendar now and again once the current transaction commits
+     */
+    public void evict(UUID companyId) {
+        cache.evict(companyId);
+    }
+
+    /**
+     * Drop every calendar, after a master calendar change
+     */
+    public void evictAll() {
+        cache.evictAll();
+    }
+
+    /**
+     * The effective holidays of a company: the master layers with the company's removals
+     * taken out and its additions applied, ordered by date. Additions on a master date
+     * replace its name and description.
+     */
+    public static List<HolidayResponse> layer(List<MasterHoliday> masterHolidays, List<CompanyHoliday> overrides) {
+        Map<LocalDate, HolidayResponse> byDate = new TreeMap<>();
+        for (MasterHoliday holiday : masterHolidays) {
+            // A state holiday on a national holiday's date only renames it
+            if (holiday.getStateCode() == null && byDate.containsKey(holiday.getHolidayDate())) {
+                continue;
+            }
+            byDate.put(holiday.getHolidayDate(), HolidayResponse.builder()
+                    .id(holiday.getId())
+                    .holidayYear(holiday.getHolidayYear())
+                    .holidayDate(holiday.getHolidayDate())
+                    .holidayName(holiday.getHolidayName())
+                    .description(holiday.getDescription())
+                    .stateCode(holiday.getStateCode())
+                    .build());
+        }
+        for (CompanyHoliday override : overrides) {
+            if (override.getOverrideType() == HolidayOverrideType.REMOVAL) {
+                byDate.remove(override.getHolidayDate());
+            } else {
+                byDate.put(override.getHolidayDate(), HolidayResponse.builder()
+                        .id(override.getId())
+                        .holidayYear(override.getHolidayYear())
+                        .holidayDate(override.getHolidayDate())
+                        .holidayName(override.getHolidayName())
+                        .description(override.getDescription())
+                        .companySpecific(true)
+                        .build());
+            }
+        }
+        return new ArrayList<>(byDate.values());
+    }
+
+    private WorkingDayIndex compile(UUID companyId, int fromYear, int toYear) {
+        String holidayState = companyRepository.findById(companyId).map(Company::getHolidayState).orElse(null);
+        List<HolidayResponse> holidays = layer(
+                masterHolidayRepository.findCalendarHolidays(fromYear, toYear, holidayState),
+                companyHolidayRepository.findByCompanyIdAndHolidayYearBetween(companyId, fromYear, toYear));
+
+        WorkingDayIndex index = WorkingDayIndex.compile(LocalDate.of(fromYear, 1, 1), LocalDate.of(toYear, 12, 31),
+                holidays.stream().map(HolidayResponse::getHolidayDate).toList());
+        log.debug("Compiled working-day calendar for company {} ({} state) with {} holidays, {}-{}",
+                companyId, holidayState != null ? holidayState : "no", holidays.size(), fromYear, toYear);
+        return index;
+    }
+}
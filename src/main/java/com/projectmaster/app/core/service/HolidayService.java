@@ -6,6 +6,7 @@ import com.projectmaster.app.common.exception.EntityNotFoundException;
 import com.projectmaster.app.core.dto.HolidayResponse;
 import com.projectmaster.app.core.dto.UpdateHolidaysRequest;
 import com.projectmaster.app.core.entity.CompanyHoliday;
+import com.projectmaster.app.core.entity.HolidayOverrideType;
 import com.projectmaster.app.core.entity.MasterHoliday;
 import com.projectmaster.app.core.repository.CompanyHolidayRepository;
 import com.projectmaster.app.core.repository.MasterHolidayRepository;
@@ -14,7 +15,13 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -27,6 +34,7 @@ public class HolidayService {
     private final MasterHolidayRepository masterHolidayRepository;
     private final CompanyHolidayRepository companyHolidayRepository;
     private final CompanyRepository companyRepository;
+    private final HolidayCalendarCache holidayCalendarCache;
 
     /**
      * Get master holidays by year
@@ -40,28 +48,32 @@ public class HolidayService {
     }
 
     /**
-     * Get company holidays by year
+     * Get a company's effective holidays by year: the master calendar of its state with the
+     * company's additions and removals applied
      */
     public List<HolidayResponse> getCompanyHolidaysByYear(UUID companyId, Integer year) {
         log.info("Fetching company holidays for company: {} and year: {}", companyId, year);
-        List<CompanyHoliday> holidays = companyHolidayRepository
-                .findByCompanyIdAndHolidayYearOrderByHolidayDate(companyId, year);
-        return holidays.stream()
-                .map(this::convertCompanyHolidayToResponse)
-                .collect(Collectors.toList());
+        Company company = companyRepository.findById(companyId)
+                .orElseThrow(() -> new EntityNotFoundException("Company", companyId));
+        return HolidayCalendarCache.layer(
+                masterHolidayRepository.findCalendarHolidays(year, year, company.getHolidayState()),
+                companyHolidayRepository.findByCompanyIdAndHolidayYearOrderByHolidayDate(companyId, year));
     }
 
     /**
-     * Update master holidays - smart update/insert/delete
-     * Preserves IDs when only metadata changes, only creates new IDs when date changes
+     * Update master holidays of the national calendar or one state's - smart update/insert/delete
+     * Preserves IDs when only metadata changes, only creates new IDs when date changes.
+     * Every company inherits the change; no per-company copies are touched.
      */
     @Transactional
     public List<HolidayResponse> updateMasterHolidays(UpdateHolidaysRequest request) {
-        log.info("Updating master holidays for year: {}", request.getHolidayYear());
+        String stateCode = normalizeStateCode(request.getStateCode());
+        log.info("Updating master holidays for year: {} and state: {}", request.getHolidayYear(),
+                stateCode != null ? stateCode : "national");
         
-        // Get existing holidays for this year
+        // Get existing holidays of this calendar for this year
         List<MasterHoliday> existingHolidays = 
-            masterHolidayRepository.findByHolidayYearOrderByHolidayDate(request.getHolidayYear());
+            masterHolidayRepository.findByHolidayYearAndStateCodeOrderByHolidayDate(request.getHolidayYear(), stateCode);
         
         // Create map for quick lookup: date -> holiday
         java.util.Map<java.time.LocalDate, MasterHoliday> existingMap = existingHolidays.stream()
@@ -88,6 +100,7 @@ public class HolidayService {
                     .holidayDate(dto.getHolidayDate())
                     .holidayName(dto.getHolidayName())
                     .description(dto.getDescription())
+                    .stateCode(stateCode)
                     .build();
                 toSave.add(newHoliday);
                 log.debug("Inserting new master holiday: {} on {}", dto.getHolidayName(), dto.getHolidayDate());
@@ -110,14 +123,19 @@ public class HolidayService {
         log.info("Master holidays updated for year {}: {} updated/inserted, {} deleted", 
             request.getHolidayYear(), savedHolidays.size(), toDelete.size());
         
+        // Every company calendar layers the master calendar
+        holidayCalendarCache.evictAll();
+        
         return savedHolidays.stream()
                 .map(this::convertMasterHolidayToResponse)
                 .collect(Collectors.toList());
     }
 
     /**
-     * Update company holidays - smart update/insert/delete
-     * Preserves IDs when only metadata changes, only creates new IDs when date changes
+     * Update a company's effective holidays for a year. Only the differences from the master
+     * calendar are stored: requested dates the master calendar lacks (or names differently)
+     * become additions, and master dates left out become removals. Existing rows are reused
+     * by date, so IDs are preserved while a date keeps its role.
      */
     @Transactional
     public List<HolidayResponse> updateCompanyHolidays(UUID companyId, UpdateHolidaysRequest request) {
@@ -127,123 +145,89 @@ public class HolidayService {
         Company company = companyRepository.findById(companyId)
                 .orElseThrow(() -> new EntityNotFoundException("Company", companyId));
         
-        // Get existing holidays for this company and year
-        List<CompanyHoliday> existingHolidays = 
+        // The calendar the company inherits for this year
+        List<MasterHoliday> masterHolidays = masterHolidayRepository.findCalendarHolidays(
+                request.getHolidayYear(), request.getHolidayYear(), company.getHolidayState());
+        Map<LocalDate, HolidayResponse> inherited = HolidayCalendarCache.layer(masterHolidays, List.of()).stream()
+                .collect(Collectors.toMap(HolidayResponse::getHolidayDate, h -> h));
+        
+        // Existing overrides for this company and year: date -> override
+        List<CompanyHoliday> existingOverrides = 
             companyHolidayRepository.findByCompanyIdAndHolidayYearOrderByHolidayDate(
                 companyId, request.getHolidayYear());
-        
-        // Create map for quick lookup: date -> holiday
-        java.util.Map<java.time.LocalDate, CompanyHoliday> existingMap = existingHolidays.stream()
+        Map<LocalDate, CompanyHoliday> existingMap = existingOverrides.stream()
             .collect(Collectors.toMap(CompanyHoliday::getHolidayDate, h -> h));
         
-        java.util.Set<java.time.LocalDate> processedDates = new java.util.HashSet<>();
-        java.util.List<CompanyHoliday> toSave = new java.util.ArrayList<>();
+        Set<LocalDate> requestedDates = new HashSet<>();
+        List<CompanyHoliday> toSave = new ArrayList<>();
         
-        // Process each holiday in the request
         for (var dto : request.getHolidays()) {
-            processedDates.add(dto.getHolidayDate());
-            
-            if (existingMap.containsKey(dto.getHolidayDate())) {
-                // UPDATE - date exists, update name and description only
-                CompanyHoliday existing = existingMap.get(dto.getHolidayDate());
-                existing.setHolidayName(dto.getHolidayName());
-                existing.setDescription(dto.getDescription());
-                toSave.add(existing);
-                log.debug("Updating company holiday: {} on {}", dto.getHolidayName(), dto.getHolidayDate());
-            } else {
-                // INSERT - new date, create new holiday
-                CompanyHoliday newHoliday = CompanyHoliday.builder()
-                    .company(company)
-                    .holidayYear(request.getHolidayYear())
-                    .holidayDate(dto.getHolidayDate())
-                    .holidayName(dto.getHolidayName())
-                    .description(dto.getDescription())
-                    .build();
-                toSave.add(newHoliday);
-                log.debug("Inserting new company holiday: {} on {}", dto.getHolidayName(), dto.getHolidayDate());
+            requestedDates.add(dto.getHolidayDate());
+            HolidayResponse master = inherited.get(dto.getHolidayDate());
+            if (master != null && Objects.equals(master.getHolidayName(), dto.getHolidayName())
+                    && Objects.equals(master.getDescription(), dto.getDescription())) {
+                // Inherited unchanged, nothing to store
+                continue;
             }
+            toSave.add(override(company, request.getHolidayYear(), existingMap.get(dto.getHolidayDate()),
+                    dto.getHolidayDate(), dto.getHolidayName(), dto.getDescription(), HolidayOverrideType.ADDITION));
         }
         
-        // DELETE - holidays not in the request (date removed or changed)
-        List<CompanyHoliday> toDelete = existingHolidays.stream()
-            .filter(h -> !processedDates.contains(h.getHolidayDate()))
+        // Master holidays left out of the request are worked through
+        for (HolidayResponse master : inherited.values()) {
+            if (!requestedDates.contains(master.getHolidayDate())) {
+                toSave.add(override(company, request.getHolidayYear(), existingMap.get(master.getHolidayDate()),
+                        master.getHolidayDate(), master.getHolidayName(), master.getDescription(),
+                        HolidayOverrideType.REMOVAL));
+            }
+        }
+        
+        // DELETE - overrides that are no longer needed
+        Set<LocalDate> keptDates = toSave.stream().map(CompanyHoliday::getHolidayDate).collect(Collectors.toSet());
+        List<CompanyHoliday> toDelete = existingOverrides.stream()
+            .filter(h -> !keptDates.contains(h.getHolidayDate()))
             .collect(Collectors.toList());
         
         if (!toDelete.isEmpty()) {
             companyHolidayRepository.deleteAll(toDelete);
-            log.info("Deleted {} company holidays that were removed for company: {} and year: {}", 
-                toDelete.size(), companyId, request.getHolidayYear());
         }
         
-        // Save all updates and inserts
-        List<CompanyHoliday> savedHolidays = companyHolidayRepository.saveAll(toSave);
-        log.info("Company holidays updated for company {} and year {}: {} updated/inserted, {} deleted", 
-            companyId, request.getHolidayYear(), savedHolidays.size(), toDelete.size());
+        List<CompanyHoliday> savedOverrides = companyHolidayRepository.saveAll(toSave);
+        log.info("Company holidays updated for company {} and year {}: {} overrides stored, {} deleted", 
+            companyId, request.getHolidayYear(), savedOverrides.size(), toDelete.size());
         
-        return savedHolidays.stream()
-                .map(this::convertCompanyHolidayToResponse)
-                .collect(Collectors.toList());
+        holidayCalendarCache.evict(companyId);
+        return HolidayCalendarCache.layer(masterHolidays, savedOverrides);
     }
 
-    /**
-     * Convert MasterHoliday entity to response DTO
-     */
-    private HolidayResponse convertMasterHolidayToResponse(MasterHoliday holiday) {
-        return HolidayResponse.builder()
-                .id(holiday.getId())
-                .holidayYear(holiday.getHolidayYear())
-                .holidayDate(holiday.getHolidayDate())
-                .holidayName(holiday.getHolidayName())
-                .description(holiday.getDescription())
+    private CompanyHoliday override(Company company, Integer year, CompanyHoliday existing, LocalDate date,
+                                    String name, String description, HolidayOverrideType type) {
+        CompanyHoliday holiday = existing != null ? existing : CompanyHoliday.builder()
+                .company(company)
+                .holidayYear(year)
+                .holidayDate(date)
                 .build();
+        holiday.setHolidayName(name);
+        holiday.setDescription(description);
+        holiday.setOverrideType(type);
+        return holiday;
+    }
+
+    private String normalizeStateCode(String stateCode) {
+        return stateCode == null || stateCode.isBlank() ? null : stateCode.trim().toUpperCase();
     }
 
     /**
-     * Convert CompanyHoliday entity to response DTO
+     * Convert MasterHoliday entity to response DTO
      */
-    private HolidayResponse convertCompanyHolidayToResponse(CompanyHoliday holiday) {
+    private HolidayResponse convertMasterHolidayToResponse(MasterHoliday holiday) {
         return HolidayResponse.builder()
                 .id(holiday.getId())
                 .holidayYear(holiday.getHolidayYear())
                 .holidayDate(holiday.getHolidayDate())
                 .holidayName(holiday.getHolidayName())
                 .description(holiday.getDescription())
+                .stateCode(holiday.getStateCode())
                 .build();
     }
-
-    /**
-     * Copy all master holidays to a company
-     * Called when a new company is created
-     */
-    @Transactional
-    public void copyMasterHolidaysToCompany(UUID companyId) {
-        log.info("Copying master holidays to company: {}", companyId);
-        
-        // Validate company exists
-        Company company = companyRepository.findById(companyId)
-                .orElseThrow(() -> new EntityNotFoundException("Company", companyId));
-        
-        // Get all master holidays
-        List<MasterHoliday> masterHolidays = masterHolidayRepository.findAll();
-        
-        if (masterHolidays.isEmpty()) {
-            log.info("No master holidays found to copy");
-            return;
-        }
-        
-        // Create company holidays from master holidays
-        List<CompanyHoliday> companyHolidays = masterHolidays.stream()
-                .map(masterHoliday -> CompanyHoliday.builder()
-                        .company(company)
-                        .holidayYear(masterHoliday.getHolidayYear())
-                        .holidayDate(masterHoliday.getHolidayDate())
-                        .holidayName(masterHoliday.getHolidayName())
-                        .description(masterHoliday.getDescription())
-                        .build())
-                .collect(Collectors.toList());
-        
-        companyHolidayRepository.saveAll(companyHolidays);
-        log.info("Copied {} master holidays to company: {}", companyHolidays.size(), companyId);
-    }
 }
-
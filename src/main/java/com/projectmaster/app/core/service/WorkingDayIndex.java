@@ -0,0 +1,118 @@
+package com.projectmaster.app.core.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Immutable working-day calendar of one company over a window of years: Monday to Friday,
+ * less the company's effective holidays. Working days inside the window are held as a sorted
+ * array of epoch days, so counting or adding working days is a binary search rather than a
+ * walk over the dates. Methods that need the window return null or -1 outside it.
+ */
+public final class WorkingDayIndex {
+
+    private final LocalDate firstDay;
+    private final LocalDate lastDay;
+    private final Set<LocalDate> holidays;
+    private final long[] workingDays;
+
+    private WorkingDayIndex(LocalDate firstDay, LocalDate lastDay, Set<LocalDate> holidays, long[] workingDays) {
+        this.firstDay = firstDay;
+        this.lastDay = lastDay;
+        this.holidays = holidays;
+        this.workingDays = workingDays;
+    }
+
+    /**
+     * Build the index for the days from firstDay to lastDay inclusive
+     */
+    public static WorkingDayIndex compile(LocalDate firstDay, LocalDate lastDay, Collection<LocalDate> holidays) {
+        Set<LocalDate> holidaySet = Set.copyOf(holidays);
+        long[] days = new long[(int) (lastDay.toEpochDay() - firstDay.toEpochDay() + 1)];
+        int count = 0;
+        for (LocalDate day = firstDay; !day.isAfter(lastDay); day = day.plusDays(1)) {
+            if (!isWeekend(day) && !holidaySet.contains(day)) {
+                days[count++] = day.toEpochDay();
+            }
+        }
+        return new WorkingDayIndex(firstDay, lastDay, holidaySet, Arrays.copyOf(days, count));
+    }
+
+    public LocalDate firstDay() {
+        return firstDay;
+    }
+
+    public LocalDate lastDay() {
+        return lastDay;
+    }
+
+    /**
+     * The effective holidays, including any on weekends
+     */
+    public Set<LocalDate> holidays() {
+        return holidays;
+    }
+
+    public boolean covers(LocalDate date) {
+        return !date.isBefore(firstDay) && !date.isAfter(lastDay);
+    }
+
+    public boolean isHoliday(LocalDate date) {
+        return holidays.contains(date);
+    }
+
+    public boolean isWorkingDay(LocalDate date) {
+        return !isWeekend(date) && !holidays.contains(date);
+    }
+
+    /**
+     * Working days from start to end inclusive, or -1 if either is outside the window
+     */
+    public int countWorkingDays(LocalDate start, LocalDate end) {
+        if (!covers(start) || !covers(end)) {
+            return -1;
+        }
+        if (start.isAfter(end)) {
+            return 0;
+        }
+        return insertionPoint(end.toEpochDay() + 1) - insertionPoint(start.toEpochDay());
+    }
+
+    /**
+     * The working day that is the given number of working days after start, or null if it
+     * falls outside the window
+     */
+    public LocalDate addWorkingDays(LocalDate start, int days) {
+        if (!covers(start) || days <= 0) {
+            return null;
+        }
+        int index = insertionPoint(start.toEpochDay() + 1) + days - 1;
+        return index < workingDays.length ? LocalDate.ofEpochDay(workingDays[index]) : null;
+    }
+
+    /**
+     * The working day that is the given number of working days before start, or null if it
+     * falls outside the window
+     */
+    public LocalDate subtractWorkingDays(LocalDate start, int days) {
+        if (!covers(start) || days <= 0) {
+            return null;
+        }
+        int index = insertionPoint(start.toEpochDay()) - days;
+        return index >= 0 ? LocalDate.ofEpochDay(workingDays[index]) : null;
+    }
+
+    // Index of the first working day on or after the given epoch day
+    private int insertionPoint(long epochDay) {
+        int index = Arrays.binarySearch(workingDays, epochDay);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    private static boolean isWeekend(LocalDate date) {
+        DayOfWeek day = date.getDayOfWeek();
+        return day == DayOfWeek.SATURDAY || day == DayOfWeek.SUNDAY;
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -17,6 +18,11 @@ public interface AddressRepository extends JpaRepository<Address, UUID> {
      */
     List<Address> findByDpid(String dpid);
 
+    /**
+     * Find addresses by any of the given DPIDs
+     */
+    List<Address> findByDpidIn(Collection<String> dpids);
+
     /**
      * Find addresses by suburb/city and state/province
      */
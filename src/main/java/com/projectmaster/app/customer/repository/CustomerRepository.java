@@ -16,6 +16,9 @@ public interface CustomerRepository extends JpaRepository<Customer, UUID> {
 
     List<Customer> findByCompanyIdAndActiveTrue(UUID companyId);
 
+    @Query("SELECT c.id FROM Customer c WHERE c.company.id = :companyId")
+    List<UUID> findIdsByCompanyId(@Param("companyId") UUID companyId);
+
     @Query("SELECT DISTINCT c FROM Customer c LEFT JOIN FETCH c.address WHERE c.company.id = :companyId AND c.active = true")
     List<Customer> findByCompanyIdAndActiveTrueWithAddress(@Param("companyId") UUID companyId);
 
@@ -11,6 +11,8 @@ import com.projectmaster.app.customer.repository.AddressRepository;
 import com.projectmaster.app.customer.repository.CustomerRepository;
 import com.projectmaster.app.company.entity.Company;
 import com.projectmaster.app.company.repository.CompanyRepository;
+import com.projectmaster.app.common.enums.SearchEntityType;
+import com.projectmaster.app.search.service.SearchIndexService;
 
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -32,6 +34,7 @@ public class CustomerService {
     private final CustomerRepository customerRepository;
     private final CompanyRepository companyRepository;
     private final AddressRepository addressRepository;
+    private final SearchIndexService searchIndexService;
 
     public CustomerResponse createCustomer(UUID companyId, CustomerRequest customerRequest) {
         Company company = companyRepository.findById(companyId)
@@ -57,6 +60,7 @@ public class CustomerService {
                 .build();
         
         Customer savedCustomer = customerRepository.save(customer);
+        searchIndexService.indexCustomer(savedCustomer);
         return convertToCustomerResponse(savedCustomer);
     }
 
@@ -97,6 +101,7 @@ public class CustomerService {
         }
         
         Customer savedCustomer = customerRepository.save(existing);
+        searchIndexService.indexCustomer(savedCustomer);
         return convertToCustomerResponse(savedCustomer);
     }
 
@@ -113,6 +118,7 @@ public class CustomerService {
         }
         
         customerRepository.deleteById(customerId);
+        searchIndexService.remove(SearchEntityType.CUSTOMER, customerId);
     }
 
     @Transactional(readOnly = true)
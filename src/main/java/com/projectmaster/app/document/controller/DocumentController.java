@@ -1,6 +1,8 @@
 package com.projectmaster.app.document.controller;
 
 import com.projectmaster.app.common.dto.ApiResponse;
+import com.projectmaster.app.common.dto.CursorPage;
+import com.projectmaster.app.common.web.ResourceResponses;
 import com.projectmaster.app.document.dto.*;
 import com.projectmaster.app.document.service.DocumentService;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,7 +11,6 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -51,26 +52,23 @@ public class DocumentController {
      * Download a document by ID
      */
     @GetMapping("/{documentId}/download")
-    public ResponseEntity<byte[]> downloadDocument(
+    public ResponseEntity<?> downloadDocument(
             @PathVariable UUID documentId,
             Authentication authentication,
-            HttpServletRequest httpRequest) {
+            HttpServletRequest httpRequest,
+            HttpServletResponse httpResponse) throws IOException {
         
         UUID userId = getUserIdFromAuthentication(authentication);
         DocumentDownloadResponse response = documentService.downloadDocument(documentId, userId, httpRequest);
         
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.parseMediaType(response.getMimeType()));
-        headers.setContentLength(response.getFileSize());
-        headers.set(HttpHeaders.CONTENT_DISPOSITION, response.getContentDisposition());
-        
         if (response.getChecksum() != null) {
-            headers.set("X-Document-Checksum", response.getChecksum());
+            httpResponse.setHeader("X-Document-Checksum", response.getChecksum());
         }
         
-        return ResponseEntity.ok()
-                .headers(headers)
-                .body(response.getContent());
+        return ResourceResponses.serve(httpRequest, response.getContent(),
+                MediaType.parseMediaType(response.getMimeType()),
+                ResourceResponses.etagOf(response.getChecksum()),
+                response.getContentDisposition());
     }
 
     /**
@@ -144,6 +142,22 @@ public class DocumentController {
         return ResponseEntity.ok(ApiResponse.success(documents, "Project documents retrieved successfully"));
     }
 
+    /**
+     * Get a project's documents as a feed using a continuation cursor
+     */
+    @GetMapping("/project/{projectId}/feed")
+    public ResponseEntity<ApiResponse<CursorPage<DocumentDto>>> getDocumentFeedByProject(
+            @PathVariable UUID projectId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            Authentication authentication) {
+        
+        UUID userId = getUserIdFromAuthentication(authentication);
+        CursorPage<DocumentDto> documents = documentService.getDocumentFeedByProject(projectId, cursor, size, userId);
+        
+        return ResponseEntity.ok(ApiResponse.success(documents, "Project documents retrieved successfully"));
+    }
+
     /**
      * Get all documents for a specific task
      */
@@ -162,7 +176,7 @@ public class DocumentController {
      * Stream a document for inline viewing (images, PDFs, videos)
      */
     @GetMapping("/{documentId}/stream")
-    public void streamDocument(
+    public ResponseEntity<?> streamDocument(
             @PathVariable UUID documentId,
             Authentication authentication,
             HttpServletRequest httpRequest,
@@ -172,49 +186,37 @@ public class DocumentController {
         DocumentDownloadResponse response = documentService.downloadDocument(documentId, userId, httpRequest);
         
         if (!Boolean.TRUE.equals(response.getIsStreamable())) {
-            httpResponse.sendError(HttpServletResponse.SC_BAD_REQUEST, "Document is not streamable");
-            return;
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Document is not streamable"));
         }
         
-        httpResponse.setContentType(response.getMimeType());
-        httpResponse.setContentLength(response.getFileSize().intValue());
-        httpResponse.setHeader(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + response.getOriginalFilename() + "\"");
-        
         if (response.getChecksum() != null) {
             httpResponse.setHeader("X-Document-Checksum", response.getChecksum());
         }
         
-        httpResponse.getOutputStream().write(response.getContent());
-        httpResponse.getOutputStream().flush();
+        // Range requests let video and PDF viewers seek without downloading the whole file
+        return ResourceResponses.serve(httpRequest, response.getContent(),
+                MediaType.parseMediaType(response.getMimeType()),
+                ResourceResponses.etagOf(response.getChecksum()),
+                "inline; filename=\"" + response.getOriginalFilename() + "\"");
     }
 
     /**
      * Get a thumbnail for image documents
      */
     @GetMapping("/{documentId}/thumbnail")
-    public ResponseEntity<byte[]> getDocumentThumbnail(
+    public ResponseEntity<?> getDocumentThumbnail(
             @PathVariable UUID documentId,
             @RequestParam(defaultValue = "200") int size,
             Authentication authentication,
-            HttpServletRequest httpRequest) {
+            HttpServletRequest httpRequest) throws IOException {
         
         UUID userId = getUserIdFromAuthentication(authentication);
-        DocumentDownloadResponse response = documentService.downloadDocument(documentId, userId, httpRequest);
-        
-        // Check if it's an image
-        if (!response.getMimeType().startsWith("image/")) {
-            return ResponseEntity.badRequest().build();
-        }
-        
-        // For now, return the original image
-        // In a production system, you would implement thumbnail generation
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.parseMediaType(response.getMimeType()));
-        headers.setContentLength(response.getFileSize());
+        DocumentDownloadResponse response = documentService.getDocumentThumbnail(documentId, userId, size);
         
-        return ResponseEntity.ok()
-                .headers(headers)
-                .body(response.getContent());
+        return ResourceResponses.serve(httpRequest, response.getContent(),
+                MediaType.parseMediaType(response.getMimeType()),
+                ResourceResponses.etagOf(response.getChecksum()), null);
     }
 
     /**
@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.springframework.core.io.Resource;
 
 /**
  * DTO for document download response
@@ -18,7 +19,7 @@ public class DocumentDownloadResponse {
     private String originalFilename;
     private String mimeType;
     private Long fileSize;
-    private byte[] content;
+    private Resource content;
     private String checksum;
     
     // For streaming downloads
@@ -0,0 +1,43 @@
+package com.projectmaster.app.document.dto;
+
+import com.projectmaster.app.common.enums.DocumentCategory;
+import com.projectmaster.app.common.enums.DocumentType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Document metadata read by listing and search queries. Built by a JPQL constructor
+ * expression that joins the uploader, project and task names in the same select, so
+ * listings neither load whole entities nor touch anything related to the content.
+ */
+@Getter
+@AllArgsConstructor
+public class DocumentSummary {
+
+    private UUID id;
+    private String filename;
+    private String originalFilename;
+    private Long fileSize;
+    private String mimeType;
+    private DocumentType documentType;
+    private DocumentCategory documentCategory;
+    private String description;
+    private String tags;
+    private Integer version;
+    private Boolean isPublic;
+    private Boolean isArchived;
+    private String checksum;
+    private String metadata;
+    private Instant createdAt;
+    private Instant updatedAt;
+    private UUID uploadedById;
+    private String uploadedByFirstName;
+    private String uploadedByLastName;
+    private UUID projectId;
+    private String projectName;
+    private UUID taskId;
+    private String taskTitle;
+}
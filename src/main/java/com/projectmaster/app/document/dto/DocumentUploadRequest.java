@@ -21,8 +21,10 @@ import java.util.UUID;
 @Builder
 public class DocumentUploadRequest {
     
-    @NotNull(message = "File is required")
+    // Either a multipart file or the id of a completed chunked upload
     private MultipartFile file;
+
+    private UUID uploadId;
     
     private UUID projectId;
     
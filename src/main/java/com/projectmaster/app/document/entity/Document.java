@@ -16,7 +16,7 @@ import lombok.*;
 import java.util.Set;
 
 /**
- * Entity representing a document with BLOB storage
+ * Entity representing a document; its bytes live in blob storage under storageKey
  */
 @Entity
 @Table(name = "documents")
@@ -50,10 +50,11 @@ public class Document extends BaseEntity {
     @Size(max = 255)
     private String originalFilename;
 
-    @Lob
-    @Column(name = "file_content", nullable = false)
-    @NotNull
-    private byte[] fileContent;
+    /**
+     * Blob storage key (hex SHA-256 of the content); null only for rows still awaiting LOB migration
+     */
+    @Column(name = "storage_key", length = 64)
+    private String storageKey;
 
     @Column(name = "file_size", nullable = false)
     @Positive
@@ -119,6 +120,10 @@ public class Document extends BaseEntity {
     }
 
     public String getFormattedFileSize() {
+        return formatFileSize(fileSize);
+    }
+
+    public static String formatFileSize(Long fileSize) {
         if (fileSize == null) return "0 B";
         
         long bytes = fileSize;
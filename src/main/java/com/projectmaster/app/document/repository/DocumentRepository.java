@@ -2,17 +2,21 @@ package com.projectmaster.app.document.repository;
 
 import com.projectmaster.app.common.enums.DocumentCategory;
 import com.projectmaster.app.common.enums.DocumentType;
+import com.projectmaster.app.document.dto.DocumentSummary;
 import com.projectmaster.app.document.entity.Document;
+import com.projectmaster.app.project.dto.ProjectExportFile;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.List;
-import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -21,13 +25,45 @@ import java.util.UUID;
 @Repository
 public interface DocumentRepository extends JpaRepository<Document, UUID> {
 
+    // Metadata-only projection for listings; see DocumentSummary
+    String SUMMARY_SELECT = "SELECT new com.projectmaster.app.document.dto.DocumentSummary(" +
+            "d.id, d.filename, d.originalFilename, d.fileSize, d.mimeType, d.documentType, d.documentCategory, " +
+            "d.description, d.tags, d.version, d.isPublic, d.isArchived, d.checksum, d.metadata, " +
+            "d.createdAt, d.updatedAt, u.id, u.firstName, u.lastName, p.id, p.name, t.id, t.title) " +
+            "FROM Document d JOIN d.uploadedBy u LEFT JOIN d.project p LEFT JOIN d.task t ";
+
+    String SEARCH_FILTER = "WHERE " +
+            "(:projectId IS NULL OR d.project.id = :projectId) AND " +
+            "(:taskId IS NULL OR d.task.id = :taskId) AND " +
+            "(:documentType IS NULL OR d.documentType = :documentType) AND " +
+            "(:documentCategory IS NULL OR d.documentCategory = :documentCategory) AND " +
+            "(:uploadedById IS NULL OR d.uploadedBy.id = :uploadedById) AND " +
+            "(:searchTerm IS NULL OR LOWER(d.filename) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+            " LOWER(d.originalFilename) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+            " LOWER(d.description) LIKE LOWER(CONCAT('%', :searchTerm, '%'))) AND " +
+            "d.isArchived = false";
+
     // Find documents by project
     List<Document> findByProjectIdAndIsArchivedFalse(UUID projectId);
+
+    @Query(SUMMARY_SELECT + "WHERE p.id = :projectId AND d.isArchived = false ORDER BY d.createdAt DESC")
+    List<DocumentSummary> findSummariesByProjectId(@Param("projectId") UUID projectId);
     
     Page<Document> findByProjectIdAndIsArchivedFalse(UUID projectId, Pageable pageable);
+
+    // Keyset feed of a project's documents, newest first, after the (createdAt, id) cursor
+    @Query(SUMMARY_SELECT +
+           "WHERE p.id = :projectId AND d.isArchived = false AND " +
+           "(d.createdAt < :createdAt OR (d.createdAt = :createdAt AND d.id < :id)) " +
+           "ORDER BY d.createdAt DESC, d.id DESC")
+    List<DocumentSummary> findFeedByProjectId(@Param("projectId") UUID projectId, @Param("createdAt") Instant createdAt,
+                                       @Param("id") UUID id, Limit limit);
     
     // Find documents by task
     List<Document> findByTaskIdAndIsArchivedFalse(UUID taskId);
+
+    @Query(SUMMARY_SELECT + "WHERE t.id = :taskId AND d.isArchived = false ORDER BY d.createdAt DESC")
+    List<DocumentSummary> findSummariesByTaskId(@Param("taskId") UUID taskId);
     
     Page<Document> findByTaskIdAndIsArchivedFalse(UUID taskId, Pageable pageable);
     
@@ -62,7 +98,7 @@ public interface DocumentRepository extends JpaRepository<Document, UUID> {
     List<Document> findByOriginalFilenameContainingIgnoreCaseAndIsArchivedFalse(@Param("pattern") String pattern);
     
     // Find documents by checksum (for duplicate detection)
-    Optional<Document> findByChecksumAndIsArchivedFalse(String checksum);
+    boolean existsByChecksumAndIsArchivedFalse(String checksum);
     
     List<Document> findAllByChecksumAndIsArchivedFalse(String checksum);
     
@@ -83,17 +119,9 @@ public interface DocumentRepository extends JpaRepository<Document, UUID> {
     List<Document> findByFileSizeGreaterThanAndIsArchivedFalse(@Param("size") Long size);
     
     // Complex search query
-    @Query("SELECT d FROM Document d WHERE " +
-           "(:projectId IS NULL OR d.project.id = :projectId) AND " +
-           "(:taskId IS NULL OR d.task.id = :taskId) AND " +
-           "(:documentType IS NULL OR d.documentType = :documentType) AND " +
-           "(:documentCategory IS NULL OR d.documentCategory = :documentCategory) AND " +
-           "(:uploadedById IS NULL OR d.uploadedBy.id = :uploadedById) AND " +
-           "(:searchTerm IS NULL OR LOWER(d.filename) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           " LOWER(d.originalFilename) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           " LOWER(d.description) LIKE LOWER(CONCAT('%', :searchTerm, '%'))) AND " +
-           "d.isArchived = false")
-    Page<Document> searchDocuments(
+    @Query(value = SUMMARY_SELECT + SEARCH_FILTER,
+           countQuery = "SELECT COUNT(d) FROM Document d " + SEARCH_FILTER)
+    Page<DocumentSummary> searchDocuments(
         @Param("projectId") UUID projectId,
         @Param("taskId") UUID taskId,
         @Param("documentType") DocumentType documentType,
@@ -138,4 +166,37 @@ public interface DocumentRepository extends JpaRepository<Document, UUID> {
            "(d.task IS NOT NULL AND d.task.projectStep.projectTask.projectStage.project.company.id = :companyId) " +
            "AND d.isArchived = false")
     Page<Document> findByCompanyIdAndIsArchivedFalse(@Param("companyId") UUID companyId, Pageable pageable);
+
+    // Legacy in-row content, read only until the blob migration job has moved it out
+    @Query(value = "SELECT COUNT(*) > 0 FROM information_schema.columns " +
+                   "WHERE table_name = 'documents' AND column_name = 'file_content'", nativeQuery = true)
+    boolean hasLegacyContentColumn();
+
+    @Query(value = "SELECT file_content FROM documents WHERE id = :id", nativeQuery = true)
+    byte[] findLegacyContentById(@Param("id") UUID id);
+
+    // Lock an unmigrated row for the migration job; empty while another node is migrating it
+    @Query(value = "SELECT file_content FROM documents WHERE id = :id AND storage_key IS NULL " +
+                   "AND file_content IS NOT NULL FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<byte[]> lockLegacyContentById(@Param("id") UUID id);
+
+    @Query(value = "SELECT id FROM documents WHERE storage_key IS NULL AND file_content IS NOT NULL " +
+                   "ORDER BY id LIMIT :batchSize", nativeQuery = true)
+    List<UUID> findIdsAwaitingBlobMigration(@Param("batchSize") int batchSize);
+
+    // Export metadata of a project's live documents, including those attached to its tasks, in a stable order
+    @Query("SELECT new com.projectmaster.app.project.dto.ProjectExportFile('DOCUMENT', d.id, CAST(NULL AS String), " +
+           "d.originalFilename, d.fileSize, d.mimeType, d.storageKey, CAST(NULL AS String)) " +
+           "FROM Document d LEFT JOIN d.task t LEFT JOIN t.projectStep ts LEFT JOIN ts.projectTask tpt " +
+           "LEFT JOIN tpt.projectStage tps " +
+           "WHERE (d.project.id = :projectId OR tps.project.id = :projectId) " +
+           "AND d.isArchived = false AND d.createdAt <= :asOf " +
+           "ORDER BY d.createdAt, d.id")
+    List<ProjectExportFile> findExportFilesByProjectId(@Param("projectId") UUID projectId, @Param("asOf") Instant asOf);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE documents SET storage_key = :storageKey, file_content = NULL " +
+                   "WHERE id = :id AND storage_key IS NULL", nativeQuery = true)
+    int markMigratedToBlobStorage(@Param("id") UUID id, @Param("storageKey") String storageKey);
 }
\ No newline at end of file
@@ -0,0 +1,171 @@
+package com.projectmaster.app.document.service;
+
+import com.projectmaster.app.common.transaction.TransactionCallbacks;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes document access log rows off the request path. Entries are queued once the
+ * surrounding transaction commits and a background virtual thread inserts them in JDBC
+ * batches. When the queue is full callers wait briefly, then the entry is dropped and
+ * counted rather than holding up the request. Remaining entries are flushed on shutdown.
+ */
+@Component
+@Slf4j
+public class DocumentAccessLogWriter {
+
+    private static final String INSERT_SQL = "INSERT INTO document_access_log " +
+            "(id, document_id, user_id, access_type, ip_address, user_agent, accessed_at, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BlockingQueue<AccessEntry> queue;
+    private final AtomicLong droppedEntries = new AtomicLong();
+
+    @Value("${app.document.access-log.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.document.access-log.flush-interval-ms:1000}")
+    private long flushIntervalMs;
+
+    @Value("${app.document.access-log.offer-timeout-ms:50}")
+    private long offerTimeoutMs;
+
+    @Value("${app.document.access-log.shutdown-timeout-seconds:10}")
+    private long shutdownTimeoutSeconds;
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    /**
+     * One access to record
+     */
+    public record AccessEntry(UUID documentId, UUID userId, String accessType,
+                              String ipAddress, String userAgent, Instant accessedAt) {
+    }
+
+    public DocumentAccessLogWriter(JdbcTemplate jdbcTemplate,
+                                   @Value("${app.document.access-log.queue-capacity:10000}") int queueCapacity) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writerThread = Thread.ofVirtual().name("document-access-log-writer").start(this::drainLoop);
+    }
+
+    /**
+     * Stop the background loop once it has written everything still queued. The writer is
+     * not interrupted, so a batch being inserted is never abandoned half way
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (writerThread == null) {
+            flushRemaining();
+            return;
+        }
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(shutdownTimeoutSeconds));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writerThread.isAlive()) {
+            log.warn("Document access log writer did not finish within {}s, {} entries still queued",
+                    shutdownTimeoutSeconds, queue.size());
+        }
+    }
+
+    /**
+     * Record an access, deferring it until the current transaction (if any) commits
+     * so the log never references a document that was rolled back
+     */
+    public void record(AccessEntry entry) {
+        TransactionCallbacks.afterCommit(() -> enqueue(entry));
+    }
+
+    /**
+     * Number of entries dropped because the queue stayed full
+     */
+    public long getDroppedEntries() {
+        return droppedEntries.get();
+    }
+
+    public int getQueuedEntries() {
+        return queue.size();
+    }
+
+    private void enqueue(AccessEntry entry) {
+        try {
+            if (queue.offer(entry, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        long dropped = droppedEntries.incrementAndGet();
+        if (dropped == 1 || dropped % 1000 == 0) {
+            log.warn("Document access log queue is full, {} entries dropped so far", dropped);
+        }
+    }
+
+    private void drainLoop() {
+        List<AccessEntry> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                AccessEntry first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                writeBatch(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        // Entries committed before stop() signalled are still written
+        flushRemaining();
+    }
+
+    private void flushRemaining() {
+        List<AccessEntry> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            writeBatch(batch);
+            batch.clear();
+        }
+    }
+
+    private void writeBatch(List<AccessEntry> batch) {
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        for (AccessEntry entry : batch) {
+            rows.add(new Object[]{
+                    UUID.randomUUID(), entry.documentId(), entry.userId(), entry.accessType(),
+                    entry.ipAddress(), entry.userAgent(), Timestamp.from(entry.accessedAt()), now, now});
+        }
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        } catch (RuntimeException e) {
+            log.error("Failed to write {} document access log entries", batch.size(), e);
+        }
+    }
+}
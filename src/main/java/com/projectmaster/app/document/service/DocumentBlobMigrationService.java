@@ -0,0 +1,77 @@
+package com.projectmaster.app.document.service;
+
+import com.projectmaster.app.document.repository.DocumentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Moves document bytes still held in the documents.file_content column into blob
+ * storage. Each row is locked and committed on its own, so the job can stop and resume at
+ * any point and nodes running it at the same time never migrate the same document.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DocumentBlobMigrationService {
+
+    private final DocumentRepository documentRepository;
+    private final DocumentBlobTransferService documentBlobTransferService;
+
+    @Value("${app.document.blob-migration.batch-size:50}")
+    private int batchSize;
+
+    // Schemas created after the move never had the column, so there is nothing to migrate
+    private volatile Boolean legacyColumnPresent;
+
+    /**
+     * Migrate remaining in-row document content to blob storage (scheduled job)
+     */
+    @Scheduled(fixedDelayString = "${app.document.blob-migration.interval-ms:600000}",
+               initialDelayString = "${app.document.blob-migration.initial-delay-ms:60000}")
+    public void migrateLegacyContent() {
+        if (legacyColumnPresent == null) {
+            legacyColumnPresent = documentRepository.hasLegacyContentColumn();
+        }
+        if (!legacyColumnPresent) {
+            return;
+        }
+
+        int migrated = 0;
+        List<UUID> batch = documentRepository.findIdsAwaitingBlobMigration(batchSize);
+
+        while (!batch.isEmpty()) {
+            int migratedInBatch = 0;
+            for (UUID documentId : batch) {
+                if (migrateDocument(documentId)) {
+                    migratedInBatch++;
+                }
+            }
+            migrated += migratedInBatch;
+            if (migratedInBatch == 0) {
+                // Every row in the batch failed or is held by another node; retry on the next run
+                break;
+            }
+            batch = documentRepository.findIdsAwaitingBlobMigration(batchSize);
+        }
+
+        if (migrated > 0) {
+            log.info("Migrated {} documents from database storage to blob storage", migrated);
+        }
+    }
+
+    private boolean migrateDocument(UUID documentId) {
+        try {
+            return documentBlobTransferService.transfer(documentId);
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to migrate content of document {} to blob storage", documentId, e);
+            return false;
+        }
+    }
+}
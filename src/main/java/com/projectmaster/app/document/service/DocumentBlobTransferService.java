@@ -0,0 +1,61 @@
+package com.projectmaster.app.document.service;
+
+import com.projectmaster.app.common.storage.BlobReferenceService;
+import com.projectmaster.app.common.storage.BlobStorage;
+import com.projectmaster.app.common.storage.StoredBlob;
+import com.projectmaster.app.document.repository.DocumentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Moves one document's in-row content to blob storage in its own transaction. The row
+ * stays locked until the move commits, so nodes running the migration job at the same
+ * time skip it, and its blob reference commits together with its new storage key.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class DocumentBlobTransferService {
+
+    private final DocumentRepository documentRepository;
+    private final BlobStorage blobStorage;
+    private final BlobReferenceService blobReferenceService;
+
+    /**
+     * Move a document's content to blob storage; returns false if it was already moved
+     * or another node is moving it
+     */
+    public boolean transfer(UUID documentId) throws IOException {
+        List<byte[]> locked = documentRepository.lockLegacyContentById(documentId);
+        if (locked.isEmpty()) {
+            return false;
+        }
+        byte[] content = locked.get(0);
+
+        // Archived documents do not hold a reference to their content
+        boolean archived = documentRepository.findById(documentId)
+                .map(document -> Boolean.TRUE.equals(document.getIsArchived()))
+                .orElse(true);
+        StoredBlob blob = archived
+                ? blobStorage.store(new ByteArrayInputStream(content))
+                : blobReferenceService.storeAndAcquire(new ByteArrayResource(content));
+
+        if (documentRepository.markMigratedToBlobStorage(documentId, blob.getKey()) == 0) {
+            log.warn("Document {} was migrated while locked", documentId);
+            if (!archived) {
+                blobReferenceService.release(blob.getKey());
+            }
+            return false;
+        }
+        return true;
+    }
+}
@@ -3,25 +3,33 @@ package com.projectmaster.app.document.service;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projectmaster.app.common.dto.CursorPage;
+import com.projectmaster.app.common.dto.KeysetCursor;
 import com.projectmaster.app.common.enums.DocumentType;
+import com.projectmaster.app.common.service.ThumbnailService;
+import com.projectmaster.app.common.storage.BlobReferenceService;
+import com.projectmaster.app.common.storage.BlobStorage;
+import com.projectmaster.app.common.storage.StoredBlob;
 import com.projectmaster.app.document.dto.*;
 import com.projectmaster.app.document.entity.Document;
-import com.projectmaster.app.document.entity.DocumentAccessLog;
 import com.projectmaster.app.document.exception.DocumentAccessException;
+import com.projectmaster.app.document.exception.DocumentException;
 import com.projectmaster.app.document.exception.DocumentNotFoundException;
 import com.projectmaster.app.document.exception.DocumentUploadException;
-import com.projectmaster.app.document.repository.DocumentAccessLogRepository;
 import com.projectmaster.app.document.repository.DocumentRepository;
 import com.projectmaster.app.project.entity.Project;
 import com.projectmaster.app.project.repository.ProjectRepository;
 import com.projectmaster.app.task.entity.Task;
 import com.projectmaster.app.task.repository.TaskRepository;
+import com.projectmaster.app.upload.service.ChunkedUploadService;
 import com.projectmaster.app.user.entity.User;
 import com.projectmaster.app.user.repository.UserRepository;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -32,8 +40,6 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -48,11 +54,15 @@ import java.util.stream.Collectors;
 public class DocumentService {
 
     private final DocumentRepository documentRepository;
-    private final DocumentAccessLogRepository accessLogRepository;
+    private final DocumentAccessLogWriter accessLogWriter;
     private final ProjectRepository projectRepository;
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
     private final ObjectMapper objectMapper;
+    private final BlobStorage blobStorage;
+    private final ThumbnailService thumbnailService;
+    private final BlobReferenceService blobReferenceService;
+    private final ChunkedUploadService chunkedUploadService;
 
     @Value("${app.document.max-file-size:52428800}") // 50MB default
     private long maxFileSize;
@@ -76,24 +86,24 @@ public class DocumentService {
         User uploader = userRepository.findById(uploadedById)
                 .orElseThrow(() -> new DocumentNotFoundException("User not found: " + uploadedById));
 
-        // Validate file
-        MultipartFile file = request.getFile();
+        // Validate file, taking a completed chunked upload in place of a multipart file
+        MultipartFile file = request.getFile() != null
+                ? request.getFile()
+                : chunkedUploadService.claimUpload(request.getUploadId(), uploadedById);
         validateFile(file);
 
         try {
-            // Read file content
-            byte[] fileContent = file.getBytes();
-            String checksum = calculateChecksum(fileContent);
-
-            // Check for duplicates if needed
-            Optional<Document> existingDoc = documentRepository.findByChecksumAndIsArchivedFalse(checksum);
-            if (existingDoc.isPresent()) {
-                log.warn("Duplicate document detected with checksum: {}", checksum);
-                // You might want to handle duplicates differently
+            // Stream file content into blob storage, hashing on the way through
+            StoredBlob blob = blobReferenceService.storeAndAcquire(file);
+            String checksum = blob.getBase64Checksum();
+
+            // Identical content shares the blob already stored for an existing document
+            if (documentRepository.existsByChecksumAndIsArchivedFalse(checksum)) {
+                log.info("Document content matches an existing document, sharing stored content");
             }
 
             // Create document entity
-            Document document = createDocumentEntity(request, file, fileContent, checksum, uploader);
+            Document document = createDocumentEntity(request, file, blob, checksum, uploader);
 
             // Save document
             document = documentRepository.save(document);
@@ -101,11 +111,16 @@ public class DocumentService {
             // Log access
             logDocumentAccess(document, uploader, "UPLOAD", httpRequest);
 
+            if (ThumbnailService.supports(document.getMimeType())) {
+                String storageKey = document.getStorageKey();
+                thumbnailService.pregenerate(storageKey, () -> blobStorage.load(storageKey));
+            }
+
             log.info("Document uploaded successfully with ID: {}", document.getId());
             return convertToDto(document);
 
         } catch (IOException e) {
-            throw new DocumentUploadException("Failed to read file content", e);
+            throw new DocumentUploadException("Failed to store file content", e);
         }
     }
 
@@ -130,6 +145,8 @@ public class DocumentService {
             throw DocumentAccessException.documentArchived();
         }
 
+        Resource content = loadContent(document);
+
         // Log access
         logDocumentAccess(document, user, "DOWNLOAD", httpRequest);
 
@@ -138,12 +155,62 @@ public class DocumentService {
                 .originalFilename(document.getOriginalFilename())
                 .mimeType(document.getMimeType())
                 .fileSize(document.getFileSize())
-                .content(document.getFileContent())
+                .content(content)
                 .checksum(document.getChecksum())
                 .isStreamable(isStreamableContent(document.getMimeType()))
                 .build();
     }
 
+    /**
+     * Get a resized JPEG thumbnail of an image document
+     */
+    @Transactional(readOnly = true)
+    public DocumentDownloadResponse getDocumentThumbnail(UUID documentId, UUID userId, int size) {
+        Document document = documentRepository.findById(documentId)
+                .orElseThrow(() -> new DocumentNotFoundException(documentId));
+
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new DocumentNotFoundException("User not found: " + userId));
+
+        validateDocumentAccess(document, user);
+
+        if (Boolean.TRUE.equals(document.getIsArchived())) {
+            throw DocumentAccessException.documentArchived();
+        }
+        if (document.getMimeType() == null || !document.getMimeType().startsWith("image/")) {
+            throw new DocumentException("Thumbnails are only available for image documents");
+        }
+
+        String storageKey = document.getStorageKey();
+        if (storageKey == null || !ThumbnailService.supports(document.getMimeType())) {
+            // Formats the image decoder cannot read are served as the original
+            Resource original = loadContent(document);
+            return DocumentDownloadResponse.builder()
+                    .filename(document.getFilename())
+                    .originalFilename(document.getOriginalFilename())
+                    .mimeType(document.getMimeType())
+                    .fileSize(document.getFileSize())
+                    .content(original)
+                    .checksum(document.getChecksum())
+                    .build();
+        }
+
+        try {
+            Resource thumbnail = thumbnailService.getThumbnail(storageKey, size, () -> blobStorage.load(storageKey));
+            return DocumentDownloadResponse.builder()
+                    .filename(document.getFilename())
+                    .originalFilename(document.getOriginalFilename())
+                    .mimeType("image/jpeg")
+                    .fileSize(thumbnail.contentLength())
+                    .content(thumbnail)
+                    // Validator for this derivative: content key plus the fixed size served
+                    .checksum(storageKey + "_" + ThumbnailService.fixedSizeFor(size))
+                    .build();
+        } catch (IOException e) {
+            throw new DocumentException("Failed to generate thumbnail for document: " + documentId, e);
+        }
+    }
+
     /**
      * Get document by ID
      */
@@ -179,7 +246,9 @@ public class DocumentService {
         }
 
         // Update fields
+        boolean wasArchived = Boolean.TRUE.equals(document.getIsArchived());
         updateDocumentFields(document, request);
+        updateContentReference(document, wasArchived);
 
         document = documentRepository.save(document);
 
@@ -205,7 +274,9 @@ public class DocumentService {
         }
 
         // Soft delete
+        boolean wasArchived = Boolean.TRUE.equals(document.getIsArchived());
         document.setIsArchived(true);
+        updateContentReference(document, wasArchived);
         documentRepository.save(document);
 
         log.info("Document archived successfully: {}", documentId);
@@ -223,7 +294,7 @@ public class DocumentService {
         Pageable pageable = PageRequest.of(request.getPage(), request.getSize(), sort);
 
         // Search documents
-        Page<Document> documents = documentRepository.searchDocuments(
+        Page<DocumentSummary> documents = documentRepository.searchDocuments(
                 request.getProjectId(),
                 request.getTaskId(),
                 request.getDocumentType(),
@@ -247,12 +318,30 @@ public class DocumentService {
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new DocumentNotFoundException("Project not found: " + projectId));
 
-        List<Document> documents = documentRepository.findByProjectIdAndIsArchivedFalse(projectId);
+        List<DocumentSummary> documents = documentRepository.findSummariesByProjectId(projectId);
         return documents.stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Get a page of a project's document feed after the given cursor, without counting
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<DocumentDto> getDocumentFeedByProject(UUID projectId, String cursor, Integer size, UUID userId) {
+        log.debug("Getting document feed for project: {} by user: {}", projectId, userId);
+
+        if (!projectRepository.existsById(projectId)) {
+            throw new DocumentNotFoundException("Project not found: " + projectId);
+        }
+
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        int pageSize = KeysetCursor.pageSize(size);
+        List<DocumentSummary> documents = documentRepository.findFeedByProjectId(
+                projectId, position.getCreatedAt(), position.getId(), KeysetCursor.limitFor(pageSize));
+        return CursorPage.from(documents, pageSize, DocumentSummary::getCreatedAt, DocumentSummary::getId, this::convertToDto);
+    }
+
     /**
      * Get documents by task
      */
@@ -264,7 +353,7 @@ public class DocumentService {
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new DocumentNotFoundException("Task not found: " + taskId));
 
-        List<Document> documents = documentRepository.findByTaskIdAndIsArchivedFalse(taskId);
+        List<DocumentSummary> documents = documentRepository.findSummariesByTaskId(taskId);
         return documents.stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
@@ -277,7 +366,10 @@ public class DocumentService {
             throw new DocumentUploadException("Either projectId or taskId must be provided, but not both");
         }
 
-        if (request.getFile() == null || request.getFile().isEmpty()) {
+        if (request.getFile() == null && request.getUploadId() == null) {
+            throw DocumentUploadException.emptyFile();
+        }
+        if (request.getFile() != null && request.getFile().isEmpty()) {
             throw DocumentUploadException.emptyFile();
         }
     }
@@ -309,7 +401,7 @@ public class DocumentService {
     }
 
     private Document createDocumentEntity(DocumentUploadRequest request, MultipartFile file, 
-                                        byte[] fileContent, String checksum, User uploader) {
+                                        StoredBlob blob, String checksum, User uploader) {
         String originalFilename = file.getOriginalFilename();
         String filename = generateUniqueFilename(originalFilename);
         DocumentType documentType = DocumentType.fromMimeType(file.getContentType());
@@ -317,8 +409,8 @@ public class DocumentService {
         Document.DocumentBuilder builder = Document.builder()
                 .filename(filename)
                 .originalFilename(originalFilename)
-                .fileContent(fileContent)
-                .fileSize(file.getSize())
+                .storageKey(blob.getKey())
+                .fileSize(blob.getSize())
                 .mimeType(file.getContentType())
                 .documentType(documentType)
                 .documentCategory(request.getDocumentCategory())
@@ -354,13 +446,19 @@ public class DocumentService {
         return builder.build();
     }
 
-    private String calculateChecksum(byte[] content) {
+    private Resource loadContent(Document document) {
+        if (document.getStorageKey() == null) {
+            // Not yet moved out of the database by the blob migration job
+            byte[] legacyContent = documentRepository.findLegacyContentById(document.getId());
+            if (legacyContent == null) {
+                throw new DocumentException("Document content is missing: " + document.getId());
+            }
+            return new ByteArrayResource(legacyContent);
+        }
         try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest(content);
-            return Base64.getEncoder().encodeToString(hash);
-        } catch (NoSuchAlgorithmException e) {
-            throw new DocumentUploadException("Failed to calculate checksum", e);
+            return blobStorage.load(document.getStorageKey());
+        } catch (IOException e) {
+            throw new DocumentException("Document content is unavailable: " + document.getId(), e);
         }
     }
 
@@ -435,15 +533,13 @@ public class DocumentService {
 
     private void logDocumentAccess(Document document, User user, String accessType, HttpServletRequest request) {
         try {
-            DocumentAccessLog accessLog = DocumentAccessLog.builder()
-                    .document(document)
-                    .user(user)
-                    .accessType(accessType)
-                    .ipAddress(getClientIpAddress(request))
-                    .userAgent(request.getHeader("User-Agent"))
-                    .build();
-
-            accessLogRepository.save(accessLog);
+            accessLogWriter.record(new DocumentAccessLogWriter.AccessEntry(
+                    document.getId(),
+                    user.getId(),
+                    accessType,
+                    getClientIpAddress(request),
+                    request.getHeader("User-Agent"),
+                    Instant.now()));
         } catch (Exception e) {
             log.warn("Failed to log document access", e);
         }
@@ -457,6 +553,27 @@ public class DocumentService {
         return request.getRemoteAddr();
     }
 
+    /**
+     * Keep the blob reference count in step with the archived flag; archived documents
+     * do not hold their content, so restoring one only works until the blob is collected
+     */
+    private void updateContentReference(Document document, boolean wasArchived) {
+        boolean archived = Boolean.TRUE.equals(document.getIsArchived());
+        String storageKey = document.getStorageKey();
+        if (archived == wasArchived || storageKey == null) {
+            return;
+        }
+        if (archived) {
+            blobReferenceService.release(storageKey);
+        } else {
+            // Check once the reference is held, which waits out a collection of the blob in progress
+            blobReferenceService.acquire(storageKey, document.getFileSize());
+            if (!blobStorage.exists(storageKey)) {
+                throw new DocumentException("Document content is no longer available and cannot be restored");
+            }
+        }
+    }
+
     private void updateDocumentFields(Document document, DocumentUpdateRequest request) {
         if (StringUtils.hasText(request.getFilename())) {
             document.setFilename(request.getFilename());
@@ -526,15 +643,48 @@ public class DocumentService {
         }
 
         // Parse tags
-        if (StringUtils.hasText(document.getTags())) {
-            try {
-                List<String> tags = objectMapper.readValue(document.getTags(), new TypeReference<List<String>>() {});
-                builder.tags(tags);
-            } catch (JsonProcessingException e) {
-                log.warn("Failed to parse tags for document: {}", document.getId());
-            }
-        }
+        builder.tags(parseTags(document.getId(), document.getTags()));
 
         return builder.build();
     }
+
+    private DocumentDto convertToDto(DocumentSummary document) {
+        return DocumentDto.builder()
+                .id(document.getId())
+                .filename(document.getFilename())
+                .originalFilename(document.getOriginalFilename())
+                .fileSize(document.getFileSize())
+                .formattedFileSize(Document.formatFileSize(document.getFileSize()))
+                .mimeType(document.getMimeType())
+                .documentType(document.getDocumentType())
+                .documentCategory(document.getDocumentCategory())
+                .description(document.getDescription())
+                .version(document.getVersion())
+                .isPublic(document.getIsPublic())
+                .isArchived(document.getIsArchived())
+                .checksum(document.getChecksum())
+                .metadata(document.getMetadata())
+                .createdAt(document.getCreatedAt())
+                .updatedAt(document.getUpdatedAt())
+                .uploadedById(document.getUploadedById())
+                .uploadedByName(document.getUploadedByFirstName() + " " + document.getUploadedByLastName())
+                .projectId(document.getProjectId())
+                .projectName(document.getProjectName())
+                .taskId(document.getTaskId())
+                .taskTitle(document.getTaskTitle())
+                .tags(parseTags(document.getId(), document.getTags()))
+                .build();
+    }
+
+    private List<String> parseTags(UUID documentId, String tags) {
+        if (!StringUtils.hasText(tags)) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(tags, new TypeReference<List<String>>() {});
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to parse tags for document: {}", documentId);
+            return null;
+        }
+    }
 }
\ No newline at end of file
@@ -1,11 +1,16 @@
 package com.projectmaster.app.project.controller;
 
 import com.projectmaster.app.common.dto.ApiResponse;
+import com.projectmaster.app.common.dto.CursorPage;
 import com.projectmaster.app.common.enums.ProjectStatus;
 import com.projectmaster.app.project.dto.CreateProjectRequest;
 import com.projectmaster.app.project.dto.ProjectDto;
+import com.projectmaster.app.project.dto.ProjectImportJobResponse;
 import com.projectmaster.app.project.dto.ProjectWorkflowResponse;
 import com.projectmaster.app.project.dto.UpdateProjectRequest;
+import com.projectmaster.app.project.entity.ProjectImportFormat;
+import com.projectmaster.app.project.service.ProjectExportService;
+import com.projectmaster.app.project.service.ProjectImportService;
 import com.projectmaster.app.project.service.ProjectScheduleCalculator;
 import com.projectmaster.app.project.service.ProjectService;
 import com.projectmaster.app.security.service.CustomUserDetailsService;
@@ -14,18 +19,23 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
 
@@ -39,6 +49,8 @@ public class ProjectController {
 
     private final ProjectService projectService;
     private final ProjectScheduleCalculator projectScheduleCalculator;
+    private final ProjectExportService projectExportService;
+    private final ProjectImportService projectImportService;
 
     /**
      * Create a new project
@@ -72,6 +84,70 @@ public class ProjectController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    /**
+     * Start a bulk import of projects from NDJSON or CSV
+     */
+    @Operation(summary = "Import projects in bulk",
+            description = "Streams NDJSON (one create-project request per line) or CSV (a header row of request fields, " +
+                    "address fields prefixed with 'address.') into an import job that creates the projects in the " +
+                    "background. Poll the returned job for per-row results.")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "202", description = "Import accepted"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Unreadable upload or too many rows"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    @PreAuthorize("hasRole('ADMIN') or hasRole('PROJECT_MANAGER')")
+    public ResponseEntity<ApiResponse<ProjectImportJobResponse>> importProjects(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            HttpServletRequest request,
+            Authentication authentication) throws IOException {
+
+        CustomUserDetailsService.CustomUserPrincipal userPrincipal =
+                (CustomUserDetailsService.CustomUserPrincipal) authentication.getPrincipal();
+        UUID companyId = userPrincipal.getUser().getCompany().getId();
+        ProjectImportFormat format = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.valueOf("text/csv"))
+                ? ProjectImportFormat.CSV : ProjectImportFormat.NDJSON;
+
+        log.info("Starting {} project import for company: {}", format, companyId);
+
+        ProjectImportJobResponse job = projectImportService.startImport(
+                companyId, userPrincipal.getUser().getId(), format, request.getInputStream());
+
+        ApiResponse<ProjectImportJobResponse> response = ApiResponse.<ProjectImportJobResponse>builder()
+                .success(true)
+                .message("Project import accepted")
+                .data(job)
+                .build();
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
+    /**
+     * Get the progress and row results of a bulk import
+     */
+    @GetMapping("/import-jobs/{jobId}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('PROJECT_MANAGER')")
+    public ResponseEntity<ApiResponse<ProjectImportJobResponse>> getImportJob(
+            @Parameter(description = "Import job ID", required = true) @PathVariable UUID jobId,
+            @Parameter(description = "Only return the rows that failed") @RequestParam(defaultValue = "false") boolean failedOnly,
+            Authentication authentication) {
+
+        CustomUserDetailsService.CustomUserPrincipal userPrincipal =
+                (CustomUserDetailsService.CustomUserPrincipal) authentication.getPrincipal();
+        UUID companyId = userPrincipal.getUser().getCompany().getId();
+
+        ProjectImportJobResponse job = projectImportService.getJob(jobId, companyId, failedOnly);
+
+        ApiResponse<ProjectImportJobResponse> response = ApiResponse.<ProjectImportJobResponse>builder()
+                .success(true)
+                .message("Project import retrieved successfully")
+                .data(job)
+                .build();
+
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Get project by ID
      */
@@ -125,6 +201,31 @@ public class ProjectController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Get the company's projects as a feed using a continuation cursor
+     */
+    @GetMapping("/feed")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('PROJECT_MANAGER') or hasRole('USER')")
+    public ResponseEntity<ApiResponse<CursorPage<ProjectDto>>> getProjectFeed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            Authentication authentication) {
+        
+        CustomUserDetailsService.CustomUserPrincipal userPrincipal =
+                (CustomUserDetailsService.CustomUserPrincipal) authentication.getPrincipal();
+        UUID companyId = userPrincipal.getUser().getCompany().getId();
+        
+        CursorPage<ProjectDto> projects = projectService.getProjectFeedByCompany(companyId, cursor, size);
+        
+        ApiResponse<CursorPage<ProjectDto>> response = ApiResponse.<CursorPage<ProjectDto>>builder()
+                .success(true)
+                .message("Projects retrieved successfully")
+                .data(projects)
+                .build();
+        
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Search projects
      */
@@ -266,6 +367,44 @@ public class ProjectController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Export every file of a project as a streamed ZIP
+     */
+    @Operation(summary = "Export project files",
+            description = "Streams all documents, step photos and step update attachments of a project as a ZIP " +
+                    "with a manifest. Resume an interrupted export with fromIndex and the exportId from the manifest.")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "ZIP streamed"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid export index"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Project or export not found")
+    })
+    @GetMapping("/{projectId}/export")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('PROJECT_MANAGER')")
+    public void exportProjectFiles(
+            @Parameter(description = "Project ID", required = true) @PathVariable UUID projectId,
+            @Parameter(description = "Index of the first file to include") @RequestParam(defaultValue = "0") int fromIndex,
+            @Parameter(description = "Export ID from the manifest of the export being resumed")
+            @RequestParam(required = false) UUID exportId,
+            Authentication authentication,
+            HttpServletResponse response) throws IOException {
+        
+        CustomUserDetailsService.CustomUserPrincipal userPrincipal =
+                (CustomUserDetailsService.CustomUserPrincipal) authentication.getPrincipal();
+        UUID companyId = userPrincipal.getUser().getCompany().getId();
+        
+        ProjectExportService.ExportPlan plan = projectExportService.planExport(projectId, companyId, exportId);
+        plan.requireValidIndex(fromIndex);
+        log.info("Exporting files {} onwards of project {}", fromIndex, projectId);
+        
+        // Written straight to the servlet stream: an async body would be cut off by the request timeout
+        response.setContentType("application/zip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"project-" + projectId + "-files.zip\"");
+        response.setHeader("X-Export-Id", plan.exportId().toString());
+        response.setHeader("X-Export-As-Of", plan.asOf().toString());
+        response.setHeader("X-Export-File-Count", String.valueOf(plan.entries().size()));
+        projectExportService.writeExport(plan, fromIndex, response.getOutputStream());
+    }
+
     /**
      * Get project workflow with stages and steps
      */
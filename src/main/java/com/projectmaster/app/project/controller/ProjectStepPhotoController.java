@@ -1,7 +1,11 @@
 package com.projectmaster.app.project.controller;
 
 import com.projectmaster.app.common.dto.ApiResponse;
+import com.projectmaster.app.common.exception.ProjectMasterException;
+import com.projectmaster.app.common.service.ThumbnailService;
+import com.projectmaster.app.common.web.ResourceResponses;
 import com.projectmaster.app.project.dto.ProjectStepPhotoDto;
+import com.projectmaster.app.project.entity.ProjectStepPhoto;
 import com.projectmaster.app.project.service.ProjectStepPhotoService;
 import com.projectmaster.app.security.service.CustomUserDetailsService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -9,15 +13,19 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
 
@@ -48,7 +56,8 @@ public class ProjectStepPhotoController {
     @PreAuthorize("hasRole('ADMIN') or hasRole('PROJECT_MANAGER') or hasRole('USER')")
     public ResponseEntity<ApiResponse<ProjectStepPhotoDto>> uploadPhoto(
             @Parameter(description = "Project step ID", required = true) @PathVariable UUID projectStepId,
-            @Parameter(description = "Photo file") @RequestParam("file") MultipartFile file,
+            @Parameter(description = "Photo file") @RequestParam(value = "file", required = false) MultipartFile file,
+            @Parameter(description = "Completed chunked upload to use instead of a file") @RequestParam(value = "uploadId", required = false) UUID uploadId,
             @Parameter(description = "Photo description") @RequestParam(value = "description", required = false) String description,
             @Parameter(description = "Photo type (BEFORE, DURING, AFTER, QUALITY_CHECK, ISSUE, PROGRESS, COMPLETION)") @RequestParam(value = "photoType", required = false) String photoType,
             Authentication authentication) {
@@ -59,7 +68,12 @@ public class ProjectStepPhotoController {
                 (CustomUserDetailsService.CustomUserPrincipal) authentication.getPrincipal();
         UUID uploadedByUserId = userPrincipal.getUser().getId();
         
-        ProjectStepPhotoDto photo = photoService.uploadPhoto(projectStepId, file, description, photoType, uploadedByUserId);
+        if (file == null && uploadId == null) {
+            throw new ProjectMasterException("Either file or uploadId must be provided", "FILE_REQUIRED");
+        }
+        ProjectStepPhotoDto photo = file != null
+                ? photoService.uploadPhoto(projectStepId, file, description, photoType, uploadedByUserId)
+                : photoService.uploadPhotoFromUpload(projectStepId, uploadId, description, photoType, uploadedByUserId);
         
         ApiResponse<ProjectStepPhotoDto> response = ApiResponse.<ProjectStepPhotoDto>builder()
                 .success(true)
@@ -161,6 +175,101 @@ public class ProjectStepPhotoController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Get the image file of a photo
+     */
+    @Operation(
+        summary = "Get photo file",
+        description = "Stream the upright, metadata-free web rendition of a photo; supports Range, If-Range and " +
+                "If-None-Match. Photos still processing, or that could not be processed, have no file to serve"
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Photo file returned"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "206", description = "Partial photo content returned"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Photo not found or not processed")
+    })
+    @GetMapping("/photos/{photoId}/file")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('PROJECT_MANAGER') or hasRole('USER')")
+    public ResponseEntity<?> getPhotoFile(
+            @Parameter(description = "Photo ID", required = true) @PathVariable UUID photoId,
+            HttpServletRequest httpRequest) throws IOException {
+        
+        ProjectStepPhoto photo = photoService.getPhotoEntity(photoId);
+        Resource resource = photoService.loadPhotoFile(photo);
+        
+        if (ProjectStepPhotoService.isServedAsJpeg(photo)) {
+            return ResourceResponses.serve(httpRequest, resource, MediaType.IMAGE_JPEG,
+                    ResourceResponses.etagOf(photo.getRenditionKey()),
+                    "inline; filename=\"" + photo.getOriginalFileName() + "\"");
+        }
+        return serveOriginal(photo, resource, httpRequest);
+    }
+
+    /**
+     * Get the original file of a photo as uploaded
+     */
+    @Operation(
+        summary = "Get original photo file",
+        description = "Stream the photo exactly as uploaded, including EXIF metadata such as GPS position. " +
+                "Until the photo is processed only its uploader or an admin can fetch the original"
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Original photo file returned"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "206", description = "Partial photo content returned"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Access denied"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Photo not found")
+    })
+    @GetMapping("/photos/{photoId}/original")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('PROJECT_MANAGER')")
+    public ResponseEntity<?> getOriginalPhotoFile(
+            @Parameter(description = "Photo ID", required = true) @PathVariable UUID photoId,
+            HttpServletRequest httpRequest,
+            Authentication authentication) throws IOException {
+        
+        CustomUserDetailsService.CustomUserPrincipal userPrincipal = 
+                (CustomUserDetailsService.CustomUserPrincipal) authentication.getPrincipal();
+        ProjectStepPhoto photo = photoService.getPhotoEntity(photoId);
+        return serveOriginal(photo, photoService.loadOriginalPhotoFile(photo, userPrincipal.getUser()), httpRequest);
+    }
+
+    private ResponseEntity<?> serveOriginal(ProjectStepPhoto photo, Resource resource,
+                                            HttpServletRequest httpRequest) throws IOException {
+        String etag = photo.getStorageKey() != null
+                ? ResourceResponses.etagOf(photo.getStorageKey())
+                : ResourceResponses.fileEtag(resource);
+        return ResourceResponses.serve(httpRequest, resource, MediaType.parseMediaType(photo.getMimeType()), etag,
+                "inline; filename=\"" + photo.getOriginalFileName() + "\"");
+    }
+
+    /**
+     * Get a thumbnail of a photo
+     */
+    @Operation(
+        summary = "Get photo thumbnail",
+        description = "Get a resized JPEG thumbnail of a photo at the nearest fixed size (128, 256 or 512 pixels)"
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Thumbnail returned"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Photo not found")
+    })
+    @GetMapping("/photos/{photoId}/thumbnail")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('PROJECT_MANAGER') or hasRole('USER')")
+    public ResponseEntity<?> getPhotoThumbnail(
+            @Parameter(description = "Photo ID", required = true) @PathVariable UUID photoId,
+            @Parameter(description = "Requested size in pixels") @RequestParam(defaultValue = "256") int size,
+            HttpServletRequest httpRequest) throws IOException {
+        
+        ProjectStepPhoto photo = photoService.getPhotoEntity(photoId);
+        Resource thumbnail = photoService.getPhotoThumbnail(photo, size);
+        boolean rendered = ProjectStepPhotoService.isServedAsJpeg(photo);
+        boolean resized = rendered || ThumbnailService.supports(photo.getMimeType());
+        
+        // Thumbnails change once the upright rendition replaces the original as their source
+        return ResourceResponses.serve(httpRequest, thumbnail,
+                resized ? MediaType.IMAGE_JPEG : MediaType.parseMediaType(photo.getMimeType()),
+                "\"" + photo.getId() + (rendered ? "_web_" : "_") + (resized ? ThumbnailService.fixedSizeFor(size) : "original") + "\"", null);
+    }
+
     /**
      * Update photo metadata
      */
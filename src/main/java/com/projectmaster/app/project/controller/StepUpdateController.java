@@ -1,6 +1,8 @@
 package com.projectmaster.app.project.controller;
 
 import com.projectmaster.app.common.dto.ApiResponse;
+import com.projectmaster.app.common.dto.CursorPage;
+import com.projectmaster.app.common.web.ResourceResponses;
 import com.projectmaster.app.project.dto.*;
 import com.projectmaster.app.project.entity.StepUpdateDocument;
 import com.projectmaster.app.project.service.StepUpdateService;
@@ -10,9 +12,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -84,7 +84,7 @@ public class StepUpdateController {
                         MultipartFile multipartFile = new PartMultipartFile(filePart);
                         stepUpdateRequest.getDocuments().get(i).setFile(multipartFile);
                         log.info("Extracted file part {}: {} (size: {} bytes)", i, filePartName, filePart.getSize());
-                    } else {
+                    } else if (stepUpdateRequest.getDocuments().get(i).getUploadId() == null) {
                         log.warn("File part {} not found or empty", filePartName);
                     }
                 }
@@ -211,6 +211,30 @@ public class StepUpdateController {
                 .build());
     }
 
+    /**
+     * Get an updates feed for a step, task, stage or project using a continuation cursor
+     */
+    @GetMapping("/feed/{level}/{entityId}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('PROJECT_MANAGER') or hasRole('TRADIE')")
+    @Operation(summary = "Get updates feed", description = "Newest-first updates for infinite scroll; pass nextCursor back to continue")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Updates retrieved successfully")
+    })
+    public ResponseEntity<ApiResponse<CursorPage<StepUpdateResponse>>> getUpdatesFeed(
+            @PathVariable UpdatesRetrievalRequest.UpdateLevel level,
+            @PathVariable UUID entityId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+
+        CursorPage<StepUpdateResponse> feed = stepUpdateService.retrieveUpdatesFeed(level, entityId, cursor, size);
+
+        return ResponseEntity.ok(ApiResponse.<CursorPage<StepUpdateResponse>>builder()
+                .success(true)
+                .message("Updates retrieved successfully")
+                .data(feed)
+                .build());
+    }
+
     /**
      * Get updates for a specific step
      */
@@ -365,30 +389,25 @@ public class StepUpdateController {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Document retrieved successfully"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Document not found")
     })
-    public ResponseEntity<Resource> downloadDocument(
+    public ResponseEntity<?> downloadDocument(
             @PathVariable UUID documentId,
-            @RequestParam(value = "view", defaultValue = "false") boolean view) throws IOException {
+            @RequestParam(value = "view", defaultValue = "false") boolean view,
+            HttpServletRequest httpRequest) throws IOException {
 
         log.info("{} document: {}", view ? "Viewing" : "Downloading", documentId);
 
-        byte[] fileContent = stepUpdateService.downloadDocument(documentId);
         StepUpdateDocument document = stepUpdateService.getStepUpdateDocumentEntity(documentId);
-        ByteArrayResource resource = new ByteArrayResource(fileContent);
-
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.ok()
-                .contentType(MediaType.parseMediaType(document.getMimeType()));
-
-        if (view) {
-            // For viewing: inline disposition allows browser to display the file
-            responseBuilder.header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + 
-                    (document.getOriginalFileName() != null ? document.getOriginalFileName() : document.getFileName()) + "\"");
-        } else {
-            // For downloading: attachment disposition forces download
-            responseBuilder.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + 
-                    (document.getOriginalFileName() != null ? document.getOriginalFileName() : document.getFileName()) + "\"");
-        }
+        Resource resource = stepUpdateService.downloadDocument(documentId);
+
+        String fileName = document.getOriginalFileName() != null ? document.getOriginalFileName() : document.getFileName();
+        // For viewing: inline disposition allows browser to display the file; attachment forces download
+        String disposition = (view ? "inline" : "attachment") + "; filename=\"" + fileName + "\"";
 
-        return responseBuilder.body(resource);
+        String etag = document.getStorageKey() != null
+                ? ResourceResponses.etagOf(document.getStorageKey())
+                : ResourceResponses.fileEtag(resource);
+        return ResourceResponses.serve(httpRequest, resource, MediaType.parseMediaType(document.getMimeType()),
+                etag, disposition);
     }
 
     /**
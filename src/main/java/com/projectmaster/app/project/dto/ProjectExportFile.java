@@ -0,0 +1,27 @@
+package com.projectmaster.app.project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * Metadata of one file in a project export, read without touching file content
+ */
+@Getter
+@AllArgsConstructor
+public class ProjectExportFile {
+
+    public static final String DOCUMENT = "DOCUMENT";
+    public static final String STEP_PHOTO = "STEP_PHOTO";
+    public static final String STEP_UPDATE_DOCUMENT = "STEP_UPDATE_DOCUMENT";
+
+    private String source;
+    private UUID id;
+    private String stepName; // null for project documents
+    private String fileName;
+    private Long fileSize; // null when the record does not store one
+    private String mimeType;
+    private String storageKey; // null for content not yet in blob storage
+    private String legacyFile; // file name or path used before blob storage
+}
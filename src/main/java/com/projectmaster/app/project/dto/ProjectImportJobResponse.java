@@ -0,0 +1,48 @@
+package com.projectmaster.app.project.dto;
+
+import com.projectmaster.app.project.entity.ProjectImportFormat;
+import com.projectmaster.app.project.entity.ProjectImportJobStatus;
+import com.projectmaster.app.project.entity.ProjectImportRowStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Progress of a bulk project import; processed rows are created projects plus failed rows
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectImportJobResponse {
+
+    private UUID jobId;
+    private UUID companyId;
+    private ProjectImportFormat format;
+    private ProjectImportJobStatus status;
+    private Integer totalRows;
+    private Integer createdProjects;
+    private Integer failedRows;
+    private Integer percentComplete;
+    private String errorMessage;
+    private Instant startedAt;
+    private Instant completedAt;
+    private List<RowResult> rows;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowResult {
+        private Integer rowNumber;
+        private String projectNumber;
+        private ProjectImportRowStatus status;
+        private UUID projectId;
+        private String message;
+    }
+}
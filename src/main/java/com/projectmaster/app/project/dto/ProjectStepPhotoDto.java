@@ -1,5 +1,6 @@
 package com.projectmaster.app.project.dto;
 
+import com.projectmaster.app.common.enums.PhotoProcessingStatus;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -46,6 +47,15 @@ public class ProjectStepPhotoDto {
     @Schema(description = "Photo description", example = "Excavation progress after 2 hours of work")
     private String description;
 
+    @Schema(description = "Processing state of the web rendition; null for photos uploaded before processing existed", example = "READY")
+    private PhotoProcessingStatus processingStatus;
+
+    @Schema(description = "Upright width of the original in pixels", example = "4032")
+    private Integer width;
+
+    @Schema(description = "Upright height of the original in pixels", example = "3024")
+    private Integer height;
+
     @Schema(description = "Photo type", example = "DURING")
     private String photoType;
 
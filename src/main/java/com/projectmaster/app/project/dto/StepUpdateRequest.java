@@ -12,6 +12,7 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.UUID;
 import org.springframework.web.multipart.MultipartFile;
 
 @Data
@@ -53,6 +54,9 @@ public class StepUpdateRequest {
         @Schema(description = "File to upload")
         private MultipartFile file;
 
+        @Schema(description = "Completed chunked upload to attach instead of a file")
+        private UUID uploadId;
+
         @Schema(description = "Original file name", example = "foundation_progress_photo.jpg")
         private String fileName;
 
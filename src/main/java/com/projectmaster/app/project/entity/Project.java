@@ -17,6 +17,8 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "projects", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"company_id", "project_number"}, name = "uk_projects_company_project_number")
+}, indexes = {
+    @Index(name = "idx_projects_company_feed", columnList = "company_id, created_at DESC, id DESC")
 })
 @Getter
 @Setter
@@ -0,0 +1,41 @@
+package com.projectmaster.app.project.entity;
+
+import com.projectmaster.app.common.entity.BaseEntity;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * The frozen file list of a project export. Resuming an export reads its files from here
+ * rather than listing the project again, so indices never shift when files are archived
+ * or deleted after the export started.
+ */
+@Entity
+@Table(name = "project_exports", indexes = {
+    @Index(name = "idx_project_exports_created", columnList = "created_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProjectExport extends BaseEntity {
+
+    @Column(name = "project_id", nullable = false)
+    private UUID projectId;
+
+    @Column(name = "company_id", nullable = false)
+    private UUID companyId;
+
+    @Column(name = "as_of", nullable = false)
+    private Instant asOf;
+
+    @Column(name = "file_count", nullable = false)
+    private Integer fileCount;
+
+    // One "SOURCE:id" line per file, in archive order
+    @Column(name = "entry_keys", nullable = false, columnDefinition = "TEXT")
+    private String entryKeys;
+}
@@ -0,0 +1,9 @@
+package com.projectmaster.app.project.entity;
+
+/**
+ * Body format of a bulk project import
+ */
+public enum ProjectImportFormat {
+    NDJSON,  // One CreateProjectRequest JSON object per line
+    CSV      // A header row of request fields, address fields prefixed with "address."
+}
@@ -0,0 +1,63 @@
+package com.projectmaster.app.project.entity;
+
+import com.projectmaster.app.common.entity.BaseEntity;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A bulk import of projects into a company. The upload is parsed into rows as it streams
+ * in, then the rows are validated and created in batches by a background worker; the counts
+ * are updated in the same transactions as the rows, so the job can be polled for progress
+ * and resumed after a restart without creating a project twice.
+ */
+@Entity
+@Table(name = "project_import_jobs", indexes = {
+    @Index(name = "idx_project_import_jobs_company", columnList = "company_id"),
+    @Index(name = "idx_project_import_jobs_status_updated", columnList = "status, updated_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProjectImportJob extends BaseEntity {
+
+    @Column(name = "company_id", nullable = false)
+    private UUID companyId;
+
+    @Column(name = "created_by_id")
+    private UUID createdById;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "format", nullable = false, length = 10)
+    private ProjectImportFormat format;
+
+    @Enumerated(EnumType.STRING)
+    @Builder.Default
+    @Column(name = "status", nullable = false, length = 20)
+    private ProjectImportJobStatus status = ProjectImportJobStatus.RECEIVING;
+
+    @Builder.Default
+    @Column(name = "total_rows", nullable = false)
+    private Integer totalRows = 0;
+
+    @Builder.Default
+    @Column(name = "created_projects", nullable = false)
+    private Integer createdProjects = 0;
+
+    @Builder.Default
+    @Column(name = "failed_rows", nullable = false)
+    private Integer failedRows = 0;
+
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+
+    @Column(name = "started_at")
+    private Instant startedAt;
+
+    @Column(name = "completed_at")
+    private Instant completedAt;
+}
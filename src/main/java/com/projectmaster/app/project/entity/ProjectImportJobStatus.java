@@ -0,0 +1,12 @@
+package com.projectmaster.app.project.entity;
+
+/**
+ * Progress of a bulk project import
+ */
+public enum ProjectImportJobStatus {
+    RECEIVING,  // The upload is being parsed into rows
+    PENDING,    // Every row is stored; waiting for a worker
+    RUNNING,    // Creating projects
+    COMPLETED,  // Every row was created or failed; see the row results
+    FAILED      // The upload or the job itself failed; see the error message
+}
@@ -0,0 +1,46 @@
+package com.projectmaster.app.project.entity;
+
+import com.projectmaster.app.common.entity.BaseEntity;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.UUID;
+
+/**
+ * One row of a bulk project import: the parsed request and, once processed, the created
+ * project or the reason the row was rejected
+ */
+@Entity
+@Table(name = "project_import_rows",
+       uniqueConstraints = @UniqueConstraint(name = "uk_project_import_rows_job_row", columnNames = {"job_id", "row_number"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProjectImportRow extends BaseEntity {
+
+    @Column(name = "job_id", nullable = false)
+    private UUID jobId;
+
+    @Column(name = "row_number", nullable = false)
+    private Integer rowNumber;
+
+    @Column(name = "project_number", length = 50)
+    private String projectNumber;
+
+    @Enumerated(EnumType.STRING)
+    @Builder.Default
+    @Column(name = "status", nullable = false, length = 20)
+    private ProjectImportRowStatus status = ProjectImportRowStatus.PENDING;
+
+    @Column(name = "project_id")
+    private UUID projectId;
+
+    @Column(name = "message", columnDefinition = "TEXT")
+    private String message;
+
+    // The row as a CreateProjectRequest in JSON; null for rows that could not be parsed
+    @Column(name = "payload", columnDefinition = "TEXT")
+    private String payload;
+}
@@ -0,0 +1,10 @@
+package com.projectmaster.app.project.entity;
+
+/**
+ * Result of one row of a bulk project import
+ */
+public enum ProjectImportRowStatus {
+    PENDING,  // Parsed and waiting to be imported
+    CREATED,  // The project was created
+    FAILED    // The row was rejected; see its message
+}
@@ -1,6 +1,7 @@
 package com.projectmaster.app.project.entity;
 
 import com.projectmaster.app.common.entity.BaseEntity;
+import com.projectmaster.app.common.enums.PhotoProcessingStatus;
 import com.projectmaster.app.user.entity.User;
 import jakarta.persistence.*;
 import lombok.*;
@@ -28,9 +29,35 @@ public class ProjectStepPhoto extends BaseEntity {
     @Column(name = "original_file_name", nullable = false, length = 255)
     private String originalFileName;
 
-    @Column(name = "file_path", nullable = false, length = 500)
+    // Legacy location for photos stored before blob storage; null for new photos
+    @Column(name = "file_path", length = 500)
     private String filePath;
 
+    // Blob storage key (hex SHA-256 of the content)
+    @Column(name = "storage_key", length = 64)
+    private String storageKey;
+
+    // Upright, EXIF-free JPEG served to viewers once processing has finished
+    @Column(name = "rendition_key", length = 64)
+    private String renditionKey;
+
+    // Null for photos uploaded before the processing pipeline existed
+    @Enumerated(EnumType.STRING)
+    @Column(name = "processing_status", length = 20)
+    private PhotoProcessingStatus processingStatus;
+
+    // Processing runs cut short by a storage error; the photo is marked FAILED at the configured maximum
+    @Builder.Default
+    @Column(name = "processing_attempts", nullable = false, columnDefinition = "INTEGER DEFAULT 0 NOT NULL")
+    private Integer processingAttempts = 0;
+
+    // Upright pixel dimensions of the original, recorded by processing
+    @Column(name = "width")
+    private Integer width;
+
+    @Column(name = "height")
+    private Integer height;
+
     @Column(name = "file_size", nullable = false)
     private Long fileSize;
 
@@ -15,7 +15,10 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "step_updates")
+@Table(name = "step_updates", indexes = {
+    @Index(name = "idx_step_updates_step_feed", columnList = "project_step_id, created_at DESC, id DESC"),
+    @Index(name = "idx_step_updates_feed", columnList = "created_at DESC, id DESC")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -31,6 +31,9 @@ public class StepUpdateDocument extends BaseEntity {
     @Column(name = "file_name", nullable = false)
     private String fileName; // Unique system filename
 
+    @Column(name = "storage_key", length = 64)
+    private String storageKey; // Blob storage key; null for files stored before blob storage
+
     @Column(name = "original_file_name")
     private String originalFileName; // Display filename
 
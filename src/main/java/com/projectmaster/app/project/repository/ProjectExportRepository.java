@@ -0,0 +1,27 @@
+package com.projectmaster.app.project.repository;
+
+import com.projectmaster.app.project.entity.ProjectExport;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ProjectExportRepository extends JpaRepository<ProjectExport, UUID> {
+
+    Optional<ProjectExport> findByIdAndCompanyId(UUID id, UUID companyId);
+
+    /**
+     * Remove exports started before the cutoff, which can no longer be resumed
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ProjectExport e WHERE e.createdAt < :cutoff")
+    int deleteByCreatedAtBefore(@Param("cutoff") Instant cutoff);
+}
@@ -0,0 +1,106 @@
+package com.projectmaster.app.project.repository;
+
+import com.projectmaster.app.project.entity.ProjectImportJob;
+import com.projectmaster.app.project.entity.ProjectImportJobStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ProjectImportJobRepository extends JpaRepository<ProjectImportJob, UUID> {
+
+    Optional<ProjectImportJob> findByIdAndCompanyId(UUID id, UUID companyId);
+
+    /**
+     * Find unfinished jobs that were last touched before the cutoff
+     */
+    @Query("SELECT j.id FROM ProjectImportJob j WHERE j.status IN :statuses AND j.updatedAt < :cutoff ORDER BY j.updatedAt")
+    List<UUID> findIdsByStatusInAndUpdatedAtBefore(@Param("statuses") Collection<ProjectImportJobStatus> statuses,
+                                                   @Param("cutoff") Instant cutoff,
+                                                   Limit limit);
+
+    /**
+     * Record that another batch of the upload has been stored, so the sweep does not take
+     * a slow upload for an interrupted one; returns 0 if the job is no longer receiving
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ProjectImportJob j SET j.updatedAt = :now " +
+           "WHERE j.id = :id AND j.status = com.projectmaster.app.project.entity.ProjectImportJobStatus.RECEIVING")
+    int touchReceiving(@Param("id") UUID id, @Param("now") Instant now);
+
+    /**
+     * Fail an upload that has stored nothing since the cutoff; returns 0 if it has made
+     * progress or finished meanwhile
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ProjectImportJob j SET j.status = com.projectmaster.app.project.entity.ProjectImportJobStatus.FAILED, " +
+           "j.errorMessage = :errorMessage, j.completedAt = :now, j.updatedAt = :now " +
+           "WHERE j.id = :id AND j.status = com.projectmaster.app.project.entity.ProjectImportJobStatus.RECEIVING " +
+           "AND j.updatedAt < :cutoff")
+    int markUploadInterrupted(@Param("id") UUID id,
+                              @Param("errorMessage") String errorMessage,
+                              @Param("cutoff") Instant cutoff,
+                              @Param("now") Instant now);
+
+    /**
+     * Record that the upload has been stored as rows; returns 0 if the job is no longer receiving
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ProjectImportJob j SET j.status = com.projectmaster.app.project.entity.ProjectImportJobStatus.PENDING, " +
+           "j.totalRows = :totalRows, j.failedRows = j.failedRows + :failedRows, j.updatedAt = :now " +
+           "WHERE j.id = :id AND j.status = com.projectmaster.app.project.entity.ProjectImportJobStatus.RECEIVING")
+    int markReceived(@Param("id") UUID id,
+                     @Param("totalRows") int totalRows,
+                     @Param("failedRows") int failedRows,
+                     @Param("now") Instant now);
+
+    /**
+     * Move a pending or interrupted job to RUNNING; returns 0 if it has already finished
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ProjectImportJob j SET j.status = com.projectmaster.app.project.entity.ProjectImportJobStatus.RUNNING, " +
+           "j.startedAt = COALESCE(j.startedAt, :now), j.updatedAt = :now " +
+           "WHERE j.id = :id AND j.status IN (com.projectmaster.app.project.entity.ProjectImportJobStatus.PENDING, " +
+           "com.projectmaster.app.project.entity.ProjectImportJobStatus.RUNNING)")
+    int markRunning(@Param("id") UUID id, @Param("now") Instant now);
+
+    /**
+     * Add the results of a batch of rows; runs in the transaction that stored the rows
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ProjectImportJob j SET j.createdProjects = j.createdProjects + :created, " +
+           "j.failedRows = j.failedRows + :failed, j.updatedAt = :now WHERE j.id = :id")
+    int recordResults(@Param("id") UUID id,
+                      @Param("created") int created,
+                      @Param("failed") int failed,
+                      @Param("now") Instant now);
+
+    /**
+     * Finish a job that is still in the expected status; the counts were kept up to date by
+     * the batches. Returns 0 if the job has moved on, e.g. been finished by another path.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ProjectImportJob j SET j.status = :status, j.errorMessage = :errorMessage, " +
+           "j.completedAt = :now, j.updatedAt = :now WHERE j.id = :id AND j.status = :expectedStatus")
+    int markFinished(@Param("id") UUID id,
+                     @Param("expectedStatus") ProjectImportJobStatus expectedStatus,
+                     @Param("status") ProjectImportJobStatus status,
+                     @Param("errorMessage") String errorMessage,
+                     @Param("now") Instant now);
+}
@@ -0,0 +1,42 @@
+package com.projectmaster.app.project.repository;
+
+import com.projectmaster.app.project.entity.ProjectImportRow;
+import com.projectmaster.app.project.entity.ProjectImportRowStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ProjectImportRowRepository extends JpaRepository<ProjectImportRow, UUID> {
+
+    List<ProjectImportRow> findByJobIdOrderByRowNumber(UUID jobId);
+
+    List<ProjectImportRow> findByJobIdAndStatusOrderByRowNumber(UUID jobId, ProjectImportRowStatus status);
+
+    /**
+     * Record the project created from a pending row; returns 0 if the row was already processed
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ProjectImportRow r SET r.status = com.projectmaster.app.project.entity.ProjectImportRowStatus.CREATED, " +
+           "r.projectId = :projectId, r.message = NULL, r.updatedAt = :now " +
+           "WHERE r.id = :id AND r.status = com.projectmaster.app.project.entity.ProjectImportRowStatus.PENDING")
+    int markCreated(@Param("id") UUID id, @Param("projectId") UUID projectId, @Param("now") Instant now);
+
+    /**
+     * Reject a pending row; returns 0 if the row was already processed
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ProjectImportRow r SET r.status = com.projectmaster.app.project.entity.ProjectImportRowStatus.FAILED, " +
+           "r.message = :message, r.updatedAt = :now " +
+           "WHERE r.id = :id AND r.status = com.projectmaster.app.project.entity.ProjectImportRowStatus.PENDING")
+    int markFailed(@Param("id") UUID id, @Param("message") String message, @Param("now") Instant now);
+}
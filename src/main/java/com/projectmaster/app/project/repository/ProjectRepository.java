@@ -2,6 +2,7 @@ package com.projectmaster.app.project.repository;
 
 import com.projectmaster.app.common.enums.ProjectStatus;
 import com.projectmaster.app.project.entity.Project;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -9,6 +10,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
@@ -22,6 +24,16 @@ public interface ProjectRepository extends JpaRepository<Project, UUID> {
      */
     Page<Project> findByCompanyId(UUID companyId, Pageable pageable);
 
+    /**
+     * Keyset feed of a company's projects with addresses, newest first, after the (createdAt, id) cursor
+     */
+    @Query("SELECT p FROM Project p LEFT JOIN FETCH p.address " +
+           "WHERE p.company.id = :companyId AND " +
+           "(p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Project> findFeedByCompanyId(@Param("companyId") UUID companyId, @Param("createdAt") Instant createdAt,
+                                      @Param("id") UUID id, Limit limit);
+
     /**
      * Find all projects by customer ID
      */
@@ -32,6 +44,12 @@ public interface ProjectRepository extends JpaRepository<Project, UUID> {
      */
     Optional<Project> findByProjectNumber(String projectNumber);
 
+    /**
+     * Find the project numbers already used by a company
+     */
+    @Query("SELECT p.projectNumber FROM Project p WHERE p.company.id = :companyId")
+    List<String> findProjectNumbersByCompanyId(@Param("companyId") UUID companyId);
+
     /**
      * Find projects by status
      */
@@ -90,6 +108,12 @@ public interface ProjectRepository extends JpaRepository<Project, UUID> {
     @Query("SELECT COUNT(p) FROM Project p WHERE p.company.id = :companyId AND (:status IS NULL OR p.status = :status)")
     Long countByCompanyIdAndStatus(@Param("companyId") UUID companyId, @Param("status") ProjectStatus status);
 
+    /**
+     * Count projects per status for a company
+     */
+    @Query("SELECT p.status, COUNT(p) FROM Project p WHERE p.company.id = :companyId GROUP BY p.status")
+    List<Object[]> countByStatusForCompany(@Param("companyId") UUID companyId);
+
     /**
      * Find projects by workflow template
      */
@@ -1,12 +1,21 @@
 package com.projectmaster.app.project.repository;
 
+import com.projectmaster.app.common.enums.PhotoProcessingStatus;
+import com.projectmaster.app.project.dto.ProjectExportFile;
 import com.projectmaster.app.project.entity.ProjectStepPhoto;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
@@ -43,4 +52,63 @@ public interface ProjectStepPhotoRepository extends JpaRepository<ProjectStepPho
      */
     @Query("SELECT p FROM ProjectStepPhoto p WHERE p.projectStep.id = :projectStepId ORDER BY p.createdAt DESC")
     List<ProjectStepPhoto> findByProjectStepIdWithPagination(@Param("projectStepId") UUID projectStepId);
+
+    /**
+     * Export metadata of every photo in a project, in a stable order
+     */
+    @Query("SELECT new com.projectmaster.app.project.dto.ProjectExportFile('STEP_PHOTO', p.id, s.name, " +
+           "p.originalFileName, p.fileSize, p.mimeType, p.storageKey, p.filePath) " +
+           "FROM ProjectStepPhoto p JOIN p.projectStep s " +
+           "WHERE s.projectTask.projectStage.project.id = :projectId AND p.createdAt <= :asOf " +
+           "ORDER BY p.createdAt, p.id")
+    List<ProjectExportFile> findExportFilesByProjectId(@Param("projectId") UUID projectId, @Param("asOf") Instant asOf);
+
+    /**
+     * Find a photo and lock its row, serialising deletion with a finishing processing run
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM ProjectStepPhoto p WHERE p.id = :id")
+    Optional<ProjectStepPhoto> findByIdForUpdate(@Param("id") UUID id);
+
+    /**
+     * Find photos still waiting for processing that were last touched before the cutoff
+     */
+    @Query("SELECT p.id FROM ProjectStepPhoto p WHERE p.processingStatus = :status AND p.updatedAt < :cutoff ORDER BY p.updatedAt")
+    List<UUID> findIdsByProcessingStatusAndUpdatedAtBefore(@Param("status") PhotoProcessingStatus status,
+                                                          @Param("cutoff") Instant cutoff,
+                                                          Limit limit);
+
+    /**
+     * Record a finished rendition; returns 0 if the photo is gone or was already processed
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ProjectStepPhoto p SET p.renditionKey = :renditionKey, p.width = :width, p.height = :height, " +
+           "p.processingStatus = com.projectmaster.app.common.enums.PhotoProcessingStatus.READY, p.updatedAt = :now " +
+           "WHERE p.id = :id AND p.processingStatus = com.projectmaster.app.common.enums.PhotoProcessingStatus.PROCESSING")
+    int markReady(@Param("id") UUID id,
+                  @Param("renditionKey") String renditionKey,
+                  @Param("width") int width,
+                  @Param("height") int height,
+                  @Param("now") Instant now);
+
+    /**
+     * Count a processing run cut short by a storage error; the photo stays in PROCESSING and
+     * the sweep picks it up again once the retry delay has passed
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ProjectStepPhoto p SET p.processingAttempts = p.processingAttempts + 1, p.updatedAt = :now " +
+           "WHERE p.id = :id AND p.processingStatus = com.projectmaster.app.common.enums.PhotoProcessingStatus.PROCESSING")
+    int recordFailedAttempt(@Param("id") UUID id, @Param("now") Instant now);
+
+    /**
+     * Record that no rendition could be produced; only the uploader and admins can then fetch the original
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ProjectStepPhoto p SET p.processingStatus = com.projectmaster.app.common.enums.PhotoProcessingStatus.FAILED, " +
+           "p.updatedAt = :now " +
+           "WHERE p.id = :id AND p.processingStatus = com.projectmaster.app.common.enums.PhotoProcessingStatus.PROCESSING")
+    int markFailed(@Param("id") UUID id, @Param("now") Instant now);
 }
@@ -0,0 +1,123 @@
+package com.projectmaster.app.project.repository;
+
+import com.projectmaster.app.project.entity.ProjectStage;
+import com.projectmaster.app.project.entity.ProjectStep;
+import com.projectmaster.app.project.entity.ProjectStepRequirement;
+import com.projectmaster.app.project.entity.ProjectTask;
+import com.projectmaster.app.workflow.entity.ProjectDependency;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * Writes a newly instantiated project tree with JDBC batch inserts. Every entity must
+ * already carry its id and every reference must point at an entity with an id; the rows
+ * join the caller's transaction, so the project itself must have been flushed first.
+ * Tasks and steps are ordered by created_at, so rows get created_at one microsecond
+ * apart in list order.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProjectTreeBatchWriter {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_STAGE_SQL =
+            "INSERT INTO project_stages (id, project_id, workflow_stage_id, name, status, planned_start_date, " +
+            "planned_end_date, approvals_received, description, order_index, parallel_execution, required_approvals, " +
+            "estimated_duration_days, workflow_template_version, workflow_stage_version, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_TASK_SQL =
+            "INSERT INTO project_tasks (id, project_stage_id, workflow_task_id, name, status, planned_start_date, " +
+            "planned_end_date, description, estimated_days, workflow_task_version, adhoc_task_flag, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_STEP_SQL =
+            "INSERT INTO project_steps (id, project_task_id, workflow_step_id, name, status, planned_start_date, " +
+            "planned_end_date, description, estimated_days, workflow_step_version, specialty_id, adhoc_step_flag, " +
+            "created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_REQUIREMENT_SQL =
+            "INSERT INTO project_step_requirements (id, project_step_id, workflow_step_requirement_id, " +
+            "consumable_category_id, supplier_id, item_name, brand, model, quantity, unit, estimated_cost, " +
+            "procurement_type, status, is_optional, notes, display_order, supplier_item_code, is_template_copied, " +
+            "customer_selectable, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_DEPENDENCY_SQL =
+            "INSERT INTO project_dependencies (id, project_id, dependent_entity_type, dependent_entity_id, " +
+            "depends_on_entity_type, depends_on_entity_id, dependency_type, lag_days, status, is_critical_path, " +
+            "slack_days, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertStages(List<ProjectStage> stages) {
+        insert(INSERT_STAGE_SQL, stages, (stage, now) -> new Object[]{
+                stage.getId(), stage.getProject().getId(), stage.getWorkflowStage().getId(), stage.getName(),
+                stage.getStatus().name(), stage.getPlannedStartDate(), stage.getPlannedEndDate(),
+                stage.getApprovalsReceived(), stage.getDescription(), stage.getOrderIndex(),
+                stage.getParallelExecution(), stage.getRequiredApprovals(), stage.getEstimatedDurationDays(),
+                stage.getWorkflowTemplateVersion(), stage.getWorkflowStageVersion(), now, now});
+    }
+
+    public void insertTasks(List<ProjectTask> tasks) {
+        insert(INSERT_TASK_SQL, tasks, (task, now) -> new Object[]{
+                task.getId(), task.getProjectStage().getId(),
+                task.getWorkflowTask() != null ? task.getWorkflowTask().getId() : null, task.getName(),
+                task.getStatus().name(), task.getPlannedStartDate(), task.getPlannedEndDate(),
+                task.getDescription(), task.getEstimatedDays(), task.getWorkflowTaskVersion(),
+                task.getAdhocTaskFlag(), now, now});
+    }
+
+    public void insertSteps(List<ProjectStep> steps) {
+        insert(INSERT_STEP_SQL, steps, (step, now) -> new Object[]{
+                step.getId(), step.getProjectTask().getId(),
+                step.getWorkflowStep() != null ? step.getWorkflowStep().getId() : null, step.getName(),
+                step.getStatus().name(), step.getPlannedStartDate(), step.getPlannedEndDate(),
+                step.getDescription(), step.getEstimatedDays(), step.getWorkflowStepVersion(),
+                step.getSpecialty().getId(), step.getAdhocStepFlag(), now, now});
+    }
+
+    public void insertRequirements(List<ProjectStepRequirement> requirements) {
+        insert(INSERT_REQUIREMENT_SQL, requirements, (req, now) -> new Object[]{
+                req.getId(), req.getProjectStep().getId(),
+                req.getWorkflowStepRequirement() != null ? req.getWorkflowStepRequirement().getId() : null,
+                req.getCategory().getId(), req.getSupplier() != null ? req.getSupplier().getId() : null,
+                req.getItemName(), req.getBrand(), req.getModel(), req.getQuantity(), req.getUnit(),
+                req.getEstimatedCost(), req.getProcurementType().name(), req.getStatus().name(),
+                req.getIsOptional(), req.getNotes(), req.getDisplayOrder(), req.getSupplierItemCode(),
+                req.getIsTemplateCopied(), req.getCustomerSelectable(), now, now});
+    }
+
+    public void insertDependencies(List<ProjectDependency> dependencies) {
+        insert(INSERT_DEPENDENCY_SQL, dependencies, (dep, now) -> new Object[]{
+                dep.getId(), dep.getProjectId(), dep.getDependentEntityType().name(), dep.getDependentEntityId(),
+                dep.getDependsOnEntityType().name(), dep.getDependsOnEntityId(), dep.getDependencyType().name(),
+                dep.getLagDays(), dep.getStatus().name(), dep.getIsCriticalPath(), dep.getSlackDays(), now, now});
+    }
+
+    private <T> void insert(String sql, List<T> entities, BiFunction<T, Timestamp, Object[]> toRow) {
+        Instant now = Instant.now();
+        List<Object[]> rows = new ArrayList<>(Math.min(entities.size(), BATCH_SIZE));
+        for (int i = 0; i < entities.size(); i++) {
+            rows.add(toRow.apply(entities.get(i), Timestamp.from(now.plus(i, ChronoUnit.MICROS))));
+            if (rows.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(sql, rows);
+                rows.clear();
+            }
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, rows);
+        }
+    }
+}
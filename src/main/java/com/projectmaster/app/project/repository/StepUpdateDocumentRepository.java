@@ -1,5 +1,6 @@
 package com.projectmaster.app.project.repository;
 
+import com.projectmaster.app.project.dto.ProjectExportFile;
 import com.projectmaster.app.project.entity.StepUpdateDocument;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -8,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
@@ -70,6 +72,14 @@ public interface StepUpdateDocumentRepository extends JpaRepository<StepUpdateDo
            "ORDER BY sd.uploadDate DESC")
     Page<StepUpdateDocument> findByProjectId(@Param("projectId") UUID projectId, Pageable pageable);
 
+    // Export metadata of every step update attachment in a project, in a stable order
+    @Query("SELECT new com.projectmaster.app.project.dto.ProjectExportFile('STEP_UPDATE_DOCUMENT', sd.id, s.name, " +
+           "sd.originalFileName, CAST(NULL AS Long), sd.mimeType, sd.storageKey, sd.fileName) " +
+           "FROM StepUpdateDocument sd JOIN sd.stepUpdate su JOIN su.projectStep s " +
+           "WHERE s.projectTask.projectStage.project.id = :projectId AND sd.createdAt <= :asOf " +
+           "ORDER BY sd.createdAt, sd.id")
+    List<ProjectExportFile> findExportFilesByProjectId(@Param("projectId") UUID projectId, @Param("asOf") Instant asOf);
+
     // Find documents by type
     @Query("SELECT sd FROM StepUpdateDocument sd " +
            "JOIN FETCH sd.stepUpdate su " +
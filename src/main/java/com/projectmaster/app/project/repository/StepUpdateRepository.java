@@ -2,6 +2,7 @@ package com.projectmaster.app.project.repository;
 
 import com.projectmaster.app.project.entity.StepUpdate;
 import com.projectmaster.app.project.entity.StepUpdateDocument;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -9,7 +10,9 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -76,6 +79,41 @@ public interface StepUpdateRepository extends JpaRepository<StepUpdate, UUID> {
            "ORDER BY su.updateDate DESC")
     Page<StepUpdate> findByProjectIdWithDetails(@Param("projectId") UUID projectId, Pageable pageable);
 
+    // Keyset feeds: ids newest first, strictly after the (createdAt, id) cursor
+    @Query("SELECT su.id FROM StepUpdate su " +
+           "WHERE su.projectStep.id = :stepId AND " +
+           "(su.createdAt < :createdAt OR (su.createdAt = :createdAt AND su.id < :id)) " +
+           "ORDER BY su.createdAt DESC, su.id DESC")
+    List<UUID> findFeedIdsByProjectStepId(@Param("stepId") UUID stepId, @Param("createdAt") Instant createdAt,
+                                          @Param("id") UUID id, Limit limit);
+
+    @Query("SELECT su.id FROM StepUpdate su " +
+           "WHERE su.projectStep.projectTask.id = :taskId AND " +
+           "(su.createdAt < :createdAt OR (su.createdAt = :createdAt AND su.id < :id)) " +
+           "ORDER BY su.createdAt DESC, su.id DESC")
+    List<UUID> findFeedIdsByProjectTaskId(@Param("taskId") UUID taskId, @Param("createdAt") Instant createdAt,
+                                          @Param("id") UUID id, Limit limit);
+
+    @Query("SELECT su.id FROM StepUpdate su " +
+           "WHERE su.projectStep.projectTask.projectStage.id = :stageId AND " +
+           "(su.createdAt < :createdAt OR (su.createdAt = :createdAt AND su.id < :id)) " +
+           "ORDER BY su.createdAt DESC, su.id DESC")
+    List<UUID> findFeedIdsByProjectStageId(@Param("stageId") UUID stageId, @Param("createdAt") Instant createdAt,
+                                           @Param("id") UUID id, Limit limit);
+
+    @Query("SELECT su.id FROM StepUpdate su " +
+           "WHERE su.projectStep.projectTask.projectStage.project.id = :projectId AND " +
+           "(su.createdAt < :createdAt OR (su.createdAt = :createdAt AND su.id < :id)) " +
+           "ORDER BY su.createdAt DESC, su.id DESC")
+    List<UUID> findFeedIdsByProjectId(@Param("projectId") UUID projectId, @Param("createdAt") Instant createdAt,
+                                      @Param("id") UUID id, Limit limit);
+
+    @Query("SELECT DISTINCT su FROM StepUpdate su " +
+           "JOIN FETCH su.updatedBy " +
+           "LEFT JOIN FETCH su.documents " +
+           "WHERE su.id IN :ids")
+    List<StepUpdate> findAllWithDetailsByIdIn(@Param("ids") Collection<UUID> ids);
+
     // Find updates by date range
     @Query("SELECT su FROM StepUpdate su " +
            "JOIN FETCH su.updatedBy " +
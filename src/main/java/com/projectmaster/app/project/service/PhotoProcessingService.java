@@ -0,0 +1,155 @@
+package com.projectmaster.app.project.service;
+
+import com.projectmaster.app.common.enums.PhotoProcessingStatus;
+import com.projectmaster.app.common.job.BackgroundJobs;
+import com.projectmaster.app.common.service.ImageNormalizer;
+import com.projectmaster.app.common.service.ThumbnailService;
+import com.projectmaster.app.common.storage.BlobReferenceService;
+import com.projectmaster.app.common.storage.BlobStorage;
+import com.projectmaster.app.common.storage.StoredBlob;
+import com.projectmaster.app.project.entity.ProjectStepPhoto;
+import com.projectmaster.app.project.repository.ProjectStepPhotoRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Turns uploaded step photos into web renditions off the request path. Each photo is
+ * processed on a virtual thread once its upload commits: the original is auto-oriented,
+ * scaled to a capped resolution and re-encoded without EXIF, then thumbnails are generated
+ * from the rendition. A semaphore bounds how many full-size images are decoded at once.
+ * Photos left in PROCESSING by a restart or a storage error are picked up again by a
+ * periodic sweep; only images that cannot be decoded, or keep failing, are marked FAILED.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PhotoProcessingService {
+
+    private static final int SWEEP_BATCH_SIZE = 100;
+
+    private final ProjectStepPhotoRepository photoRepository;
+    private final ImageNormalizer imageNormalizer;
+    private final ThumbnailService thumbnailService;
+    private final BlobStorage blobStorage;
+    private final BlobReferenceService blobReferenceService;
+
+    private final BackgroundJobs jobs = new BackgroundJobs("Photo processing");
+
+    @Value("${app.photos.processing.max-dimension:2048}")
+    private int maxDimension;
+
+    @Value("${app.photos.processing.max-concurrent:2}")
+    private int maxConcurrent;
+
+    @Value("${app.photos.processing.retry-after-minutes:15}")
+    private long retryAfterMinutes;
+
+    @Value("${app.photos.processing.max-attempts:5}")
+    private int maxAttempts;
+
+    private Semaphore decodePermits;
+
+    @PostConstruct
+    public void init() {
+        decodePermits = new Semaphore(maxConcurrent);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobs.shutdown();
+    }
+
+    /**
+     * Queue a photo for processing once the current transaction (if any) commits
+     */
+    public void submitAfterCommit(UUID photoId) {
+        jobs.submitAfterCommit(photoId, () -> process(photoId));
+    }
+
+    /**
+     * Resubmit photos whose processing was interrupted, e.g. by a restart (scheduled job)
+     */
+    @Scheduled(cron = "${app.photos.processing.sweep-cron:0 */5 * * * ?}") // Run every 5 minutes by default
+    public void resubmitStalledPhotos() {
+        Instant cutoff = Instant.now().minus(Duration.ofMinutes(retryAfterMinutes));
+        List<UUID> stalled = photoRepository.findIdsByProcessingStatusAndUpdatedAtBefore(
+                PhotoProcessingStatus.PROCESSING, cutoff, Limit.of(SWEEP_BATCH_SIZE));
+        if (!stalled.isEmpty()) {
+            log.info("Resubmitting {} photos stuck in processing", stalled.size());
+            stalled.forEach(this::submit);
+        }
+    }
+
+    private void submit(UUID photoId) {
+        jobs.submit(photoId, () -> process(photoId));
+    }
+
+    void process(UUID photoId) {
+        try {
+            decodePermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        ProjectStepPhoto photo = null;
+        try {
+            photo = photoRepository.findById(photoId).orElse(null);
+            if (photo == null || photo.getProcessingStatus() != PhotoProcessingStatus.PROCESSING) {
+                return;
+            }
+
+            ImageNormalizer.Rendition rendition = imageNormalizer.normalize(openOriginal(photo), maxDimension);
+            StoredBlob blob = blobReferenceService.storeAndAcquire(new ByteArrayResource(rendition.jpeg()));
+
+            int updated = photoRepository.markReady(photoId, blob.getKey(),
+                    rendition.originalWidth(), rendition.originalHeight(), Instant.now());
+            if (updated == 0) {
+                // Deleted or finished elsewhere while we worked
+                blobReferenceService.release(blob.getKey());
+                return;
+            }
+
+            thumbnailService.pregenerate(blob.getKey(), () -> blobStorage.load(blob.getKey()));
+            log.debug("Processed photo {} into {}x{} rendition {}", photoId, rendition.width(), rendition.height(), blob.getKey());
+        } catch (ImageNormalizer.UnreadableImageException | RuntimeException e) {
+            log.warn("Failed to process photo {}; only its original remains, for the uploader and admins", photoId, e);
+            photoRepository.markFailed(photoId, Instant.now());
+        } catch (IOException e) {
+            // Storage errors are usually transient, so the sweep tries again until attempts run out
+            if (photo.getProcessingAttempts() + 1 < maxAttempts) {
+                log.warn("Storage error while processing photo {}; it will be retried", photoId, e);
+                photoRepository.recordFailedAttempt(photoId, Instant.now());
+            } else {
+                log.warn("Failed to process photo {} after {} attempts; only its original remains, for the uploader and admins",
+                        photoId, maxAttempts, e);
+                photoRepository.markFailed(photoId, Instant.now());
+            }
+        } finally {
+            decodePermits.release();
+        }
+    }
+
+    private Resource openOriginal(ProjectStepPhoto photo) throws IOException {
+        if (photo.getStorageKey() != null) {
+            return blobStorage.load(photo.getStorageKey());
+        }
+        return new FileSystemResource(Paths.get(photo.getFilePath()));
+    }
+}
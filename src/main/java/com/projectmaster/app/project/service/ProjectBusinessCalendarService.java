@@ -1,6 +1,7 @@
 package com.projectmaster.app.project.service;
 
-import com.projectmaster.app.core.repository.CompanyHolidayRepository;
+import com.projectmaster.app.core.service.HolidayCalendarCache;
+import com.projectmaster.app.core.service.WorkingDayIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -13,14 +14,14 @@ import java.util.stream.Collectors;
 /**
  * Service for business calendar calculations
  * Handles working days, holidays, and business date calculations
- * Caches company holidays for next 5 years to cover multi-year projects
+ * Uses the company's compiled working-day calendar, which covers multi-year projects
  */
 @Service("projectBusinessCalendarService")
 @RequiredArgsConstructor
 @Slf4j
 public class ProjectBusinessCalendarService {
 
-    private final CompanyHolidayRepository companyHolidayRepository;
+    private final HolidayCalendarCache holidayCalendarCache;
 
     // Default working days (Monday to Friday)
     private static final Set<DayOfWeek> DEFAULT_WORKING_DAYS = Set.of(
@@ -31,27 +32,27 @@ public class ProjectBusinessCalendarService {
             DayOfWeek.FRIDAY
     );
     
-    // Thread-local cache for holidays to avoid redundant DB calls during schedule calculation
+    // Thread-local reference to the company calendar used during schedule calculation
     private final ThreadLocal<HolidayCache> holidayCache = ThreadLocal.withInitial(HolidayCache::new);
     
     /**
-     * Internal cache class for company holidays
+     * Internal cache class for the company calendar
      */
     private static class HolidayCache {
         UUID companyId;
-        Set<LocalDate> holidays = new HashSet<>();
+        WorkingDayIndex index;
         boolean initialized = false;
         
         void clear() {
             companyId = null;
-            holidays.clear();
+            index = null;
             initialized = false;
         }
     }
 
     /**
-     * Initialize holiday cache for a company
-     * Loads holidays for next 5 years to cover projects that span multiple years
+     * Initialize holiday cache for a company from its shared compiled calendar, so a
+     * schedule calculation sees the calendar that was current when it started
      */
     public void initializeHolidayCache(UUID companyId) {
         if (companyId == null) {
@@ -60,41 +61,13 @@ public class ProjectBusinessCalendarService {
         }
         
         HolidayCache cache = holidayCache.get();
-        
-        // Check if already initialized for this company
-        if (cache.initialized && companyId.equals(cache.companyId)) {
-            log.debug("Holiday cache already initialized for company: {}", companyId);
-            return;
-        }
-        
-        // Clear and reinitialize
         cache.clear();
         cache.companyId = companyId;
-        
-        // Get current year and next 4 years (5 years total)
-        int currentYear = LocalDate.now().getYear();
-        int yearsToCache = 5;
-        
-        log.debug("Initializing holiday cache for company: {} (years {}-{})", 
-            companyId, currentYear, currentYear + yearsToCache - 1);
-        
-        // Load holidays for next 5 years
-        for (int i = 0; i < yearsToCache; i++) {
-            int year = currentYear + i;
-            var yearHolidays = companyHolidayRepository
-                .findByCompanyIdAndHolidayYearOrderByHolidayDate(companyId, year);
-            
-            // Add all holiday dates to the cache
-            yearHolidays.forEach(h -> cache.holidays.add(h.getHolidayDate()));
-            
-            log.debug("Loaded {} holidays for year {} (company: {})", 
-                yearHolidays.size(), year, companyId);
-        }
-        
+        cache.index = holidayCalendarCache.get(companyId);
         cache.initialized = true;
         
-        log.info("Holiday cache initialized for company: {} with {} holidays across {} years ({}-{})", 
-            companyId, cache.holidays.size(), yearsToCache, currentYear, currentYear + yearsToCache - 1);
+        log.debug("Holiday cache initialized for company: {} with {} holidays ({} to {})", 
+            companyId, cache.index.holidays().size(), cache.index.firstDay(), cache.index.lastDay());
     }
     
     /**
@@ -113,6 +86,14 @@ public class ProjectBusinessCalendarService {
             return 0;
         }
 
+        WorkingDayIndex index = currentIndex(startDate, endDate);
+        if (index != null) {
+            int indexed = index.countWorkingDays(startDate, endDate);
+            if (indexed >= 0) {
+                return indexed;
+            }
+        }
+
         int businessDays = 0;
         LocalDate currentDate = startDate;
 
@@ -142,6 +123,14 @@ public class ProjectBusinessCalendarService {
             businessDays = 10000;
         }
 
+        WorkingDayIndex index = currentIndex(startDate, startDate);
+        if (index != null) {
+            LocalDate indexed = index.addWorkingDays(startDate, businessDays);
+            if (indexed != null) {
+                return indexed;
+            }
+        }
+
         LocalDate currentDate = startDate;
         int addedDays = 0;
         int maxIterations = businessDays * 100; // Safety check for infinite loops
@@ -196,6 +185,14 @@ public class ProjectBusinessCalendarService {
             businessDays = 10000;
         }
 
+        WorkingDayIndex index = currentIndex(startDate, startDate);
+        if (index != null) {
+            LocalDate indexed = index.subtractWorkingDays(startDate, businessDays);
+            if (indexed != null) {
+                return indexed;
+            }
+        }
+
         LocalDate currentDate = startDate;
         int subtractedDays = 0;
         int maxIterations = businessDays * 2; // Safety check for infinite loops
@@ -282,11 +279,10 @@ public class ProjectBusinessCalendarService {
             return false;
         }
 
-        HolidayCache cache = holidayCache.get();
-        
         // Use cache if initialized
-        if (cache.initialized) {
-            return cache.holidays.contains(date);
+        WorkingDayIndex index = currentIndex(date, date);
+        if (index != null) {
+            return index.isHoliday(date);
         }
         
         // Fallback: No cache initialized, return false
@@ -303,19 +299,32 @@ public class ProjectBusinessCalendarService {
             return Set.of();
         }
 
-        HolidayCache cache = holidayCache.get();
-        
-        if (!cache.initialized) {
+        WorkingDayIndex index = currentIndex(startDate, endDate);
+        if (index == null) {
             log.warn("Holiday cache not initialized for getHolidaysInRange");
             return Set.of();
         }
 
         // Filter cached holidays within the date range
-        return cache.holidays.stream()
+        return index.holidays().stream()
             .filter(date -> !date.isBefore(startDate) && !date.isAfter(endDate))
             .collect(Collectors.toSet());
     }
 
+    // The initialized calendar of this thread widened to cover both dates, or null. The
+    // compiled window only holds holidays inside it, so a date past either end would
+    // otherwise read as a working day.
+    private WorkingDayIndex currentIndex(LocalDate from, LocalDate to) {
+        HolidayCache cache = holidayCache.get();
+        if (!cache.initialized) {
+            return null;
+        }
+        if (!cache.index.covers(from) || !cache.index.covers(to)) {
+            cache.index = holidayCalendarCache.covering(cache.companyId, from, to);
+        }
+        return cache.index;
+    }
+
     /**
      * Calculate the end date for a task given start date and duration in business days
      */
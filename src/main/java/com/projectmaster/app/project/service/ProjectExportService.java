@@ -0,0 +1,353 @@
+package com.projectmaster.app.project.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projectmaster.app.common.exception.EntityNotFoundException;
+import com.projectmaster.app.common.exception.ProjectMasterException;
+import com.projectmaster.app.common.storage.BlobStorage;
+import com.projectmaster.app.document.repository.DocumentRepository;
+import com.projectmaster.app.project.dto.ProjectExportFile;
+import com.projectmaster.app.project.entity.Project;
+import com.projectmaster.app.project.entity.ProjectExport;
+import com.projectmaster.app.project.repository.ProjectExportRepository;
+import com.projectmaster.app.project.repository.ProjectRepository;
+import com.projectmaster.app.project.repository.ProjectStepPhotoRepository;
+import com.projectmaster.app.project.repository.StepUpdateDocumentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Streams every document, step photo and step update attachment of a project as one ZIP.
+ * Files are pulled from storage one at a time and copied straight into the response, so
+ * memory use does not grow with file sizes; only the file metadata is held. The archive
+ * starts with a manifest of all files by index. The file list is saved when an export
+ * starts, and an interrupted export is resumed by asking for the files of that export from
+ * an index onwards; files archived or deleted in the meantime keep their index and are
+ * listed as missing.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProjectExportService {
+
+    public static final String MANIFEST_NAME = "manifest.json";
+    public static final String MISSING_FILES_NAME = "missing-files.json";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final Pattern UNSAFE_NAME_CHARS = Pattern.compile("[\\\\/:*?\"<>|\\p{Cntrl}]");
+    // Formats that are already compressed; deflating them again costs CPU for nothing
+    private static final Set<String> STORED_MIME_PREFIXES = Set.of(
+            "image/jpeg", "image/png", "image/gif", "image/webp", "image/heic",
+            "video/", "audio/", "application/zip", "application/gzip", "application/x-7z",
+            "application/vnd.openxmlformats");
+
+    private final ProjectRepository projectRepository;
+    private final ProjectExportRepository projectExportRepository;
+    private final DocumentRepository documentRepository;
+    private final ProjectStepPhotoRepository photoRepository;
+    private final StepUpdateDocumentRepository stepUpdateDocumentRepository;
+    private final BlobStorage blobStorage;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.projects.export.retention-days:7}")
+    private long retentionDays;
+
+    /**
+     * One file of an export at its position in the archive; file is null once the file has
+     * been archived or deleted since the export started
+     */
+    public record ExportEntry(int index, String source, UUID id, String path, ProjectExportFile file) {
+    }
+
+    /**
+     * The files of a project as of a point in time, in archive order
+     */
+    public record ExportPlan(UUID exportId, UUID projectId, String projectName, Instant asOf, List<ExportEntry> entries) {
+
+        /**
+         * Reject a resume index past the end of the plan
+         */
+        public void requireValidIndex(int fromIndex) {
+            if (fromIndex < 0 || fromIndex > entries.size()) {
+                throw new ProjectMasterException("Export index out of range: " + fromIndex, "INVALID_EXPORT_INDEX");
+            }
+        }
+    }
+
+    /**
+     * List the files to export and save the list; with an exportId, load the list saved when
+     * that export started instead
+     */
+    @Transactional
+    public ExportPlan planExport(UUID projectId, UUID companyId, UUID exportId) {
+        Project project = projectRepository.findById(projectId)
+                .orElseThrow(() -> new EntityNotFoundException("Project not found with id: " + projectId));
+        if (!project.getCompany().getId().equals(companyId)) {
+            throw new ProjectMasterException("Cannot export a project of a different company");
+        }
+
+        if (exportId != null) {
+            ProjectExport export = projectExportRepository.findByIdAndCompanyId(exportId, companyId)
+                    .filter(found -> found.getProjectId().equals(projectId))
+                    .orElseThrow(() -> new EntityNotFoundException("Export not found with id: " + exportId));
+            return resumePlan(project, export);
+        }
+
+        Instant snapshot = Instant.now();
+        List<ProjectExportFile> files = listFiles(projectId, snapshot);
+        List<ExportEntry> entries = new ArrayList<>(files.size());
+        StringBuilder entryKeys = new StringBuilder();
+        for (ProjectExportFile file : files) {
+            int index = entries.size();
+            entries.add(new ExportEntry(index, file.getSource(), file.getId(), archivePath(index, file), file));
+            entryKeys.append(entryKey(file.getSource(), file.getId())).append('\n');
+        }
+        ProjectExport export = projectExportRepository.save(ProjectExport.builder()
+                .projectId(projectId)
+                .companyId(companyId)
+                .asOf(snapshot)
+                .fileCount(entries.size())
+                .entryKeys(entryKeys.toString())
+                .build());
+
+        log.info("Planned export {} of {} files for project {}", export.getId(), entries.size(), projectId);
+        return new ExportPlan(export.getId(), projectId, project.getName(), snapshot, entries);
+    }
+
+    private ExportPlan resumePlan(Project project, ProjectExport export) {
+        Map<String, ProjectExportFile> current = new HashMap<>();
+        for (ProjectExportFile file : listFiles(project.getId(), export.getAsOf())) {
+            current.put(entryKey(file.getSource(), file.getId()), file);
+        }
+
+        List<ExportEntry> entries = new ArrayList<>(export.getFileCount());
+        for (String key : export.getEntryKeys().split("\n")) {
+            if (key.isEmpty()) {
+                continue;
+            }
+            int index = entries.size();
+            int separator = key.indexOf(':');
+            ProjectExportFile file = current.get(key);
+            entries.add(new ExportEntry(index, key.substring(0, separator), UUID.fromString(key.substring(separator + 1)),
+                    file != null ? archivePath(index, file) : null, file));
+        }
+        return new ExportPlan(export.getId(), project.getId(), project.getName(), export.getAsOf(), entries);
+    }
+
+    private List<ProjectExportFile> listFiles(UUID projectId, Instant asOf) {
+        List<ProjectExportFile> files = new ArrayList<>();
+        files.addAll(documentRepository.findExportFilesByProjectId(projectId, asOf));
+        files.addAll(photoRepository.findExportFilesByProjectId(projectId, asOf));
+        files.addAll(stepUpdateDocumentRepository.findExportFilesByProjectId(projectId, asOf));
+        return files;
+    }
+
+    private static String entryKey(String source, UUID id) {
+        return source + ":" + id;
+    }
+
+    /**
+     * Remove saved exports past their retention (scheduled job)
+     */
+    @Scheduled(cron = "${app.projects.export.cleanup-cron:0 30 3 * * ?}") // Run daily at 3:30 AM by default
+    public void deleteExpiredExports() {
+        int deleted = projectExportRepository.deleteByCreatedAtBefore(Instant.now().minus(Duration.ofDays(retentionDays)));
+        if (deleted > 0) {
+            log.info("Deleted {} expired project exports", deleted);
+        }
+    }
+
+    /**
+     * Write the manifest and the files from fromIndex onwards as a ZIP. Files whose content
+     * cannot be found are left out and listed at the end of the archive.
+     */
+    public void writeExport(ExportPlan plan, int fromIndex, OutputStream out) throws IOException {
+        plan.requireValidIndex(fromIndex);
+
+        ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(out, BUFFER_SIZE));
+        writeManifest(zip, plan, fromIndex);
+
+        List<ExportEntry> missing = new ArrayList<>();
+        for (ExportEntry entry : plan.entries().subList(fromIndex, plan.entries().size())) {
+            if (entry.file() == null) {
+                missing.add(entry);
+                continue;
+            }
+            InputStream in;
+            try {
+                in = open(entry.file()).getInputStream();
+            } catch (IOException e) {
+                log.warn("Skipping missing {} {} in export of project {}", entry.source(), entry.id(), plan.projectId());
+                missing.add(entry);
+                continue;
+            }
+
+            zip.setLevel(isCompressed(entry.file().getMimeType()) ? Deflater.NO_COMPRESSION : Deflater.DEFAULT_COMPRESSION);
+            try (in) {
+                zip.putNextEntry(new ZipEntry(entry.path()));
+                in.transferTo(zip);
+                zip.closeEntry();
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            zip.setLevel(Deflater.DEFAULT_COMPRESSION);
+            zip.putNextEntry(new ZipEntry(MISSING_FILES_NAME));
+            try (JsonGenerator json = objectMapper.createGenerator(zip)) {
+                json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                json.writeStartArray();
+                for (ExportEntry entry : missing) {
+                    json.writeStartObject();
+                    json.writeNumberField("index", entry.index());
+                    json.writeStringField("source", entry.source());
+                    json.writeStringField("id", entry.id().toString());
+                    if (entry.path() != null) {
+                        json.writeStringField("path", entry.path());
+                    } else {
+                        json.writeStringField("reason", "removed");
+                    }
+                    json.writeEndObject();
+                }
+                json.writeEndArray();
+            }
+            zip.closeEntry();
+        }
+
+        zip.finish();
+        zip.flush();
+        log.info("Exported files {}-{} of project {} ({} missing)",
+                fromIndex, plan.entries().size() - 1, plan.projectId(), missing.size());
+    }
+
+    private void writeManifest(ZipOutputStream zip, ExportPlan plan, int fromIndex) throws IOException {
+        zip.setLevel(Deflater.DEFAULT_COMPRESSION);
+        zip.putNextEntry(new ZipEntry(MANIFEST_NAME));
+        try (JsonGenerator json = objectMapper.createGenerator(zip)) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.useDefaultPrettyPrinter();
+            json.writeStartObject();
+            json.writeStringField("exportId", plan.exportId().toString());
+            json.writeStringField("projectId", plan.projectId().toString());
+            json.writeStringField("projectName", plan.projectName());
+            json.writeStringField("asOf", plan.asOf().toString());
+            json.writeNumberField("fileCount", plan.entries().size());
+            json.writeNumberField("fromIndex", fromIndex);
+            json.writeArrayFieldStart("files");
+            for (ExportEntry entry : plan.entries()) {
+                ProjectExportFile file = entry.file();
+                json.writeStartObject();
+                json.writeNumberField("index", entry.index());
+                json.writeStringField("source", entry.source());
+                json.writeStringField("id", entry.id().toString());
+                if (file == null) {
+                    // Archived or deleted since the export started
+                    json.writeBooleanField("removed", true);
+                    json.writeEndObject();
+                    continue;
+                }
+                json.writeStringField("path", entry.path());
+                json.writeStringField("fileName", file.getFileName());
+                if (file.getFileSize() != null) {
+                    json.writeNumberField("size", file.getFileSize());
+                }
+                if (file.getStorageKey() != null) {
+                    // Blob keys are the SHA-256 of the content
+                    json.writeStringField("sha256", file.getStorageKey());
+                }
+                json.writeStringField("mimeType", file.getMimeType());
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+        zip.closeEntry();
+    }
+
+    private Resource open(ProjectExportFile file) throws IOException {
+        if (file.getStorageKey() != null) {
+            return blobStorage.load(file.getStorageKey());
+        }
+        if (file.getLegacyFile() == null) {
+            // Document content still waiting for the blob migration job is read from its row
+            return loadLegacyContent(file);
+        }
+        Resource legacy = ProjectExportFile.STEP_UPDATE_DOCUMENT.equals(file.getSource())
+                ? new FileSystemResource(StepUpdateService.legacyDocumentPath(file.getLegacyFile()))
+                : new FileSystemResource(Paths.get(file.getLegacyFile()));
+        if (!legacy.isReadable()) {
+            throw new IOException("Legacy file missing: " + file.getLegacyFile());
+        }
+        return legacy;
+    }
+
+    private Resource loadLegacyContent(ProjectExportFile file) throws IOException {
+        if (!ProjectExportFile.DOCUMENT.equals(file.getSource())) {
+            throw new IOException("No content stored for " + file.getSource() + " " + file.getId());
+        }
+        byte[] content;
+        try {
+            content = documentRepository.findLegacyContentById(file.getId());
+        } catch (DataAccessException e) {
+            throw new IOException("Failed to read stored content of document " + file.getId(), e);
+        }
+        if (content == null) {
+            throw new IOException("No content stored for document " + file.getId());
+        }
+        return new ByteArrayResource(content);
+    }
+
+    /**
+     * Folder by source and step, with the index prefixed so names never collide
+     */
+    private static String archivePath(int index, ProjectExportFile file) {
+        String folder = switch (file.getSource()) {
+            case ProjectExportFile.STEP_PHOTO -> "photos/" + safeName(file.getStepName(), "step");
+            case ProjectExportFile.STEP_UPDATE_DOCUMENT -> "step-updates/" + safeName(file.getStepName(), "step");
+            default -> "documents";
+        };
+        return String.format("%s/%05d_%s", folder, index, safeName(file.getFileName(), "file"));
+    }
+
+    private static String safeName(String name, String fallback) {
+        if (name == null || name.isBlank()) {
+            return fallback;
+        }
+        String safe = UNSAFE_NAME_CHARS.matcher(name.strip()).replaceAll("_");
+        // Keep ".." from reading as a parent directory when unpacked
+        return safe.replace("..", "_");
+    }
+
+    private static boolean isCompressed(String mimeType) {
+        if (mimeType == null) {
+            return false;
+        }
+        String type = mimeType.toLowerCase();
+        return STORED_MIME_PREFIXES.stream().anyMatch(type::startsWith);
+    }
+}
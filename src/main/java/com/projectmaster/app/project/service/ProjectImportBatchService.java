@@ -0,0 +1,110 @@
+package com.projectmaster.app.project.service;
+
+import com.projectmaster.app.common.transaction.TransactionCallbacks;
+import com.projectmaster.app.company.repository.CompanyRepository;
+import com.projectmaster.app.customer.entity.Address;
+import com.projectmaster.app.customer.repository.AddressRepository;
+import com.projectmaster.app.customer.repository.CustomerRepository;
+import com.projectmaster.app.project.dto.CreateProjectRequest;
+import com.projectmaster.app.project.entity.Project;
+import com.projectmaster.app.project.repository.ProjectImportJobRepository;
+import com.projectmaster.app.project.repository.ProjectImportRowRepository;
+import com.projectmaster.app.workflow.repository.WorkflowTemplateRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Creates the projects of one batch of validated import rows in a single transaction. The
+ * rows' results and the job's counts are written in the same transaction, so a batch is
+ * either imported and recorded as a whole or left pending to be retried.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class ProjectImportBatchService {
+
+    private final ProjectService projectService;
+    private final CompanyRepository companyRepository;
+    private final CustomerRepository customerRepository;
+    private final WorkflowTemplateRepository workflowTemplateRepository;
+    private final AddressRepository addressRepository;
+    private final ProjectImportRowRepository projectImportRowRepository;
+    private final ProjectImportJobRepository projectImportJobRepository;
+
+    /**
+     * A pending row that passed validation
+     */
+    public record ValidRow(UUID rowId, int rowNumber, CreateProjectRequest request) {
+    }
+
+    /**
+     * Create a project for each row. Addresses are reused by DPID from addressIdsByDpid,
+     * which gains the addresses this batch creates once it commits. Returns the number of
+     * projects created; rows another worker already processed are skipped.
+     */
+    public int importRows(UUID jobId, UUID companyId, List<ValidRow> rows, Map<String, UUID> addressIdsByDpid) {
+        Map<String, UUID> createdAddresses = new HashMap<>();
+        int created = 0;
+        for (ValidRow row : rows) {
+            CreateProjectRequest request = row.request();
+            Project project = projectService.createProject(
+                    companyRepository.getReferenceById(companyId),
+                    customerRepository.getReferenceById(request.getCustomerId()),
+                    workflowTemplateRepository.getReferenceById(request.getWorkflowTemplateId()),
+                    resolveAddress(request, addressIdsByDpid, createdAddresses),
+                    request);
+            if (projectImportRowRepository.markCreated(row.rowId(), project.getId(), Instant.now()) == 0) {
+                // Rolls the batch back rather than create a project for a row twice
+                throw new IllegalStateException("Import row " + row.rowNumber() + " was already processed");
+            }
+            created++;
+        }
+        projectImportJobRepository.recordResults(jobId, created, 0, Instant.now());
+
+        if (!createdAddresses.isEmpty()) {
+            TransactionCallbacks.afterCommit(() -> createdAddresses.forEach(addressIdsByDpid::putIfAbsent));
+        }
+        return created;
+    }
+
+    /**
+     * Reject rows with the given messages, keyed by row id
+     */
+    public void recordFailures(UUID jobId, Map<UUID, String> failures) {
+        int failed = 0;
+        Instant now = Instant.now();
+        for (Map.Entry<UUID, String> failure : failures.entrySet()) {
+            failed += projectImportRowRepository.markFailed(failure.getKey(), failure.getValue(), now);
+        }
+        projectImportJobRepository.recordResults(jobId, 0, failed, now);
+    }
+
+    private Address resolveAddress(CreateProjectRequest request, Map<String, UUID> addressIdsByDpid,
+                                   Map<String, UUID> createdAddresses) {
+        if (request.getAddress() == null) {
+            return null;
+        }
+        String dpid = request.getAddress().getDpid();
+        boolean hasDpid = dpid != null && !dpid.isBlank();
+        if (hasDpid) {
+            UUID addressId = createdAddresses.getOrDefault(dpid, addressIdsByDpid.get(dpid));
+            if (addressId != null) {
+                return addressRepository.getReferenceById(addressId);
+            }
+        }
+        Address address = addressRepository.save(projectService.buildAddress(request.getAddress()));
+        if (hasDpid) {
+            createdAddresses.put(dpid, address.getId());
+        }
+        return address;
+    }
+}
@@ -0,0 +1,189 @@
+package com.projectmaster.app.project.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projectmaster.app.common.enums.ProjectStatus;
+import com.projectmaster.app.common.exception.ProjectMasterException;
+import com.projectmaster.app.project.dto.CreateProjectRequest;
+import com.projectmaster.app.project.entity.ProjectImportFormat;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Reads a bulk project import one row at a time, so an upload is never held in memory.
+ * NDJSON rows are CreateProjectRequest objects, one per line. CSV rows are named by a header
+ * row using the request's field names, with address fields prefixed by "address."; empty
+ * cells are left unset. A row that cannot be read is reported with an error rather than
+ * stopping the import.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProjectImportParser {
+
+    private static final String ADDRESS_PREFIX = "address.";
+
+    private static final Set<String> CSV_COLUMNS = Set.of(
+            "customerId", "workflowTemplateId", "projectNumber", "name", "description", "budget",
+            "plannedStartDate", "expectedEndDate", "status", "progressPercentage", "notes",
+            "address.line1", "address.line2", "address.suburbCity", "address.stateProvince", "address.postcode",
+            "address.country", "address.dpid", "address.latitude", "address.longitude", "address.validated",
+            "address.validationSource");
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * A parsed row, numbered from 1 in the order of the upload; request is null when error is set
+     */
+    public record ParsedRow(int rowNumber, CreateProjectRequest request, String error) {
+    }
+
+    /**
+     * Parse the input, passing each row to the consumer as soon as it is read
+     */
+    public void parse(InputStream input, ProjectImportFormat format, Consumer<ParsedRow> consumer) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        if (format == ProjectImportFormat.CSV) {
+            parseCsv(reader, consumer);
+        } else {
+            parseNdjson(reader, consumer);
+        }
+    }
+
+    private void parseNdjson(BufferedReader reader, Consumer<ParsedRow> consumer) throws IOException {
+        int rowNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            rowNumber++;
+            try {
+                consumer.accept(new ParsedRow(rowNumber,
+                        withDefaults(objectMapper.readValue(line, CreateProjectRequest.class)), null));
+            } catch (JsonProcessingException e) {
+                consumer.accept(new ParsedRow(rowNumber, null, "Invalid JSON: " + e.getOriginalMessage()));
+            }
+        }
+    }
+
+    private void parseCsv(BufferedReader reader, Consumer<ParsedRow> consumer) throws IOException {
+        List<String> header = readCsvRecord(reader);
+        if (header == null) {
+            return;
+        }
+        // Spreadsheet exports may start with a byte order mark
+        header = header.stream().map(column -> column.replace("\uFEFF", "").trim()).toList();
+        for (String column : header) {
+            if (!CSV_COLUMNS.contains(column)) {
+                throw new ProjectMasterException("Unknown CSV column: " + column);
+            }
+        }
+
+        int rowNumber = 0;
+        List<String> record;
+        while ((record = readCsvRecord(reader)) != null) {
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            rowNumber++;
+            if (record.size() != header.size()) {
+                consumer.accept(new ParsedRow(rowNumber, null,
+                        "Expected " + header.size() + " columns but found " + record.size()));
+                continue;
+            }
+
+            Map<String, Object> fields = new LinkedHashMap<>();
+            Map<String, Object> address = new LinkedHashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                String value = record.get(i).trim();
+                if (value.isEmpty()) {
+                    continue;
+                }
+                String column = header.get(i);
+                if (column.startsWith(ADDRESS_PREFIX)) {
+                    address.put(column.substring(ADDRESS_PREFIX.length()), value);
+                } else {
+                    fields.put(column, value);
+                }
+            }
+            if (!address.isEmpty()) {
+                fields.put("address", address);
+            }
+
+            try {
+                consumer.accept(new ParsedRow(rowNumber,
+                        withDefaults(objectMapper.convertValue(fields, CreateProjectRequest.class)), null));
+            } catch (IllegalArgumentException e) {
+                consumer.accept(new ParsedRow(rowNumber, null, "Invalid value: " + e.getMessage()));
+            }
+        }
+    }
+
+    // Fields left out of a row keep the defaults of the single create endpoint
+    private static CreateProjectRequest withDefaults(CreateProjectRequest request) {
+        if (request.getStatus() == null) {
+            request.setStatus(ProjectStatus.PLANNING);
+        }
+        if (request.getProgressPercentage() == null) {
+            request.setProgressPercentage(0);
+        }
+        return request;
+    }
+
+    /**
+     * Read the next CSV record (RFC 4180: quoted fields may hold commas, doubled quotes and
+     * line breaks), or null at the end of the input
+     */
+    static List<String> readCsvRecord(BufferedReader reader) throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (c != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        if (next != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
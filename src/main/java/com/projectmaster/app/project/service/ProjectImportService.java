@@ -0,0 +1,400 @@
+package com.projectmaster.app.project.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projectmaster.app.common.exception.EntityNotFoundException;
+import com.projectmaster.app.common.exception.ProjectMasterException;
+import com.projectmaster.app.common.job.BackgroundJobs;
+import com.projectmaster.app.customer.entity.Address;
+import com.projectmaster.app.customer.repository.AddressRepository;
+import com.projectmaster.app.customer.repository.CustomerRepository;
+import com.projectmaster.app.project.dto.CreateProjectRequest;
+import com.projectmaster.app.project.dto.ProjectImportJobResponse;
+import com.projectmaster.app.project.entity.ProjectImportFormat;
+import com.projectmaster.app.project.entity.ProjectImportJob;
+import com.projectmaster.app.project.entity.ProjectImportJobStatus;
+import com.projectmaster.app.project.entity.ProjectImportRow;
+import com.projectmaster.app.project.entity.ProjectImportRowStatus;
+import com.projectmaster.app.project.repository.ProjectImportJobRepository;
+import com.projectmaster.app.project.repository.ProjectImportRowRepository;
+import com.projectmaster.app.project.repository.ProjectRepository;
+import com.projectmaster.app.workflow.entity.WorkflowTemplate;
+import com.projectmaster.app.workflow.repository.WorkflowTemplateRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk project imports. The upload is parsed as it streams in and stored as import rows,
+ * then a background run validates every pending row against the company's customers,
+ * templates, project numbers and known addresses, loaded once per run, and creates the
+ * valid rows in batched transactions. A node-wide semaphore bounds how many batches run at
+ * once across all imports. A batch that fails is retried row by row so one bad row does
+ * not reject its neighbours. Jobs interrupted by a restart are picked up again by a
+ * periodic sweep and carry on with the rows still pending.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProjectImportService {
+
+    private static final int STORE_BATCH_SIZE = 200;
+    private static final int SWEEP_BATCH_SIZE = 20;
+
+    private final ProjectImportJobRepository projectImportJobRepository;
+    private final ProjectImportRowRepository projectImportRowRepository;
+    private final ProjectImportBatchService projectImportBatchService;
+    private final ProjectImportParser projectImportParser;
+    private final ProjectService projectService;
+    private final CustomerRepository customerRepository;
+    private final WorkflowTemplateRepository workflowTemplateRepository;
+    private final ProjectRepository projectRepository;
+    private final AddressRepository addressRepository;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    private final BackgroundJobs jobs = new BackgroundJobs("Project import");
+
+    @Value("${app.projects.import.max-rows:5000}")
+    private int maxRows;
+
+    @Value("${app.projects.import.batch-size:25}")
+    private int batchSize;
+
+    @Value("${app.projects.import.max-concurrent-batches:4}")
+    private int maxConcurrentBatches;
+
+    @Value("${app.projects.import.retry-after-minutes:15}")
+    private long retryAfterMinutes;
+
+    private Semaphore batchPermits;
+
+    @PostConstruct
+    public void init() {
+        batchPermits = new Semaphore(maxConcurrentBatches);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobs.shutdown();
+    }
+
+    /**
+     * Store the upload as import rows and queue the job. Rows are written as they are read,
+     * without a transaction spanning the upload, and each stored batch renews the job so the
+     * sweep leaves a slow upload alone; a job whose upload fails is marked FAILED.
+     */
+    public ProjectImportJobResponse startImport(UUID companyId, UUID userId, ProjectImportFormat format,
+                                                InputStream input) {
+        ProjectImportJob job = projectImportJobRepository.save(ProjectImportJob.builder()
+                .companyId(companyId)
+                .createdById(userId)
+                .format(format)
+                .build());
+        UUID jobId = job.getId();
+        log.info("Receiving {} project import {} for company: {}", format, jobId, companyId);
+
+        List<ProjectImportRow> buffer = new ArrayList<>(STORE_BATCH_SIZE);
+        int[] counts = new int[2]; // rows, unparseable rows
+        try {
+            projectImportParser.parse(input, format, row -> {
+                if (counts[0] == maxRows) {
+                    throw new ProjectMasterException("An import may not have more than " + maxRows + " rows");
+                }
+                counts[0]++;
+                if (row.error() != null) {
+                    counts[1]++;
+                }
+                buffer.add(toImportRow(jobId, row));
+                if (buffer.size() == STORE_BATCH_SIZE) {
+                    storeRows(jobId, buffer);
+                    buffer.clear();
+                }
+            });
+            storeRows(jobId, buffer);
+        } catch (IOException | RuntimeException e) {
+            projectImportJobRepository.markFinished(jobId, ProjectImportJobStatus.RECEIVING,
+                    ProjectImportJobStatus.FAILED, "Upload failed: " + e.getMessage(), Instant.now());
+            if (e instanceof ProjectMasterException projectMasterException) {
+                throw projectMasterException;
+            }
+            throw new ProjectMasterException("Failed to read project import: " + e.getMessage(), e);
+        }
+
+        if (projectImportJobRepository.markReceived(jobId, counts[0], counts[1], Instant.now()) == 0) {
+            throw new ProjectMasterException("Project import " + jobId + " was failed before its upload was stored",
+                    "IMPORT_INTERRUPTED");
+        }
+        log.info("Stored {} rows ({} unreadable) of project import {}", counts[0], counts[1], jobId);
+        submit(jobId);
+        return getJob(jobId, companyId, true);
+    }
+
+    @Transactional(readOnly = true)
+    public ProjectImportJobResponse getJob(UUID jobId, UUID companyId, boolean failedRowsOnly) {
+        ProjectImportJob job = projectImportJobRepository.findByIdAndCompanyId(jobId, companyId)
+                .orElseThrow(() -> new EntityNotFoundException("Project import job", jobId));
+        List<ProjectImportRow> rows = failedRowsOnly
+                ? projectImportRowRepository.findByJobIdAndStatusOrderByRowNumber(jobId, ProjectImportRowStatus.FAILED)
+                : projectImportRowRepository.findByJobIdOrderByRowNumber(jobId);
+        return toResponse(job, rows);
+    }
+
+    /**
+     * Resubmit jobs whose run was interrupted, e.g. by a restart, and fail uploads that
+     * stopped part way (scheduled job)
+     */
+    @Scheduled(cron = "${app.projects.import.sweep-cron:0 */5 * * * ?}") // Run every 5 minutes by default
+    public void resubmitStalledJobs() {
+        Instant cutoff = Instant.now().minus(Duration.ofMinutes(retryAfterMinutes));
+        for (UUID jobId : projectImportJobRepository.findIdsByStatusInAndUpdatedAtBefore(
+                List.of(ProjectImportJobStatus.RECEIVING), cutoff, Limit.of(SWEEP_BATCH_SIZE))) {
+            // An upload in progress bumps updatedAt with every stored batch
+            projectImportJobRepository.markUploadInterrupted(jobId, "Upload was interrupted", cutoff, Instant.now());
+        }
+        List<UUID> stalled = projectImportJobRepository.findIdsByStatusInAndUpdatedAtBefore(
+                List.of(ProjectImportJobStatus.PENDING, ProjectImportJobStatus.RUNNING), cutoff, Limit.of(SWEEP_BATCH_SIZE));
+        if (!stalled.isEmpty()) {
+            log.info("Resubmitting {} stalled project imports", stalled.size());
+            stalled.forEach(this::submit);
+        }
+    }
+
+    private void submit(UUID jobId) {
+        jobs.submit(jobId, () -> {
+            try {
+                run(jobId);
+            } catch (RuntimeException e) {
+                log.error("Project import {} failed", jobId, e);
+                projectImportJobRepository.markFinished(jobId, ProjectImportJobStatus.RUNNING,
+                        ProjectImportJobStatus.FAILED, e.getMessage(), Instant.now());
+            }
+        });
+    }
+
+    void run(UUID jobId) {
+        ProjectImportJob job = projectImportJobRepository.findById(jobId).orElse(null);
+        if (job == null || projectImportJobRepository.markRunning(jobId, Instant.now()) == 0) {
+            return;
+        }
+        UUID companyId = job.getCompanyId();
+        List<ProjectImportRow> pending =
+                projectImportRowRepository.findByJobIdAndStatusOrderByRowNumber(jobId, ProjectImportRowStatus.PENDING);
+
+        // Lookups shared by every row of the run
+        Set<UUID> customerIds = new HashSet<>(customerRepository.findIdsByCompanyId(companyId));
+        Set<UUID> templateIds = workflowTemplateRepository.findByCompanyIdAndActiveTrue(companyId).stream()
+                .map(WorkflowTemplate::getId)
+                .collect(Collectors.toSet());
+        Set<String> projectNumbers = new HashSet<>(projectRepository.findProjectNumbersByCompanyId(companyId));
+
+        List<ProjectImportBatchService.ValidRow> valid = new ArrayList<>(pending.size());
+        Map<UUID, String> failures = new LinkedHashMap<>();
+        for (ProjectImportRow row : pending) {
+            CreateProjectRequest request;
+            try {
+                request = objectMapper.readValue(row.getPayload(), CreateProjectRequest.class);
+            } catch (JsonProcessingException e) {
+                failures.put(row.getId(), "Invalid row: " + e.getOriginalMessage());
+                continue;
+            }
+            String error = validate(request, customerIds, templateIds, projectNumbers);
+            if (error != null) {
+                failures.put(row.getId(), error);
+            } else {
+                valid.add(new ProjectImportBatchService.ValidRow(row.getId(), row.getRowNumber(), request));
+            }
+        }
+        if (!failures.isEmpty()) {
+            projectImportBatchService.recordFailures(jobId, failures);
+        }
+
+        Map<String, UUID> addressIdsByDpid = new ConcurrentHashMap<>();
+        Set<String> dpids = valid.stream()
+                .map(row -> row.request().getAddress().getDpid())
+                .filter(dpid -> dpid != null && !dpid.isBlank())
+                .collect(Collectors.toSet());
+        if (!dpids.isEmpty()) {
+            // Oldest first, so a DPID maps to the address the single create endpoint would reuse
+            addressRepository.findByDpidIn(dpids).stream()
+                    .sorted(Comparator.comparing(Address::getCreatedAt))
+                    .forEach(address -> addressIdsByDpid.putIfAbsent(address.getDpid(), address.getId()));
+        }
+
+        List<CompletableFuture<Void>> batches = new ArrayList<>();
+        for (int from = 0; from < valid.size(); from += batchSize) {
+            List<ProjectImportBatchService.ValidRow> batch = valid.subList(from, Math.min(from + batchSize, valid.size()));
+            batchPermits.acquireUninterruptibly();
+            try {
+                batches.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        importBatch(jobId, companyId, batch, addressIdsByDpid);
+                    } finally {
+                        batchPermits.release();
+                    }
+                }, jobs.executor()));
+            } catch (RejectedExecutionException e) {
+                batchPermits.release();
+                throw e;
+            }
+        }
+        CompletableFuture.allOf(batches.toArray(CompletableFuture[]::new)).join();
+
+        if (projectImportJobRepository.markFinished(jobId, ProjectImportJobStatus.RUNNING,
+                ProjectImportJobStatus.COMPLETED, null, Instant.now()) == 0) {
+            log.warn("Project import {} was finished by another run", jobId);
+            return;
+        }
+        ProjectImportJob finished = projectImportJobRepository.findById(jobId).orElseThrow();
+        log.info("Project import {} finished for company {}: {} projects created, {} rows failed",
+                jobId, companyId, finished.getCreatedProjects(), finished.getFailedRows());
+    }
+
+    private void storeRows(UUID jobId, List<ProjectImportRow> rows) {
+        projectImportRowRepository.saveAll(rows);
+        if (projectImportJobRepository.touchReceiving(jobId, Instant.now()) == 0) {
+            throw new ProjectMasterException("Project import " + jobId + " is no longer receiving rows",
+                    "IMPORT_INTERRUPTED");
+        }
+    }
+
+    private void importBatch(UUID jobId, UUID companyId, List<ProjectImportBatchService.ValidRow> batch,
+                             Map<String, UUID> addressIdsByDpid) {
+        try {
+            projectImportBatchService.importRows(jobId, companyId, batch, addressIdsByDpid);
+            return;
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                recordFailure(jobId, batch.get(0), e);
+                return;
+            }
+            log.warn("Batch of {} rows of project import {} failed, retrying row by row: {}",
+                    batch.size(), jobId, e.getMessage());
+        }
+        for (ProjectImportBatchService.ValidRow row : batch) {
+            try {
+                projectImportBatchService.importRows(jobId, companyId, List.of(row), addressIdsByDpid);
+            } catch (RuntimeException e) {
+                recordFailure(jobId, row, e);
+            }
+        }
+    }
+
+    private void recordFailure(UUID jobId, ProjectImportBatchService.ValidRow row, RuntimeException e) {
+        log.debug("Row {} of project import {} failed", row.rowNumber(), jobId, e);
+        projectImportBatchService.recordFailures(jobId, Map.of(row.rowId(), "Failed to create project: " + e.getMessage()));
+    }
+
+    /**
+     * Check a row the way the single create endpoint does, against the preloaded lookups;
+     * returns the first problem, or null. A valid row's project number is claimed so a
+     * later row cannot reuse it.
+     */
+    String validate(CreateProjectRequest request, Set<UUID> customerIds, Set<UUID> templateIds,
+                    Set<String> projectNumbers) {
+        Set<ConstraintViolation<CreateProjectRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        if (!customerIds.contains(request.getCustomerId())) {
+            return "Customer not found in this company: " + request.getCustomerId();
+        }
+        if (!templateIds.contains(request.getWorkflowTemplateId())) {
+            return "Active workflow template not found in this company: " + request.getWorkflowTemplateId();
+        }
+        if (request.getPlannedStartDate() != null && request.getExpectedEndDate() != null
+                && request.getPlannedStartDate().isAfter(request.getExpectedEndDate())) {
+            return "Start date cannot be after expected end date";
+        }
+        try {
+            projectService.buildAddress(request.getAddress());
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+        if (!projectNumbers.add(request.getProjectNumber())) {
+            return "Project number already exists for this company: " + request.getProjectNumber();
+        }
+        return null;
+    }
+
+    private ProjectImportRow toImportRow(UUID jobId, ProjectImportParser.ParsedRow row) {
+        ProjectImportRow.ProjectImportRowBuilder builder = ProjectImportRow.builder()
+                .jobId(jobId)
+                .rowNumber(row.rowNumber());
+        if (row.error() != null) {
+            return builder.status(ProjectImportRowStatus.FAILED).message(row.error()).build();
+        }
+        String projectNumber = row.request().getProjectNumber();
+        try {
+            return builder
+                    .projectNumber(projectNumber != null && projectNumber.length() <= 50 ? projectNumber : null)
+                    .payload(objectMapper.writeValueAsString(row.request()))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize import row " + row.rowNumber(), e);
+        }
+    }
+
+    private ProjectImportJobResponse toResponse(ProjectImportJob job, List<ProjectImportRow> rows) {
+        int processed = job.getCreatedProjects() + job.getFailedRows();
+        int percentComplete;
+        if (job.getStatus() == ProjectImportJobStatus.COMPLETED) {
+            percentComplete = 100;
+        } else if (job.getTotalRows() > 0) {
+            percentComplete = Math.min(100, processed * 100 / job.getTotalRows());
+        } else {
+            percentComplete = 0;
+        }
+        return ProjectImportJobResponse.builder()
+                .jobId(job.getId())
+                .companyId(job.getCompanyId())
+                .format(job.getFormat())
+                .status(job.getStatus())
+                .totalRows(job.getTotalRows())
+                .createdProjects(job.getCreatedProjects())
+                .failedRows(job.getFailedRows())
+                .percentComplete(percentComplete)
+                .errorMessage(job.getErrorMessage())
+                .startedAt(job.getStartedAt())
+                .completedAt(job.getCompletedAt())
+                .rows(rows.stream()
+                        .map(row -> ProjectImportJobResponse.RowResult.builder()
+                                .rowNumber(row.getRowNumber())
+                                .projectNumber(row.getProjectNumber())
+                                .status(row.getStatus())
+                                .projectId(row.getProjectId())
+                                .message(row.getMessage())
+                                .build())
+                        .toList())
+                .build();
+    }
+}
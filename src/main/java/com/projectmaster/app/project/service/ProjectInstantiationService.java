@@ -0,0 +1,210 @@
+package com.projectmaster.app.project.service;
+
+import com.projectmaster.app.common.enums.StageStatus;
+import com.projectmaster.app.project.entity.Project;
+import com.projectmaster.app.project.entity.ProjectStage;
+import com.projectmaster.app.project.entity.ProjectStep;
+import com.projectmaster.app.project.entity.ProjectStepRequirement;
+import com.projectmaster.app.project.entity.ProjectTask;
+import com.projectmaster.app.project.repository.ProjectRepository;
+import com.projectmaster.app.project.repository.ProjectTreeBatchWriter;
+import com.projectmaster.app.workflow.entity.DependencyStatus;
+import com.projectmaster.app.workflow.entity.ProjectDependency;
+import com.projectmaster.app.workflow.entity.WorkflowTemplate;
+import com.projectmaster.app.workflow.repository.SpecialtyRepository;
+import com.projectmaster.app.workflow.repository.WorkflowStageRepository;
+import com.projectmaster.app.workflow.repository.WorkflowStepRepository;
+import com.projectmaster.app.workflow.repository.WorkflowTaskRepository;
+import com.projectmaster.app.workflow.service.WorkflowTemplateSnapshot;
+import com.projectmaster.app.workflow.service.WorkflowTemplateSnapshotCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Instantiates a project's stages, tasks, steps, requirements and dependencies from its
+ * workflow template. The template comes from the shared snapshot cache, the project tree
+ * is built in memory with ids assigned up front and a workflow-to-project id map,
+ * scheduled, and then written with JDBC batch inserts in the caller's transaction.
+ * Template entities are set as references, since only their ids are written.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class ProjectInstantiationService {
+
+    private final WorkflowTemplateSnapshotCache workflowTemplateSnapshotCache;
+    private final WorkflowStageRepository workflowStageRepository;
+    private final WorkflowTaskRepository workflowTaskRepository;
+    private final WorkflowStepRepository workflowStepRepository;
+    private final SpecialtyRepository specialtyRepository;
+    private final StepRequirementCopyService stepRequirementCopyService;
+    private final ProjectScheduleCalculator projectScheduleCalculator;
+    private final ProjectRepository projectRepository;
+    private final ProjectTreeBatchWriter projectTreeBatchWriter;
+
+    /**
+     * The created project tree; the entities are not managed by the persistence context
+     */
+    public record InstantiatedProject(List<ProjectStage> stages, List<ProjectDependency> dependencies) {
+    }
+
+    /**
+     * Create the project tree of a saved project from its workflow template
+     */
+    public InstantiatedProject instantiate(Project project, WorkflowTemplate workflowTemplate) {
+        log.info("Creating project stages, tasks and steps for project: {} from template: {}",
+                project.getId(), workflowTemplate.getId());
+
+        WorkflowTemplateSnapshot snapshot = workflowTemplateSnapshotCache.get(workflowTemplate);
+        if (snapshot.stages().isEmpty()) {
+            log.warn("No stages found in workflow template: {}", workflowTemplate.getId());
+            return new InstantiatedProject(List.of(), List.of());
+        }
+
+        // Workflow stage, task and step ids to the ids of their project copies
+        Map<UUID, UUID> workflowToProjectIds = new HashMap<>();
+        List<ProjectStage> stages = new ArrayList<>(snapshot.stages().size());
+        List<ProjectTask> tasks = new ArrayList<>();
+        List<ProjectStep> steps = new ArrayList<>();
+        List<ProjectStepRequirement> requirements = new ArrayList<>();
+
+        for (WorkflowTemplateSnapshot.Stage workflowStage : snapshot.stages()) {
+            ProjectStage stage = buildStage(project, snapshot, workflowStage);
+            workflowToProjectIds.put(workflowStage.id(), stage.getId());
+            stages.add(stage);
+
+            for (WorkflowTemplateSnapshot.Task workflowTask : workflowStage.tasks()) {
+                ProjectTask task = buildTask(stage, workflowTask);
+                workflowToProjectIds.put(workflowTask.id(), task.getId());
+                stage.getTasks().add(task);
+                tasks.add(task);
+
+                for (WorkflowTemplateSnapshot.Step workflowStep : workflowTask.steps()) {
+                    ProjectStep step = buildStep(task, workflowStep);
+                    workflowToProjectIds.put(workflowStep.id(), step.getId());
+                    task.getSteps().add(step);
+                    steps.add(step);
+
+                    for (ProjectStepRequirement requirement : stepRequirementCopyService.buildSnapshotRequirements(
+                            step, workflowStep.requirements())) {
+                        requirement.setId(UUID.randomUUID());
+                        requirements.add(requirement);
+                    }
+                }
+            }
+        }
+
+        List<ProjectDependency> dependencies = buildDependencies(project, snapshot, workflowToProjectIds);
+
+        // Dates are planned before the insert, so each row is written once with its final values
+        projectScheduleCalculator.planProjectSchedule(project, stages, dependencies);
+
+        // The rows reference the project, which must reach the database first
+        projectRepository.flush();
+        projectTreeBatchWriter.insertStages(stages);
+        projectTreeBatchWriter.insertTasks(tasks);
+        projectTreeBatchWriter.insertSteps(steps);
+        projectTreeBatchWriter.insertRequirements(requirements);
+        projectTreeBatchWriter.insertDependencies(dependencies);
+
+        log.info("Created {} stages, {} tasks, {} steps, {} requirements and {} dependencies for project: {}",
+                stages.size(), tasks.size(), steps.size(), requirements.size(), dependencies.size(), project.getId());
+        return new InstantiatedProject(stages, dependencies);
+    }
+
+    private ProjectStage buildStage(Project project, WorkflowTemplateSnapshot snapshot,
+                                    WorkflowTemplateSnapshot.Stage workflowStage) {
+        ProjectStage stage = ProjectStage.builder()
+                .project(project)
+                .workflowStage(workflowStageRepository.getReferenceById(workflowStage.id()))
+                .name(workflowStage.name())
+                .status(StageStatus.NOT_STARTED)
+                .approvalsReceived(0)
+                // Copy all properties from WorkflowStage
+                .description(workflowStage.description())
+                .orderIndex(workflowStage.orderIndex())
+                .parallelExecution(workflowStage.parallelExecution())
+                .requiredApprovals(workflowStage.requiredApprovals())
+                .estimatedDurationDays(workflowStage.estimatedDurationDays())
+                // Version tracking
+                .workflowTemplateVersion(snapshot.version())
+                .workflowStageVersion(workflowStage.version())
+                .build();
+        stage.setId(UUID.randomUUID());
+        return stage;
+    }
+
+    private ProjectTask buildTask(ProjectStage stage, WorkflowTemplateSnapshot.Task workflowTask) {
+        ProjectTask task = ProjectTask.builder()
+                .projectStage(stage)
+                .workflowTask(workflowTaskRepository.getReferenceById(workflowTask.id()))
+                .name(workflowTask.name())
+                .status(StageStatus.NOT_STARTED)
+                // Copy all properties from WorkflowTask
+                .description(workflowTask.description())
+                .estimatedDays(workflowTask.estimatedDays())
+                // Version tracking
+                .workflowTaskVersion(workflowTask.version())
+                .build();
+        task.setId(UUID.randomUUID());
+        return task;
+    }
+
+    private ProjectStep buildStep(ProjectTask task, WorkflowTemplateSnapshot.Step workflowStep) {
+        ProjectStep step = ProjectStep.builder()
+                .projectTask(task)
+                .workflowStep(workflowStepRepository.getReferenceById(workflowStep.id()))
+                .name(workflowStep.name())
+                .status(ProjectStep.StepExecutionStatus.NOT_STARTED)
+                // Copy all properties from WorkflowStep
+                .description(workflowStep.description())
+                .estimatedDays(workflowStep.estimatedDays())
+                .specialty(specialtyRepository.getReferenceById(workflowStep.specialtyId()))
+                // Version tracking
+                .workflowStepVersion(workflowStep.version())
+                .build();
+        step.setId(UUID.randomUUID());
+        return step;
+    }
+
+    /**
+     * Copy the template's dependencies, remapping both ends through the id map
+     */
+    private List<ProjectDependency> buildDependencies(Project project, WorkflowTemplateSnapshot snapshot,
+                                                      Map<UUID, UUID> workflowToProjectIds) {
+        List<ProjectDependency> dependencies = new ArrayList<>(snapshot.dependencies().size());
+        for (WorkflowTemplateSnapshot.Dependency workflowDep : snapshot.dependencies()) {
+            UUID dependentId = workflowToProjectIds.get(workflowDep.dependentEntityId());
+            UUID dependsOnId = workflowToProjectIds.get(workflowDep.dependsOnEntityId());
+            if (dependentId == null || dependsOnId == null) {
+                log.warn("Could not map workflow entities to project entities for dependency {}: dependent={}, dependsOn={}",
+                        workflowDep.id(), workflowDep.dependentEntityId(), workflowDep.dependsOnEntityId());
+                continue;
+            }
+            ProjectDependency dependency = ProjectDependency.builder()
+                    .projectId(project.getId())
+                    .dependentEntityType(workflowDep.dependentEntityType())
+                    .dependentEntityId(dependentId)
+                    .dependsOnEntityType(workflowDep.dependsOnEntityType())
+                    .dependsOnEntityId(dependsOnId)
+                    .dependencyType(workflowDep.dependencyType())
+                    .lagDays(workflowDep.lagDays())
+                    .status(DependencyStatus.PENDING)
+                    .build();
+            dependency.setId(UUID.randomUUID());
+            dependencies.add(dependency);
+        }
+        log.info("Copied {} out of {} workflow dependencies to project: {}",
+                dependencies.size(), snapshot.dependencies().size(), project.getId());
+        return dependencies;
+    }
+}
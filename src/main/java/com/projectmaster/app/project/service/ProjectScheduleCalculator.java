@@ -45,6 +45,19 @@ public class ProjectScheduleCalculator {
      * Calculate the complete project schedule
      */
     public void calculateProjectSchedule(Project project, List<ProjectStage> projectStages, List<ProjectDependency> projectDependencies) {
+        calculateProjectSchedule(project, projectStages, projectDependencies, true);
+    }
+
+    /**
+     * Calculate the schedule of a project tree that has not been written yet, only setting
+     * the planned dates on the given entities
+     */
+    public void planProjectSchedule(Project project, List<ProjectStage> projectStages, List<ProjectDependency> projectDependencies) {
+        calculateProjectSchedule(project, projectStages, projectDependencies, false);
+    }
+
+    private void calculateProjectSchedule(Project project, List<ProjectStage> projectStages,
+                                          List<ProjectDependency> projectDependencies, boolean save) {
         log.info("Calculating schedule for project {}", project.getId());
 
         try {
@@ -150,7 +163,9 @@ public class ProjectScheduleCalculator {
                                         if (projectStep.getStatus() != ProjectStep.StepExecutionStatus.COMPLETED) {
                                             projectStep.setPlannedStartDate(stepStartDate);
                                             projectStep.setPlannedEndDate(businessCalendarService.addBusinessDays(stepStartDate, projectStep.getEstimatedDays()));
-                                            stepRepository.save(projectStep);
+                                            if (save) {
+                                                stepRepository.save(projectStep);
+                                            }
                                             log.debug("Updated dates for step: {} (status: {})", projectStep.getName(), projectStep.getStatus());
                                         } else {
                                             log.debug("Skipped updating dates for completed step: {}", projectStep.getName());
@@ -169,7 +184,9 @@ public class ProjectScheduleCalculator {
                             if (!taskIsCompleted) {
                                 projectTask.setPlannedStartDate(taskStartDate);
                                 projectTask.setPlannedEndDate(taskEndDate);
-                                taskRepository.save(projectTask);
+                                if (save) {
+                                    taskRepository.save(projectTask);
+                                }
                                 log.debug("Updated dates for task: {} (status: {})", projectTask.getName(), projectTask.getStatus());
                             } else {
                                 log.debug("Skipped updating dates for completed task: {}", projectTask.getName());
@@ -189,7 +206,9 @@ public class ProjectScheduleCalculator {
                 
                 // Only save if stage was modified (not completed)
                 if (!stageIsCompleted) {
-                    projectStageRepository.save(projectStage);
+                    if (save) {
+                        projectStageRepository.save(projectStage);
+                    }
                     log.debug("Saved updated stage: {} (status: {})", projectStage.getName(), projectStage.getStatus());
                 } else {
                     // For completed stages, update previousStageEndDate so next stage knows where to start
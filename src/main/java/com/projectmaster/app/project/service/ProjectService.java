@@ -1,6 +1,9 @@
 package com.projectmaster.app.project.service;
 
+import com.projectmaster.app.common.dto.CursorPage;
+import com.projectmaster.app.common.dto.KeysetCursor;
 import com.projectmaster.app.common.enums.ProjectStatus;
+import com.projectmaster.app.common.enums.SearchEntityType;
 import com.projectmaster.app.common.exception.EntityNotFoundException;
 import com.projectmaster.app.common.exception.ProjectMasterException;
 import com.projectmaster.app.customer.dto.AddressRequest;
@@ -23,9 +26,8 @@ import com.projectmaster.app.project.repository.ProjectRepository;
 import com.projectmaster.app.project.repository.ProjectStageRepository;
 import com.projectmaster.app.project.repository.ProjectTaskRepository;
 import com.projectmaster.app.project.repository.ProjectStepRepository;
-import com.projectmaster.app.workflow.entity.WorkflowDependency;
+import com.projectmaster.app.search.service.SearchIndexService;
 import com.projectmaster.app.workflow.entity.ProjectDependency;
-import com.projectmaster.app.workflow.repository.WorkflowDependencyRepository;
 import com.projectmaster.app.workflow.repository.ProjectDependencyRepository;
 import com.projectmaster.app.security.service.CustomUserDetailsService;
 import com.projectmaster.app.company.entity.Company;
@@ -33,13 +35,7 @@ import com.projectmaster.app.user.entity.User;
 import com.projectmaster.app.common.enums.UserRole;
 import com.projectmaster.app.company.repository.CompanyRepository;
 import com.projectmaster.app.workflow.entity.WorkflowTemplate;
-import com.projectmaster.app.workflow.entity.WorkflowStage;
-import com.projectmaster.app.workflow.entity.WorkflowTask;
-import com.projectmaster.app.workflow.entity.WorkflowStep;
 import com.projectmaster.app.workflow.repository.WorkflowTemplateRepository;
-import com.projectmaster.app.workflow.repository.WorkflowStageRepository;
-import com.projectmaster.app.workflow.repository.WorkflowTaskRepository;
-import com.projectmaster.app.workflow.repository.WorkflowStepRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -48,8 +44,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -68,14 +63,10 @@ public class ProjectService {
     private final CustomerRepository customerRepository;
     private final AddressRepository addressRepository;
     private final WorkflowTemplateRepository workflowTemplateRepository;
-    private final WorkflowStageRepository workflowStageRepository;
-    private final WorkflowTaskRepository workflowTaskRepository;
-    private final WorkflowStepRepository workflowStepRepository;
-    private final WorkflowDependencyRepository workflowDependencyRepository;
     private final ProjectDependencyRepository projectDependencyRepository;
     private final ProjectStepAssignmentService projectStepAssignmentService;
-    private final ProjectScheduleCalculator projectScheduleCalculator;
-    private final StepRequirementCopyService stepRequirementCopyService;
+    private final ProjectInstantiationService projectInstantiationService;
+    private final SearchIndexService searchIndexService;
     /**
      * Create a new project
      */
@@ -124,6 +115,16 @@ public class ProjectService {
             address = createOrFindAddress(request.getAddress());
         }
 
+        Project savedProject = createProject(company, customer, workflowTemplate, address, request);
+        return convertToDto(savedProject);
+    }
+
+    /**
+     * Create a project whose company, customer, template and number were already validated,
+     * e.g. by a bulk import, in the caller's transaction
+     */
+    public Project createProject(Company company, Customer customer, WorkflowTemplate workflowTemplate,
+                                 Address address, CreateProjectRequest request) {
         // Create project entity
         Project project = Project.builder()
                 .company(company)
@@ -142,25 +143,14 @@ public class ProjectService {
                 .build();
 
         Project savedProject = projectRepository.save(project);
+        searchIndexService.indexProject(savedProject);
         log.info("Project created successfully with id: {}", savedProject.getId());
 
-        // Create project stages and steps from workflow template
-        List<ProjectStage> savedProjectStages = createProjectStagesAndSteps(savedProject, workflowTemplate);
+        // Create and schedule project stages, tasks, steps and dependencies from the workflow template
+        projectInstantiationService.instantiate(savedProject, workflowTemplate);
         log.info("Project stages and steps created successfully for project: {}", savedProject.getId());
 
-                // Copy dependencies from workflow template to project
-        List<ProjectDependency> projectDependencies =  copyWorkflowDependenciesToProject(project, workflowTemplate,savedProjectStages);
-        // Calculate project schedule using the new composite calculator
-
-        try {
-            projectScheduleCalculator.calculateProjectSchedule(savedProject, savedProjectStages, projectDependencies);
-            log.info("Project schedule calculated successfully for project: {}", savedProject.getId());
-        } catch (Exception e) {
-            log.error("Failed to calculate project schedule for project: {} - {}",
-                    savedProject.getId(), e.getMessage(), e);
-        }
-
-        return convertToDto(savedProject);
+        return savedProject;
     }
 
     /**
@@ -201,6 +191,19 @@ public class ProjectService {
         );
     }
 
+    /**
+     * Get a page of a company's project feed after the given cursor, without counting
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ProjectDto> getProjectFeedByCompany(UUID companyId, String cursor, Integer size) {
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        int pageSize = KeysetCursor.pageSize(size);
+
+        List<Project> projects = projectRepository.findFeedByCompanyId(
+                companyId, position.getCreatedAt(), position.getId(), KeysetCursor.limitFor(pageSize));
+        return CursorPage.from(projects, pageSize, this::convertToDto);
+    }
+
     /**
      * Search projects by company with search term
      */
@@ -314,6 +317,7 @@ public class ProjectService {
         }
 
         Project updatedProject = projectRepository.save(project);
+        searchIndexService.indexProject(updatedProject);
         log.info("Project updated successfully with id: {}", updatedProject.getId());
 
         return convertToDto(updatedProject);
@@ -330,6 +334,7 @@ public class ProjectService {
         }
 
         projectRepository.deleteById(projectId);
+        searchIndexService.remove(SearchEntityType.PROJECT, projectId);
         log.info("Project deleted successfully with id: {}", projectId);
     }
 
@@ -347,12 +352,21 @@ public class ProjectService {
      */
     @Transactional(readOnly = true)
     public ProjectStatistics getProjectStatistics(UUID companyId) {
+        // One grouped query instead of a count per status
+        Map<ProjectStatus, Long> counts = new EnumMap<>(ProjectStatus.class);
+        long total = 0;
+        for (Object[] row : projectRepository.countByStatusForCompany(companyId)) {
+            long count = ((Number) row[1]).longValue();
+            counts.put((ProjectStatus) row[0], count);
+            total += count;
+        }
+
         return ProjectStatistics.builder()
-                .totalProjects(projectRepository.countByCompanyIdAndStatus(companyId, null))
-                .planningProjects(projectRepository.countByCompanyIdAndStatus(companyId, ProjectStatus.PLANNING))
-                .activeProjects(projectRepository.countByCompanyIdAndStatus(companyId, ProjectStatus.IN_PROGRESS))
-                .completedProjects(projectRepository.countByCompanyIdAndStatus(companyId, ProjectStatus.COMPLETED))
-                .cancelledProjects(projectRepository.countByCompanyIdAndStatus(companyId, ProjectStatus.CANCELLED))
+                .totalProjects(total)
+                .planningProjects(counts.getOrDefault(ProjectStatus.PLANNING, 0L))
+                .activeProjects(counts.getOrDefault(ProjectStatus.IN_PROGRESS, 0L))
+                .completedProjects(counts.getOrDefault(ProjectStatus.COMPLETED, 0L))
+                .cancelledProjects(counts.getOrDefault(ProjectStatus.CANCELLED, 0L))
                 .build();
     }
 
@@ -394,136 +408,6 @@ public class ProjectService {
                 .build();
     }
 
-    /**
-     * Create project stages, tasks and steps by copying from workflow template
-     */
-    private List<ProjectStage> createProjectStagesAndSteps(Project project, WorkflowTemplate workflowTemplate) {
-        log.info("Creating project stages, tasks and steps for project: {} from template: {}", 
-                project.getId(), workflowTemplate.getId());
-
-        // Get all stages from the workflow template ordered by order index
-        List<ProjectStage> projectStages = new ArrayList<>();
-        List<WorkflowStage> workflowStages = workflowStageRepository
-                .findByWorkflowTemplateIdOrderByOrderIndex(workflowTemplate.getId());
-
-        if (workflowStages.isEmpty()) {
-            log.warn("No stages found in workflow template: {}", workflowTemplate.getId());
-            return projectStages;
-        }
-
-        // Create project stages
-        for (WorkflowStage workflowStage : workflowStages) {
-            ProjectStage projectStage = ProjectStage.builder()
-                    .project(project)
-                    .workflowStage(workflowStage)
-                    .name(workflowStage.getName())
-                    .status(com.projectmaster.app.common.enums.StageStatus.NOT_STARTED)
-                    .approvalsReceived(0)
-                    // Copy all properties from WorkflowStage
-                    .description(workflowStage.getDescription())
-                    .orderIndex(workflowStage.getOrderIndex())
-                    .parallelExecution(workflowStage.getParallelExecution())
-                    .requiredApprovals(workflowStage.getRequiredApprovals())
-                    .estimatedDurationDays(workflowStage.getEstimatedDurationDays())
-                    // Version tracking
-                    .workflowTemplateVersion(workflowTemplate.getVersion())
-                    .workflowStageVersion(workflowStage.getVersion())
-                    .build();
-
-            ProjectStage savedProjectStage = projectStageRepository.save(projectStage);
-            log.debug("Created project stage: {} for project: {}", savedProjectStage.getId(), project.getId());
-
-            // Create project tasks for this stage
-            createProjectTasksForStage(savedProjectStage, workflowStage);
-            projectStages.add(savedProjectStage);
-        }
-
-        
-        log.info("Successfully created {} stages and their tasks/steps for project: {}", 
-                workflowStages.size(), project.getId());
-        return projectStages;
-    }
-
-    /**
-     * Create project tasks for a given project stage by copying from workflow stage
-     */
-    private ProjectStage createProjectTasksForStage(ProjectStage projectStage, WorkflowStage workflowStage) {
-        // Get all tasks from the workflow stage ordered by order index
-        List<WorkflowTask> workflowTasks = workflowTaskRepository
-                .findByWorkflowStageIdOrderByCreatedAt(workflowStage.getId());
-
-        if (workflowTasks.isEmpty()) {
-            log.debug("No tasks found in workflow stage: {}", workflowStage.getId());
-            return projectStage;
-        }
-
-        // Create project tasks
-        for (WorkflowTask workflowTask : workflowTasks) {
-            ProjectTask projectTask = ProjectTask.builder()
-                    .projectStage(projectStage)
-                    .workflowTask(workflowTask)
-                    .name(workflowTask.getName())
-                    .status(com.projectmaster.app.common.enums.StageStatus.NOT_STARTED)
-                    // Copy all properties from WorkflowTask
-                    .description(workflowTask.getDescription())
-                    .estimatedDays(workflowTask.getEstimatedDays())
-                    // Version tracking
-                    .workflowTaskVersion(workflowTask.getVersion())
-                    .build();
-
-            ProjectTask savedProjectTask = projectTaskRepository.save(projectTask);
-            log.debug("Created project task: {} for project stage: {}", savedProjectTask.getId(), projectStage.getId());
-
-            // Create project steps for this task
-            savedProjectTask = createProjectStepsForTask(savedProjectTask, workflowTask);
-            projectStage.getTasks().add(savedProjectTask);
-        }
-        
-        log.debug("Successfully created {} tasks for project stage: {}", workflowTasks.size(), projectStage.getId());
-        return projectStage;
-    }
-
-    /**
-     * Create project steps for a given project task by copying from workflow task
-     */
-    private ProjectTask createProjectStepsForTask(ProjectTask projectTask, WorkflowTask workflowTask) {
-        // Get all steps from the workflow task ordered by order index
-        List<WorkflowStep> workflowSteps = workflowStepRepository
-                .findByWorkflowTaskIdOrderByCreatedAt(workflowTask.getId());
-
-        if (workflowSteps.isEmpty()) {
-            log.debug("No steps found in workflow task: {}", workflowTask.getId());
-            return projectTask;
-        }
-
-        // Create project steps
-        for (WorkflowStep workflowStep : workflowSteps) {
-            ProjectStep projectStep = ProjectStep.builder()
-                    .projectTask(projectTask)
-                    .workflowStep(workflowStep)
-                    .name(workflowStep.getName())
-                    .status(com.projectmaster.app.project.entity.ProjectStep.StepExecutionStatus.NOT_STARTED)
-                    // Copy all properties from WorkflowStep
-                    .description(workflowStep.getDescription())
-                    .estimatedDays(workflowStep.getEstimatedDays())
-                    .specialty(workflowStep.getSpecialty()) // Copy the specialty from workflow step
-                    // Version tracking
-                    .workflowStepVersion(workflowStep.getVersion())
-                    .build();
-
-            ProjectStep savedProjectStep = projectStepRepository.save(projectStep);
-            
-            // Copy requirements from workflow step to project step
-            stepRequirementCopyService.copyWorkflowRequirementsToProjectStep(savedProjectStep, workflowStep);
-            
-            projectTask.getSteps().add(savedProjectStep);
-            log.debug("Created project step: {} for project task: {}", savedProjectStep.getId(), projectTask.getId());
-        }
-
-        log.debug("Successfully created {} steps for project task: {}", workflowSteps.size(), projectTask.getId());
-        return projectTask;
-    }
-
     private Address createOrFindAddress(AddressRequest addressRequest) {
         // First, try to find existing address by DPID if provided
         if (addressRequest.getDpid() != null && !addressRequest.getDpid().trim().isEmpty()) {
@@ -535,7 +419,13 @@ public class ProjectService {
             }
         }
 
-        // Create new address
+        return addressRepository.save(buildAddress(addressRequest));
+    }
+
+    /**
+     * Build an unsaved address from a request, validating its state/province
+     */
+    public Address buildAddress(AddressRequest addressRequest) {
         Address address = Address.builder()
                 .line1(addressRequest.getLine1())
                 .line2(addressRequest.getLine2())
@@ -556,7 +446,7 @@ public class ProjectService {
                 addressRequest.getStateProvince() + "' for country " + addressRequest.getCountry());
         }
 
-        return addressRepository.save(address);
+        return address;
     }
 
     /**
@@ -727,115 +617,6 @@ public class ProjectService {
                 .build();
     }
 
-    /**
-     * Copy dependencies from workflow template to project
-     */
-    private List<ProjectDependency> copyWorkflowDependenciesToProject(Project project, WorkflowTemplate workflowTemplate, List<ProjectStage> savedProjectStages) {
-        log.info("Copying workflow dependencies to project: {} from template: {}", 
-                project.getId(), workflowTemplate.getId());
-        List<ProjectDependency> savedDependencies = new ArrayList<>();
-        try {
-            // Get all workflow dependencies for this template
-            List<WorkflowDependency> workflowDependencies = workflowDependencyRepository
-                    .findByWorkflowTemplateId(workflowTemplate.getId());
-            
-            
-            if (workflowDependencies.isEmpty()) {
-                log.debug("No workflow dependencies found for template: {}", workflowTemplate.getId());
-                return savedDependencies;
-            }
-            
-            // Create mapping from workflow entities to project entities
-            Map<UUID, UUID> workflowToProjectMapping = createWorkflowToProjectMapping(project,savedProjectStages);
-            
-            int copiedCount = 0;
-            for (WorkflowDependency workflowDep : workflowDependencies) {
-                try {
-                    ProjectDependency projectDep = createProjectDependency(workflowDep, project.getId(), workflowToProjectMapping);
-                    if (projectDep != null) {
-                        projectDep = projectDependencyRepository.save(projectDep);
-                        savedDependencies.add(projectDep);
-                        copiedCount++;
-                    }
-                } catch (Exception e) {
-                    log.warn("Failed to copy workflow dependency {}: {}", workflowDep.getId(), e.getMessage());
-                }
-            }
-            
-            log.info("Copied {} out of {} workflow dependencies to project: {}", 
-                    copiedCount, workflowDependencies.size(), project.getId());
-            
-        } catch (Exception e) {
-            log.error("Error copying workflow dependencies to project: {}", project.getId(), e);
-        }
-        return savedDependencies;
-    }
-    
-    /**
-     * Create mapping from workflow entities to project entities
-     */
-    private Map<UUID, UUID> createWorkflowToProjectMapping(Project project, List<ProjectStage> projectStages) {
-        Map<UUID, UUID> mapping = new HashMap<>();
-        
-        // Get all project stages with their workflow stages
-        
-        for (ProjectStage projectStage : projectStages) {
-            // Map workflow stage to project stage
-            mapping.put(projectStage.getWorkflowStage().getId(), projectStage.getId());
-            
-            // Get all project tasks for this stage
-            
-            for (ProjectTask projectTask : projectStage.getTasks()) {
-                // Map workflow task to project task
-                mapping.put(projectTask.getWorkflowTask().getId(), projectTask.getId());
-                
-                // Get all project steps for this task
-                
-                for (ProjectStep projectStep : projectTask.getSteps()) {
-                    // Map workflow step to project step
-                    mapping.put(projectStep.getWorkflowStep().getId(), projectStep.getId());
-                }
-            }
-        }
-        
-        log.debug("Created workflow to project mapping with {} entries for project: {}", 
-                mapping.size(), project.getId());
-        
-        return mapping;
-    }
-    
-    /**
-     * Create a project dependency from a workflow dependency
-     */
-    private ProjectDependency createProjectDependency(WorkflowDependency workflowDep, UUID projectId, 
-                                                     Map<UUID, UUID> workflowToProjectMapping) {
-        
-        // Map workflow entity IDs to project entity IDs
-        UUID dependentProjectEntityId = workflowToProjectMapping.get(workflowDep.getDependentEntityId());
-        UUID dependsOnProjectEntityId = workflowToProjectMapping.get(workflowDep.getDependsOnEntityId());
-        
-        if (dependentProjectEntityId == null || dependsOnProjectEntityId == null) {
-            log.warn("Could not map workflow entities to project entities for dependency {}: dependent={}, dependsOn={}", 
-                    workflowDep.getId(), workflowDep.getDependentEntityId(), workflowDep.getDependsOnEntityId());
-            return null;
-        }
-        
-        // Convert workflow dependency entity types to project dependency entity types
-        com.projectmaster.app.workflow.entity.DependencyEntityType dependentType = workflowDep.getDependentEntityType();
-        com.projectmaster.app.workflow.entity.DependencyEntityType dependsOnType = workflowDep.getDependsOnEntityType();
-        
-        return ProjectDependency.builder()
-                .projectId(projectId)
-                .dependentEntityType(dependentType)
-                .dependentEntityId(dependentProjectEntityId)
-                .dependsOnEntityType(dependsOnType)
-                .dependsOnEntityId(dependsOnProjectEntityId)
-                .dependencyType(workflowDep.getDependencyType())
-                .lagDays(workflowDep.getLagDays())
-                .status(com.projectmaster.app.workflow.entity.DependencyStatus.PENDING)
-                .build();
-    }
-
     /**
      * Get dependencies for a specific entity (stage, task, or step)
      */
@@ -1,16 +1,27 @@
 package com.projectmaster.app.project.service;
 
+import com.projectmaster.app.common.enums.PhotoProcessingStatus;
+import com.projectmaster.app.common.enums.UserRole;
 import com.projectmaster.app.common.exception.EntityNotFoundException;
 import com.projectmaster.app.common.exception.ProjectMasterException;
+import com.projectmaster.app.common.service.ImageNormalizer;
+import com.projectmaster.app.common.service.ThumbnailService;
+import com.projectmaster.app.common.storage.BlobReferenceService;
+import com.projectmaster.app.common.storage.BlobStorage;
+import com.projectmaster.app.common.storage.StoredBlob;
 import com.projectmaster.app.project.dto.ProjectStepPhotoDto;
 import com.projectmaster.app.project.entity.ProjectStep;
 import com.projectmaster.app.project.entity.ProjectStepPhoto;
 import com.projectmaster.app.project.repository.ProjectStepPhotoRepository;
 import com.projectmaster.app.project.repository.ProjectStepRepository;
+import com.projectmaster.app.upload.service.ChunkedUploadService;
 import com.projectmaster.app.user.entity.User;
 import com.projectmaster.app.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -19,7 +30,6 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
@@ -34,14 +44,21 @@ public class ProjectStepPhotoService {
     private final ProjectStepPhotoRepository photoRepository;
     private final ProjectStepRepository projectStepRepository;
     private final UserRepository userRepository;
+    private final ThumbnailService thumbnailService;
+    private final BlobStorage blobStorage;
+    private final BlobReferenceService blobReferenceService;
+    private final ChunkedUploadService chunkedUploadService;
+    private final PhotoProcessingService photoProcessingService;
+    private final ImageNormalizer imageNormalizer;
 
     // Configuration - in a real application, these would come from application.properties
-    private static final String UPLOAD_DIR = "uploads/project-steps";
     private static final long MAX_FILE_SIZE = 10 * 1024 * 1024; // 10MB
-    private static final List<String> ALLOWED_EXTENSIONS = List.of("jpg", "jpeg", "png", "gif", "webp");
+    // Formats the image decoder can read, so every photo gets an EXIF-free web rendition
+    private static final List<String> ALLOWED_EXTENSIONS = List.of("jpg", "jpeg", "png", "gif");
 
     /**
-     * Upload a photo for a project step
+     * Upload a photo for a project step. The original is stored as-is and the photo is
+     * returned straight away in PROCESSING; the web rendition and thumbnails follow in the background.
      */
     public ProjectStepPhotoDto uploadPhoto(UUID projectStepId, MultipartFile file, String description, 
                                          String photoType, UUID uploadedByUserId) {
@@ -58,23 +75,15 @@ public class ProjectStepPhotoService {
         // Validate file
         validateFile(file);
 
-        // Create upload directory if it doesn't exist
-        Path uploadPath = Paths.get(UPLOAD_DIR, projectStepId.toString());
-        try {
-            Files.createDirectories(uploadPath);
-        } catch (IOException e) {
-            throw new ProjectMasterException("Failed to create upload directory: " + e.getMessage());
-        }
-
         // Generate unique filename
         String originalFileName = file.getOriginalFilename();
         String fileExtension = getFileExtension(originalFileName);
         String fileName = "photo_" + Instant.now().toEpochMilli() + "." + fileExtension;
-        Path filePath = uploadPath.resolve(fileName);
 
-        // Save file to disk
+        // Stream file content into blob storage
+        StoredBlob blob;
         try {
-            Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
+            blob = blobReferenceService.storeAndAcquire(file);
         } catch (IOException e) {
             throw new ProjectMasterException("Failed to save file: " + e.getMessage());
         }
@@ -85,20 +94,31 @@ public class ProjectStepPhotoService {
                 .uploadedByUser(user)
                 .fileName(fileName)
                 .originalFileName(originalFileName)
-                .filePath(filePath.toString())
-                .fileSize(file.getSize())
+                .storageKey(blob.getKey())
+                .fileSize(blob.getSize())
                 .mimeType(file.getContentType())
                 .description(description)
                 .photoType(photoType)
                 .isPublic(false) // Default to private
+                .processingStatus(PhotoProcessingStatus.PROCESSING)
                 .build();
 
         ProjectStepPhoto savedPhoto = photoRepository.save(photo);
+        photoProcessingService.submitAfterCommit(savedPhoto.getId());
         log.info("Photo uploaded successfully with ID: {}", savedPhoto.getId());
 
         return mapToDto(savedPhoto);
     }
 
+    /**
+     * Upload a photo for a project step from a completed chunked upload
+     */
+    public ProjectStepPhotoDto uploadPhotoFromUpload(UUID projectStepId, UUID uploadId, String description,
+                                                     String photoType, UUID uploadedByUserId) {
+        MultipartFile file = chunkedUploadService.claimUpload(uploadId, uploadedByUserId);
+        return uploadPhoto(projectStepId, file, description, photoType, uploadedByUserId);
+    }
+
     /**
      * Get all photos for a project step
      */
@@ -125,6 +145,84 @@ public class ProjectStepPhotoService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Get a photo entity by ID
+     */
+    @Transactional(readOnly = true)
+    public ProjectStepPhoto getPhotoEntity(UUID photoId) {
+        return photoRepository.findById(photoId)
+                .orElseThrow(() -> new EntityNotFoundException("Photo not found with id: " + photoId));
+    }
+
+    /**
+     * Get the image served to viewers: the web rendition once processed. Photos uploaded before
+     * renditions existed are served as the original; photos still processing, or that could not
+     * be processed, are not served, as their original carries EXIF metadata such as GPS position
+     */
+    public Resource loadPhotoFile(ProjectStepPhoto photo) {
+        if (photo.getRenditionKey() != null) {
+            try {
+                return blobStorage.load(photo.getRenditionKey());
+            } catch (IOException e) {
+                throw new EntityNotFoundException("Photo file not found for photo: " + photo.getId());
+            }
+        }
+        if (photo.getProcessingStatus() != null) {
+            throw new EntityNotFoundException("Photo " + photo.getId() + " has no web rendition ("
+                    + photo.getProcessingStatus().getDisplayName() + ")");
+        }
+        return loadOriginalFile(photo);
+    }
+
+    /**
+     * Get the image file exactly as uploaded, including its EXIF metadata. The original of a
+     * photo without a web rendition is only given to its uploader or an admin
+     */
+    public Resource loadOriginalPhotoFile(ProjectStepPhoto photo, User requester) {
+        if (photo.getRenditionKey() == null && photo.getProcessingStatus() != null
+                && !isUploaderOrAdmin(photo, requester)) {
+            throw new AccessDeniedException("Only the uploader or an admin can fetch the original of photo: " + photo.getId());
+        }
+        return loadOriginalFile(photo);
+    }
+
+    private static boolean isUploaderOrAdmin(ProjectStepPhoto photo, User user) {
+        if (user.getRole() == UserRole.ADMIN || user.getRole() == UserRole.SUPER_USER) {
+            return true;
+        }
+        return photo.getUploadedByUser() != null && photo.getUploadedByUser().getId().equals(user.getId());
+    }
+
+    private Resource loadOriginalFile(ProjectStepPhoto photo) {
+        if (photo.getStorageKey() != null) {
+            try {
+                return blobStorage.load(photo.getStorageKey());
+            } catch (IOException e) {
+                throw new EntityNotFoundException("Photo file not found for photo: " + photo.getId());
+            }
+        }
+        Path filePath = Paths.get(photo.getFilePath());
+        if (!Files.isReadable(filePath)) {
+            throw new EntityNotFoundException("Photo file not found for photo: " + photo.getId());
+        }
+        return new FileSystemResource(filePath);
+    }
+
+    /**
+     * Get a resized JPEG thumbnail of a photo; formats the decoder cannot read are served as the original
+     */
+    public Resource getPhotoThumbnail(ProjectStepPhoto photo, int size) {
+        Resource original = loadPhotoFile(photo);
+        if (!isServedAsJpeg(photo) && !ThumbnailService.supports(photo.getMimeType())) {
+            return original;
+        }
+        try {
+            return thumbnailService.getThumbnail(thumbnailKey(photo), size, () -> original);
+        } catch (IOException e) {
+            throw new ProjectMasterException("Failed to generate thumbnail for photo: " + photo.getId());
+        }
+    }
+
     /**
      * Get a specific photo by ID
      */
@@ -173,14 +271,23 @@ public class ProjectStepPhotoService {
     public void deletePhoto(UUID photoId) {
         log.info("Deleting photo with ID: {}", photoId);
 
-        ProjectStepPhoto photo = photoRepository.findById(photoId)
+        ProjectStepPhoto photo = photoRepository.findByIdForUpdate(photoId)
                 .orElseThrow(() -> new EntityNotFoundException("Photo not found with id: " + photoId));
 
-        // Delete file from disk
-        try {
-            Files.deleteIfExists(Paths.get(photo.getFilePath()));
-        } catch (IOException e) {
-            log.warn("Failed to delete file from disk: {}", e.getMessage());
+        if (photo.getRenditionKey() != null) {
+            blobReferenceService.release(photo.getRenditionKey());
+        }
+        if (photo.getStorageKey() != null) {
+            // Content and thumbnails go once no other record references the blob
+            blobReferenceService.release(photo.getStorageKey());
+        } else {
+            // Delete legacy file from disk
+            try {
+                Files.deleteIfExists(Paths.get(photo.getFilePath()));
+            } catch (IOException e) {
+                log.warn("Failed to delete file from disk: {}", e.getMessage());
+            }
+            thumbnailService.evict("photo-" + photo.getId());
         }
 
         // Delete from database
@@ -214,11 +321,36 @@ public class ProjectStepPhotoService {
         if (contentType == null || !contentType.startsWith("image/")) {
             throw new ProjectMasterException("File must be an image");
         }
+
+        try {
+            if (!imageNormalizer.canDecode(file)) {
+                throw new ProjectMasterException("Image format not supported. Allowed types: " + String.join(", ", ALLOWED_EXTENSIONS));
+            }
+        } catch (IOException e) {
+            throw new ProjectMasterException("Failed to read file: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Whether viewers get the JPEG web rendition rather than the original
+     */
+    public static boolean isServedAsJpeg(ProjectStepPhoto photo) {
+        return photo.getRenditionKey() != null;
+    }
+
+    // Thumbnails are cut from the rendition when there is one. Blob keys identify the content;
+    // legacy photo files are never rewritten in place, so the id does too
+    private static String thumbnailKey(ProjectStepPhoto photo) {
+        if (photo.getRenditionKey() != null) {
+            return photo.getRenditionKey();
+        }
+        return photo.getStorageKey() != null ? photo.getStorageKey() : "photo-" + photo.getId();
     }
 
     /**
      * Get file extension from filename
      */
+
     private String getFileExtension(String filename) {
         int lastDotIndex = filename.lastIndexOf('.');
         if (lastDotIndex == -1) {
@@ -251,6 +383,9 @@ public class ProjectStepPhotoService {
                 .filePath(photo.getFilePath())
                 .fileSize(photo.getFileSize())
                 .mimeType(photo.getMimeType())
+                .processingStatus(photo.getProcessingStatus())
+                .width(photo.getWidth())
+                .height(photo.getHeight())
                 .description(photo.getDescription())
                 .photoType(photo.getPhotoType())
                 .photoTypeDisplayName(photo.getPhotoType() != null ? 
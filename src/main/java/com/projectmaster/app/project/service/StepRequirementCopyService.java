@@ -1,13 +1,15 @@
 package com.projectmaster.app.project.service;
 
+import com.projectmaster.app.consumable.repository.ConsumableCategoryRepository;
 import com.projectmaster.app.project.dto.UpdateProjectStepRequirementRequest;
 import com.projectmaster.app.project.entity.ProjectStep;
 import com.projectmaster.app.project.entity.ProjectStepRequirement;
 import com.projectmaster.app.project.repository.ProjectStepRepository;
 import com.projectmaster.app.project.repository.ProjectStepRequirementRepository;
-import com.projectmaster.app.workflow.entity.WorkflowStep;
+import com.projectmaster.app.supplier.repository.SupplierRepository;
 import com.projectmaster.app.workflow.entity.WorkflowStepRequirement;
 import com.projectmaster.app.workflow.repository.WorkflowStepRequirementRepository;
+import com.projectmaster.app.workflow.service.WorkflowTemplateSnapshot;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -32,55 +34,41 @@ public class StepRequirementCopyService {
     private final WorkflowStepRequirementRepository workflowStepRequirementRepository;
     private final ProjectStepRequirementRepository projectStepRequirementRepository;
     private final ProjectStepRepository projectStepRepository;
+    private final ConsumableCategoryRepository consumableCategoryRepository;
+    private final SupplierRepository supplierRepository;
 
     /**
-     * Copy workflow step requirements to project step during project creation
+     * Build, without saving, the project step requirements copied from a template snapshot
+     * step's requirements. Associations are set as references, without loading them.
      */
-    public void copyWorkflowRequirementsToProjectStep(ProjectStep projectStep, WorkflowStep workflowStep) {
-        log.debug("Copying requirements from workflow step {} to project step {}", 
-                workflowStep.getId(), projectStep.getId());
-        
-        // Get all requirements from the workflow step
-        List<WorkflowStepRequirement> workflowRequirements = workflowStepRequirementRepository
-                .findByWorkflowStepIdOrderByDisplayOrder(workflowStep.getId());
-        
-        if (workflowRequirements.isEmpty()) {
-            log.debug("No requirements found for workflow step: {}", workflowStep.getId());
-            return;
-        }
-        
-        for (WorkflowStepRequirement workflowReq : workflowRequirements) {
-            ProjectStepRequirement projectReq = ProjectStepRequirement.builder()
+    public List<ProjectStepRequirement> buildSnapshotRequirements(ProjectStep projectStep,
+                                                                  List<WorkflowTemplateSnapshot.Requirement> workflowRequirements) {
+        List<ProjectStepRequirement> requirements = new ArrayList<>(workflowRequirements.size());
+        for (WorkflowTemplateSnapshot.Requirement workflowReq : workflowRequirements) {
+            requirements.add(ProjectStepRequirement.builder()
                     .projectStep(projectStep)
-                    .workflowStepRequirement(workflowReq)  // Link back to template
-                    .category(workflowReq.getCategory())
-                    .supplier(workflowReq.getSupplier())   // Copy default supplier
-                    .itemName(workflowReq.getItemName())
-                    .brand(workflowReq.getBrand())
-                    .model(workflowReq.getModel())
-                    .quantity(workflowReq.getDefaultQuantity() != null ? workflowReq.getDefaultQuantity() : BigDecimal.ZERO) // Use template default or 0
-                    .unit(workflowReq.getUnit())
-                    .estimatedCost(workflowReq.getEstimatedCost())
-                    .procurementType(convertProcurementType(workflowReq.getProcurementType()))
-                    .isOptional(workflowReq.getIsOptional())
-                    .notes(workflowReq.getTemplateNotes()) // Copy template notes
-                    .supplierItemCode(workflowReq.getSupplierItemCode())
+                    .workflowStepRequirement(workflowStepRequirementRepository.getReferenceById(workflowReq.id()))
+                    .category(consumableCategoryRepository.getReferenceById(workflowReq.categoryId()))
+                    .supplier(workflowReq.supplierId() != null ? supplierRepository.getReferenceById(workflowReq.supplierId()) : null)
+                    .itemName(workflowReq.itemName())
+                    .brand(workflowReq.brand())
+                    .model(workflowReq.model())
+                    .quantity(workflowReq.defaultQuantity() != null ? workflowReq.defaultQuantity() : BigDecimal.ZERO)
+                    .unit(workflowReq.unit())
+                    .estimatedCost(workflowReq.estimatedCost())
+                    .procurementType(convertProcurementType(workflowReq.procurementType()))
+                    .isOptional(workflowReq.isOptional())
+                    .notes(workflowReq.templateNotes())
+                    .supplierItemCode(workflowReq.supplierItemCode())
                     .status(ProjectStepRequirement.RequirementStatus.PENDING)
-                    .isTemplateCopied(true)                // Mark as copied from template
-                    .displayOrder(workflowReq.getDisplayOrder())
-                    .customerSelectable(workflowReq.getCustomerSelectable()) // Copy customer selectable flag
-                    .build();
-            
-            projectStepRequirementRepository.save(projectReq);
-            log.debug("Copied requirement: {} to project step: {}", 
-                    workflowReq.getItemName(), projectStep.getId());
+                    .isTemplateCopied(true)
+                    .displayOrder(workflowReq.displayOrder())
+                    .customerSelectable(workflowReq.customerSelectable())
+                    .build());
         }
-        
-        log.info("Copied {} requirements from workflow step {} to project step {}", 
-                workflowRequirements.size(), workflowStep.getId(), projectStep.getId());
+        return requirements;
     }
 
-
     /**
      * Sync project step requirements - smart update/create/delete based on category and item name
      */
@@ -1,14 +1,23 @@
 package com.projectmaster.app.project.service;
 
 import com.projectmaster.app.common.dto.ApiResponse;
+import com.projectmaster.app.common.dto.CursorPage;
+import com.projectmaster.app.common.dto.KeysetCursor;
 import com.projectmaster.app.common.exception.ProjectMasterException;
+import com.projectmaster.app.common.storage.BlobReferenceService;
+import com.projectmaster.app.common.storage.BlobStorage;
+import com.projectmaster.app.common.storage.StoredBlob;
 import com.projectmaster.app.project.dto.*;
 import com.projectmaster.app.project.entity.*;
 import com.projectmaster.app.project.repository.*;
+import com.projectmaster.app.upload.service.ChunkedUploadService;
 import com.projectmaster.app.user.entity.User;
 import com.projectmaster.app.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -36,6 +45,9 @@ public class StepUpdateService {
     private final ProjectStepRepository projectStepRepository;
     private final UserRepository userRepository;
     private final ProjectStepAssignmentRepository projectStepAssignmentRepository;
+    private final ChunkedUploadService chunkedUploadService;
+    private final BlobStorage blobStorage;
+    private final BlobReferenceService blobReferenceService;
 
     private static final String UPLOAD_DIR = "uploads/step-documents/";
 
@@ -165,6 +177,41 @@ public class StepUpdateService {
                 .build();
     }
 
+    /**
+     * Retrieve a page of the updates feed for a level after the given cursor.
+     * Ids are seeked first so the collection fetch never sees a row limit, and no total is counted.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<StepUpdateResponse> retrieveUpdatesFeed(UpdatesRetrievalRequest.UpdateLevel level, UUID entityId,
+                                                              String cursor, Integer size) {
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        int pageSize = KeysetCursor.pageSize(size);
+        Limit limit = KeysetCursor.limitFor(pageSize);
+
+        List<UUID> ids;
+        switch (level) {
+            case STEP:
+                ids = stepUpdateRepository.findFeedIdsByProjectStepId(entityId, position.getCreatedAt(), position.getId(), limit);
+                break;
+            case TASK:
+                ids = stepUpdateRepository.findFeedIdsByProjectTaskId(entityId, position.getCreatedAt(), position.getId(), limit);
+                break;
+            case STAGE:
+                ids = stepUpdateRepository.findFeedIdsByProjectStageId(entityId, position.getCreatedAt(), position.getId(), limit);
+                break;
+            case PROJECT:
+                ids = stepUpdateRepository.findFeedIdsByProjectId(entityId, position.getCreatedAt(), position.getId(), limit);
+                break;
+            default:
+                throw new ProjectMasterException("Invalid update level: " + level);
+        }
+
+        List<StepUpdate> updates = ids.isEmpty()
+                ? List.of()
+                : CursorPage.inIdOrder(ids, stepUpdateRepository.findAllWithDetailsByIdIn(ids));
+        return CursorPage.from(updates, pageSize, this::convertToResponse);
+    }
+
     /**
      * Get a specific step update by ID
      */
@@ -190,7 +237,7 @@ public class StepUpdateService {
 
         // Delete associated documents
         for (StepUpdateDocument document : stepUpdate.getDocuments()) {
-            deleteDocumentFile(document.getFileName());
+            deleteDocumentFile(document);
         }
 
         stepUpdateRepository.delete(stepUpdate);
@@ -205,6 +252,9 @@ public class StepUpdateService {
         List<StepUpdateDocument> documents = new ArrayList<>();
 
         for (StepUpdateRequest.DocumentUploadRequest docRequest : documentRequests) {
+            if (docRequest.getFile() == null && docRequest.getUploadId() != null) {
+                docRequest.setFile(chunkedUploadService.claimUpload(docRequest.getUploadId(), stepUpdate.getUpdatedBy().getId()));
+            }
             if (docRequest.getFile() != null && !docRequest.getFile().isEmpty()) {
                 try {
                     StepUpdateDocument document = uploadDocument(stepUpdate, docRequest.getFile(), docRequest);
@@ -247,12 +297,23 @@ public class StepUpdateService {
      * Download a document
      */
     @Transactional(readOnly = true)
-    public byte[] downloadDocument(UUID documentId) throws IOException {
+    public Resource downloadDocument(UUID documentId) {
         StepUpdateDocument document = stepUpdateDocumentRepository.findById(documentId)
                 .orElseThrow(() -> new ProjectMasterException("Document not found: " + documentId));
 
-        Path filePath = Paths.get(UPLOAD_DIR + document.getFileName());
-        return Files.readAllBytes(filePath);
+        if (document.getStorageKey() != null) {
+            try {
+                return blobStorage.load(document.getStorageKey());
+            } catch (IOException e) {
+                throw new ProjectMasterException("Document file not found: " + documentId);
+            }
+        }
+
+        Path filePath = legacyDocumentPath(document.getFileName());
+        if (!Files.isReadable(filePath)) {
+            throw new ProjectMasterException("Document file not found: " + documentId);
+        }
+        return new FileSystemResource(filePath);
     }
 
     /**
@@ -265,7 +326,7 @@ public class StepUpdateService {
         // Validate user authorization
         validateUserAuthorization(document.getStepUpdate().getProjectStep().getId(), userId);
 
-        deleteDocumentFile(document.getFileName());
+        deleteDocumentFile(document);
         stepUpdateDocumentRepository.delete(document);
     }
 
@@ -310,25 +371,21 @@ public class StepUpdateService {
 
     private StepUpdateDocument uploadDocument(StepUpdate stepUpdate, MultipartFile file, 
                                             StepUpdateRequest.DocumentUploadRequest docRequest) throws IOException {
-        // Create upload directory if it doesn't exist
-        Path uploadPath = Paths.get(UPLOAD_DIR);
-        Files.createDirectories(uploadPath);
-
         // Generate unique filename
         String originalFilename = file.getOriginalFilename();
         String displayFileName = docRequest != null && docRequest.getFileName() != null ? 
                 docRequest.getFileName() : originalFilename;
         String fileExtension = getFileExtension(originalFilename);
         String uniqueFilename = UUID.randomUUID().toString() + "." + fileExtension;
-        Path filePath = uploadPath.resolve(uniqueFilename);
 
-        // Save file
-        Files.copy(file.getInputStream(), filePath);
+        // Stream file content into blob storage
+        StoredBlob blob = blobReferenceService.storeAndAcquire(file);
 
         // Create document entity
         StepUpdateDocument document = StepUpdateDocument.builder()
                 .stepUpdate(stepUpdate)
                 .fileName(uniqueFilename) // Store unique filename for file system
+                .storageKey(blob.getKey())
                 .originalFileName(displayFileName) // Store original/display filename
                 .fileExtension(fileExtension)
                 .mimeType(deriveMimeType(fileExtension))
@@ -385,15 +442,26 @@ public class StepUpdateService {
         };
     }
 
-    private void deleteDocumentFile(String fileName) {
+    private void deleteDocumentFile(StepUpdateDocument document) {
+        if (document.getStorageKey() != null) {
+            blobReferenceService.release(document.getStorageKey());
+            return;
+        }
+        String fileName = document.getFileName();
         try {
-            Path path = Paths.get(UPLOAD_DIR + fileName);
-            Files.deleteIfExists(path);
+            Files.deleteIfExists(legacyDocumentPath(fileName));
         } catch (IOException e) {
             log.error("Failed to delete file: {}", fileName, e);
         }
     }
 
+    /**
+     * Location of an attachment stored on disk before blob storage
+     */
+    static Path legacyDocumentPath(String fileName) {
+        return Paths.get(UPLOAD_DIR + fileName);
+    }
+
     private Pageable createPageable(UpdatesRetrievalRequest request) {
         Sort.Direction direction = "ASC".equalsIgnoreCase(request.getSortDirection()) ? 
                 Sort.Direction.ASC : Sort.Direction.DESC;
@@ -0,0 +1,57 @@
+package com.projectmaster.app.search.controller;
+
+import com.projectmaster.app.common.dto.ApiResponse;
+import com.projectmaster.app.common.enums.SearchEntityType;
+import com.projectmaster.app.search.dto.SearchResultResponse;
+import com.projectmaster.app.search.service.SearchService;
+import com.projectmaster.app.security.service.CustomUserDetailsService;
+import com.projectmaster.app.user.entity.User;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Search", description = "Full-text search across customers, suppliers, contractors and projects")
+@SecurityRequirement(name = "Bearer Authentication")
+public class SearchController {
+
+    private final SearchService searchService;
+
+    /**
+     * Search customers, suppliers, contractors and projects
+     */
+    @Operation(summary = "Global search", description = "Ranked prefix search over the search index, scoped to the user's company plus master-level records")
+    @GetMapping
+    @PreAuthorize("hasRole('SUPER_USER') or hasRole('ADMIN') or hasRole('PROJECT_MANAGER') or hasRole('TRADIE')")
+    public ResponseEntity<ApiResponse<Page<SearchResultResponse>>> search(
+            @Parameter(description = "Search text") @RequestParam("q") String query,
+            @Parameter(description = "Restrict results to one entity type") @RequestParam(required = false) SearchEntityType type,
+            @PageableDefault(size = 20) Pageable pageable,
+            Authentication authentication) {
+
+        CustomUserDetailsService.CustomUserPrincipal userPrincipal =
+                (CustomUserDetailsService.CustomUserPrincipal) authentication.getPrincipal();
+        User user = userPrincipal.getUser();
+
+        Page<SearchResultResponse> results = searchService.searchForUser(query, user, type, pageable);
+
+        return ResponseEntity.ok(ApiResponse.<Page<SearchResultResponse>>builder()
+                .success(true)
+                .message("Search completed successfully")
+                .data(results)
+                .build());
+    }
+}
@@ -0,0 +1,22 @@
+package com.projectmaster.app.search.dto;
+
+import com.projectmaster.app.common.enums.SearchEntityType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchResultResponse {
+
+    private SearchEntityType entityType;
+    private UUID entityId;
+    private String title;
+    private String subtitle;
+    private double rank;
+}
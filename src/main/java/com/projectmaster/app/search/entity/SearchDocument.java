@@ -0,0 +1,51 @@
+package com.projectmaster.app.search.entity;
+
+import com.projectmaster.app.common.entity.BaseEntity;
+import com.projectmaster.app.common.enums.SearchEntityType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.UUID;
+
+/**
+ * Denormalised search text for one customer, supplier, contractor or project.
+ * The weighted tsvector column (search_vector) is generated by the database from
+ * title, subtitle and content, and is served by a GIN index.
+ */
+@Entity
+@Table(name = "search_documents",
+       uniqueConstraints = @UniqueConstraint(name = "uk_search_documents_entity",
+               columnNames = {"entity_type", "entity_id"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SearchDocument extends BaseEntity {
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 20)
+    private SearchEntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private UUID entityId;
+
+    /**
+     * Owning company; null for master-level records (suppliers, contractors) visible to every company
+     */
+    @Column(name = "company_id")
+    private UUID companyId;
+
+    @Column(name = "title", nullable = false)
+    private String title;
+
+    @Column(name = "subtitle")
+    private String subtitle;
+
+    @Column(name = "content", columnDefinition = "TEXT")
+    private String content;
+
+    @Builder.Default
+    @Column(name = "active", nullable = false)
+    private Boolean active = true;
+}
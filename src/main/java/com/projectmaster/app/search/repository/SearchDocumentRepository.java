@@ -0,0 +1,69 @@
+package com.projectmaster.app.search.repository;
+
+import com.projectmaster.app.common.enums.SearchEntityType;
+import com.projectmaster.app.search.entity.SearchDocument;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface SearchDocumentRepository extends JpaRepository<SearchDocument, UUID> {
+
+    /**
+     * Find the search document for an entity
+     */
+    Optional<SearchDocument> findByEntityTypeAndEntityId(SearchEntityType entityType, UUID entityId);
+
+    /**
+     * Delete the search document for an entity
+     */
+    @Modifying
+    @Query("DELETE FROM SearchDocument d WHERE d.entityType = :entityType AND d.entityId = :entityId")
+    int deleteByEntityTypeAndEntityId(@Param("entityType") SearchEntityType entityType, @Param("entityId") UUID entityId);
+
+    /**
+     * Ranked full-text search over a company's documents plus master-level documents.
+     * Returns [entityType, entityId, title, subtitle, rank]; pass an empty entityType for all types.
+     */
+    @Query(value = "SELECT d.entity_type, d.entity_id, d.title, d.subtitle, " +
+           "ts_rank(d.search_vector, to_tsquery('simple', :tsQuery)) AS rank " +
+           "FROM search_documents d " +
+           "WHERE d.search_vector @@ to_tsquery('simple', :tsQuery) AND d.active = true " +
+           "AND (d.company_id = :companyId OR d.company_id IS NULL) " +
+           "AND (:entityType = '' OR d.entity_type = :entityType) " +
+           "ORDER BY rank DESC, d.title ASC",
+           countQuery = "SELECT COUNT(*) FROM search_documents d " +
+           "WHERE d.search_vector @@ to_tsquery('simple', :tsQuery) AND d.active = true " +
+           "AND (d.company_id = :companyId OR d.company_id IS NULL) " +
+           "AND (:entityType = '' OR d.entity_type = :entityType)",
+           nativeQuery = true)
+    Page<Object[]> searchForCompany(@Param("tsQuery") String tsQuery,
+                                    @Param("companyId") UUID companyId,
+                                    @Param("entityType") String entityType,
+                                    Pageable pageable);
+
+    /**
+     * Ranked full-text search across all companies (super users).
+     * Returns [entityType, entityId, title, subtitle, rank]; pass an empty entityType for all types.
+     */
+    @Query(value = "SELECT d.entity_type, d.entity_id, d.title, d.subtitle, " +
+           "ts_rank(d.search_vector, to_tsquery('simple', :tsQuery)) AS rank " +
+           "FROM search_documents d " +
+           "WHERE d.search_vector @@ to_tsquery('simple', :tsQuery) AND d.active = true " +
+           "AND (:entityType = '' OR d.entity_type = :entityType) " +
+           "ORDER BY rank DESC, d.title ASC",
+           countQuery = "SELECT COUNT(*) FROM search_documents d " +
+           "WHERE d.search_vector @@ to_tsquery('simple', :tsQuery) AND d.active = true " +
+           "AND (:entityType = '' OR d.entity_type = :entityType)",
+           nativeQuery = true)
+    Page<Object[]> searchAll(@Param("tsQuery") String tsQuery,
+                             @Param("entityType") String entityType,
+                             Pageable pageable);
+}
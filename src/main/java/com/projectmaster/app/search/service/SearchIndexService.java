@@ -0,0 +1,123 @@
+package com.projectmaster.app.search.service;
+
+import com.projectmaster.app.common.enums.ProjectStatus;
+import com.projectmaster.app.common.enums.SearchEntityType;
+import com.projectmaster.app.contractor.entity.ContractingCompany;
+import com.projectmaster.app.customer.entity.Address;
+import com.projectmaster.app.customer.entity.Customer;
+import com.projectmaster.app.project.entity.Project;
+import com.projectmaster.app.search.entity.SearchDocument;
+import com.projectmaster.app.search.repository.SearchDocumentRepository;
+import com.projectmaster.app.supplier.entity.Supplier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Keeps search documents in step with the entities they describe. Domain services
+ * call these methods after each save or delete, inside their own transaction.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class SearchIndexService {
+
+    private final SearchDocumentRepository searchDocumentRepository;
+
+    /**
+     * Index or re-index a customer
+     */
+    public void indexCustomer(Customer customer) {
+        upsert(SearchEntityType.CUSTOMER, customer.getId(), customer.getCompany().getId(),
+                join(customer.getFirstName(), customer.getLastName()),
+                customer.getEmail(),
+                join(customer.getPhone(), customer.getSecondaryContactName(), customer.getSecondaryContactPhone(),
+                        formatAddress(customer.getAddress())),
+                !Boolean.FALSE.equals(customer.getActive()));
+    }
+
+    /**
+     * Index or re-index a supplier (master level, visible to every company)
+     */
+    public void indexSupplier(Supplier supplier) {
+        upsert(SearchEntityType.SUPPLIER, supplier.getId(), null,
+                supplier.getName(),
+                supplier.getContactPerson(),
+                join(supplier.getAbn(), supplier.getEmail(), supplier.getPhone(), supplier.getAddress()),
+                !Boolean.FALSE.equals(supplier.getActive()));
+    }
+
+    /**
+     * Index or re-index a contracting company (master level, visible to every company)
+     */
+    public void indexContractor(ContractingCompany contractor) {
+        upsert(SearchEntityType.CONTRACTOR, contractor.getId(), null,
+                contractor.getName(),
+                contractor.getContactPerson(),
+                join(contractor.getAbn(), contractor.getEmail(), contractor.getPhone(), contractor.getAddress()),
+                !Boolean.FALSE.equals(contractor.getActive()));
+    }
+
+    /**
+     * Index or re-index a project
+     */
+    public void indexProject(Project project) {
+        Customer customer = project.getCustomer();
+        upsert(SearchEntityType.PROJECT, project.getId(), project.getCompany().getId(),
+                project.getName(),
+                project.getProjectNumber(),
+                join(project.getDescription(),
+                        customer != null ? join(customer.getFirstName(), customer.getLastName()) : null,
+                        formatAddress(project.getAddress())),
+                project.getStatus() != ProjectStatus.CANCELLED);
+    }
+
+    /**
+     * Remove an entity from the index
+     */
+    public void remove(SearchEntityType entityType, UUID entityId) {
+        searchDocumentRepository.deleteByEntityTypeAndEntityId(entityType, entityId);
+    }
+
+    private void upsert(SearchEntityType entityType, UUID entityId, UUID companyId,
+                        String title, String subtitle, String content, boolean active) {
+        SearchDocument document = searchDocumentRepository.findByEntityTypeAndEntityId(entityType, entityId)
+                .orElseGet(() -> SearchDocument.builder()
+                        .entityType(entityType)
+                        .entityId(entityId)
+                        .build());
+
+        document.setCompanyId(companyId);
+        document.setTitle(title != null ? title : "");
+        document.setSubtitle(subtitle);
+        document.setContent(content);
+        document.setActive(active);
+
+        searchDocumentRepository.save(document);
+        log.debug("Indexed {} {} for search", entityType, entityId);
+    }
+
+    private String formatAddress(Address address) {
+        if (address == null) {
+            return null;
+        }
+        return join(address.getLine1(), address.getLine2(), address.getSuburbCity(),
+                address.getStateProvince(), address.getPostcode());
+    }
+
+    private static String join(String... parts) {
+        String joined = Stream.of(parts)
+                .filter(Objects::nonNull)
+                .map(String::trim)
+                .filter(part -> !part.isEmpty())
+                .collect(Collectors.joining(" "));
+        return joined.isEmpty() ? null : joined;
+    }
+}
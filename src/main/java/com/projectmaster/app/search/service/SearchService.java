@@ -0,0 +1,89 @@
+package com.projectmaster.app.search.service;
+
+import com.projectmaster.app.common.enums.SearchEntityType;
+import com.projectmaster.app.common.enums.UserRole;
+import com.projectmaster.app.search.dto.SearchResultResponse;
+import com.projectmaster.app.search.repository.SearchDocumentRepository;
+import com.projectmaster.app.user.entity.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class SearchService {
+
+    private static final int MAX_TERMS = 8;
+
+    private final SearchDocumentRepository searchDocumentRepository;
+
+    /**
+     * Search on behalf of a user: within the user's company, or across every company for a
+     * super user. Users without a company, such as contracting-company staff, may not search.
+     */
+    public Page<SearchResultResponse> searchForUser(String query, User user, SearchEntityType entityType,
+                                                    Pageable pageable) {
+        if (user.getCompany() != null) {
+            return search(query, user.getCompany().getId(), entityType, pageable);
+        }
+        if (user.getRole() == UserRole.SUPER_USER) {
+            return search(query, null, entityType, pageable);
+        }
+        throw new AccessDeniedException("Search is only available to users of a company");
+    }
+
+    /**
+     * Ranked prefix search across customers, suppliers, contractors and projects.
+     * A null companyId searches every company and is reserved for super users.
+     */
+    public Page<SearchResultResponse> search(String query, UUID companyId, SearchEntityType entityType, Pageable pageable) {
+        String tsQuery = toPrefixTsQuery(query);
+        // Ordering is fixed by rank in the query
+        Pageable page = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        if (tsQuery.isEmpty()) {
+            return Page.empty(page);
+        }
+
+        String type = entityType != null ? entityType.name() : "";
+        log.debug("Searching '{}' for company {} (type: {})", tsQuery, companyId, type);
+
+        Page<Object[]> rows = companyId != null
+                ? searchDocumentRepository.searchForCompany(tsQuery, companyId, type, page)
+                : searchDocumentRepository.searchAll(tsQuery, type, page);
+
+        return rows.map(row -> SearchResultResponse.builder()
+                .entityType(SearchEntityType.valueOf((String) row[0]))
+                .entityId((UUID) row[1])
+                .title((String) row[2])
+                .subtitle((String) row[3])
+                .rank(((Number) row[4]).doubleValue())
+                .build());
+    }
+
+    /**
+     * Turn free text into an AND of prefix terms ("smi jo" -> "smi:* & jo:*").
+     * Only letters and digits survive, so user input can never break tsquery syntax.
+     */
+    static String toPrefixTsQuery(String query) {
+        if (query == null) {
+            return "";
+        }
+        return Arrays.stream(query.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .limit(MAX_TERMS)
+                .map(term -> term + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+}
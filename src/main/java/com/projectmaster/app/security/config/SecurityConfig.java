@@ -2,6 +2,7 @@ package com.projectmaster.app.security.config;
 
 import com.projectmaster.app.config.PasswordConfig.SimplePasswordEncoder;
 import com.projectmaster.app.security.filter.JwtAuthenticationFilter;
+import com.projectmaster.app.security.filter.RateLimitFilter;
 import com.projectmaster.app.security.handler.CustomAuthenticationEntryPoint;
 import com.projectmaster.app.security.service.CustomUserDetailsService;
 import lombok.RequiredArgsConstructor;
@@ -32,6 +33,7 @@ import java.util.List;
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthFilter;
+    private final RateLimitFilter rateLimitFilter;
     private final CustomUserDetailsService userDetailsService;
     private final SimplePasswordEncoder passwordEncoder;
     private final CustomAuthenticationEntryPoint authenticationEntryPoint;
@@ -55,6 +57,9 @@ public class SecurityConfig {
                         // Super user endpoints - Super User only (must come after public super-admin endpoints)
                         .requestMatchers("/super-admin/**").hasRole("SUPER_USER")
                         
+                        // Operational metrics - Super User only
+                        .requestMatchers("/actuator/metrics", "/actuator/metrics/**").hasRole("SUPER_USER")
+                        
                         // Admin only endpoints
                         .requestMatchers("/admin/**").hasRole("ADMIN")
                         
@@ -82,7 +87,8 @@ public class SecurityConfig {
                         .authenticationEntryPoint(authenticationEntryPoint) // Return 401 for auth failures
                 )
                 .authenticationProvider(authenticationProvider())
-                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
@@ -109,7 +115,8 @@ public class SecurityConfig {
         ));
         configuration.setExposedHeaders(List.of(
             "Access-Control-Allow-Origin",
-            "Access-Control-Allow-Credentials"
+            "Access-Control-Allow-Credentials",
+            "Retry-After"
         ));
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L); // Cache preflight response for 1 hour
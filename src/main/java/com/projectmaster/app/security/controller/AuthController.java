@@ -38,12 +38,14 @@ public class AuthController {
     }
 
     @PostMapping("/logout")
-    public ResponseEntity<ApiResponse<Void>> logout(HttpServletRequest request) {
+    public ResponseEntity<ApiResponse<Void>> logout(HttpServletRequest request,
+                                                    @RequestBody(required = false) RefreshTokenRequest body) {
         String authHeader = request.getHeader("Authorization");
-        
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            String token = authHeader.substring(7);
-            authenticationService.logout(token);
+        String accessToken = authHeader != null && authHeader.startsWith("Bearer ") ? authHeader.substring(7) : null;
+        String refreshToken = body != null ? body.getRefreshToken() : null;
+
+        if (accessToken != null || refreshToken != null) {
+            authenticationService.logout(accessToken, refreshToken);
         }
         
         return ResponseEntity.ok(ApiResponse.success(null, "Logout successful"));
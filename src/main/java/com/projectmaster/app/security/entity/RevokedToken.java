@@ -0,0 +1,37 @@
+package com.projectmaster.app.security.entity;
+
+import com.projectmaster.app.common.entity.BaseEntity;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A token revoked before its expiry, e.g. on logout. Rows are only needed until the
+ * token would have expired anyway and are purged after that.
+ */
+@Entity
+@Table(name = "revoked_tokens",
+       uniqueConstraints = @UniqueConstraint(name = "uk_revoked_tokens_token_id", columnNames = "token_id"),
+       indexes = {
+               @Index(name = "idx_revoked_tokens_created_at", columnList = "created_at"),
+               @Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at")
+       })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RevokedToken extends BaseEntity {
+
+    // The token's jti claim
+    @Column(name = "token_id", nullable = false, length = 64)
+    private String tokenId;
+
+    @Column(name = "user_id")
+    private UUID userId;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+}
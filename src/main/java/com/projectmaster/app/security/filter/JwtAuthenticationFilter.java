@@ -2,6 +2,9 @@ package com.projectmaster.app.security.filter;
 
 import com.projectmaster.app.security.service.CustomUserDetailsService;
 import com.projectmaster.app.security.service.JwtService;
+import com.projectmaster.app.security.service.TokenRevocationService;
+import com.projectmaster.app.security.service.UserStateCache;
+import com.projectmaster.app.security.service.VerifiedToken;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -26,6 +29,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final CustomUserDetailsService userDetailsService;
+    private final UserStateCache userStateCache;
+    private final TokenRevocationService tokenRevocationService;
 
     @Override
     protected void doFilterInternal(
@@ -41,7 +46,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String userEmail;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
@@ -51,14 +55,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         jwt = authHeader.substring(7);
         
         try {
-            userEmail = jwtService.extractUsername(jwt);
-
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
-            if (userEmail != null && authentication == null) {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+            if (authentication == null) {
+                // Verifies the signature and expiry, or reuses a recent verification of the same token
+                VerifiedToken token = jwtService.verify(jwt);
+                UserDetails userDetails = resolveUser(jwt, token);
 
-                if (jwtService.isTokenValid(jwt, userDetails)) {
+                if (userDetails != null) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails,
                             null,
@@ -67,9 +71,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
                     
-                    log.debug("Successfully authenticated user: {}", userEmail);
+                    log.debug("Successfully authenticated user: {}", token.subject());
                 } else {
-                    log.warn("Invalid JWT token for user: {}", userEmail);
+                    log.warn("Invalid JWT token for user: {}", token.subject());
                 }
             }
         } catch (Exception e) {
@@ -81,13 +85,35 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Build the principal from the verified token and the cached user state, or null if the
+     * user is gone, deactivated, renamed or the token has been revoked. Tokens without a userId
+     * claim fall back to a lookup by email.
+     */
+    private UserDetails resolveUser(String jwt, VerifiedToken token) {
+        if (token.userId() == null) {
+            UserDetails userDetails = userDetailsService.loadUserByUsername(token.subject());
+            return jwtService.isTokenValid(jwt, userDetails) ? userDetails : null;
+        }
+
+        UserStateCache.UserState state = userStateCache.get(token.userId());
+        if (state == null || !state.active() || !state.email().equalsIgnoreCase(token.subject())) {
+            return null;
+        }
+        if (state.isRevoked(token.issuedAt()) || tokenRevocationService.isRevoked(token)) {
+            return null;
+        }
+        // Role and company come from the user state, so changes apply without waiting for a new token
+        return new CustomUserDetailsService.CustomUserPrincipal(state.toUser());
+    }
+
     private boolean isAuthenticationPath(HttpServletRequest request) {
         String path = request.getRequestURI();
         return path.startsWith("/auth/") || 
                path.equals("/auth/login") || 
                path.equals("/auth/refresh") ||
                path.startsWith("/public/") ||
-               path.startsWith("/actuator/") ||
+               path.equals("/actuator/health") ||
                path.startsWith("/swagger-ui/") ||
                path.startsWith("/v3/api-docs/");
     }
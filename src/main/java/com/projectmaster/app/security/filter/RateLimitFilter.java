@@ -0,0 +1,117 @@
+package com.projectmaster.app.security.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projectmaster.app.common.dto.ApiResponse;
+import com.projectmaster.app.security.ratelimit.RateLimitGroup;
+import com.projectmaster.app.security.ratelimit.RateLimitProperties;
+import com.projectmaster.app.security.ratelimit.RateLimiter;
+import com.projectmaster.app.security.service.CustomUserDetailsService.CustomUserPrincipal;
+import com.projectmaster.app.user.entity.User;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Rate limits the expensive endpoint groups per user and per company, answering 429 with
+ * Retry-After when a bucket is empty. Heavy groups also need one of a fixed number of
+ * node-wide slots; when none frees up within the queue timeout the request is shed with
+ * 503. Runs after authentication, and leaves unauthenticated requests to Spring Security.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+    private final RateLimitProperties properties;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        RateLimitGroup group = RateLimitGroup.match(request.getMethod(),
+                request.getRequestURI().substring(request.getContextPath().length()));
+        User user = currentUser();
+        if (group == null || user == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RateLimiter.Decision decision = rateLimiter.tryAcquire(group, user.getId(),
+                user.getCompany() != null ? user.getCompany().getId() : null);
+        if (!decision.allowed()) {
+            log.info("Rate limited {} request by user {} ({} limit)", group, user.getId(), decision.limitedBy());
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, decision.retryAfterSeconds(),
+                    "Too many " + group.getDisplayName().toLowerCase() + " requests. Please try again later.");
+            return;
+        }
+
+        if (!properties.isHeavy(group)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        boolean acquired;
+        try {
+            acquired = rateLimiter.acquireHeavySlot();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            log.warn("Shedding {} request by user {}: server busy", group, user.getId());
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE,
+                    Math.max(1, properties.getHeavyQueueTimeoutMs() / 1000),
+                    "The server is busy. Please try again shortly.");
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            rateLimiter.releaseHeavySlot();
+        }
+    }
+
+    private User currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof CustomUserPrincipal principal) {
+            return principal.getUser();
+        }
+        return null;
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds,
+                        String message) throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+
+        ApiResponse<Void> apiResponse = ApiResponse.<Void>builder()
+                .success(false)
+                .message(message)
+                .build();
+        response.getWriter().write(objectMapper.writeValueAsString(apiResponse));
+    }
+}
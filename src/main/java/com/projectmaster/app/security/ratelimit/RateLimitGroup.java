@@ -0,0 +1,79 @@
+package com.projectmaster.app.security.ratelimit;
+
+import org.springframework.util.AntPathMatcher;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Endpoints that are far more expensive than the rest and share a rate limit. Limits are
+ * per user and per company per minute; heavy groups also count against the global
+ * concurrency cap. Defaults can be overridden under app.rate-limit.groups.
+ */
+public enum RateLimitGroup {
+
+    CRITICAL_PATH("Critical path", 10, 30, true,
+            "GET /api/projects/*/parallel-execution/critical-path"),
+    SCHEDULE_RECALCULATION("Schedule recalculation", 5, 15, true,
+            "POST /api/projects/*/recalculate-schedule"),
+    PROJECT_IMPORT("Project import", 2, 5, true,
+            "POST /api/projects/import"),
+    PROJECT_WORKFLOW("Project workflow", 60, 240, false,
+            "GET /api/projects/*/workflow"),
+    DOCUMENT_DOWNLOAD("Document downloads", 120, 600, false,
+            "GET /api/documents/*/download",
+            "GET /api/documents/*/stream",
+            "GET /api/step-updates/documents/*/download",
+            "GET /api/project-steps/photos/*/original",
+            "GET /api/projects/*/export"),
+    REPORTS("Reports", 30, 120, true,
+            "GET /api/task-reporting/**",
+            "GET /api/projects/statistics");
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final String displayName;
+    private final int defaultUserPerMinute;
+    private final int defaultCompanyPerMinute;
+    private final boolean defaultHeavy;
+    private final List<String[]> endpoints;
+
+    RateLimitGroup(String displayName, int defaultUserPerMinute, int defaultCompanyPerMinute,
+                   boolean defaultHeavy, String... endpoints) {
+        this.displayName = displayName;
+        this.defaultUserPerMinute = defaultUserPerMinute;
+        this.defaultCompanyPerMinute = defaultCompanyPerMinute;
+        this.defaultHeavy = defaultHeavy;
+        this.endpoints = Arrays.stream(endpoints).map(endpoint -> endpoint.split(" ", 2)).toList();
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public int getDefaultUserPerMinute() {
+        return defaultUserPerMinute;
+    }
+
+    public int getDefaultCompanyPerMinute() {
+        return defaultCompanyPerMinute;
+    }
+
+    public boolean isDefaultHeavy() {
+        return defaultHeavy;
+    }
+
+    /**
+     * The group a request belongs to, or null if it is not rate limited
+     */
+    public static RateLimitGroup match(String method, String path) {
+        for (RateLimitGroup group : values()) {
+            for (String[] endpoint : group.endpoints) {
+                if (endpoint[0].equals(method) && PATH_MATCHER.match(endpoint[1], path)) {
+                    return group;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,55 @@
+package com.projectmaster.app.security.ratelimit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Rate limit and load shedding settings, bound from app.rate-limit. Any group limit left
+ * unset keeps the default from {@link RateLimitGroup}; a limit of 0 disables it.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.rate-limit")
+@Getter
+@Setter
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Heavy requests allowed to run at once across all tenants on this node
+    private int heavyMaxConcurrent = 8;
+
+    // Heavy requests allowed to wait for a slot before new ones are shed
+    private int heavyMaxQueued = 32;
+
+    private long heavyQueueTimeoutMs = 10000;
+
+    private Map<RateLimitGroup, GroupLimit> groups = new EnumMap<>(RateLimitGroup.class);
+
+    @Getter
+    @Setter
+    public static class GroupLimit {
+        private Integer userPerMinute;
+        private Integer companyPerMinute;
+        private Boolean heavy;
+    }
+
+    public int userPerMinute(RateLimitGroup group) {
+        GroupLimit limit = groups.get(group);
+        return limit != null && limit.getUserPerMinute() != null ? limit.getUserPerMinute() : group.getDefaultUserPerMinute();
+    }
+
+    public int companyPerMinute(RateLimitGroup group) {
+        GroupLimit limit = groups.get(group);
+        return limit != null && limit.getCompanyPerMinute() != null ? limit.getCompanyPerMinute() : group.getDefaultCompanyPerMinute();
+    }
+
+    public boolean isHeavy(RateLimitGroup group) {
+        GroupLimit limit = groups.get(group);
+        return limit != null && limit.getHeavy() != null ? limit.getHeavy() : group.isDefaultHeavy();
+    }
+}
@@ -0,0 +1,125 @@
+package com.projectmaster.app.security.ratelimit;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-user and per-company token buckets for each {@link RateLimitGroup}, plus a node-wide
+ * cap on concurrently running heavy requests with a bounded wait queue. Buckets are
+ * created on first use and dropped once they have refilled, so only active tenants cost
+ * memory.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RateLimiter {
+
+    private final RateLimitProperties properties;
+
+    private final Map<BucketKey, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private Semaphore heavySlots;
+
+    private record BucketKey(RateLimitGroup group, boolean company, UUID id) {
+    }
+
+    /**
+     * Outcome of a rate limit check; retryAfterSeconds is set when the request was refused
+     */
+    public record Decision(boolean allowed, long retryAfterSeconds, String limitedBy) {
+
+        static final Decision ALLOWED = new Decision(true, 0, null);
+    }
+
+    @PostConstruct
+    public void init() {
+        heavySlots = new Semaphore(Math.max(1, properties.getHeavyMaxConcurrent()), true);
+    }
+
+    /**
+     * Take a token from the user's and the company's bucket for the group. A company-less
+     * user (super user) is only limited per user.
+     */
+    public Decision tryAcquire(RateLimitGroup group, UUID userId, UUID companyId) {
+        return tryAcquire(group, userId, companyId, System.nanoTime());
+    }
+
+    Decision tryAcquire(RateLimitGroup group, UUID userId, UUID companyId, long nowNanos) {
+        TokenBucket userBucket = bucket(group, false, userId, properties.userPerMinute(group), nowNanos);
+        if (userBucket != null) {
+            long wait = userBucket.tryAcquire(nowNanos);
+            if (wait > 0) {
+                return refused(wait, "user");
+            }
+        }
+
+        TokenBucket companyBucket = bucket(group, true, companyId, properties.companyPerMinute(group), nowNanos);
+        if (companyBucket != null) {
+            long wait = companyBucket.tryAcquire(nowNanos);
+            if (wait > 0) {
+                // The request never runs, so it should not use up the user's allowance
+                if (userBucket != null) {
+                    userBucket.refund();
+                }
+                return refused(wait, "company");
+            }
+        }
+        return Decision.ALLOWED;
+    }
+
+    /**
+     * Wait for a heavy request slot, up to the queue timeout. Returns false without waiting
+     * when the queue is already full, so overload is shed instead of piling up threads.
+     */
+    public boolean acquireHeavySlot() throws InterruptedException {
+        if (heavySlots.tryAcquire()) {
+            return true;
+        }
+        if (queued.incrementAndGet() > properties.getHeavyMaxQueued()) {
+            queued.decrementAndGet();
+            return false;
+        }
+        try {
+            return heavySlots.tryAcquire(properties.getHeavyQueueTimeoutMs(), TimeUnit.MILLISECONDS);
+        } finally {
+            queued.decrementAndGet();
+        }
+    }
+
+    public void releaseHeavySlot() {
+        heavySlots.release();
+    }
+
+    /**
+     * Drop buckets that have refilled completely; a new one starts full anyway. A request
+     * racing with the removal can at worst get one extra token.
+     */
+    @Scheduled(fixedDelayString = "${app.rate-limit.sweep-interval-ms:300000}")
+    public void sweepIdleBuckets() {
+        long now = System.nanoTime();
+        int before = buckets.size();
+        buckets.entrySet().removeIf(entry -> entry.getValue().isFull(now));
+        log.debug("Dropped {} idle rate limit buckets", before - buckets.size());
+    }
+
+    private TokenBucket bucket(RateLimitGroup group, boolean company, UUID id, int perMinute, long nowNanos) {
+        if (id == null || perMinute <= 0) {
+            return null;
+        }
+        return buckets.computeIfAbsent(new BucketKey(group, company, id), key -> new TokenBucket(perMinute, nowNanos));
+    }
+
+    private static Decision refused(long waitNanos, String limitedBy) {
+        return new Decision(false, Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L)), limitedBy);
+    }
+}
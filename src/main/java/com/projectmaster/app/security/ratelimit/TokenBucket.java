@@ -0,0 +1,53 @@
+package com.projectmaster.app.security.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket holding up to a minute's worth of requests and refilling evenly over the
+ * minute. Kept as a single theoretical arrival time (the generic cell rate algorithm), so
+ * taking a token is one CAS and request threads never block each other.
+ */
+class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(int perMinute, long nowNanos) {
+        this.intervalNanos = TimeUnit.MINUTES.toNanos(1) / perMinute;
+        this.burstNanos = intervalNanos * (perMinute - 1);
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Take a token, returning 0 on success or the nanoseconds until one is available
+     */
+    long tryAcquire(long nowNanos) {
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            long wait = arrival - burstNanos - nowNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            long next = (arrival - nowNanos > 0 ? arrival : nowNanos) + intervalNanos;
+            if (theoreticalArrival.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Give back a token taken for a request that was then rejected by another limit
+     */
+    void refund() {
+        theoreticalArrival.addAndGet(-intervalNanos);
+    }
+
+    /**
+     * Whether the bucket is full again, so dropping it loses nothing
+     */
+    boolean isFull(long nowNanos) {
+        return theoreticalArrival.get() - nowNanos <= 0;
+    }
+}
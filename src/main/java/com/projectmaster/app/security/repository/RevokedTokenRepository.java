@@ -0,0 +1,45 @@
+package com.projectmaster.app.security.repository;
+
+import com.projectmaster.app.security.entity.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, UUID> {
+
+    /**
+     * Record a revoked token; revoking the same token again is a no-op
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO revoked_tokens (id, token_id, user_id, expires_at, created_at, updated_at) " +
+           "VALUES (gen_random_uuid(), :tokenId, :userId, :expiresAt, now(), now()) " +
+           "ON CONFLICT (token_id) DO NOTHING", nativeQuery = true)
+    void revoke(@Param("tokenId") String tokenId, @Param("userId") UUID userId, @Param("expiresAt") Instant expiresAt);
+
+    /**
+     * Revocations of tokens that have not expired yet
+     */
+    List<RevokedToken> findByExpiresAtAfter(Instant now);
+
+    /**
+     * Revocations recorded after a point in time, oldest first
+     */
+    List<RevokedToken> findByCreatedAtAfterOrderByCreatedAtAsc(Instant since);
+
+    /**
+     * Remove revocations of tokens that have expired anyway
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RevokedToken r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -28,6 +28,7 @@ public class AuthenticationService {
     private final SimplePasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final CustomUserDetailsService userDetailsService;
+    private final TokenRevocationService tokenRevocationService;
 
     public LoginResponse authenticate(LoginRequest request) {
         log.info("Authenticating user with email: {}", request.getEmail());
@@ -85,6 +86,9 @@ public class AuthenticationService {
         if (!jwtService.isRefreshToken(refreshToken)) {
             throw new ProjectMasterException("Invalid refresh token", "INVALID_REFRESH_TOKEN");
         }
+        if (tokenRevocationService.isRevoked(jwtService.verify(refreshToken))) {
+            throw new ProjectMasterException("Refresh token has been revoked", "INVALID_REFRESH_TOKEN");
+        }
 
         // Extract user information from refresh token
         String username = jwtService.extractUsername(refreshToken);
@@ -131,9 +135,35 @@ public class AuthenticationService {
                 .build();
     }
 
-    public void logout(String token) {
-        // TODO: Implement token blacklisting/invalidation
-        // For now, we'll just log the logout
-        log.info("User logged out");
+    /**
+     * Revoke the access token and, when the client sends it, the refresh token of the session
+     */
+    public void logout(String accessToken, String refreshToken) {
+        VerifiedToken access = verifyQuietly(accessToken);
+        if (access != null) {
+            tokenRevocationService.revokeToken(access);
+        }
+        if (refreshToken != null) {
+            VerifiedToken refresh = verifyQuietly(refreshToken);
+            // Only a refresh token of the same user may be revoked with this access token
+            if (refresh != null && refresh.isRefreshToken()
+                    && (access == null || refresh.subject().equals(access.subject()))) {
+                tokenRevocationService.revokeToken(refresh);
+            }
+        }
+        log.info("User logged out: {}", access != null ? access.subject() : "unknown");
+    }
+
+    private VerifiedToken verifyQuietly(String token) {
+        if (token == null) {
+            return null;
+        }
+        try {
+            return jwtService.verify(token);
+        } catch (Exception e) {
+            // An expired or invalid token needs no revoking
+            log.debug("Ignoring invalid token on logout: {}", e.getMessage());
+            return null;
+        }
     }
 }
\ No newline at end of file
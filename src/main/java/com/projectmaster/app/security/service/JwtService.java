@@ -4,16 +4,22 @@ import com.projectmaster.app.common.enums.UserRole;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.Function;
 
 @Service
@@ -29,23 +35,61 @@ public class JwtService {
     @Value("${jwt.refresh-expiration:604800000}") // 7 days in milliseconds
     private long refreshExpiration;
 
+    @Value("${app.security.jwt.verified-cache-size:4096}")
+    private int verifiedCacheSize;
+
+    private SecretKey signInKey;
+    private JwtParser parser;
+    // Direct-mapped cache of recently verified tokens: one slot per digest hash, newest wins
+    private AtomicReferenceArray<CachedToken> verifiedTokens;
+
+    private record CachedToken(byte[] digest, VerifiedToken token) {
+    }
+
+    @PostConstruct
+    public void init() {
+        signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        parser = Jwts.parser().verifyWith(signInKey).build();
+        verifiedTokens = new AtomicReferenceArray<>(Integer.highestOneBit(Math.max(1, verifiedCacheSize)));
+    }
+
+    /**
+     * Verify a token's signature and expiry once and return its claims. A token seen recently
+     * is served from the cache until it expires, keyed by a SHA-256 digest of the token, so a
+     * cache hit still requires the exact bytes of a token that passed verification.
+     */
+    public VerifiedToken verify(String token) {
+        byte[] digest = sha256(token);
+        int slot = (((digest[0] & 0xFF) << 24) | ((digest[1] & 0xFF) << 16) | ((digest[2] & 0xFF) << 8) | (digest[3] & 0xFF))
+                & (verifiedTokens.length() - 1);
+
+        CachedToken cached = verifiedTokens.get(slot);
+        if (cached != null && MessageDigest.isEqual(cached.digest(), digest) && !cached.token().isExpired(Instant.now())) {
+            return cached.token();
+        }
+
+        // Expired tokens fail here with ExpiredJwtException
+        VerifiedToken verified = VerifiedToken.from(extractAllClaims(token));
+        if (verified.expiresAt() != null) {
+            verifiedTokens.set(slot, new CachedToken(digest, verified));
+        }
+        return verified;
+    }
+
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verify(token).subject();
     }
 
     public UUID extractUserId(String token) {
-        String userIdStr = extractClaim(token, claims -> claims.get("userId", String.class));
-        return userIdStr != null ? UUID.fromString(userIdStr) : null;
+        return verify(token).userId();
     }
 
     public UserRole extractUserRole(String token) {
-        String roleStr = extractClaim(token, claims -> claims.get("role", String.class));
-        return roleStr != null ? UserRole.valueOf(roleStr) : null;
+        return verify(token).role();
     }
 
     public UUID extractCompanyId(String token) {
-        String companyIdStr = extractClaim(token, claims -> claims.get("companyId", String.class));
-        return companyIdStr != null ? UUID.fromString(companyIdStr) : null;
+        return verify(token).companyId();
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
@@ -76,6 +120,7 @@ public class JwtService {
 
         return Jwts.builder()
                 .claims(claims)
+                .id(UUID.randomUUID().toString())
                 .subject(userDetails.getUsername())
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
@@ -85,8 +130,8 @@ public class JwtService {
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
         try {
-            final String username = extractUsername(token);
-            return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+            VerifiedToken verified = verify(token);
+            return verified.subject().equals(userDetails.getUsername()) && !verified.isExpired(Instant.now());
         } catch (Exception e) {
             log.warn("Token validation failed: {}", e.getMessage());
             return false;
@@ -95,7 +140,7 @@ public class JwtService {
 
     public boolean isTokenExpired(String token) {
         try {
-            return extractExpiration(token).before(new Date());
+            return verify(token).isExpired(Instant.now());
         } catch (Exception e) {
             log.warn("Token expiration check failed: {}", e.getMessage());
             return true;
@@ -103,13 +148,13 @@ public class JwtService {
     }
 
     public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        Instant expiresAt = verify(token).expiresAt();
+        return expiresAt != null ? Date.from(expiresAt) : null;
     }
 
     public boolean isRefreshToken(String token) {
         try {
-            String tokenType = extractClaim(token, claims -> claims.get("tokenType", String.class));
-            return "REFRESH".equals(tokenType);
+            return verify(token).isRefreshToken();
         } catch (Exception e) {
             log.warn("Token type check failed: {}", e.getMessage());
             return false;
@@ -126,11 +171,7 @@ public class JwtService {
 
     private Claims extractAllClaims(String token) {
         try {
-            return Jwts.parser()
-                    .verifyWith(getSignInKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+            return parser.parseSignedClaims(token).getPayload();
         } catch (ExpiredJwtException e) {
             log.warn("JWT token is expired: {}", e.getMessage());
             throw e;
@@ -150,7 +191,14 @@ public class JwtService {
     }
 
     private SecretKey getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+        return signInKey;
+    }
+
+    private static byte[] sha256(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,87 @@
+package com.projectmaster.app.security.service;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over revoked token ids, sized for about a 1% false positive rate
+ * at the expected number of entries. Adds set bits with CAS and reads need no lock, so
+ * request threads can check it while the refresh job adds to it. A hit only means "maybe",
+ * and must be confirmed against the exact set.
+ */
+class RevocationBloomFilter {
+
+    private static final int HASHES = 7;
+
+    private final AtomicLongArray words;
+    private final long bits;
+
+    RevocationBloomFilter(int expectedEntries) {
+        // m = -n ln(p) / ln(2)^2, about 9.6 bits per entry for p = 0.01
+        long wanted = (long) Math.ceil(Math.max(expectedEntries, 1024) * 9.6);
+        int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, (wanted + 63) / 64);
+        this.words = new AtomicLongArray(wordCount);
+        this.bits = (long) wordCount * 64;
+    }
+
+    void add(String tokenId) {
+        UUID uuid = parseUuid(tokenId);
+        long h1 = hash1(uuid, tokenId);
+        long h2 = hash2(uuid, h1);
+        for (int i = 0; i < HASHES; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bits);
+            int index = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long word;
+            do {
+                word = words.get(index);
+                if ((word & mask) != 0) {
+                    break;
+                }
+            } while (!words.compareAndSet(index, word, word | mask));
+        }
+    }
+
+    boolean mightContain(String tokenId) {
+        UUID uuid = parseUuid(tokenId);
+        long h1 = hash1(uuid, tokenId);
+        long h2 = hash2(uuid, h1);
+        for (int i = 0; i < HASHES; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bits);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Token ids are random UUIDs, so their two halves already make good independent hashes;
+     * anything else is mixed from String.hashCode
+     */
+    private static long hash1(UUID uuid, String tokenId) {
+        return uuid != null ? uuid.getMostSignificantBits() : mix(tokenId.hashCode());
+    }
+
+    private static long hash2(UUID uuid, long h1) {
+        // A zero step would put every probe on the same bit
+        return (uuid != null ? uuid.getLeastSignificantBits() : mix(h1 ^ 0x9E3779B97F4A7C15L)) | 1;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+
+    private static UUID parseUuid(String tokenId) {
+        if (tokenId.length() != 36) {
+            return null;
+        }
+        try {
+            return UUID.fromString(tokenId);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
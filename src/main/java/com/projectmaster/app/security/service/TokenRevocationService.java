@@ -0,0 +1,184 @@
+package com.projectmaster.app.security.service;
+
+import com.projectmaster.app.common.transaction.TransactionCallbacks;
+import com.projectmaster.app.security.entity.RevokedToken;
+import com.projectmaster.app.security.repository.RevokedTokenRepository;
+import com.projectmaster.app.user.entity.User;
+import com.projectmaster.app.user.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revocation of tokens before they expire. Single tokens (logout) are persisted by jti in
+ * revoked_tokens; every token of a user (password change, deactivation) is revoked by
+ * moving the user's tokens_valid_after epoch forward. Both are mirrored on each node into
+ * a Bloom filter plus exact set of revoked jtis and a map of recent user epochs, refreshed
+ * incrementally from the database, so checking a request's token needs no DB round trip.
+ * A revocation made on another node applies here within the refresh interval.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TokenRevocationService {
+
+    // Re-read rows this far behind the watermark, so rows committed late by a slow transaction are not missed
+    private static final Duration REFRESH_OVERLAP = Duration.ofMinutes(1);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final UserRepository userRepository;
+
+    @Value("${app.security.revocation.expected-tokens:100000}")
+    private int expectedTokens;
+
+    @Value("${jwt.refresh-expiration:604800000}") // 7 days in milliseconds
+    private long refreshExpiration;
+
+    private volatile Snapshot snapshot;
+    private volatile Instant revokedWatermark;
+    private volatile Instant epochWatermark;
+
+    /**
+     * The in-memory view, replaced wholesale on a full rebuild and added to in place otherwise
+     */
+    private record Snapshot(RevocationBloomFilter filter, Map<String, Instant> revokedTokens,
+                            Map<UUID, Instant> userEpochs) {
+
+        void addToken(String tokenId, Instant expiresAt) {
+            filter.add(tokenId);
+            revokedTokens.put(tokenId, expiresAt);
+        }
+
+        void addEpoch(UUID userId, Instant tokensValidAfter) {
+            userEpochs.merge(userId, tokensValidAfter, (current, next) -> next.isAfter(current) ? next : current);
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        snapshot = new Snapshot(new RevocationBloomFilter(expectedTokens), new ConcurrentHashMap<>(),
+                new ConcurrentHashMap<>());
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            // The scheduled refresh retries the full load
+            log.error("Failed to load revoked tokens at startup", e);
+        }
+    }
+
+    /**
+     * Whether a verified token has been revoked, either by its own id or by its user's epoch
+     */
+    public boolean isRevoked(VerifiedToken token) {
+        Snapshot current = snapshot;
+        if (token.tokenId() != null
+                && current.filter().mightContain(token.tokenId())
+                && current.revokedTokens().containsKey(token.tokenId())) {
+            return true;
+        }
+        if (token.userId() != null) {
+            Instant epoch = current.userEpochs().get(token.userId());
+            return epoch != null
+                    && (token.issuedAt() == null || token.issuedAt().getEpochSecond() < epoch.getEpochSecond());
+        }
+        return false;
+    }
+
+    /**
+     * Revoke a single token, e.g. on logout. Revoking a token twice is harmless.
+     */
+    public void revokeToken(VerifiedToken token) {
+        if (token.tokenId() == null) {
+            // Tokens issued before token ids were added can only be revoked with their user's epoch
+            log.debug("Token for {} has no id and cannot be revoked on its own", token.subject());
+            return;
+        }
+        revokedTokenRepository.revoke(token.tokenId(), token.userId(), token.expiresAt());
+        TransactionCallbacks.afterCommit(() -> snapshot.addToken(token.tokenId(), token.expiresAt()));
+    }
+
+    /**
+     * Revoke every token issued to a user so far. The user must be managed by the current
+     * transaction, which persists the new epoch.
+     */
+    public void revokeAllForUser(User user) {
+        Instant now = Instant.now();
+        user.setTokensValidAfter(now);
+        UUID userId = user.getId();
+        TransactionCallbacks.afterCommit(() -> snapshot.addEpoch(userId, now));
+    }
+
+    /**
+     * Pick up revocations made on other nodes since the last refresh
+     */
+    @Scheduled(fixedDelayString = "${app.security.revocation.refresh-ms:5000}")
+    public synchronized void refresh() {
+        if (revokedWatermark == null || epochWatermark == null) {
+            rebuild();
+            return;
+        }
+        Snapshot current = snapshot;
+
+        List<RevokedToken> tokens = revokedTokenRepository.findByCreatedAtAfterOrderByCreatedAtAsc(
+                revokedWatermark.minus(REFRESH_OVERLAP));
+        for (RevokedToken token : tokens) {
+            current.addToken(token.getTokenId(), token.getExpiresAt());
+            revokedWatermark = max(revokedWatermark, token.getCreatedAt());
+        }
+
+        List<UserRepository.TokenEpoch> epochs = userRepository.findByTokensValidAfterAfter(
+                epochWatermark.minus(REFRESH_OVERLAP));
+        for (UserRepository.TokenEpoch epoch : epochs) {
+            current.addEpoch(epoch.getId(), epoch.getTokensValidAfter());
+            epochWatermark = max(epochWatermark, epoch.getTokensValidAfter());
+        }
+    }
+
+    /**
+     * Reload everything that can still affect an unexpired token, dropping what cannot, and
+     * purge revocations of tokens that have expired anyway
+     */
+    @Scheduled(cron = "${app.security.revocation.rebuild-cron:0 20 * * * ?}") // Run hourly by default
+    public synchronized void rebuild() {
+        Instant now = Instant.now();
+        int purged = revokedTokenRepository.deleteExpired(now);
+
+        List<RevokedToken> tokens = revokedTokenRepository.findByExpiresAtAfter(now);
+        // No token issued before this can still be unexpired, so older epochs are irrelevant
+        Instant oldestLiveIssue = now.minusMillis(refreshExpiration);
+        List<UserRepository.TokenEpoch> epochs = userRepository.findByTokensValidAfterAfter(oldestLiveIssue);
+
+        Snapshot rebuilt = new Snapshot(new RevocationBloomFilter(Math.max(expectedTokens, tokens.size() * 2)),
+                new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+        Instant newRevokedWatermark = now.minus(REFRESH_OVERLAP);
+        for (RevokedToken token : tokens) {
+            rebuilt.addToken(token.getTokenId(), token.getExpiresAt());
+            newRevokedWatermark = max(newRevokedWatermark, token.getCreatedAt());
+        }
+        Instant newEpochWatermark = now.minus(REFRESH_OVERLAP);
+        for (UserRepository.TokenEpoch epoch : epochs) {
+            rebuilt.addEpoch(epoch.getId(), epoch.getTokensValidAfter());
+            newEpochWatermark = max(newEpochWatermark, epoch.getTokensValidAfter());
+        }
+
+        snapshot = rebuilt;
+        revokedWatermark = newRevokedWatermark;
+        epochWatermark = newEpochWatermark;
+        log.info("Loaded {} revoked tokens and {} user revocation epochs, purged {} expired",
+                tokens.size(), epochs.size(), purged);
+    }
+
+    private static Instant max(Instant a, Instant b) {
+        return b != null && b.isAfter(a) ? b : a;
+    }
+}
@@ -0,0 +1,101 @@
+package com.projectmaster.app.security.service;
+
+import com.projectmaster.app.common.cache.TtlCache;
+import com.projectmaster.app.common.enums.UserRole;
+import com.projectmaster.app.company.entity.Company;
+import com.projectmaster.app.user.entity.User;
+import com.projectmaster.app.user.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Short-lived cache of the user fields request authentication depends on, keyed by user id,
+ * so a request with a valid token needs no user lookup. Entries expire after a TTL, and
+ * UserService evicts a user as soon as a change to them commits. Eviction is local to this
+ * node; on other nodes a change takes effect within the TTL.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserStateCache {
+
+    private final UserRepository userRepository;
+
+    @Value("${app.security.user-state-cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    @Value("${app.security.user-state-cache.max-entries:10000}")
+    private int maxEntries;
+
+    private TtlCache<UUID, UserState> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = new TtlCache<>("User state", Duration.ofSeconds(ttlSeconds), maxEntries);
+    }
+
+    /**
+     * What authentication needs to know about a user
+     */
+    public record UserState(UUID userId, String email, String firstName, String lastName, UserRole role,
+                            UUID companyId, boolean active, Instant tokensValidAfter) {
+
+        /**
+         * Whether a token issued at this time predates the user's last credential change.
+         * Token issue times have whole-second precision, so the comparison is too.
+         */
+        public boolean isRevoked(Instant issuedAt) {
+            return tokensValidAfter != null
+                    && (issuedAt == null || issuedAt.getEpochSecond() < tokensValidAfter.getEpochSecond());
+        }
+
+        /**
+         * A detached user for the security principal; its company carries only the id
+         */
+        public User toUser() {
+            Company company = null;
+            if (companyId != null) {
+                company = new Company();
+                company.setId(companyId);
+            }
+            User user = User.builder()
+                    .company(company)
+                    .email(email)
+                    .firstName(firstName)
+                    .lastName(lastName)
+                    .role(role)
+                    .active(active)
+                    .tokensValidAfter(tokensValidAfter)
+                    .build();
+            user.setId(userId);
+            return user;
+        }
+    }
+
+    /**
+     * Current state of a user, or null if the user does not exist
+     */
+    public UserState get(UUID userId) {
+        return cache.get(userId, () -> userRepository.findById(userId).map(UserStateCache::toState).orElse(null));
+    }
+
+    /**
+     * Drop a user's cached state now and again once the current transaction commits,
+     * so a request racing the change cannot re-cache the old state
+     */
+    public void evict(UUID userId) {
+        cache.evict(userId);
+    }
+
+    private static UserState toState(User user) {
+        // getId() on the lazy company proxy does not initialise it
+        UUID companyId = user.getCompany() != null ? user.getCompany().getId() : null;
+        return new UserState(user.getId(), user.getEmail(), user.getFirstName(), user.getLastName(), user.getRole(),
+                companyId, Boolean.TRUE.equals(user.getActive()), user.getTokensValidAfter());
+    }
+}
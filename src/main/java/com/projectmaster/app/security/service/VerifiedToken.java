@@ -0,0 +1,49 @@
+package com.projectmaster.app.security.service;
+
+import com.projectmaster.app.common.enums.UserRole;
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * The claims of a JWT whose signature has been checked, parsed once and shared by every
+ * check made on the token. Immutable, so it can be cached and read from any thread.
+ */
+public record VerifiedToken(String tokenId,
+                            String subject,
+                            UUID userId,
+                            UserRole role,
+                            UUID companyId,
+                            String tokenType,
+                            Instant issuedAt,
+                            Instant expiresAt) {
+
+    public static VerifiedToken from(Claims claims) {
+        String userId = claims.get("userId", String.class);
+        String role = claims.get("role", String.class);
+        String companyId = claims.get("companyId", String.class);
+        return new VerifiedToken(
+                claims.getId(),
+                claims.getSubject(),
+                userId != null ? UUID.fromString(userId) : null,
+                role != null ? UserRole.valueOf(role) : null,
+                companyId != null ? UUID.fromString(companyId) : null,
+                claims.get("tokenType", String.class),
+                toInstant(claims.getIssuedAt()),
+                toInstant(claims.getExpiration()));
+    }
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !expiresAt.isAfter(now);
+    }
+
+    public boolean isRefreshToken() {
+        return "REFRESH".equals(tokenType);
+    }
+
+    private static Instant toInstant(Date date) {
+        return date != null ? date.toInstant() : null;
+    }
+}
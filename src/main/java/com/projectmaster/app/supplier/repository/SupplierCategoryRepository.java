@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -23,6 +24,13 @@ public interface SupplierCategoryRepository extends JpaRepository<SupplierCatego
      */
     List<SupplierCategory> findBySupplierIdAndActiveTrue(UUID supplierId);
 
+    /**
+     * Find active relationships for several suppliers at once, with categories loaded
+     */
+    @Query("SELECT sc FROM SupplierCategory sc JOIN FETCH sc.category " +
+           "WHERE sc.supplier.id IN :supplierIds AND sc.active = true")
+    List<SupplierCategory> findBySupplierIdInAndActiveTrue(@Param("supplierIds") Collection<UUID> supplierIds);
+
     /**
      * Find by category ID
      */
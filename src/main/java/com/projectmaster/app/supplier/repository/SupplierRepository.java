@@ -55,6 +55,17 @@ public interface SupplierRepository extends JpaRepository<Supplier, UUID> {
            "WHERE LOWER(s.name) LIKE LOWER(CONCAT('%', :searchText, '%')) AND s.active = true")
     List<Supplier> findByNameContainingIgnoreCase(@Param("searchText") String searchText);
 
+    /**
+     * Search active suppliers by name with database paging.
+     * LOWER(name) LIKE '%text%' is served by the trigram GIN index on lower(name).
+     */
+    @Query(value = "SELECT s FROM Supplier s " +
+           "WHERE LOWER(s.name) LIKE LOWER(CONCAT('%', :searchText, '%')) AND s.active = true " +
+           "ORDER BY s.name ASC",
+           countQuery = "SELECT COUNT(s) FROM Supplier s " +
+           "WHERE LOWER(s.name) LIKE LOWER(CONCAT('%', :searchText, '%')) AND s.active = true")
+    Page<Supplier> searchActiveByName(@Param("searchText") String searchText, Pageable pageable);
+
     /**
      * Check if ABN exists
      */
@@ -9,11 +9,11 @@ import com.projectmaster.app.supplier.entity.SupplierCategory;
 import com.projectmaster.app.consumable.repository.ConsumableCategoryRepository;
 import com.projectmaster.app.supplier.repository.SupplierCategoryRepository;
 import com.projectmaster.app.supplier.repository.SupplierRepository;
+import com.projectmaster.app.search.service.SearchIndexService;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -21,6 +21,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -33,6 +34,7 @@ public class SupplierService {
     private final SupplierRepository supplierRepository;
     private final SupplierCategoryRepository supplierCategoryRepository;
     private final ConsumableCategoryRepository consumableCategoryRepository;
+    private final SearchIndexService searchIndexService;
 
     /**
      * Create a new supplier (master level)
@@ -68,6 +70,7 @@ public class SupplierService {
                 .build();
         
         Supplier savedSupplier = supplierRepository.save(supplier);
+        searchIndexService.indexSupplier(savedSupplier);
         log.info("Supplier created successfully with ID: {}", savedSupplier.getId());
         
         // Add categories if provided
@@ -141,23 +144,11 @@ public class SupplierService {
         log.debug("Searching suppliers with text: {} (page: {}, size: {})", 
                 searchText, pageable.getPageNumber(), pageable.getPageSize());
         
-        // Get all matching suppliers
-        List<Supplier> allSuppliers = supplierRepository.findByNameContainingIgnoreCase(searchText);
-        
-        // Convert to response DTOs
-        List<SupplierResponse> allResponses = allSuppliers.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
-        
-        // Apply pagination manually
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), allResponses.size());
-        
-        List<SupplierResponse> paginatedResponses = start < allResponses.size() 
-                ? allResponses.subList(start, end) 
-                : List.of();
-        
-        return new PageImpl<>(paginatedResponses, pageable, allResponses.size());
+        // Page in the database (ordering is fixed by the query) and convert only that page
+        Page<Supplier> suppliers = supplierRepository.searchActiveByName(
+                searchText, PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+
+        return convertPageToResponses(suppliers);
     }
 
     /**
@@ -181,7 +172,7 @@ public class SupplierService {
                 pageable
         );
 
-        return suppliers.map(this::convertToResponse);
+        return convertPageToResponses(suppliers);
     }
 
     /**
@@ -219,6 +210,7 @@ public class SupplierService {
         }
         
         Supplier updatedSupplier = supplierRepository.save(supplier);
+        searchIndexService.indexSupplier(updatedSupplier);
         log.info("Supplier updated successfully: {}", supplierId);
         
         return convertToResponse(updatedSupplier);
@@ -235,6 +227,7 @@ public class SupplierService {
         
         supplier.setActive(false);
         supplierRepository.save(supplier);
+        searchIndexService.indexSupplier(supplier);
         
         log.info("Supplier deactivated successfully: {}", supplierId);
     }
@@ -250,6 +243,7 @@ public class SupplierService {
         
         supplier.setActive(true);
         supplierRepository.save(supplier);
+        searchIndexService.indexSupplier(supplier);
         
         log.info("Supplier reactivated successfully: {}", supplierId);
     }
@@ -262,6 +256,29 @@ public class SupplierService {
         List<SupplierCategory> supplierCategories = supplierCategoryRepository
                 .findBySupplierIdAndActiveTrue(supplier.getId());
         
+        return convertToResponse(supplier, supplierCategories);
+    }
+
+    /**
+     * Convert a page of suppliers, loading categories for the whole page in one query
+     */
+    private Page<SupplierResponse> convertPageToResponses(Page<Supplier> suppliers) {
+        if (suppliers.isEmpty()) {
+            return suppliers.map(supplier -> convertToResponse(supplier, List.of()));
+        }
+
+        List<UUID> supplierIds = suppliers.getContent().stream()
+                .map(Supplier::getId)
+                .collect(Collectors.toList());
+        Map<UUID, List<SupplierCategory>> categoriesBySupplier = supplierCategoryRepository
+                .findBySupplierIdInAndActiveTrue(supplierIds).stream()
+                .collect(Collectors.groupingBy(sc -> sc.getSupplier().getId()));
+
+        return suppliers.map(supplier ->
+                convertToResponse(supplier, categoriesBySupplier.getOrDefault(supplier.getId(), List.of())));
+    }
+
+    private SupplierResponse convertToResponse(Supplier supplier, List<SupplierCategory> supplierCategories) {
         List<SupplierResponse.CategoryInfo> categories = supplierCategories.stream()
                 .map(sc -> SupplierResponse.CategoryInfo.builder()
                         .categoryId(sc.getCategory().getId())
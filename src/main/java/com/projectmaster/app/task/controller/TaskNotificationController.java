@@ -1,6 +1,7 @@
 package com.projectmaster.app.task.controller;
 
 import com.projectmaster.app.common.dto.ApiResponse;
+import com.projectmaster.app.common.dto.CursorPage;
 import com.projectmaster.app.security.service.CustomUserDetailsService;
 import com.projectmaster.app.task.entity.TaskNotification;
 import com.projectmaster.app.task.service.TaskNotificationService;
@@ -50,6 +51,31 @@ public class TaskNotificationController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Get the current user's notification feed using a continuation cursor
+     */
+    @GetMapping("/feed")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('PROJECT_MANAGER') or hasRole('USER')")
+    public ResponseEntity<ApiResponse<CursorPage<TaskNotification>>> getNotificationFeed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            Authentication authentication) {
+        
+        CustomUserDetailsService.CustomUserPrincipal userPrincipal = 
+                (CustomUserDetailsService.CustomUserPrincipal) authentication.getPrincipal();
+        UUID userId = userPrincipal.getUser().getId();
+        
+        CursorPage<TaskNotification> notifications = notificationService.getUserNotificationFeed(userId, cursor, size);
+        
+        ApiResponse<CursorPage<TaskNotification>> response = ApiResponse.<CursorPage<TaskNotification>>builder()
+                .success(true)
+                .message("Notifications retrieved successfully")
+                .data(notifications)
+                .build();
+        
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Get unread notifications for current user
      */
@@ -2,9 +2,11 @@ package com.projectmaster.app.task.controller;
 
 import com.projectmaster.app.common.dto.ApiResponse;
 import com.projectmaster.app.task.service.TaskReportingService;
+import com.projectmaster.app.task.service.TaskRollupService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -19,6 +21,7 @@ import java.util.UUID;
 public class TaskReportingController {
 
     private final TaskReportingService reportingService;
+    private final TaskRollupService rollupService;
 
     /**
      * Get comprehensive task statistics for a project
@@ -138,4 +141,29 @@ public class TaskReportingController {
         
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+
+    /**
+     * Rebuild reporting rollups from raw task data (normally done by the nightly job)
+     */
+    @PostMapping("/rollups/reconcile")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<Void>> reconcileRollups() {
+        
+        log.info("Manually reconciling task reporting rollups");
+        
+        if (!rollupService.reconcileRollups()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(ApiResponse.<Void>builder()
+                            .success(false)
+                            .message("Reporting rollups are already being reconciled")
+                            .build());
+        }
+        
+        ApiResponse<Void> response = ApiResponse.<Void>builder()
+                .success(true)
+                .message("Reporting rollups reconciled successfully")
+                .build();
+        
+        return ResponseEntity.ok(response);
+    }
+}
@@ -25,9 +25,14 @@ public class TaskAttachment extends BaseEntity {
     @Column(name = "file_name", nullable = false)
     private String fileName;
 
-    @Column(name = "file_path", nullable = false, length = 500)
+    // Legacy location for attachments stored before blob storage; null for new attachments
+    @Column(name = "file_path", length = 500)
     private String filePath;
 
+    // Blob storage key (hex SHA-256 of the content)
+    @Column(name = "storage_key", length = 64)
+    private String storageKey;
+
     @Column(name = "file_size")
     private Long fileSize;
 
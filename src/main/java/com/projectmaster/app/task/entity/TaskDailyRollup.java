@@ -0,0 +1,51 @@
+package com.projectmaster.app.task.entity;
+
+import com.projectmaster.app.common.entity.BaseEntity;
+import com.projectmaster.app.common.enums.RollupScope;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Per-day reporting counters for a project or a user. Rows are incremented as tasks
+ * and time entries are written and rebuilt from raw data by the nightly reconcile job.
+ */
+@Entity
+@Table(name = "task_daily_rollups",
+       uniqueConstraints = @UniqueConstraint(name = "uk_task_daily_rollups_scope_date",
+               columnNames = {"scope_type", "scope_id", "rollup_date"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskDailyRollup extends BaseEntity {
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "scope_type", nullable = false, length = 20)
+    private RollupScope scopeType;
+
+    @Column(name = "scope_id", nullable = false)
+    private UUID scopeId;
+
+    @Column(name = "rollup_date", nullable = false)
+    private LocalDate rollupDate;
+
+    @Builder.Default
+    @Column(name = "tasks_created", nullable = false)
+    private Integer tasksCreated = 0;
+
+    @Builder.Default
+    @Column(name = "tasks_completed", nullable = false)
+    private Integer tasksCompleted = 0;
+
+    @Builder.Default
+    @Column(name = "logged_minutes", nullable = false)
+    private Long loggedMinutes = 0L;
+
+    @Builder.Default
+    @Column(name = "billable_minutes", nullable = false)
+    private Long billableMinutes = 0L;
+}
@@ -7,9 +7,14 @@ import jakarta.persistence.*;
 import lombok.*;
 
 import java.time.Instant;
+import java.util.UUID;
 
 @Entity
-@Table(name = "task_notifications")
+@Table(name = "task_notifications", indexes = {
+    @Index(name = "idx_task_notifications_pending", columnList = "sent_at, scheduled_for"),
+    @Index(name = "idx_task_notifications_user_feed", columnList = "user_id, created_at DESC, id DESC"),
+    @Index(name = "idx_task_notifications_claim_token", columnList = "claim_token")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -45,6 +50,18 @@ public class TaskNotification extends BaseEntity {
     @Column(name = "sent_at")
     private Instant sentAt;
 
+    // Failed delivery attempts; the dispatcher stops retrying at its configured maximum
+    @Builder.Default
+    @Column(name = "send_attempts", nullable = false, columnDefinition = "INTEGER DEFAULT 0 NOT NULL")
+    private Integer sendAttempts = 0;
+
+    // Dispatcher run delivering the notification; its claim lapses at claimedUntil if the run dies
+    @Column(name = "claim_token")
+    private UUID claimToken;
+
+    @Column(name = "claimed_until")
+    private Instant claimedUntil;
+
     // Helper methods
     public boolean isPending() {
         return sentAt == null && (scheduledFor == null || scheduledFor.isAfter(Instant.now()));
@@ -0,0 +1,40 @@
+package com.projectmaster.app.task.entity;
+
+import com.projectmaster.app.common.entity.BaseEntity;
+import com.projectmaster.app.common.enums.RollupScope;
+import com.projectmaster.app.common.enums.TaskStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.UUID;
+
+/**
+ * Current task count per status for a project or an assignee, maintained on every
+ * task status or assignment change.
+ */
+@Entity
+@Table(name = "task_status_rollups",
+       uniqueConstraints = @UniqueConstraint(name = "uk_task_status_rollups_scope_status",
+               columnNames = {"scope_type", "scope_id", "status"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskStatusRollup extends BaseEntity {
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "scope_type", nullable = false, length = 20)
+    private RollupScope scopeType;
+
+    @Column(name = "scope_id", nullable = false)
+    private UUID scopeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private TaskStatus status;
+
+    @Builder.Default
+    @Column(name = "task_count", nullable = false)
+    private Long taskCount = 0L;
+}
@@ -2,16 +2,22 @@ package com.projectmaster.app.task.repository;
 
 import com.projectmaster.app.common.enums.ActivityType;
 import com.projectmaster.app.task.entity.TaskActivityLog;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface TaskActivityLogRepository extends JpaRepository<TaskActivityLog, UUID> {
@@ -131,4 +137,20 @@ public interface TaskActivityLogRepository extends JpaRepository<TaskActivityLog
            "LOWER(tal.newValue) LIKE LOWER(CONCAT('%', :searchText, '%')))")
     List<TaskActivityLog> findByTaskIdAndTextSearch(@Param("taskId") UUID taskId, 
                                                    @Param("searchText") String searchText);
-}
\ No newline at end of file
+
+    /**
+     * Count activity logs for a project
+     */
+    @Query("SELECT COUNT(tal) FROM TaskActivityLog tal WHERE tal.task.projectStep.projectTask.projectStage.project.id = :projectId")
+    long countByProjectId(@Param("projectId") UUID projectId);
+
+    /**
+     * Stream activity timestamps for a user within date range
+     */
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT tal.createdAt FROM TaskActivityLog tal WHERE tal.user.id = :userId " +
+           "AND tal.createdAt >= :startTime AND tal.createdAt <= :endTime")
+    Stream<Instant> streamTimestampsByUserIdAndDateRange(@Param("userId") UUID userId,
+                                                        @Param("startTime") Instant startTime,
+                                                        @Param("endTime") Instant endTime);
+}
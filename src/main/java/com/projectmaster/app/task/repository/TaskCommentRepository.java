@@ -107,4 +107,10 @@ public interface TaskCommentRepository extends JpaRepository<TaskComment, UUID>
      * Count comments by user ID
      */
     long countByUserId(UUID userId);
-}
\ No newline at end of file
+
+    /**
+     * Count comments for a project
+     */
+    @Query("SELECT COUNT(tc) FROM TaskComment tc WHERE tc.task.projectStep.projectTask.projectStage.project.id = :projectId")
+    long countByProjectId(@Param("projectId") UUID projectId);
+}
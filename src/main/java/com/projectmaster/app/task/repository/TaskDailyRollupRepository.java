@@ -0,0 +1,114 @@
+package com.projectmaster.app.task.repository;
+
+import com.projectmaster.app.common.enums.RollupScope;
+import com.projectmaster.app.task.entity.TaskDailyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface TaskDailyRollupRepository extends JpaRepository<TaskDailyRollup, UUID> {
+
+    /**
+     * Find daily rollups for a scope within a date range (inclusive)
+     */
+    List<TaskDailyRollup> findByScopeTypeAndScopeIdAndRollupDateBetweenOrderByRollupDateAsc(
+            RollupScope scopeType, UUID scopeId, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Sum logged and billable minutes for a scope across all days: [loggedMinutes, billableMinutes]
+     */
+    @Query("SELECT COALESCE(SUM(r.loggedMinutes), 0), COALESCE(SUM(r.billableMinutes), 0) FROM TaskDailyRollup r " +
+           "WHERE r.scopeType = :scopeType AND r.scopeId = :scopeId")
+    List<Object[]> sumMinutesByScope(@Param("scopeType") RollupScope scopeType, @Param("scopeId") UUID scopeId);
+
+    /**
+     * Sum logged and billable minutes for a scope within a date range: [loggedMinutes, billableMinutes]
+     */
+    @Query("SELECT COALESCE(SUM(r.loggedMinutes), 0), COALESCE(SUM(r.billableMinutes), 0) FROM TaskDailyRollup r " +
+           "WHERE r.scopeType = :scopeType AND r.scopeId = :scopeId " +
+           "AND r.rollupDate >= :startDate AND r.rollupDate <= :endDate")
+    List<Object[]> sumMinutesByScopeAndDateRange(@Param("scopeType") RollupScope scopeType,
+                                                 @Param("scopeId") UUID scopeId,
+                                                 @Param("startDate") LocalDate startDate,
+                                                 @Param("endDate") LocalDate endDate);
+
+    /**
+     * Atomically add deltas to a scope's counters for a day, creating the row if needed
+     */
+    @Modifying
+    @Query(value = "INSERT INTO task_daily_rollups (id, scope_type, scope_id, rollup_date, tasks_created, tasks_completed, " +
+           "logged_minutes, billable_minutes, created_at, updated_at) " +
+           "VALUES (gen_random_uuid(), :scopeType, :scopeId, :rollupDate, :created, :completed, :logged, :billable, now(), now()) " +
+           "ON CONFLICT (scope_type, scope_id, rollup_date) DO UPDATE SET " +
+           "tasks_created = task_daily_rollups.tasks_created + EXCLUDED.tasks_created, " +
+           "tasks_completed = task_daily_rollups.tasks_completed + EXCLUDED.tasks_completed, " +
+           "logged_minutes = task_daily_rollups.logged_minutes + EXCLUDED.logged_minutes, " +
+           "billable_minutes = task_daily_rollups.billable_minutes + EXCLUDED.billable_minutes, " +
+           "updated_at = now()", nativeQuery = true)
+    void increment(@Param("scopeType") String scopeType,
+                   @Param("scopeId") UUID scopeId,
+                   @Param("rollupDate") LocalDate rollupDate,
+                   @Param("created") int created,
+                   @Param("completed") int completed,
+                   @Param("logged") long logged,
+                   @Param("billable") long billable);
+
+    /**
+     * Remove all daily rollups ahead of a rebuild
+     */
+    @Modifying
+    @Query(value = "DELETE FROM task_daily_rollups", nativeQuery = true)
+    int deleteAllRollups();
+
+    /**
+     * Rebuild project daily rollups from tasks and time entries. Completion day is taken
+     * from the task's last update, matching how reports have always dated completions.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO task_daily_rollups (id, scope_type, scope_id, rollup_date, tasks_created, tasks_completed, " +
+           "logged_minutes, billable_minutes, created_at, updated_at) " +
+           "SELECT gen_random_uuid(), 'PROJECT', d.scope_id, d.rollup_date, SUM(d.created), SUM(d.completed), " +
+           "SUM(d.logged), SUM(d.billable), now(), now() FROM (" +
+           "SELECT pst.project_id AS scope_id, CAST(t.created_at AT TIME ZONE 'UTC' AS DATE) AS rollup_date, " +
+           "1 AS created, 0 AS completed, 0 AS logged, 0 AS billable " +
+           "FROM tasks t JOIN project_steps s ON s.id = t.project_step_id " +
+           "JOIN project_tasks pt ON pt.id = s.project_task_id JOIN project_stages pst ON pst.id = pt.project_stage_id " +
+           "UNION ALL " +
+           "SELECT pst.project_id, CAST(t.updated_at AT TIME ZONE 'UTC' AS DATE), 0, 1, 0, 0 " +
+           "FROM tasks t JOIN project_steps s ON s.id = t.project_step_id " +
+           "JOIN project_tasks pt ON pt.id = s.project_task_id JOIN project_stages pst ON pst.id = pt.project_stage_id " +
+           "WHERE t.status = 'COMPLETED' " +
+           "UNION ALL " +
+           "SELECT pst.project_id, CAST(te.start_time AT TIME ZONE 'UTC' AS DATE), 0, 0, COALESCE(te.duration_minutes, 0), " +
+           "CASE WHEN te.is_billable THEN COALESCE(te.duration_minutes, 0) ELSE 0 END " +
+           "FROM task_time_entries te JOIN tasks t ON t.id = te.task_id JOIN project_steps s ON s.id = t.project_step_id " +
+           "JOIN project_tasks pt ON pt.id = s.project_task_id JOIN project_stages pst ON pst.id = pt.project_stage_id " +
+           ") d GROUP BY d.scope_id, d.rollup_date", nativeQuery = true)
+    int rebuildProjectRollups();
+
+    /**
+     * Rebuild user daily rollups: created by creator, completed by assignee, time by entry owner
+     */
+    @Modifying
+    @Query(value = "INSERT INTO task_daily_rollups (id, scope_type, scope_id, rollup_date, tasks_created, tasks_completed, " +
+           "logged_minutes, billable_minutes, created_at, updated_at) " +
+           "SELECT gen_random_uuid(), 'USER', d.scope_id, d.rollup_date, SUM(d.created), SUM(d.completed), " +
+           "SUM(d.logged), SUM(d.billable), now(), now() FROM (" +
+           "SELECT t.created_by AS scope_id, CAST(t.created_at AT TIME ZONE 'UTC' AS DATE) AS rollup_date, " +
+           "1 AS created, 0 AS completed, 0 AS logged, 0 AS billable FROM tasks t " +
+           "UNION ALL " +
+           "SELECT t.assigned_to, CAST(t.updated_at AT TIME ZONE 'UTC' AS DATE), 0, 1, 0, 0 FROM tasks t " +
+           "WHERE t.status = 'COMPLETED' AND t.assigned_to IS NOT NULL " +
+           "UNION ALL " +
+           "SELECT te.user_id, CAST(te.start_time AT TIME ZONE 'UTC' AS DATE), 0, 0, COALESCE(te.duration_minutes, 0), " +
+           "CASE WHEN te.is_billable THEN COALESCE(te.duration_minutes, 0) ELSE 0 END FROM task_time_entries te " +
+           ") d GROUP BY d.scope_id, d.rollup_date", nativeQuery = true)
+    int rebuildUserRollups();
+}
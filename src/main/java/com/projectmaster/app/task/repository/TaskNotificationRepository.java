@@ -2,14 +2,18 @@ package com.projectmaster.app.task.repository;
 
 import com.projectmaster.app.common.enums.NotificationType;
 import com.projectmaster.app.task.entity.TaskNotification;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -26,6 +30,16 @@ public interface TaskNotificationRepository extends JpaRepository<TaskNotificati
      */
     Page<TaskNotification> findByUserId(UUID userId, Pageable pageable);
 
+    /**
+     * Keyset feed of notifications for a user, newest first, after the (createdAt, id) cursor
+     */
+    @Query("SELECT n FROM TaskNotification n " +
+           "WHERE n.user.id = :userId AND " +
+           "(n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<TaskNotification> findFeedByUserId(@Param("userId") UUID userId, @Param("createdAt") Instant createdAt,
+                                            @Param("id") UUID id, Limit limit);
+
     /**
      * Find unread notifications for a user
      */
@@ -58,6 +72,57 @@ public interface TaskNotificationRepository extends JpaRepository<TaskNotificati
            "(tn.scheduledFor IS NULL OR tn.scheduledFor <= :currentTime)")
     List<TaskNotification> findPendingNotifications(@Param("currentTime") Instant currentTime);
 
+    /**
+     * Claim up to limit due notifications, oldest first, that no other dispatcher run holds,
+     * tagging them with the claim token until the lease ends. Commits straight away, so no
+     * row stays locked while the claimed notifications are delivered.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE task_notifications SET claim_token = :claimToken, claimed_until = :claimedUntil " +
+                   "WHERE id IN (SELECT id FROM task_notifications WHERE sent_at IS NULL " +
+                   "AND (scheduled_for IS NULL OR scheduled_for <= :currentTime) AND send_attempts < :maxAttempts " +
+                   "AND (claimed_until IS NULL OR claimed_until < :currentTime) " +
+                   "ORDER BY COALESCE(scheduled_for, created_at) LIMIT :limit FOR UPDATE SKIP LOCKED)", nativeQuery = true)
+    int claimPendingNotifications(@Param("claimToken") UUID claimToken,
+                                  @Param("currentTime") Instant currentTime,
+                                  @Param("claimedUntil") Instant claimedUntil,
+                                  @Param("maxAttempts") int maxAttempts,
+                                  @Param("limit") int limit);
+
+    /**
+     * Find the notifications held by a claim
+     */
+    @Query("SELECT tn FROM TaskNotification tn WHERE tn.claimToken = :claimToken")
+    List<TaskNotification> findByClaimToken(@Param("claimToken") UUID claimToken);
+
+    /**
+     * Mark delivered notifications as sent, if the claim still holds them
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE TaskNotification tn SET tn.sentAt = :sentAt, tn.claimToken = NULL, tn.claimedUntil = NULL " +
+           "WHERE tn.id IN :ids AND tn.claimToken = :claimToken")
+    int markSent(@Param("ids") Collection<UUID> ids, @Param("claimToken") UUID claimToken, @Param("sentAt") Instant sentAt);
+
+    /**
+     * Count a failed delivery attempt for each notification the claim still holds, and
+     * release it for the next run to retry
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE TaskNotification tn SET tn.sendAttempts = tn.sendAttempts + 1, tn.claimToken = NULL, " +
+           "tn.claimedUntil = NULL WHERE tn.id IN :ids AND tn.claimToken = :claimToken")
+    int recordFailedAttempts(@Param("ids") Collection<UUID> ids, @Param("claimToken") UUID claimToken);
+
+    /**
+     * Count due notifications still to be delivered and the time the oldest became due
+     */
+    @Query("SELECT COUNT(tn), MIN(COALESCE(tn.scheduledFor, tn.createdAt)) FROM TaskNotification tn " +
+           "WHERE tn.sentAt IS NULL AND (tn.scheduledFor IS NULL OR tn.scheduledFor <= :currentTime) " +
+           "AND tn.sendAttempts < :maxAttempts")
+    List<Object[]> summarizeBacklog(@Param("currentTime") Instant currentTime, @Param("maxAttempts") int maxAttempts);
+
     /**
      * Find scheduled notifications (not yet due)
      */
@@ -3,10 +3,12 @@ package com.projectmaster.app.task.repository;
 import com.projectmaster.app.common.enums.TaskPriority;
 import com.projectmaster.app.common.enums.TaskStatus;
 import com.projectmaster.app.task.entity.Task;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -14,6 +16,10 @@ import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task, UUID> {
@@ -273,4 +279,41 @@ public interface TaskRepository extends JpaRepository<Task, UUID> {
      */
     @Query("SELECT COUNT(t) FROM Task t WHERE t.projectStep.projectTask.projectStage.project.id = :projectId")
     long countByProjectId(@Param("projectId") UUID projectId);
-}
\ No newline at end of file
+
+    /**
+     * Aggregate task totals for a project in one row:
+     * [total, milestones, blocked, overdue, estimatedHours, actualHours, averageCompletion]
+     */
+    @Query("SELECT COUNT(t), " +
+           "COALESCE(SUM(CASE WHEN t.isMilestone = true THEN 1 ELSE 0 END), 0), " +
+           "COALESCE(SUM(CASE WHEN t.blockedReason IS NOT NULL AND t.blockedReason != '' THEN 1 ELSE 0 END), 0), " +
+           "COALESCE(SUM(CASE WHEN t.dueDate < :currentDate AND t.status NOT IN ('COMPLETED', 'CANCELLED') THEN 1 ELSE 0 END), 0), " +
+           "COALESCE(SUM(t.estimatedHours), 0), " +
+           "COALESCE(SUM(t.actualHours), 0), " +
+           "COALESCE(AVG(t.completionPercentage), 0) " +
+           "FROM Task t WHERE t.projectStep.projectTask.projectStage.project.id = :projectId")
+    List<Object[]> aggregateTotalsByProjectId(@Param("projectId") UUID projectId,
+                                              @Param("currentDate") LocalDate currentDate);
+
+    /**
+     * Count tasks per priority for a project
+     */
+    @Query("SELECT t.priority, COUNT(t) FROM Task t " +
+           "WHERE t.projectStep.projectTask.projectStage.project.id = :projectId GROUP BY t.priority")
+    List<Object[]> countByPriorityForProject(@Param("projectId") UUID projectId);
+
+    /**
+     * Count assigned and completed tasks per assignee for a project: [userId, total, completed]
+     */
+    @Query("SELECT t.assignedTo.id, COUNT(t), COALESCE(SUM(CASE WHEN t.status = 'COMPLETED' THEN 1 ELSE 0 END), 0) " +
+           "FROM Task t WHERE t.projectStep.projectTask.projectStage.project.id = :projectId " +
+           "AND t.assignedTo IS NOT NULL GROUP BY t.assignedTo.id")
+    List<Object[]> countByAssigneeForProject(@Param("projectId") UUID projectId);
+
+    /**
+     * Stream [dueDate, updatedAt] for tasks assigned to a user with the given status
+     */
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT t.dueDate, t.updatedAt FROM Task t WHERE t.assignedTo.id = :userId AND t.status = :status")
+    Stream<Object[]> streamDueDatesByAssigneeAndStatus(@Param("userId") UUID userId, @Param("status") TaskStatus status);
+}
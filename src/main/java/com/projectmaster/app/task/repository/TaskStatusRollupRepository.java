@@ -0,0 +1,68 @@
+package com.projectmaster.app.task.repository;
+
+import com.projectmaster.app.common.enums.RollupScope;
+import com.projectmaster.app.task.entity.TaskStatusRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface TaskStatusRollupRepository extends JpaRepository<TaskStatusRollup, UUID> {
+
+    /**
+     * Find status counts for a scope
+     */
+    List<TaskStatusRollup> findByScopeTypeAndScopeId(RollupScope scopeType, UUID scopeId);
+
+    /**
+     * Atomically add a delta to a scope's count for a status, creating the row if needed
+     */
+    @Modifying
+    @Query(value = "INSERT INTO task_status_rollups (id, scope_type, scope_id, status, task_count, created_at, updated_at) " +
+           "VALUES (gen_random_uuid(), :scopeType, :scopeId, :status, :delta, now(), now()) " +
+           "ON CONFLICT (scope_type, scope_id, status) DO UPDATE SET " +
+           "task_count = task_status_rollups.task_count + EXCLUDED.task_count, updated_at = now()", nativeQuery = true)
+    void increment(@Param("scopeType") String scopeType,
+                   @Param("scopeId") UUID scopeId,
+                   @Param("status") String status,
+                   @Param("delta") long delta);
+
+    /**
+     * Take the rollup rebuild lock until the current transaction ends; false if another
+     * node is rebuilding
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(hashtext('task_rollup_rebuild'))", nativeQuery = true)
+    boolean tryLockRebuild();
+
+    /**
+     * Remove all status rollups ahead of a rebuild
+     */
+    @Modifying
+    @Query(value = "DELETE FROM task_status_rollups", nativeQuery = true)
+    int deleteAllRollups();
+
+    /**
+     * Rebuild project status counts from tasks
+     */
+    @Modifying
+    @Query(value = "INSERT INTO task_status_rollups (id, scope_type, scope_id, status, task_count, created_at, updated_at) " +
+           "SELECT gen_random_uuid(), 'PROJECT', pst.project_id, t.status, COUNT(*), now(), now() " +
+           "FROM tasks t JOIN project_steps s ON s.id = t.project_step_id " +
+           "JOIN project_tasks pt ON pt.id = s.project_task_id JOIN project_stages pst ON pst.id = pt.project_stage_id " +
+           "GROUP BY pst.project_id, t.status", nativeQuery = true)
+    int rebuildProjectRollups();
+
+    /**
+     * Rebuild assignee status counts from tasks
+     */
+    @Modifying
+    @Query(value = "INSERT INTO task_status_rollups (id, scope_type, scope_id, status, task_count, created_at, updated_at) " +
+           "SELECT gen_random_uuid(), 'USER', t.assigned_to, t.status, COUNT(*), now(), now() " +
+           "FROM tasks t WHERE t.assigned_to IS NOT NULL GROUP BY t.assigned_to, t.status", nativeQuery = true)
+    int rebuildUserRollups();
+}
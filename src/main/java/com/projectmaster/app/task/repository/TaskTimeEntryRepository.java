@@ -1,10 +1,12 @@
 package com.projectmaster.app.task.repository;
 
 import com.projectmaster.app.task.entity.TaskTimeEntry;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -12,6 +14,10 @@ import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface TaskTimeEntryRepository extends JpaRepository<TaskTimeEntry, UUID> {
@@ -114,4 +120,15 @@ public interface TaskTimeEntryRepository extends JpaRepository<TaskTimeEntry, UU
      * Count active time entries for a user
      */
     long countByUserIdAndEndTimeIsNull(UUID userId);
-}
\ No newline at end of file
+
+    /**
+     * Stream [userId, taskId, startTime, durationMinutes, isBillable] for a project within a date range
+     */
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT te.user.id, te.task.id, te.startTime, te.durationMinutes, te.isBillable FROM TaskTimeEntry te " +
+           "WHERE te.task.projectStep.projectTask.projectStage.project.id = :projectId " +
+           "AND te.startTime >= :startTime AND te.startTime <= :endTime")
+    Stream<Object[]> streamByProjectIdAndDateRange(@Param("projectId") UUID projectId,
+                                                   @Param("startTime") Instant startTime,
+                                                   @Param("endTime") Instant endTime);
+}
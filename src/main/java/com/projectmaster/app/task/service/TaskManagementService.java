@@ -34,6 +34,7 @@ public class TaskManagementService {
     private final TaskActivityLogRepository activityLogRepository;
     private final TaskNotificationRepository notificationRepository;
     private final TaskDependencyRepository dependencyRepository;
+    private final TaskRollupService rollupService;
 
     /**
      * Assign a task to a user
@@ -62,11 +63,13 @@ public class TaskManagementService {
 
         String oldAssignee = task.getAssignedTo() != null ? task.getAssignedTo().getFirstName() + " " + task.getAssignedTo().getLastName() : null;
         String newAssignee = assignee.getFirstName() + " " + assignee.getLastName();
+        User previousAssignee = task.getAssignedTo();
 
         task.setAssignedTo(assignee);
         task.setLastActivityAt(Instant.now());
 
         Task savedTask = taskRepository.save(task);
+        rollupService.recordAssigneeChange(savedTask, previousAssignee);
 
         // Log activity
         logActivity(task, assignedBy, ActivityType.ASSIGNED, oldAssignee, newAssignee, 
@@ -103,10 +106,12 @@ public class TaskManagementService {
         }
 
         String oldAssignee = task.getAssignedTo().getFirstName() + " " + task.getAssignedTo().getLastName();
+        User previousAssignee = task.getAssignedTo();
         task.setAssignedTo(null);
         task.setLastActivityAt(Instant.now());
 
         Task savedTask = taskRepository.save(task);
+        rollupService.recordAssigneeChange(savedTask, previousAssignee);
 
         // Log activity
         logActivity(task, unassignedBy, ActivityType.UNASSIGNED, oldAssignee, null, 
@@ -176,6 +181,7 @@ public class TaskManagementService {
 
         timeEntry.stopTimer();
         TaskTimeEntry savedEntry = timeEntryRepository.save(timeEntry);
+        rollupService.recordTimeLogged(savedEntry);
 
         // Update task's actual hours
         Integer totalMinutes = timeEntryRepository.sumDurationMinutesByTaskId(taskId);
@@ -346,6 +352,7 @@ public class TaskManagementService {
 
         task.setLastActivityAt(Instant.now());
         Task savedTask = taskRepository.save(task);
+        rollupService.recordStatusChange(savedTask, oldStatus);
 
         // Log activity
         logActivity(task, updatedBy, ActivityType.PROGRESS_UPDATED, 
@@ -0,0 +1,206 @@
+package com.projectmaster.app.task.service;
+
+import com.projectmaster.app.common.enums.NotificationType;
+import com.projectmaster.app.task.entity.TaskNotification;
+import com.projectmaster.app.task.repository.TaskNotificationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivers due task notifications in batches, safely from any number of nodes. A batch is
+ * claimed in one short update that tags the rows with a claim token and a lease, skipping
+ * rows another node holds; no transaction or row lock is held while the batch is delivered
+ * on virtual threads. A semaphore bounds the deliveries in flight, and each send's timeout
+ * runs from when it gets a permit. The delivered rows are then marked sent in one update
+ * and the failed ones have an attempt counted and are released. If a node dies mid batch
+ * its lease lapses and another node retries the rows, so delivery is at least once.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TaskNotificationDispatcher {
+
+    private final TaskNotificationRepository notificationRepository;
+    private final TaskNotificationSender notificationSender;
+    private final MeterRegistry meterRegistry;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicLong backlog = new AtomicLong();
+    private final AtomicLong oldestPendingSeconds = new AtomicLong();
+
+    @Value("${app.notifications.dispatch.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.notifications.dispatch.max-concurrent-sends:16}")
+    private int maxConcurrentSends;
+
+    @Value("${app.notifications.dispatch.send-timeout-seconds:30}")
+    private long sendTimeoutSeconds;
+
+    @Value("${app.notifications.dispatch.max-attempts:5}")
+    private int maxAttempts;
+
+    private Semaphore sendPermits;
+    private Counter sentCounter;
+    private Counter failedCounter;
+    private Timer batchTimer;
+
+    /**
+     * What the sender needs to deliver a notification, copied out of the claimed row so
+     * delivery threads never touch the persistence context
+     */
+    public record Delivery(UUID notificationId, UUID userId, UUID taskId, NotificationType type,
+                           String title, String message) {
+    }
+
+    /**
+     * Outcome of one claimed batch; full means more notifications are probably due
+     */
+    public record BatchResult(int claimed, int sent, int failed, boolean full) {
+    }
+
+    @PostConstruct
+    public void init() {
+        sendPermits = new Semaphore(maxConcurrentSends);
+        sentCounter = Counter.builder("notifications.dispatch.sent")
+                .description("Task notifications delivered and marked sent")
+                .register(meterRegistry);
+        failedCounter = Counter.builder("notifications.dispatch.failed")
+                .description("Task notification delivery attempts that failed")
+                .register(meterRegistry);
+        batchTimer = Timer.builder("notifications.dispatch.batch")
+                .description("Time to claim, deliver and mark a batch of task notifications")
+                .register(meterRegistry);
+        Gauge.builder("notifications.dispatch.backlog", backlog, AtomicLong::get)
+                .description("Due task notifications not yet delivered, as of the last dispatch run")
+                .register(meterRegistry);
+        Gauge.builder("notifications.dispatch.oldest.pending", oldestPendingSeconds, AtomicLong::get)
+                .description("Seconds the oldest undelivered notification has been due, as of the last dispatch run")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Claim, deliver and mark one batch of due notifications
+     */
+    public BatchResult dispatchBatch() {
+        long startNanos = System.nanoTime();
+        UUID claimToken = UUID.randomUUID();
+        Instant now = Instant.now();
+        if (notificationRepository.claimPendingNotifications(claimToken, now, now.plus(leaseDuration()),
+                maxAttempts, batchSize) == 0) {
+            return new BatchResult(0, 0, 0, false);
+        }
+        List<TaskNotification> claimed = notificationRepository.findByClaimToken(claimToken);
+
+        List<Delivery> deliveries = claimed.stream().map(TaskNotificationDispatcher::toDelivery).toList();
+        List<CompletableFuture<Boolean>> outcomes = new ArrayList<>(deliveries.size());
+        for (Delivery delivery : deliveries) {
+            outcomes.add(CompletableFuture.supplyAsync(() -> deliver(delivery), executor));
+        }
+
+        List<UUID> sent = new ArrayList<>(deliveries.size());
+        List<UUID> failed = new ArrayList<>();
+        for (int i = 0; i < deliveries.size(); i++) {
+            (outcomes.get(i).join() ? sent : failed).add(deliveries.get(i).notificationId());
+        }
+        if (!sent.isEmpty()) {
+            notificationRepository.markSent(sent, claimToken, Instant.now());
+        }
+        if (!failed.isEmpty()) {
+            notificationRepository.recordFailedAttempts(failed, claimToken);
+        }
+
+        sentCounter.increment(sent.size());
+        failedCounter.increment(failed.size());
+        batchTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        return new BatchResult(claimed.size(), sent.size(), failed.size(), claimed.size() == batchSize);
+    }
+
+    /**
+     * Refresh the backlog gauges
+     */
+    @Transactional(readOnly = true)
+    public long refreshBacklog() {
+        Instant now = Instant.now();
+        Object[] summary = notificationRepository.summarizeBacklog(now, maxAttempts).get(0);
+        long pending = ((Number) summary[0]).longValue();
+        Instant oldestDue = (Instant) summary[1];
+        backlog.set(pending);
+        oldestPendingSeconds.set(oldestDue != null ? Math.max(0, Duration.between(oldestDue, now).getSeconds()) : 0);
+        return pending;
+    }
+
+    // Outlasts a batch whose every send waits for a permit and then runs to its timeout, so
+    // a live node keeps its claim; a send that hangs past that may be repeated elsewhere
+    private Duration leaseDuration() {
+        long rounds = (batchSize + maxConcurrentSends - 1) / maxConcurrentSends;
+        return Duration.ofSeconds(2 * rounds * sendTimeoutSeconds);
+    }
+
+    /**
+     * Deliver once a send permit is free. The timeout starts when the permit is acquired, so
+     * time spent queued behind other sends does not count against it; the permit is only
+     * released when the send returns, so sends that timed out still count towards the bound.
+     */
+    private boolean deliver(Delivery delivery) {
+        sendPermits.acquireUninterruptibly();
+        CompletableFuture<Boolean> send;
+        try {
+            send = CompletableFuture.supplyAsync(() -> send(delivery), executor);
+        } catch (RejectedExecutionException e) {
+            sendPermits.release();
+            throw e;
+        }
+        send.whenComplete((result, e) -> sendPermits.release());
+        // A delivery still running after the timeout may be repeated by a later batch
+        return send.copy().completeOnTimeout(false, sendTimeoutSeconds, TimeUnit.SECONDS).join();
+    }
+
+    private boolean send(Delivery delivery) {
+        try {
+            notificationSender.send(delivery);
+            return true;
+        } catch (RuntimeException e) {
+            log.error("Failed to send notification {}: {}", delivery.notificationId(), e.getMessage());
+            return false;
+        }
+    }
+
+    private static Delivery toDelivery(TaskNotification notification) {
+        return new Delivery(notification.getId(), notification.getUser().getId(), notification.getTask().getId(),
+                notification.getNotificationType(), notification.getTitle(), notification.getMessage());
+    }
+}
@@ -0,0 +1,18 @@
+package com.projectmaster.app.task.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Delivers a due notification to its user. Notifications are shown in the app from the
+ * database, so delivery only records it for now; an email or push channel belongs here.
+ * Called concurrently from the dispatcher's virtual threads, without a transaction.
+ */
+@Component
+@Slf4j
+public class TaskNotificationSender {
+
+    public void send(TaskNotificationDispatcher.Delivery delivery) {
+        log.info("Notification {} sent to user {}", delivery.notificationId(), delivery.userId());
+    }
+}
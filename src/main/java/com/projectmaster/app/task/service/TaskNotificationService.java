@@ -1,5 +1,7 @@
 package com.projectmaster.app.task.service;
 
+import com.projectmaster.app.common.dto.CursorPage;
+import com.projectmaster.app.common.dto.KeysetCursor;
 import com.projectmaster.app.common.enums.NotificationType;
 import com.projectmaster.app.common.enums.TaskStatus;
 import com.projectmaster.app.common.exception.EntityNotFoundException;
@@ -11,11 +13,13 @@ import com.projectmaster.app.user.entity.User;
 import com.projectmaster.app.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
@@ -23,6 +27,7 @@ import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Service
 @RequiredArgsConstructor
@@ -33,6 +38,10 @@ public class TaskNotificationService {
     private final TaskNotificationRepository notificationRepository;
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
+    private final TaskNotificationDispatcher taskNotificationDispatcher;
+
+    @Value("${app.notifications.dispatch.run-budget-seconds:50}")
+    private long dispatchBudgetSeconds;
 
     /**
      * Get notifications for a user
@@ -42,6 +51,19 @@ public class TaskNotificationService {
         return notificationRepository.findByUserId(userId, pageable);
     }
 
+    /**
+     * Get a page of a user's notification feed after the given cursor, without counting
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<TaskNotification> getUserNotificationFeed(UUID userId, String cursor, Integer size) {
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        int pageSize = KeysetCursor.pageSize(size);
+
+        List<TaskNotification> rows = notificationRepository.findFeedByUserId(
+                userId, position.getCreatedAt(), position.getId(), KeysetCursor.limitFor(pageSize));
+        return CursorPage.from(rows, pageSize, notification -> notification);
+    }
+
     /**
      * Get unread notifications for a user
      */
@@ -121,21 +143,27 @@ public class TaskNotificationService {
     }
 
     /**
-     * Send pending notifications (scheduled job)
+     * Send pending notifications (scheduled job). Batches are claimed until the due
+     * notifications run out or the run's time budget is spent; each batch is claimed and
+     * marked in short transactions of its own and sent outside them. The next run starts a fixed delay after this one ends, so a backlog
+     * cannot make runs overlap.
      */
-    @Scheduled(fixedRate = 60000) // Run every minute
+    @Scheduled(fixedDelayString = "${app.notifications.dispatch.interval-ms:60000}") // Run every minute by default
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void sendPendingNotifications() {
-        List<TaskNotification> pendingNotifications = notificationRepository.findPendingNotifications(Instant.now());
-        
-        for (TaskNotification notification : pendingNotifications) {
-            try {
-                // Mark as sent (in a real implementation, you would send email/push notification here)
-                notification.markAsSent();
-                notificationRepository.save(notification);
-                log.info("Notification {} sent to user {}", notification.getId(), notification.getUser().getId());
-            } catch (Exception e) {
-                log.error("Failed to send notification {}: {}", notification.getId(), e.getMessage());
-            }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(dispatchBudgetSeconds);
+        int sent = 0;
+        int failed = 0;
+        TaskNotificationDispatcher.BatchResult batch;
+        do {
+            batch = taskNotificationDispatcher.dispatchBatch();
+            sent += batch.sent();
+            failed += batch.failed();
+        } while (batch.full() && System.nanoTime() < deadline);
+
+        long backlog = taskNotificationDispatcher.refreshBacklog();
+        if (sent > 0 || failed > 0) {
+            log.info("Sent {} notifications, {} failed, {} still due", sent, failed, backlog);
         }
     }
 
@@ -1,7 +1,9 @@
 package com.projectmaster.app.task.service;
 
+import com.projectmaster.app.common.enums.RollupScope;
 import com.projectmaster.app.common.enums.TaskPriority;
 import com.projectmaster.app.common.enums.TaskStatus;
+import com.projectmaster.app.task.entity.TaskDailyRollup;
 import com.projectmaster.app.task.repository.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -10,9 +12,9 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -25,6 +27,7 @@ public class TaskReportingService {
     private final TaskCommentRepository commentRepository;
     private final TaskActivityLogRepository activityLogRepository;
     private final TaskNotificationRepository notificationRepository;
+    private final TaskRollupService rollupService;
 
     /**
      * Get comprehensive task statistics for a project
@@ -32,30 +35,26 @@ public class TaskReportingService {
     public ProjectTaskStatistics getProjectTaskStatistics(UUID projectId) {
         log.info("Generating task statistics for project {}", projectId);
 
+        Object[] totals = singleRow(taskRepository.aggregateTotalsByProjectId(projectId, LocalDate.now()));
+        long[] minutes = rollupService.getTotalMinutes(RollupScope.PROJECT, projectId);
+        Map<TaskStatus, Integer> tasksByStatus = rollupService.getStatusCounts(RollupScope.PROJECT, projectId);
+
         return ProjectTaskStatistics.builder()
                 .projectId(projectId)
-                .totalTasks(taskRepository.countByProjectId(projectId))
-                .openTasks(taskRepository.findByProjectIdAndStatus(projectId, TaskStatus.OPEN).size())
-                .inProgressTasks(taskRepository.findByProjectIdAndStatus(projectId, TaskStatus.IN_PROGRESS).size())
-                .completedTasks(taskRepository.findByProjectIdAndStatus(projectId, TaskStatus.COMPLETED).size())
-                .cancelledTasks(taskRepository.findByProjectIdAndStatus(projectId, TaskStatus.CANCELLED).size())
-                .overdueTasks(taskRepository.findOverdueTasks(LocalDate.now()).stream()
-                        .filter(task -> task.getProjectStep().getProjectTask().getProjectStage().getProject().getId().equals(projectId))
-                        .collect(Collectors.toList()).size())
-                .blockedTasks((int) taskRepository.countBlockedTasks())
-                .milestones(taskRepository.findMilestonesByProjectId(projectId).size())
-                .totalEstimatedHours(taskRepository.findByProjectId(projectId).stream()
-                        .mapToInt(task -> task.getEstimatedHours() != null ? task.getEstimatedHours() : 0)
-                        .sum())
-                .totalActualHours(taskRepository.findByProjectId(projectId).stream()
-                        .mapToInt(task -> task.getActualHours() != null ? task.getActualHours() : 0)
-                        .sum())
-                .totalLoggedMinutes(timeEntryRepository.sumDurationMinutesByProjectId(projectId))
-                .averageCompletionPercentage(taskRepository.findByProjectId(projectId).stream()
-                        .mapToInt(task -> task.getCompletionPercentage() != null ? task.getCompletionPercentage() : 0)
-                        .average().orElse(0.0))
+                .totalTasks(toLong(totals[0]))
+                .openTasks(tasksByStatus.get(TaskStatus.OPEN))
+                .inProgressTasks(tasksByStatus.get(TaskStatus.IN_PROGRESS))
+                .completedTasks(tasksByStatus.get(TaskStatus.COMPLETED))
+                .cancelledTasks(tasksByStatus.get(TaskStatus.CANCELLED))
+                .overdueTasks(toInt(totals[3]))
+                .blockedTasks(toInt(totals[2]))
+                .milestones(toInt(totals[1]))
+                .totalEstimatedHours(toInt(totals[4]))
+                .totalActualHours(toInt(totals[5]))
+                .totalLoggedMinutes((int) minutes[0])
+                .averageCompletionPercentage(toDouble(totals[6]))
                 .tasksByPriority(getTaskCountByPriority(projectId))
-                .tasksByStatus(getTaskCountByStatus(projectId))
+                .tasksByStatus(tasksByStatus)
                 .build();
     }
 
@@ -68,27 +67,49 @@ public class TaskReportingService {
         Instant startInstant = startDate.atStartOfDay().toInstant(java.time.ZoneOffset.UTC);
         Instant endInstant = endDate.plusDays(1).atStartOfDay().toInstant(java.time.ZoneOffset.UTC);
 
-        List<Object[]> timeEntries = timeEntryRepository.findByUserIdAndDateRange(userId, startInstant, endInstant)
-                .stream()
-                .map(entry -> new Object[]{entry.getTask().getId(), entry.getDurationMinutes()})
-                .collect(Collectors.toList());
+        // Single pass over completed tasks for count, on-time and late figures
+        int completedTasks = 0;
+        int completedOnTime = 0;
+        int completedLate = 0;
+        try (Stream<Object[]> rows = taskRepository.streamDueDatesByAssigneeAndStatus(userId, TaskStatus.COMPLETED)) {
+            Iterator<Object[]> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                Object[] row = iterator.next();
+                completedTasks++;
+                LocalDate dueDate = (LocalDate) row[0];
+                if (dueDate == null) {
+                    continue;
+                }
+                LocalDate completionDate = toUtcDate((Instant) row[1]);
+                if (completionDate.isBefore(dueDate.plusDays(1))) {
+                    completedOnTime++;
+                }
+                if (completionDate.isAfter(dueDate)) {
+                    completedLate++;
+                }
+            }
+        }
+
+        int loggedMinutes = (int) rollupService.getTotalMinutes(RollupScope.USER, userId)[0];
+        int billableMinutes = (int) rollupService.getMinutesInRange(RollupScope.USER, userId, startDate, endDate)[1];
+        int activeDays = calculateActiveDays(userId, startInstant, endInstant);
 
         return UserProductivityStatistics.builder()
                 .userId(userId)
                 .startDate(startDate)
                 .endDate(endDate)
                 .assignedTasks(taskRepository.countByAssignedToId(userId))
-                .completedTasks(taskRepository.findByAssignedToIdAndStatus(userId, TaskStatus.COMPLETED).size())
-                .totalLoggedMinutes(timeEntryRepository.sumDurationMinutesByUserId(userId))
-                .totalLoggedHours(timeEntryRepository.sumDurationMinutesByUserId(userId) / 60.0)
-                .billableMinutes(timeEntryRepository.sumBillableMinutesByUserIdAndDateRange(userId, startInstant, endInstant))
-                .billableHours(timeEntryRepository.sumBillableMinutesByUserIdAndDateRange(userId, startInstant, endInstant) / 60.0)
+                .completedTasks(completedTasks)
+                .totalLoggedMinutes(loggedMinutes)
+                .totalLoggedHours(loggedMinutes / 60.0)
+                .billableMinutes(billableMinutes)
+                .billableHours(billableMinutes / 60.0)
                 .averageTaskCompletionTime(calculateAverageTaskCompletionTime(userId))
-                .tasksCompletedOnTime(calculateTasksCompletedOnTime(userId))
-                .tasksCompletedLate(calculateTasksCompletedLate(userId))
+                .tasksCompletedOnTime(completedOnTime)
+                .tasksCompletedLate(completedLate)
                 .commentsAdded(commentRepository.countByUserId(userId))
-                .activeDays(calculateActiveDays(userId, startDate, endDate))
-                .productivityScore(calculateProductivityScore(userId, startDate, endDate))
+                .activeDays(activeDays)
+                .productivityScore(calculateProductivityScore(completedTasks, loggedMinutes, activeDays))
                 .build();
     }
 
@@ -101,27 +122,58 @@ public class TaskReportingService {
         Instant startInstant = startDate.atStartOfDay().toInstant(java.time.ZoneOffset.UTC);
         Instant endInstant = endDate.plusDays(1).atStartOfDay().toInstant(java.time.ZoneOffset.UTC);
 
+        long[] minutes = rollupService.getTotalMinutes(RollupScope.PROJECT, projectId);
+        int totalLoggedMinutes = (int) minutes[0];
+
+        // Single pass over the entries in range builds every range-scoped figure
+        int nonBillableMinutes = 0;
+        int entryCount = 0;
+        long sessionMinutes = 0;
+        int sessionCount = 0;
+        Set<UUID> users = new HashSet<>();
+        Map<UUID, Integer> timeByUser = new HashMap<>();
+        Map<UUID, Integer> timeByTask = new HashMap<>();
+        Map<LocalDate, Integer> dailyTimeBreakdown = new HashMap<>();
+
+        try (Stream<Object[]> rows = timeEntryRepository.streamByProjectIdAndDateRange(projectId, startInstant, endInstant)) {
+            Iterator<Object[]> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                Object[] row = iterator.next();
+                UUID userId = (UUID) row[0];
+                UUID taskId = (UUID) row[1];
+                Instant startTime = (Instant) row[2];
+                Integer duration = (Integer) row[3];
+                int durationMinutes = duration != null ? duration : 0;
+
+                entryCount++;
+                users.add(userId);
+                if (!Boolean.TRUE.equals(row[4])) {
+                    nonBillableMinutes += durationMinutes;
+                }
+                if (duration != null) {
+                    sessionMinutes += duration;
+                    sessionCount++;
+                }
+                timeByUser.merge(userId, durationMinutes, Integer::sum);
+                timeByTask.merge(taskId, durationMinutes, Integer::sum);
+                dailyTimeBreakdown.merge(toUtcDate(startTime), durationMinutes, Integer::sum);
+            }
+        }
+
         return TimeTrackingReport.builder()
                 .projectId(projectId)
                 .startDate(startDate)
                 .endDate(endDate)
-                .totalLoggedMinutes(timeEntryRepository.sumDurationMinutesByProjectId(projectId))
-                .totalLoggedHours(timeEntryRepository.sumDurationMinutesByProjectId(projectId) / 60.0)
-                .billableMinutes(timeEntryRepository.findBillableByProjectId(projectId).stream()
-                        .mapToInt(entry -> entry.getDurationMinutes() != null ? entry.getDurationMinutes() : 0)
-                        .sum())
-                .nonBillableMinutes(timeEntryRepository.findByProjectIdAndDateRange(projectId, startInstant, endInstant).stream()
-                        .filter(entry -> !entry.getIsBillable())
-                        .mapToInt(entry -> entry.getDurationMinutes() != null ? entry.getDurationMinutes() : 0)
-                        .sum())
-                .timeEntriesCount(timeEntryRepository.findByProjectIdAndDateRange(projectId, startInstant, endInstant).size())
-                .uniqueUsers(timeEntryRepository.findByProjectIdAndDateRange(projectId, startInstant, endInstant).stream()
-                        .map(entry -> entry.getUser().getId())
-                        .collect(Collectors.toSet()).size())
-                .averageSessionDuration(calculateAverageSessionDuration(projectId, startDate, endDate))
-                .timeByUser(getTimeByUser(projectId, startDate, endDate))
-                .timeByTask(getTimeByTask(projectId, startDate, endDate))
-                .dailyTimeBreakdown(getDailyTimeBreakdown(projectId, startDate, endDate))
+                .totalLoggedMinutes(totalLoggedMinutes)
+                .totalLoggedHours(totalLoggedMinutes / 60.0)
+                .billableMinutes((int) minutes[1])
+                .nonBillableMinutes(nonBillableMinutes)
+                .timeEntriesCount(entryCount)
+                .uniqueUsers(users.size())
+                .averageSessionDuration(sessionCount > 0 ? (double) sessionMinutes / sessionCount : 0.0)
+                .timeByUser(timeByUser)
+                .timeByTask(timeByTask)
+                .dailyTimeBreakdown(dailyTimeBreakdown)
                 .build();
     }
 
@@ -143,21 +195,10 @@ public class TaskReportingService {
             creationsByDate.put(date, 0);
         }
 
-        // Get completed tasks and group by completion date
-        taskRepository.findByProjectIdAndStatus(projectId, TaskStatus.COMPLETED).forEach(task -> {
-            LocalDate completionDate = task.getUpdatedAt().atZone(java.time.ZoneOffset.UTC).toLocalDate();
-            if (!completionDate.isBefore(startDate) && !completionDate.isAfter(endDate)) {
-                completionsByDate.merge(completionDate, 1, Integer::sum);
-            }
-        });
-
-        // Get created tasks and group by creation date
-        taskRepository.findByProjectId(projectId).forEach(task -> {
-            LocalDate creationDate = task.getCreatedAt().atZone(java.time.ZoneOffset.UTC).toLocalDate();
-            if (!creationDate.isBefore(startDate) && !creationDate.isAfter(endDate)) {
-                creationsByDate.merge(creationDate, 1, Integer::sum);
-            }
-        });
+        for (TaskDailyRollup rollup : rollupService.getDailyRollups(RollupScope.PROJECT, projectId, startDate, endDate)) {
+            completionsByDate.put(rollup.getRollupDate(), rollup.getTasksCompleted());
+            creationsByDate.put(rollup.getRollupDate(), rollup.getTasksCreated());
+        }
 
         return TaskCompletionTrends.builder()
                 .projectId(projectId)
@@ -178,19 +219,13 @@ public class TaskReportingService {
     public TeamPerformanceMetrics getTeamPerformanceMetrics(UUID projectId) {
         log.info("Generating team performance metrics for project {}", projectId);
 
-        List<Object[]> userStats = taskRepository.findByProjectId(projectId).stream()
-                .filter(task -> task.getAssignedTo() != null)
-                .collect(Collectors.groupingBy(task -> task.getAssignedTo().getId()))
-                .entrySet().stream()
-                .map(entry -> {
-                    UUID userId = entry.getKey();
-                    List<com.projectmaster.app.task.entity.Task> userTasks = entry.getValue();
-                    
-                    long completedTasks = userTasks.stream().filter(task -> task.getStatus() == TaskStatus.COMPLETED).count();
-                    long totalTasks = userTasks.size();
+        List<Object[]> userStats = taskRepository.countByAssigneeForProject(projectId).stream()
+                .map(row -> {
+                    long totalTasks = toLong(row[1]);
+                    long completedTasks = toLong(row[2]);
                     double completionRate = totalTasks > 0 ? (double) completedTasks / totalTasks * 100 : 0;
-                    
-                    return new Object[]{userId, totalTasks, completedTasks, completionRate};
+
+                    return new Object[]{row[0], totalTasks, completedTasks, completionRate};
                 })
                 .collect(Collectors.toList());
 
@@ -211,17 +246,10 @@ public class TaskReportingService {
     private Map<TaskPriority, Integer> getTaskCountByPriority(UUID projectId) {
         Map<TaskPriority, Integer> counts = new EnumMap<>(TaskPriority.class);
         for (TaskPriority priority : TaskPriority.values()) {
-            counts.put(priority, taskRepository.findByProjectId(projectId).stream()
-                    .filter(task -> task.getPriority() == priority)
-                    .collect(Collectors.toList()).size());
+            counts.put(priority, 0);
         }
-        return counts;
-    }
-
-    private Map<TaskStatus, Integer> getTaskCountByStatus(UUID projectId) {
-        Map<TaskStatus, Integer> counts = new EnumMap<>(TaskStatus.class);
-        for (TaskStatus status : TaskStatus.values()) {
-            counts.put(status, taskRepository.findByProjectIdAndStatus(projectId, status).size());
+        for (Object[] row : taskRepository.countByPriorityForProject(projectId)) {
+            counts.put((TaskPriority) row[0], toInt(row[1]));
         }
         return counts;
     }
@@ -232,83 +260,20 @@ public class TaskReportingService {
         return 0.0;
     }
 
-    private int calculateTasksCompletedOnTime(UUID userId) {
-        return (int) taskRepository.findByAssignedToIdAndStatus(userId, TaskStatus.COMPLETED).stream()
-                .filter(task -> task.getDueDate() != null && 
-                        task.getUpdatedAt().atZone(java.time.ZoneOffset.UTC).toLocalDate().isBefore(task.getDueDate().plusDays(1)))
-                .count();
-    }
-
-    private int calculateTasksCompletedLate(UUID userId) {
-        return (int) taskRepository.findByAssignedToIdAndStatus(userId, TaskStatus.COMPLETED).stream()
-                .filter(task -> task.getDueDate() != null && 
-                        task.getUpdatedAt().atZone(java.time.ZoneOffset.UTC).toLocalDate().isAfter(task.getDueDate()))
-                .count();
-    }
-
-    private int calculateActiveDays(UUID userId, LocalDate startDate, LocalDate endDate) {
-        Instant startInstant = startDate.atStartOfDay().toInstant(java.time.ZoneOffset.UTC);
-        Instant endInstant = endDate.plusDays(1).atStartOfDay().toInstant(java.time.ZoneOffset.UTC);
-        
-        return (int) activityLogRepository.findByUserIdAndDateRange(userId, startInstant, endInstant).stream()
-                .map(log -> log.getCreatedAt().atZone(java.time.ZoneOffset.UTC).toLocalDate())
-                .distinct()
-                .count();
+    private int calculateActiveDays(UUID userId, Instant startInstant, Instant endInstant) {
+        try (Stream<Instant> timestamps = activityLogRepository.streamTimestampsByUserIdAndDateRange(userId, startInstant, endInstant)) {
+            return (int) timestamps
+                    .map(this::toUtcDate)
+                    .distinct()
+                    .count();
+        }
     }
 
-    private double calculateProductivityScore(UUID userId, LocalDate startDate, LocalDate endDate) {
+    private double calculateProductivityScore(long completedTasks, int loggedMinutes, int activeDays) {
         // Simple productivity score based on tasks completed, time logged, and activity
-        long completedTasks = taskRepository.findByAssignedToIdAndStatus(userId, TaskStatus.COMPLETED).size();
-        int loggedMinutes = timeEntryRepository.sumDurationMinutesByUserId(userId);
-        int activeDays = calculateActiveDays(userId, startDate, endDate);
-        
         return (completedTasks * 10) + (loggedMinutes / 60.0) + (activeDays * 5);
     }
 
-    private double calculateAverageSessionDuration(UUID projectId, LocalDate startDate, LocalDate endDate) {
-        Instant startInstant = startDate.atStartOfDay().toInstant(java.time.ZoneOffset.UTC);
-        Instant endInstant = endDate.plusDays(1).atStartOfDay().toInstant(java.time.ZoneOffset.UTC);
-        
-        return timeEntryRepository.findByProjectIdAndDateRange(projectId, startInstant, endInstant).stream()
-                .filter(entry -> entry.getDurationMinutes() != null)
-                .mapToInt(entry -> entry.getDurationMinutes())
-                .average()
-                .orElse(0.0);
-    }
-
-    private Map<UUID, Integer> getTimeByUser(UUID projectId, LocalDate startDate, LocalDate endDate) {
-        Instant startInstant = startDate.atStartOfDay().toInstant(java.time.ZoneOffset.UTC);
-        Instant endInstant = endDate.plusDays(1).atStartOfDay().toInstant(java.time.ZoneOffset.UTC);
-        
-        return timeEntryRepository.findByProjectIdAndDateRange(projectId, startInstant, endInstant).stream()
-                .collect(Collectors.groupingBy(
-                        entry -> entry.getUser().getId(),
-                        Collectors.summingInt(entry -> entry.getDurationMinutes() != null ? entry.getDurationMinutes() : 0)
-                ));
-    }
-
-    private Map<UUID, Integer> getTimeByTask(UUID projectId, LocalDate startDate, LocalDate endDate) {
-        Instant startInstant = startDate.atStartOfDay().toInstant(java.time.ZoneOffset.UTC);
-        Instant endInstant = endDate.plusDays(1).atStartOfDay().toInstant(java.time.ZoneOffset.UTC);
-        
-        return timeEntryRepository.findByProjectIdAndDateRange(projectId, startInstant, endInstant).stream()
-                .collect(Collectors.groupingBy(
-                        entry -> entry.getTask().getId(),
-                        Collectors.summingInt(entry -> entry.getDurationMinutes() != null ? entry.getDurationMinutes() : 0)
-                ));
-    }
-
-    private Map<LocalDate, Integer> getDailyTimeBreakdown(UUID projectId, LocalDate startDate, LocalDate endDate) {
-        Instant startInstant = startDate.atStartOfDay().toInstant(java.time.ZoneOffset.UTC);
-        Instant endInstant = endDate.plusDays(1).atStartOfDay().toInstant(java.time.ZoneOffset.UTC);
-        
-        return timeEntryRepository.findByProjectIdAndDateRange(projectId, startInstant, endInstant).stream()
-                .collect(Collectors.groupingBy(
-                        entry -> entry.getStartTime().atZone(java.time.ZoneOffset.UTC).toLocalDate(),
-                        Collectors.summingInt(entry -> entry.getDurationMinutes() != null ? entry.getDurationMinutes() : 0)
-                ));
-    }
-
     private List<UUID> getTopPerformers(List<Object[]> userStats) {
         return userStats.stream()
                 .sorted((a, b) -> Double.compare((Double) b[3], (Double) a[3])) // Sort by completion rate desc
@@ -325,8 +290,8 @@ public class TaskReportingService {
 
     private double calculateCollaborationScore(UUID projectId) {
         // Calculate based on comments, activity, and task interactions
-        long totalComments = commentRepository.findByProjectId(projectId).size();
-        long totalActivities = activityLogRepository.findByProjectId(projectId).size();
+        long totalComments = commentRepository.countByProjectId(projectId);
+        long totalActivities = activityLogRepository.countByProjectId(projectId);
         return (totalComments * 2.0) + (totalActivities * 1.0);
     }
 
@@ -342,6 +307,29 @@ public class TaskReportingService {
                 ));
     }
 
+    private LocalDate toUtcDate(Instant instant) {
+        return instant.atZone(java.time.ZoneOffset.UTC).toLocalDate();
+    }
+
+    /**
+     * Aggregate queries always return exactly one row; unwrap it
+     */
+    private static Object[] singleRow(List<Object[]> rows) {
+        return rows.get(0);
+    }
+
+    private static long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+
+    private static int toInt(Object value) {
+        return value != null ? ((Number) value).intValue() : 0;
+    }
+
+    private static double toDouble(Object value) {
+        return value != null ? ((Number) value).doubleValue() : 0.0;
+    }
+
     // DTO Classes for reporting
 
     @lombok.Data
@@ -0,0 +1,297 @@
+package com.projectmaster.app.task.service;
+
+import com.projectmaster.app.common.enums.RollupScope;
+import com.projectmaster.app.common.enums.TaskStatus;
+import com.projectmaster.app.task.entity.Task;
+import com.projectmaster.app.task.entity.TaskDailyRollup;
+import com.projectmaster.app.task.entity.TaskStatusRollup;
+import com.projectmaster.app.task.entity.TaskTimeEntry;
+import com.projectmaster.app.task.repository.TaskDailyRollupRepository;
+import com.projectmaster.app.task.repository.TaskStatusRollupRepository;
+import com.projectmaster.app.task.repository.TaskTimeEntryRepository;
+import com.projectmaster.app.user.entity.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Maintains the daily and per-status reporting rollups for projects and users.
+ * Task and time-entry writes apply deltas in the caller's transaction; a nightly
+ * job rebuilds both tables from the raw rows to correct any drift.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class TaskRollupService {
+
+    private final TaskDailyRollupRepository dailyRollupRepository;
+    private final TaskStatusRollupRepository statusRollupRepository;
+    private final TaskTimeEntryRepository timeEntryRepository;
+
+    /**
+     * Record a newly created task
+     */
+    public void recordTaskCreated(Task task) {
+        UUID projectId = projectIdOf(task);
+        LocalDate today = today();
+
+        adjustStatus(RollupScope.PROJECT, projectId, task.getStatus(), 1);
+        adjustStatus(RollupScope.USER, idOf(task.getAssignedTo()), task.getStatus(), 1);
+
+        int completed = task.getStatus() == TaskStatus.COMPLETED ? 1 : 0;
+        dailyRollupRepository.increment(RollupScope.PROJECT.name(), projectId, today, 1, completed, 0, 0);
+        addDaily(idOf(task.getCreatedBy()), today, 1, 0, 0, 0);
+        if (completed > 0) {
+            addDaily(idOf(task.getAssignedTo()), today, 0, 1, 0, 0);
+        }
+    }
+
+    /**
+     * Record a task status transition. Must be called before the update is flushed: a task
+     * leaving COMPLETED has its completion taken off the day of its last update, which is
+     * the day the nightly rebuild counted it on
+     */
+    public void recordStatusChange(Task task, TaskStatus oldStatus) {
+        TaskStatus newStatus = task.getStatus();
+        if (oldStatus == newStatus) {
+            return;
+        }
+
+        UUID projectId = projectIdOf(task);
+        UUID assigneeId = idOf(task.getAssignedTo());
+        LocalDate completedOn = completionDayOf(task);
+
+        adjustStatus(RollupScope.PROJECT, projectId, oldStatus, -1);
+        adjustStatus(RollupScope.PROJECT, projectId, newStatus, 1);
+        adjustStatus(RollupScope.USER, assigneeId, oldStatus, -1);
+        adjustStatus(RollupScope.USER, assigneeId, newStatus, 1);
+
+        if (oldStatus == TaskStatus.COMPLETED) {
+            addCompletion(projectId, assigneeId, completedOn, -1);
+        }
+        if (newStatus == TaskStatus.COMPLETED) {
+            addCompletion(projectId, assigneeId, today(), 1);
+        }
+    }
+
+    /**
+     * Record a task moved to a step of another project, with any status change made in the
+     * same update. The task's status count, its created counter and its logged time move
+     * from the previous project to the current one. A completion is taken off the previous
+     * project and, if the task is still completed, counted today on the current one, since
+     * the update re-dates it as in recordStatusChange.
+     */
+    public void recordTaskMoved(Task task, UUID previousProjectId, TaskStatus oldStatus) {
+        UUID projectId = projectIdOf(task);
+        if (projectId.equals(previousProjectId)) {
+            recordStatusChange(task, oldStatus);
+            return;
+        }
+        TaskStatus newStatus = task.getStatus();
+        UUID assigneeId = idOf(task.getAssignedTo());
+        LocalDate completedOn = completionDayOf(task);
+
+        adjustStatus(RollupScope.PROJECT, previousProjectId, oldStatus, -1);
+        adjustStatus(RollupScope.PROJECT, projectId, newStatus, 1);
+        if (oldStatus != newStatus) {
+            adjustStatus(RollupScope.USER, assigneeId, oldStatus, -1);
+            adjustStatus(RollupScope.USER, assigneeId, newStatus, 1);
+        }
+
+        if (task.getCreatedAt() != null) {
+            LocalDate createdOn = dayOf(task.getCreatedAt());
+            dailyRollupRepository.increment(RollupScope.PROJECT.name(), previousProjectId, createdOn, -1, 0, 0, 0);
+            dailyRollupRepository.increment(RollupScope.PROJECT.name(), projectId, createdOn, 1, 0, 0, 0);
+        }
+        for (TaskTimeEntry timeEntry : timeEntryRepository.findByTaskIdOrderByStartTimeDesc(task.getId())) {
+            addLoggedTime(timeEntry, previousProjectId, null, -1);
+            addLoggedTime(timeEntry, projectId, null, 1);
+        }
+
+        if (oldStatus == TaskStatus.COMPLETED) {
+            addCompletion(previousProjectId, assigneeId, completedOn, -1);
+        }
+        if (newStatus == TaskStatus.COMPLETED) {
+            addCompletion(projectId, assigneeId, today(), 1);
+        }
+    }
+
+    /**
+     * Record a change of assignee, moving the task's status count between users
+     */
+    public void recordAssigneeChange(Task task, User previousAssignee) {
+        UUID previousId = idOf(previousAssignee);
+        UUID currentId = idOf(task.getAssignedTo());
+        if (previousId != null && previousId.equals(currentId)) {
+            return;
+        }
+
+        adjustStatus(RollupScope.USER, previousId, task.getStatus(), -1);
+        adjustStatus(RollupScope.USER, currentId, task.getStatus(), 1);
+    }
+
+    /**
+     * Record a task about to be deleted, taking its status count, created and completed
+     * counters and logged time out of every rollup that holds them
+     */
+    public void recordTaskDeleted(Task task) {
+        UUID projectId = projectIdOf(task);
+        UUID assigneeId = idOf(task.getAssignedTo());
+        LocalDate completedOn = completionDayOf(task);
+
+        adjustStatus(RollupScope.PROJECT, projectId, task.getStatus(), -1);
+        adjustStatus(RollupScope.USER, assigneeId, task.getStatus(), -1);
+
+        if (task.getCreatedAt() != null) {
+            LocalDate createdOn = dayOf(task.getCreatedAt());
+            dailyRollupRepository.increment(RollupScope.PROJECT.name(), projectId, createdOn, -1, 0, 0, 0);
+            addDaily(idOf(task.getCreatedBy()), createdOn, -1, 0, 0, 0);
+        }
+        if (task.getStatus() == TaskStatus.COMPLETED) {
+            addCompletion(projectId, assigneeId, completedOn, -1);
+        }
+        for (TaskTimeEntry timeEntry : timeEntryRepository.findByTaskIdOrderByStartTimeDesc(task.getId())) {
+            addLoggedTime(timeEntry, projectId, idOf(timeEntry.getUser()), -1);
+        }
+    }
+
+    /**
+     * Record the minutes of a finished time entry against the day it started
+     */
+    public void recordTimeLogged(TaskTimeEntry timeEntry) {
+        addLoggedTime(timeEntry, projectIdOf(timeEntry.getTask()), idOf(timeEntry.getUser()), 1);
+    }
+
+    /**
+     * Get current task counts per status for a scope, with zero for missing statuses
+     */
+    @Transactional(readOnly = true)
+    public Map<TaskStatus, Integer> getStatusCounts(RollupScope scopeType, UUID scopeId) {
+        Map<TaskStatus, Integer> counts = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : TaskStatus.values()) {
+            counts.put(status, 0);
+        }
+        for (TaskStatusRollup rollup : statusRollupRepository.findByScopeTypeAndScopeId(scopeType, scopeId)) {
+            counts.put(rollup.getStatus(), Math.max(0, rollup.getTaskCount().intValue()));
+        }
+        return counts;
+    }
+
+    /**
+     * Get daily rollups for a scope within a date range (inclusive)
+     */
+    @Transactional(readOnly = true)
+    public List<TaskDailyRollup> getDailyRollups(RollupScope scopeType, UUID scopeId, LocalDate startDate, LocalDate endDate) {
+        return dailyRollupRepository.findByScopeTypeAndScopeIdAndRollupDateBetweenOrderByRollupDateAsc(
+                scopeType, scopeId, startDate, endDate);
+    }
+
+    /**
+     * Get [loggedMinutes, billableMinutes] for a scope across all days
+     */
+    @Transactional(readOnly = true)
+    public long[] getTotalMinutes(RollupScope scopeType, UUID scopeId) {
+        return toMinutes(dailyRollupRepository.sumMinutesByScope(scopeType, scopeId));
+    }
+
+    /**
+     * Get [loggedMinutes, billableMinutes] for a scope within a date range (inclusive)
+     */
+    @Transactional(readOnly = true)
+    public long[] getMinutesInRange(RollupScope scopeType, UUID scopeId, LocalDate startDate, LocalDate endDate) {
+        return toMinutes(dailyRollupRepository.sumMinutesByScopeAndDateRange(scopeType, scopeId, startDate, endDate));
+    }
+
+    /**
+     * Rebuild all rollups from tasks and time entries (scheduled job); returns false without
+     * touching them if another node is already rebuilding
+     */
+    @Scheduled(cron = "${app.reporting.rollup-reconcile-cron:0 30 1 * * ?}") // Run daily at 1:30 AM by default
+    public boolean reconcileRollups() {
+        if (!statusRollupRepository.tryLockRebuild()) {
+            log.info("Task reporting rollups are being reconciled by another node, skipping");
+            return false;
+        }
+        log.info("Reconciling task reporting rollups...");
+
+        statusRollupRepository.deleteAllRollups();
+        int statusRows = statusRollupRepository.rebuildProjectRollups() + statusRollupRepository.rebuildUserRollups();
+
+        dailyRollupRepository.deleteAllRollups();
+        int dailyRows = dailyRollupRepository.rebuildProjectRollups() + dailyRollupRepository.rebuildUserRollups();
+
+        log.info("Task reporting rollups reconciled: {} status rows, {} daily rows", statusRows, dailyRows);
+        return true;
+    }
+
+    private void adjustStatus(RollupScope scopeType, UUID scopeId, TaskStatus status, long delta) {
+        if (scopeId == null || status == null) {
+            return;
+        }
+        statusRollupRepository.increment(scopeType.name(), scopeId, status.name(), delta);
+    }
+
+    private void addCompletion(UUID projectId, UUID assigneeId, LocalDate day, int delta) {
+        dailyRollupRepository.increment(RollupScope.PROJECT.name(), projectId, day, 0, delta, 0, 0);
+        addDaily(assigneeId, day, 0, delta, 0, 0);
+    }
+
+    // Add (sign 1) or remove (sign -1) a time entry's minutes on the day it started
+    private void addLoggedTime(TaskTimeEntry timeEntry, UUID projectId, UUID userId, int sign) {
+        if (timeEntry.getDurationMinutes() == null || timeEntry.getDurationMinutes() == 0) {
+            return;
+        }
+
+        long minutes = (long) sign * timeEntry.getDurationMinutes();
+        long billable = Boolean.TRUE.equals(timeEntry.getIsBillable()) ? minutes : 0;
+        LocalDate day = dayOf(timeEntry.getStartTime());
+
+        dailyRollupRepository.increment(RollupScope.PROJECT.name(), projectId, day, 0, 0, minutes, billable);
+        addDaily(userId, day, 0, 0, minutes, billable);
+    }
+
+    private void addDaily(UUID userId, LocalDate day, int created, int completed, long logged, long billable) {
+        if (userId == null) {
+            return;
+        }
+        dailyRollupRepository.increment(RollupScope.USER.name(), userId, day, created, completed, logged, billable);
+    }
+
+    private static long[] toMinutes(List<Object[]> rows) {
+        Object[] row = rows.get(0);
+        return new long[]{((Number) row[0]).longValue(), ((Number) row[1]).longValue()};
+    }
+
+    private static UUID projectIdOf(Task task) {
+        return task.getProjectStep().getProjectTask().getProjectStage().getProject().getId();
+    }
+
+    private static UUID idOf(User user) {
+        return user != null ? user.getId() : null;
+    }
+
+    // The rebuild dates a completion by the task's last update; read it before any rollup
+    // write flushes the pending update and moves it to now
+    private static LocalDate completionDayOf(Task task) {
+        return task.getUpdatedAt() != null ? dayOf(task.getUpdatedAt()) : today();
+    }
+
+    private static LocalDate dayOf(Instant instant) {
+        return instant.atZone(ZoneOffset.UTC).toLocalDate();
+    }
+
+    private static LocalDate today() {
+        return LocalDate.now(ZoneOffset.UTC);
+    }
+}
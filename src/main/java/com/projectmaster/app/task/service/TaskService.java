@@ -43,6 +43,7 @@ public class TaskService {
     private final UserRepository userRepository;
     private final TaskActivityLogRepository activityLogRepository;
     private final TaskDependencyRepository dependencyRepository;
+    private final TaskRollupService rollupService;
 
     /**
      * Create a new task
@@ -110,6 +111,7 @@ public class TaskService {
                 .build();
 
         Task savedTask = taskRepository.save(task);
+        rollupService.recordTaskCreated(savedTask);
 
         // Log activity
         logActivity(savedTask, user, ActivityType.CREATED, null, null, "Task created");
@@ -210,6 +212,8 @@ public class TaskService {
 
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new EntityNotFoundException("Task not found with id: " + taskId));
+        TaskStatus oldStatus = task.getStatus();
+        UUID oldProjectId = task.getProjectStep().getProjectTask().getProjectStage().getProject().getId();
 
         // Update fields if provided
         if (request.getTitle() != null) {
@@ -261,6 +265,8 @@ public class TaskService {
         }
 
         Task updatedTask = taskRepository.save(task);
+        // Moves the old status out of the previous project when the step changed projects
+        rollupService.recordTaskMoved(updatedTask, oldProjectId, oldStatus);
         log.info("Task updated successfully with id: {}", updatedTask.getId());
 
         return convertToDto(updatedTask);
@@ -272,11 +278,11 @@ public class TaskService {
     public void deleteTask(UUID taskId) {
         log.info("Deleting task with id: {}", taskId);
 
-        if (!taskRepository.existsById(taskId)) {
-            throw new EntityNotFoundException("Task not found with id: " + taskId);
-        }
+        Task task = taskRepository.findById(taskId)
+                .orElseThrow(() -> new EntityNotFoundException("Task not found with id: " + taskId));
 
-        taskRepository.deleteById(taskId);
+        rollupService.recordTaskDeleted(task);
+        taskRepository.delete(task);
         log.info("Task deleted successfully with id: {}", taskId);
     }
 
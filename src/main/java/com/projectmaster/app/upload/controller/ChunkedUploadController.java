@@ -0,0 +1,111 @@
+package com.projectmaster.app.upload.controller;
+
+import com.projectmaster.app.common.dto.ApiResponse;
+import com.projectmaster.app.security.service.CustomUserDetailsService;
+import com.projectmaster.app.upload.dto.InitiateUploadRequest;
+import com.projectmaster.app.upload.dto.UploadSessionResponse;
+import com.projectmaster.app.upload.service.ChunkedUploadService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.UUID;
+
+/**
+ * Resumable chunked uploads. A completed upload's id can be passed as {@code uploadId}
+ * instead of a file when uploading a document, a step photo or a step update attachment.
+ */
+@RestController
+@RequestMapping("/api/uploads")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Chunked Uploads", description = "Resumable uploads sent as checksummed parts")
+@SecurityRequirement(name = "Bearer Authentication")
+@PreAuthorize("hasRole('SUPER_USER') or hasRole('ADMIN') or hasRole('PROJECT_MANAGER') or hasRole('TRADIE') or hasRole('USER')")
+public class ChunkedUploadController {
+
+    public static final String PART_CHECKSUM_HEADER = "X-Part-SHA256";
+
+    private final ChunkedUploadService chunkedUploadService;
+
+    @Operation(summary = "Initiate upload", description = "Start a chunked upload and get the part size and part count to send")
+    @PostMapping
+    public ResponseEntity<ApiResponse<UploadSessionResponse>> initiateUpload(
+            @Valid @RequestBody InitiateUploadRequest request,
+            Authentication authentication) {
+
+        UploadSessionResponse upload = chunkedUploadService.initiateUpload(request, getUserId(authentication));
+
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success(upload, "Upload initiated successfully"));
+    }
+
+    @Operation(summary = "Upload part", description = "Send part N as the raw request body with its hex SHA-256 in the " +
+            PART_CHECKSUM_HEADER + " header; re-sending a part replaces it")
+    @PutMapping("/{uploadId}/parts/{partNumber}")
+    public ResponseEntity<ApiResponse<UploadSessionResponse>> uploadPart(
+            @PathVariable UUID uploadId,
+            @PathVariable int partNumber,
+            @Parameter(description = "Hex SHA-256 of the part") @RequestHeader(PART_CHECKSUM_HEADER) String partSha256,
+            HttpServletRequest httpRequest,
+            Authentication authentication) throws IOException {
+
+        UploadSessionResponse upload;
+        try (InputStream content = httpRequest.getInputStream()) {
+            upload = chunkedUploadService.uploadPart(uploadId, partNumber, partSha256, content, getUserId(authentication));
+        }
+
+        return ResponseEntity.ok(ApiResponse.success(upload, "Part " + partNumber + " received"));
+    }
+
+    @Operation(summary = "Get upload", description = "Get upload progress, including the parts already acknowledged")
+    @GetMapping("/{uploadId}")
+    public ResponseEntity<ApiResponse<UploadSessionResponse>> getUpload(
+            @PathVariable UUID uploadId,
+            Authentication authentication) {
+
+        UploadSessionResponse upload = chunkedUploadService.getUpload(uploadId, getUserId(authentication));
+
+        return ResponseEntity.ok(ApiResponse.success(upload, "Upload retrieved successfully"));
+    }
+
+    @Operation(summary = "Complete upload", description = "Verify the whole-file checksum and assemble the parts")
+    @PostMapping("/{uploadId}/complete")
+    public ResponseEntity<ApiResponse<UploadSessionResponse>> completeUpload(
+            @PathVariable UUID uploadId,
+            Authentication authentication) {
+
+        UploadSessionResponse upload = chunkedUploadService.completeUpload(uploadId, getUserId(authentication));
+
+        return ResponseEntity.ok(ApiResponse.success(upload, "Upload completed successfully"));
+    }
+
+    @Operation(summary = "Abort upload", description = "Abandon an upload and discard its parts")
+    @DeleteMapping("/{uploadId}")
+    public ResponseEntity<ApiResponse<String>> abortUpload(
+            @PathVariable UUID uploadId,
+            Authentication authentication) {
+
+        chunkedUploadService.abortUpload(uploadId, getUserId(authentication));
+
+        return ResponseEntity.ok(ApiResponse.success("Upload aborted successfully"));
+    }
+
+    private UUID getUserId(Authentication authentication) {
+        CustomUserDetailsService.CustomUserPrincipal userPrincipal =
+                (CustomUserDetailsService.CustomUserPrincipal) authentication.getPrincipal();
+        return userPrincipal.getUser().getId();
+    }
+}
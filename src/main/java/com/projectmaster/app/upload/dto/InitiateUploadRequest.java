@@ -0,0 +1,42 @@
+package com.projectmaster.app.upload.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for starting a chunked upload
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InitiateUploadRequest {
+
+    @NotBlank(message = "Filename is required")
+    @Size(max = 255, message = "Filename cannot exceed 255 characters")
+    private String filename;
+
+    @NotBlank(message = "Content type is required")
+    @Size(max = 100, message = "Content type cannot exceed 100 characters")
+    private String contentType;
+
+    @NotNull(message = "Total size is required")
+    @Positive(message = "Total size must be positive")
+    private Long totalSize;
+
+    @Schema(description = "Preferred part size in bytes; the server clamps it to its configured range")
+    private Integer partSize;
+
+    @NotBlank(message = "File checksum is required")
+    @Pattern(regexp = "[0-9a-fA-F]{64}", message = "File checksum must be a hex SHA-256")
+    @Schema(description = "Hex SHA-256 of the whole file")
+    private String sha256;
+}
@@ -0,0 +1,33 @@
+package com.projectmaster.app.upload.dto;
+
+import com.projectmaster.app.common.enums.UploadSessionStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Upload progress; a client resumes by sending every part not in receivedParts
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSessionResponse {
+
+    private UUID uploadId;
+    private String filename;
+    private String contentType;
+    private Long totalSize;
+    private Integer partSize;
+    private Integer totalParts;
+    private String sha256;
+    private UploadSessionStatus status;
+    private List<Integer> receivedParts;
+    private Integer nextPart;
+    private Instant expiresAt;
+}
@@ -0,0 +1,34 @@
+package com.projectmaster.app.upload.entity;
+
+import com.projectmaster.app.common.entity.BaseEntity;
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * A part of an upload session that has been received and verified. Its content is the
+ * blob keyed by its SHA-256, which the part holds a reference to until the session ends
+ */
+@Entity
+@Table(name = "upload_parts",
+       uniqueConstraints = @UniqueConstraint(name = "uk_upload_parts_session_part",
+               columnNames = {"upload_session_id", "part_number"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UploadPart extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "upload_session_id", nullable = false)
+    private UploadSession uploadSession;
+
+    @Column(name = "part_number", nullable = false)
+    private Integer partNumber;
+
+    @Column(name = "size", nullable = false)
+    private Long size;
+
+    @Column(name = "sha256", nullable = false, length = 64)
+    private String sha256;
+}
@@ -0,0 +1,73 @@
+package com.projectmaster.app.upload.entity;
+
+import com.projectmaster.app.common.entity.BaseEntity;
+import com.projectmaster.app.common.enums.UploadSessionStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A resumable upload sent as numbered parts. Once every part has arrived the parts are
+ * assembled into blob storage, and the completed upload can then be attached once to a
+ * document, step photo or step update in place of a multipart file.
+ */
+@Entity
+@Table(name = "upload_sessions", indexes = {
+    @Index(name = "idx_upload_sessions_owner", columnList = "owner_id"),
+    @Index(name = "idx_upload_sessions_status_expires", columnList = "status, expires_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UploadSession extends BaseEntity {
+
+    @Column(name = "owner_id", nullable = false)
+    private UUID ownerId;
+
+    @Column(name = "filename", nullable = false)
+    private String filename;
+
+    @Column(name = "content_type", nullable = false, length = 100)
+    private String contentType;
+
+    @Column(name = "total_size", nullable = false)
+    private Long totalSize;
+
+    @Column(name = "part_size", nullable = false)
+    private Integer partSize;
+
+    @Column(name = "total_parts", nullable = false)
+    private Integer totalParts;
+
+    // Hex SHA-256 of the whole file, checked when the parts are assembled
+    @Column(name = "sha256", nullable = false, length = 64)
+    private String sha256;
+
+    @Enumerated(EnumType.STRING)
+    @Builder.Default
+    @Column(name = "status", nullable = false, length = 20)
+    private UploadSessionStatus status = UploadSessionStatus.INITIATED;
+
+    @Column(name = "storage_key", length = 64)
+    private String storageKey;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Column(name = "completed_at")
+    private Instant completedAt;
+
+    /**
+     * Expected byte count of a part; only the last part may be shorter
+     */
+    public long expectedPartSize(int partNumber) {
+        if (partNumber < totalParts) {
+            return partSize;
+        }
+        return totalSize - (long) partSize * (totalParts - 1);
+    }
+}
@@ -0,0 +1,24 @@
+package com.projectmaster.app.upload.repository;
+
+import com.projectmaster.app.upload.entity.UploadPart;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface UploadPartRepository extends JpaRepository<UploadPart, UUID> {
+
+    Optional<UploadPart> findByUploadSessionIdAndPartNumber(UUID uploadSessionId, Integer partNumber);
+
+    List<UploadPart> findByUploadSessionIdOrderByPartNumberAsc(UUID uploadSessionId);
+
+    @Modifying
+    @Query("DELETE FROM UploadPart p WHERE p.uploadSession.id = :uploadSessionId")
+    int deleteByUploadSessionId(@Param("uploadSessionId") UUID uploadSessionId);
+}
@@ -0,0 +1,33 @@
+package com.projectmaster.app.upload.repository;
+
+import com.projectmaster.app.upload.entity.UploadSession;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.LockModeType;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface UploadSessionRepository extends JpaRepository<UploadSession, UUID> {
+
+    /**
+     * Load a session for a state change, serialising completion, claim and abort
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM UploadSession s WHERE s.id = :id")
+    Optional<UploadSession> findByIdForUpdate(@Param("id") UUID id);
+
+    /**
+     * Lock uncompleted or unclaimed sessions that have passed their expiry time, skipping
+     * sessions another node is sweeping or a request is completing, claiming or aborting
+     */
+    @Query(value = "SELECT * FROM upload_sessions WHERE status IN ('INITIATED', 'COMPLETED') AND expires_at < :cutoff " +
+           "ORDER BY expires_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<UploadSession> lockExpired(@Param("cutoff") Instant cutoff, @Param("limit") int limit);
+}
@@ -0,0 +1,118 @@
+package com.projectmaster.app.upload.service;
+
+import com.projectmaster.app.common.enums.UploadSessionStatus;
+import com.projectmaster.app.common.exception.EntityNotFoundException;
+import com.projectmaster.app.common.exception.ProjectMasterException;
+import com.projectmaster.app.common.storage.BlobReferenceService;
+import com.projectmaster.app.common.storage.StoredBlob;
+import com.projectmaster.app.upload.entity.UploadPart;
+import com.projectmaster.app.upload.entity.UploadSession;
+import com.projectmaster.app.upload.repository.UploadPartRepository;
+import com.projectmaster.app.upload.repository.UploadSessionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Records the progress of a chunked upload in short transactions. Part content and the
+ * assembled file are stored (and referenced) before these run, so no connection or session
+ * lock is held while bytes are transferred or hashed.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class ChunkedUploadRecordService {
+
+    private final UploadSessionRepository sessionRepository;
+    private final UploadPartRepository partRepository;
+    private final BlobReferenceService blobReferenceService;
+
+    /**
+     * Record a verified part. The part takes over the reference already held on its content
+     * and drops the reference of a part it replaces.
+     */
+    public UploadSession recordPart(UUID uploadId, UUID userId, int partNumber, long size, String sha256) {
+        UploadSession session = getOwnedSessionForUpdate(uploadId, userId);
+        ChunkedUploadService.requireStatus(session, UploadSessionStatus.INITIATED);
+
+        UploadPart part = partRepository.findByUploadSessionIdAndPartNumber(uploadId, partNumber)
+                .orElseGet(() -> UploadPart.builder().uploadSession(session).partNumber(partNumber).build());
+        if (part.getSha256() != null) {
+            blobReferenceService.release(part.getSha256());
+        }
+        part.setSize(size);
+        part.setSha256(sha256);
+        partRepository.save(part);
+        return session;
+    }
+
+    /**
+     * Mark an upload completed as the given blob, assembled from the given parts. The session
+     * takes over the reference already held on the blob; if another request completed the
+     * upload first that reference is dropped instead. The completed upload is kept until
+     * expiresAt unless it is claimed.
+     */
+    public UploadSession completeUpload(UUID uploadId, UUID userId, List<UploadPart> assembledParts, StoredBlob blob,
+                                       Instant expiresAt) {
+        UploadSession session = getOwnedSessionForUpdate(uploadId, userId);
+        if (session.getStatus() == UploadSessionStatus.COMPLETED) {
+            blobReferenceService.release(blob.getKey());
+            return session;
+        }
+        ChunkedUploadService.requireStatus(session, UploadSessionStatus.INITIATED);
+
+        List<UploadPart> parts = partRepository.findByUploadSessionIdOrderByPartNumberAsc(uploadId);
+        if (!sameContent(parts, assembledParts)) {
+            throw new ProjectMasterException("Upload parts were replaced while it was being completed", "UPLOAD_PARTS_CHANGED");
+        }
+
+        session.setStorageKey(blob.getKey());
+        session.setStatus(UploadSessionStatus.COMPLETED);
+        session.setCompletedAt(Instant.now());
+        session.setExpiresAt(expiresAt);
+        sessionRepository.save(session);
+
+        releaseParts(parts);
+        partRepository.deleteByUploadSessionId(uploadId);
+        return session;
+    }
+
+    /**
+     * Drop the references held by a session's parts and remove them
+     */
+    public void discardParts(UUID uploadId) {
+        releaseParts(partRepository.findByUploadSessionIdOrderByPartNumberAsc(uploadId));
+        partRepository.deleteByUploadSessionId(uploadId);
+    }
+
+    private void releaseParts(List<UploadPart> parts) {
+        for (UploadPart part : parts) {
+            blobReferenceService.release(part.getSha256());
+        }
+    }
+
+    private UploadSession getOwnedSessionForUpdate(UUID uploadId, UUID userId) {
+        UploadSession session = sessionRepository.findByIdForUpdate(uploadId)
+                .orElseThrow(() -> new EntityNotFoundException("Upload not found: " + uploadId));
+        return ChunkedUploadService.requireOwner(session, userId);
+    }
+
+    private static boolean sameContent(List<UploadPart> parts, List<UploadPart> assembledParts) {
+        if (parts.size() != assembledParts.size()) {
+            return false;
+        }
+        for (int i = 0; i < parts.size(); i++) {
+            if (!parts.get(i).getPartNumber().equals(assembledParts.get(i).getPartNumber())
+                    || !parts.get(i).getSha256().equals(assembledParts.get(i).getSha256())) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
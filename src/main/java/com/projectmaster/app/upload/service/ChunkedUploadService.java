@@ -0,0 +1,435 @@
+package com.projectmaster.app.upload.service;
+
+import com.projectmaster.app.common.enums.UploadSessionStatus;
+import com.projectmaster.app.common.exception.EntityNotFoundException;
+import com.projectmaster.app.common.exception.ProjectMasterException;
+import com.projectmaster.app.common.storage.BlobReferenceService;
+import com.projectmaster.app.common.storage.BlobStorage;
+import com.projectmaster.app.common.storage.StoredBlob;
+import com.projectmaster.app.upload.dto.InitiateUploadRequest;
+import com.projectmaster.app.upload.dto.UploadSessionResponse;
+import com.projectmaster.app.upload.entity.UploadPart;
+import com.projectmaster.app.upload.entity.UploadSession;
+import com.projectmaster.app.upload.repository.UploadPartRepository;
+import com.projectmaster.app.upload.repository.UploadSessionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Resumable uploads: a client initiates a session, sends numbered parts (each verified
+ * against its SHA-256 in a local scratch file, then kept in blob storage under that hash),
+ * and completes the session once every part has arrived. Completion streams the parts into
+ * blob storage as one file, whose key is checked against the whole-file SHA-256. Parts live
+ * in blob storage rather than on the receiving node, so any node can take the next part or
+ * complete the upload. A part that fails mid-transfer is simply sent again; parts already
+ * acknowledged are kept. Bytes are transferred outside any transaction; progress is recorded
+ * in short ones by ChunkedUploadRecordService.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ChunkedUploadService {
+
+    private static final int MIN_PART_SIZE = 256 * 1024;
+    private static final Set<UploadSessionStatus> EXPIRABLE =
+            Set.of(UploadSessionStatus.INITIATED, UploadSessionStatus.COMPLETED);
+
+    private final UploadSessionRepository sessionRepository;
+    private final UploadPartRepository partRepository;
+    private final BlobStorage blobStorage;
+    private final BlobReferenceService blobReferenceService;
+    private final ChunkedUploadRecordService recordService;
+
+    @Value("${app.upload.chunked.staging-dir:uploads/chunks}")
+    private String stagingDir;
+
+    @Value("${app.upload.chunked.default-part-size:5242880}") // 5MB default
+    private int defaultPartSize;
+
+    @Value("${app.upload.chunked.max-part-size:16777216}") // 16MB default
+    private int maxPartSize;
+
+    @Value("${app.upload.chunked.max-file-size:524288000}") // 500MB default
+    private long maxFileSize;
+
+    @Value("${app.upload.chunked.expiry-hours:24}")
+    private long expiryHours;
+
+    /**
+     * Start a chunked upload
+     */
+    @Transactional
+    public UploadSessionResponse initiateUpload(InitiateUploadRequest request, UUID userId) {
+        if (request.getTotalSize() > maxFileSize) {
+            throw new ProjectMasterException("File size " + request.getTotalSize() + " exceeds maximum allowed size " + maxFileSize,
+                    "UPLOAD_TOO_LARGE");
+        }
+
+        int partSize = request.getPartSize() != null ? request.getPartSize() : defaultPartSize;
+        partSize = Math.max(MIN_PART_SIZE, Math.min(maxPartSize, partSize));
+        int totalParts = (int) Math.max(1, (request.getTotalSize() + partSize - 1) / partSize);
+
+        UploadSession session = UploadSession.builder()
+                .ownerId(userId)
+                .filename(request.getFilename())
+                .contentType(request.getContentType())
+                .totalSize(request.getTotalSize())
+                .partSize(partSize)
+                .totalParts(totalParts)
+                .sha256(request.getSha256().toLowerCase(Locale.ROOT))
+                .expiresAt(Instant.now().plus(Duration.ofHours(expiryHours)))
+                .build();
+        session = sessionRepository.save(session);
+
+        log.info("Initiated chunked upload {} for user {}: {} bytes in {} parts",
+                session.getId(), userId, session.getTotalSize(), totalParts);
+        return convertToResponse(session, List.of());
+    }
+
+    /**
+     * Receive one part. Re-sending an acknowledged part replaces it.
+     */
+    public UploadSessionResponse uploadPart(UUID uploadId, int partNumber, String partSha256,
+                                            InputStream content, UUID userId) {
+        UploadSession session = getOwnedSession(uploadId, userId);
+        requireStatus(session, UploadSessionStatus.INITIATED);
+
+        if (partNumber < 1 || partNumber > session.getTotalParts()) {
+            throw new ProjectMasterException("Part number must be between 1 and " + session.getTotalParts(),
+                    "INVALID_UPLOAD_PART");
+        }
+        if (partSha256 == null || !partSha256.matches("[0-9a-fA-F]{64}")) {
+            throw new ProjectMasterException("Part checksum must be a hex SHA-256", "INVALID_UPLOAD_PART");
+        }
+
+        long expectedSize = session.expectedPartSize(partNumber);
+        String sha256 = partSha256.toLowerCase(Locale.ROOT);
+        try {
+            storePart(partNumber, expectedSize, sha256, content);
+        } catch (IOException e) {
+            throw new ProjectMasterException("Failed to store upload part " + partNumber, "UPLOAD_PART_FAILED", e);
+        }
+
+        try {
+            session = recordService.recordPart(uploadId, userId, partNumber, expectedSize, sha256);
+        } catch (RuntimeException e) {
+            blobReferenceService.release(sha256);
+            throw e;
+        }
+        return convertToResponse(session, receivedParts(uploadId));
+    }
+
+    /**
+     * Get upload progress, including which parts still need to be sent
+     */
+    @Transactional(readOnly = true)
+    public UploadSessionResponse getUpload(UUID uploadId, UUID userId) {
+        UploadSession session = getOwnedSession(uploadId, userId);
+        return convertToResponse(session, receivedParts(uploadId));
+    }
+
+    /**
+     * Assemble the parts into blob storage once all have arrived
+     */
+    public UploadSessionResponse completeUpload(UUID uploadId, UUID userId) {
+        UploadSession session = getOwnedSession(uploadId, userId);
+        if (session.getStatus() == UploadSessionStatus.COMPLETED) {
+            return convertToResponse(session, allParts(session));
+        }
+        requireStatus(session, UploadSessionStatus.INITIATED);
+
+        List<UploadPart> parts = partRepository.findByUploadSessionIdOrderByPartNumberAsc(uploadId);
+        if (parts.size() != session.getTotalParts()) {
+            throw new ProjectMasterException("Upload is missing " + (session.getTotalParts() - parts.size()) + " parts",
+                    "UPLOAD_INCOMPLETE");
+        }
+
+        // The session holds a reference until the upload is attached or expires
+        StoredBlob blob;
+        try {
+            blob = blobReferenceService.storeAndAcquire(() -> openParts(parts));
+        } catch (IOException e) {
+            throw new ProjectMasterException("Failed to assemble upload " + uploadId, "UPLOAD_ASSEMBLY_FAILED", e);
+        }
+        // Blob keys are the SHA-256 of the content; a mismatched file is left for the collector
+        if (!blob.getKey().equals(session.getSha256())) {
+            blobReferenceService.release(blob.getKey());
+            throw new ProjectMasterException("Assembled file checksum does not match", "UPLOAD_CHECKSUM_MISMATCH");
+        }
+
+        try {
+            session = recordService.completeUpload(uploadId, userId, parts, blob,
+                    Instant.now().plus(Duration.ofHours(expiryHours)));
+        } catch (RuntimeException e) {
+            blobReferenceService.release(blob.getKey());
+            throw e;
+        }
+
+        log.info("Completed chunked upload {} as blob {}", uploadId, blob.getKey());
+        return convertToResponse(session, allParts(session));
+    }
+
+    /**
+     * Take a completed upload for attaching to a record. Each upload can be claimed once;
+     * the claim is undone if the caller's transaction rolls back.
+     */
+    @Transactional
+    public MultipartFile claimUpload(UUID uploadId, UUID userId) {
+        UploadSession session = getOwnedSessionForUpdate(uploadId, userId);
+        requireStatus(session, UploadSessionStatus.COMPLETED);
+        // The sweep may not have reached it yet; once expired it is the sweep's to discard
+        if (session.getExpiresAt().isBefore(Instant.now())) {
+            throw new ProjectMasterException("Upload has expired", "UPLOAD_EXPIRED");
+        }
+
+        session.setStatus(UploadSessionStatus.CONSUMED);
+        sessionRepository.save(session);
+
+        // The record the upload is attached to takes its own reference (or copies the bytes)
+        blobReferenceService.release(session.getStorageKey());
+
+        try {
+            return new UploadedBlobFile("file", session.getFilename(), session.getContentType(),
+                    session.getTotalSize(), blobStorage.load(session.getStorageKey()));
+        } catch (IOException e) {
+            throw new ProjectMasterException("Uploaded content is no longer available", "UPLOAD_CONTENT_MISSING", e);
+        }
+    }
+
+    /**
+     * Abandon an upload and discard anything received
+     */
+    @Transactional
+    public void abortUpload(UUID uploadId, UUID userId) {
+        UploadSession session = getOwnedSessionForUpdate(uploadId, userId);
+        discard(session, UploadSessionStatus.ABORTED);
+        log.info("Aborted chunked upload {}", uploadId);
+    }
+
+    /**
+     * Expire uploads that were never completed or never attached (scheduled job). The
+     * sessions are locked as they are read, so nodes sweeping at once, or a claim racing the
+     * sweep, never discard (and release) the same session twice.
+     */
+    @Scheduled(cron = "${app.upload.chunked.cleanup-cron:0 0 * * * ?}") // Run hourly by default
+    @Transactional
+    public void expireStaleUploads() {
+        Instant now = Instant.now();
+        List<UploadSession> expired = sessionRepository.lockExpired(now, 500);
+        for (UploadSession session : expired) {
+            // Re-checked under the lock, in case the row was loaded earlier in this session
+            if (!EXPIRABLE.contains(session.getStatus()) || !session.getExpiresAt().isBefore(now)) {
+                continue;
+            }
+            discard(session, UploadSessionStatus.EXPIRED);
+        }
+        if (!expired.isEmpty()) {
+            log.info("Expired {} stale chunked uploads", expired.size());
+        }
+    }
+
+    private void discard(UploadSession session, UploadSessionStatus finalStatus) {
+        if (session.getStatus() == UploadSessionStatus.COMPLETED) {
+            blobReferenceService.release(session.getStorageKey());
+        } else if (session.getStatus() != UploadSessionStatus.INITIATED) {
+            throw new ProjectMasterException("Upload is already " + session.getStatus().getDisplayName().toLowerCase(Locale.ROOT),
+                    "INVALID_UPLOAD_STATE");
+        }
+
+        recordService.discardParts(session.getId());
+        session.setStatus(finalStatus);
+        sessionRepository.save(session);
+    }
+
+    /**
+     * Verify a part in a local scratch file, then store it in blob storage under its SHA-256
+     * and take a reference to it
+     */
+    private void storePart(int partNumber, long expectedSize, String expectedSha256,
+                           InputStream content) throws IOException {
+        Path directory = Paths.get(stagingDir);
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, "part-" + partNumber + "-", ".tmp");
+        try {
+            MessageDigest digest = newDigest();
+            long written;
+            // Read at most one byte past the expected size so an oversized part is rejected early
+            try (InputStream in = new DigestInputStream(limit(content, expectedSize + 1), digest);
+                 OutputStream out = Files.newOutputStream(temp)) {
+                written = in.transferTo(out);
+            }
+
+            if (written != expectedSize) {
+                throw new ProjectMasterException("Part " + partNumber + " must be " + expectedSize + " bytes", "INVALID_UPLOAD_PART");
+            }
+            if (!HexFormat.of().formatHex(digest.digest()).equals(expectedSha256)) {
+                throw new ProjectMasterException("Part " + partNumber + " checksum does not match", "UPLOAD_CHECKSUM_MISMATCH");
+            }
+
+            blobReferenceService.storeAndAcquire(new FileSystemResource(temp));
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Open the stored parts as one stream, each part opened only when reached
+     */
+    private InputStream openParts(List<UploadPart> parts) {
+        Iterator<UploadPart> remaining = parts.iterator();
+        Enumeration<InputStream> streams = new Enumeration<>() {
+            @Override
+            public boolean hasMoreElements() {
+                return remaining.hasNext();
+            }
+
+            @Override
+            public InputStream nextElement() {
+                UploadPart part = remaining.next();
+                try {
+                    return blobStorage.load(part.getSha256()).getInputStream();
+                } catch (IOException e) {
+                    throw new ProjectMasterException("Upload part " + part.getPartNumber() + " is missing from storage",
+                            "UPLOAD_ASSEMBLY_FAILED", e);
+                }
+            }
+        };
+        return new SequenceInputStream(streams);
+    }
+
+    private UploadSession getOwnedSession(UUID uploadId, UUID userId) {
+        UploadSession session = sessionRepository.findById(uploadId)
+                .orElseThrow(() -> new EntityNotFoundException("Upload not found: " + uploadId));
+        return requireOwner(session, userId);
+    }
+
+    private UploadSession getOwnedSessionForUpdate(UUID uploadId, UUID userId) {
+        UploadSession session = sessionRepository.findByIdForUpdate(uploadId)
+                .orElseThrow(() -> new EntityNotFoundException("Upload not found: " + uploadId));
+        return requireOwner(session, userId);
+    }
+
+    static UploadSession requireOwner(UploadSession session, UUID userId) {
+        // Other users' uploads are reported as missing rather than forbidden
+        if (!session.getOwnerId().equals(userId)) {
+            throw new EntityNotFoundException("Upload not found: " + session.getId());
+        }
+        return session;
+    }
+
+    static void requireStatus(UploadSession session, UploadSessionStatus expected) {
+        if (session.getStatus() != expected) {
+            throw new ProjectMasterException("Upload is " + session.getStatus().getDisplayName().toLowerCase(Locale.ROOT)
+                    + ", expected " + expected.getDisplayName().toLowerCase(Locale.ROOT), "INVALID_UPLOAD_STATE");
+        }
+        if (expected == UploadSessionStatus.INITIATED && session.getExpiresAt().isBefore(Instant.now())) {
+            throw new ProjectMasterException("Upload has expired", "INVALID_UPLOAD_STATE");
+        }
+    }
+
+    private List<Integer> receivedParts(UUID uploadId) {
+        return partRepository.findByUploadSessionIdOrderByPartNumberAsc(uploadId).stream()
+                .map(UploadPart::getPartNumber)
+                .toList();
+    }
+
+    private static List<Integer> allParts(UploadSession session) {
+        List<Integer> parts = new ArrayList<>(session.getTotalParts());
+        for (int i = 1; i <= session.getTotalParts(); i++) {
+            parts.add(i);
+        }
+        return parts;
+    }
+
+    private UploadSessionResponse convertToResponse(UploadSession session, List<Integer> receivedParts) {
+        Integer nextPart = null;
+        if (session.getStatus() == UploadSessionStatus.INITIATED) {
+            for (int i = 1; i <= session.getTotalParts(); i++) {
+                if (!receivedParts.contains(i)) {
+                    nextPart = i;
+                    break;
+                }
+            }
+        }
+
+        return UploadSessionResponse.builder()
+                .uploadId(session.getId())
+                .filename(session.getFilename())
+                .contentType(session.getContentType())
+                .totalSize(session.getTotalSize())
+                .partSize(session.getPartSize())
+                .totalParts(session.getTotalParts())
+                .sha256(session.getSha256())
+                .status(session.getStatus())
+                .receivedParts(Collections.unmodifiableList(receivedParts))
+                .nextPart(nextPart)
+                .expiresAt(session.getExpiresAt())
+                .build();
+    }
+
+    private static InputStream limit(InputStream in, long maxBytes) {
+        return new InputStream() {
+            private long remaining = maxBytes;
+
+            @Override
+            public int read() throws IOException {
+                if (remaining <= 0) {
+                    return -1;
+                }
+                int b = in.read();
+                if (b >= 0) {
+                    remaining--;
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                if (remaining <= 0) {
+                    return -1;
+                }
+                int n = in.read(buffer, offset, (int) Math.min(length, remaining));
+                if (n > 0) {
+                    remaining -= n;
+                }
+                return n;
+            }
+        };
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
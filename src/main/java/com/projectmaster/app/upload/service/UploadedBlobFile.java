@@ -0,0 +1,79 @@
+package com.projectmaster.app.upload.service;
+
+import org.springframework.core.io.Resource;
+import org.springframework.lang.NonNull;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Presents an assembled chunked upload as a MultipartFile, so services that accept
+ * multipart uploads can take a completed upload unchanged. Content streams from blob storage.
+ */
+public class UploadedBlobFile implements MultipartFile {
+
+    private final String name;
+    private final String originalFilename;
+    private final String contentType;
+    private final long size;
+    private final Resource content;
+
+    public UploadedBlobFile(String name, String originalFilename, String contentType, long size, Resource content) {
+        this.name = name;
+        this.originalFilename = originalFilename;
+        this.contentType = contentType;
+        this.size = size;
+        this.content = content;
+    }
+
+    @Override
+    @NonNull
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getOriginalFilename() {
+        return originalFilename;
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public long getSize() {
+        return size;
+    }
+
+    @Override
+    @NonNull
+    public byte[] getBytes() throws IOException {
+        try (InputStream inputStream = content.getInputStream()) {
+            return inputStream.readAllBytes();
+        }
+    }
+
+    @Override
+    @NonNull
+    public InputStream getInputStream() throws IOException {
+        return content.getInputStream();
+    }
+
+    @Override
+    public void transferTo(@NonNull File dest) throws IOException, IllegalStateException {
+        try (InputStream inputStream = content.getInputStream()) {
+            Files.copy(inputStream, dest.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -56,6 +56,10 @@ public class User extends BaseEntity {
     @Column(name = "last_login_at")
     private Instant lastLoginAt;
 
+    // Tokens issued before this time are rejected; moved forward when the password changes
+    @Column(name = "tokens_valid_after")
+    private Instant tokensValidAfter;
+
     public String getFullName() {
         return firstName + " " + lastName;
     }
@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -55,4 +56,12 @@ public interface UserRepository extends JpaRepository<User, UUID> {
 
     // Check if super user exists
     boolean existsByRoleAndActiveTrue(UserRole role);
+
+    // Users whose tokens-valid-after epoch moved after a point in time, for token revocation
+    List<TokenEpoch> findByTokensValidAfterAfter(Instant since);
+
+    interface TokenEpoch {
+        UUID getId();
+        Instant getTokensValidAfter();
+    }
 }
\ No newline at end of file
@@ -4,6 +4,8 @@ import com.projectmaster.app.common.enums.UserRole;
 import com.projectmaster.app.common.exception.EntityNotFoundException;
 import com.projectmaster.app.common.exception.ProjectMasterException;
 import com.projectmaster.app.config.PasswordConfig.SimplePasswordEncoder;
+import com.projectmaster.app.security.service.TokenRevocationService;
+import com.projectmaster.app.security.service.UserStateCache;
 import com.projectmaster.app.user.dto.*;
 import com.projectmaster.app.company.dto.CompanyDto;
 import com.projectmaster.app.company.dto.CompanyWithAdminResponse;
@@ -30,7 +32,8 @@ public class SuperUserService {
     private final UserRepository userRepository;
     private final CompanyRepository companyRepository;
     private final SimplePasswordEncoder passwordEncoder;
-    private final com.projectmaster.app.core.service.HolidayService holidayService;
+    private final UserStateCache userStateCache;
+    private final TokenRevocationService tokenRevocationService;
 
     /**
      * Create a company with an admin user - only accessible by super users
@@ -67,15 +70,6 @@ public class SuperUserService {
         Company savedCompany = companyRepository.save(company);
         log.info("Company created successfully with ID: {}", savedCompany.getId());
 
-        // Copy master holidays to the new company
-        try {
-            holidayService.copyMasterHolidaysToCompany(savedCompany.getId());
-            log.info("Successfully copied master holidays to company: {}", savedCompany.getName());
-        } catch (Exception e) {
-            log.error("Failed to copy master holidays to company: {}", savedCompany.getName(), e);
-            // Don't throw exception here to avoid rolling back company creation
-        }
-
         // Create admin user for the company
         User adminUser = User.builder()
                 .company(savedCompany)
@@ -215,8 +209,12 @@ public class SuperUserService {
 
         // Deactivate all users in the company
         List<User> companyUsers = userRepository.findByCompanyIdAndActiveTrue(companyId);
-        companyUsers.forEach(user -> user.setActive(false));
+        companyUsers.forEach(user -> {
+            user.setActive(false);
+            tokenRevocationService.revokeAllForUser(user);
+        });
         userRepository.saveAll(companyUsers);
+        companyUsers.forEach(user -> userStateCache.evict(user.getId()));
 
         log.info("Company and {} users deactivated successfully", companyUsers.size());
     }
@@ -5,6 +5,8 @@ import com.projectmaster.app.common.exception.EntityNotFoundException;
 import com.projectmaster.app.common.exception.ProjectMasterException;
 import com.projectmaster.app.config.PasswordConfig.SimplePasswordEncoder;
 import com.projectmaster.app.security.service.CustomUserDetailsService;
+import com.projectmaster.app.security.service.TokenRevocationService;
+import com.projectmaster.app.security.service.UserStateCache;
 import com.projectmaster.app.user.dto.CreateUserRequest;
 import com.projectmaster.app.user.dto.UserDto;
 import com.projectmaster.app.company.entity.Company;
@@ -37,6 +39,8 @@ public class UserService {
     private final CompanyRepository companyRepository;
     private final ContractingCompanyRepository contractingCompanyRepository;
     private final SimplePasswordEncoder passwordEncoder;
+    private final UserStateCache userStateCache;
+    private final TokenRevocationService tokenRevocationService;
 
     public UserDto createUser(CreateUserRequest request, Authentication authentication) {
         log.info("Creating user with email: {}", request.getEmail());
@@ -310,9 +314,12 @@ public class UserService {
         // Update password if provided
         if (request.getPassword() != null && !request.getPassword().trim().isEmpty()) {
             user.setPasswordHash(passwordEncoder.encode(request.getPassword()));
+            // A new password signs out every session opened with the old one
+            tokenRevocationService.revokeAllForUser(user);
         }
 
         User updatedUser = userRepository.save(user);
+        userStateCache.evict(updatedUser.getId());
         log.info("User updated successfully with ID: {}", updatedUser.getId());
 
         return mapToDto(updatedUser);
@@ -357,9 +364,12 @@ public class UserService {
         // Update password if provided
         if (request.getPassword() != null && !request.getPassword().trim().isEmpty()) {
             user.setPasswordHash(passwordEncoder.encode(request.getPassword()));
+            // A new password signs out every session opened with the old one
+            tokenRevocationService.revokeAllForUser(user);
         }
 
         User updatedUser = userRepository.save(user);
+        userStateCache.evict(updatedUser.getId());
         log.info("User updated successfully with ID: {} (internal service call)", updatedUser.getId());
 
         return mapToDto(updatedUser);
@@ -372,7 +382,9 @@ public class UserService {
                 .orElseThrow(() -> new EntityNotFoundException("User", id));
 
         user.setActive(false);
+        tokenRevocationService.revokeAllForUser(user);
         userRepository.save(user);
+        userStateCache.evict(id);
 
         log.info("User deactivated successfully with ID: {}", id);
     }
@@ -385,6 +397,7 @@ public class UserService {
 
         user.setActive(true);
         userRepository.save(user);
+        userStateCache.evict(id);
 
         log.info("User activated successfully with ID: {}", id);
     }
@@ -3,9 +3,11 @@ package com.projectmaster.app.workflow.controller;
 import com.projectmaster.app.common.dto.ApiResponse;
 import com.projectmaster.app.security.service.CustomUserDetailsService;
 import com.projectmaster.app.security.service.JwtService;
+import com.projectmaster.app.workflow.dto.WorkflowCopyJobResponse;
 import com.projectmaster.app.workflow.dto.WorkflowTemplateDto;
 import com.projectmaster.app.workflow.dto.WorkflowTemplateDetailResponse;
 import com.projectmaster.app.workflow.dto.WorkflowTemplateRequest;
+import com.projectmaster.app.workflow.service.WorkflowCopyJobService;
 import com.projectmaster.app.workflow.service.WorkflowTemplateManagementService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -30,6 +32,7 @@ import java.util.UUID;
 public class WorkflowTemplateController {
     
     private final WorkflowTemplateManagementService workflowTemplateManagementService;
+    private final WorkflowCopyJobService workflowCopyJobService;
     private final JwtService jwtService;
     
     /**
@@ -179,6 +182,43 @@ public class WorkflowTemplateController {
         }
     }
     
+    /**
+     * Get the progress of the company's latest standard workflow copy
+     */
+    @GetMapping("/copy-jobs/latest")
+    @Operation(summary = "Get latest workflow copy job",
+               description = "Get the progress of the latest copy of standard workflows to the company")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Copy job retrieved successfully"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "No copy job found")
+    })
+    public ResponseEntity<ApiResponse<WorkflowCopyJobResponse>> getLatestWorkflowCopyJob(
+            HttpServletRequest httpRequest) {
+        
+        UUID companyId = getCompanyIdFromJwt(httpRequest);
+        WorkflowCopyJobResponse job = workflowCopyJobService.getLatestJob(companyId);
+        return ResponseEntity.ok(ApiResponse.success(job));
+    }
+    
+    /**
+     * Get the progress of a standard workflow copy
+     */
+    @GetMapping("/copy-jobs/{jobId}")
+    @Operation(summary = "Get workflow copy job",
+               description = "Get the progress of a copy of standard workflows to the company")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Copy job retrieved successfully"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Copy job not found")
+    })
+    public ResponseEntity<ApiResponse<WorkflowCopyJobResponse>> getWorkflowCopyJob(
+            @PathVariable UUID jobId,
+            HttpServletRequest httpRequest) {
+        
+        UUID companyId = getCompanyIdFromJwt(httpRequest);
+        WorkflowCopyJobResponse job = workflowCopyJobService.getJob(jobId, companyId);
+        return ResponseEntity.ok(ApiResponse.success(job));
+    }
+    
     private UUID getCompanyIdFromJwt(HttpServletRequest request) {
         String authHeader = request.getHeader("Authorization");
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
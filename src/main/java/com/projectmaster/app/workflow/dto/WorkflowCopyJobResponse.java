@@ -0,0 +1,32 @@
+package com.projectmaster.app.workflow.dto;
+
+import com.projectmaster.app.workflow.entity.WorkflowCopyJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Progress of a standard workflow copy; processed templates are copied plus skipped ones
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkflowCopyJobResponse {
+
+    private UUID jobId;
+    private UUID companyId;
+    private WorkflowCopyJobStatus status;
+    private Integer totalTemplates;
+    private Integer copiedTemplates;
+    private Integer skippedTemplates;
+    private Integer percentComplete;
+    private String currentTemplate;
+    private String errorMessage;
+    private Instant startedAt;
+    private Instant completedAt;
+}
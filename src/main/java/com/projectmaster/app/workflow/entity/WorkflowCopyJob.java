@@ -0,0 +1,59 @@
+package com.projectmaster.app.workflow.entity;
+
+import com.projectmaster.app.common.entity.BaseEntity;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A background copy of the active standard workflow templates to a company, started when
+ * the company is onboarded. Each template is copied in its own transaction and the counts
+ * are updated as it goes, so the job can be polled for progress and resumed after a restart;
+ * templates the company already has by name are skipped.
+ */
+@Entity
+@Table(name = "workflow_copy_jobs", indexes = {
+    @Index(name = "idx_workflow_copy_jobs_company", columnList = "company_id"),
+    @Index(name = "idx_workflow_copy_jobs_status_updated", columnList = "status, updated_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WorkflowCopyJob extends BaseEntity {
+
+    @Column(name = "company_id", nullable = false)
+    private UUID companyId;
+
+    @Enumerated(EnumType.STRING)
+    @Builder.Default
+    @Column(name = "status", nullable = false, length = 20)
+    private WorkflowCopyJobStatus status = WorkflowCopyJobStatus.PENDING;
+
+    @Builder.Default
+    @Column(name = "total_templates", nullable = false)
+    private Integer totalTemplates = 0;
+
+    @Builder.Default
+    @Column(name = "copied_templates", nullable = false)
+    private Integer copiedTemplates = 0;
+
+    @Builder.Default
+    @Column(name = "skipped_templates", nullable = false)
+    private Integer skippedTemplates = 0;
+
+    @Column(name = "current_template")
+    private String currentTemplate;
+
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+
+    @Column(name = "started_at")
+    private Instant startedAt;
+
+    @Column(name = "completed_at")
+    private Instant completedAt;
+}
@@ -0,0 +1,11 @@
+package com.projectmaster.app.workflow.entity;
+
+/**
+ * Progress of a background copy of standard workflow templates to a company
+ */
+public enum WorkflowCopyJobStatus {
+    PENDING,    // Waiting for the creating transaction to commit
+    RUNNING,    // Copying templates
+    COMPLETED,  // Every template was copied or already existed
+    FAILED      // A template could not be copied; see the error message
+}
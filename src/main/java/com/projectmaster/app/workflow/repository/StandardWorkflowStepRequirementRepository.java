@@ -34,4 +34,13 @@ public interface StandardWorkflowStepRequirementRepository extends JpaRepository
            "AND s.active = true " +
            "ORDER BY s.standardWorkflowStep.createdAt ASC, s.displayOrder ASC")
     List<StandardWorkflowStepRequirement> findActiveByStandardWorkflowStepIds(@Param("standardWorkflowStepIds") List<UUID> standardWorkflowStepIds);
+
+    /**
+     * Find all active requirements of every step in a standard workflow template
+     */
+    @Query("SELECT s FROM StandardWorkflowStepRequirement s " +
+           "WHERE s.standardWorkflowStep.standardWorkflowTask.standardWorkflowStage.standardWorkflowTemplate.id = :templateId " +
+           "AND s.active = true " +
+           "ORDER BY s.displayOrder ASC")
+    List<StandardWorkflowStepRequirement> findActiveByStandardWorkflowTemplateId(@Param("templateId") UUID templateId);
 }
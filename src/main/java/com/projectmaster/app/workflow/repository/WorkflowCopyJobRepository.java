@@ -0,0 +1,87 @@
+package com.projectmaster.app.workflow.repository;
+
+import com.projectmaster.app.workflow.entity.WorkflowCopyJob;
+import com.projectmaster.app.workflow.entity.WorkflowCopyJobStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface WorkflowCopyJobRepository extends JpaRepository<WorkflowCopyJob, UUID> {
+
+    Optional<WorkflowCopyJob> findByIdAndCompanyId(UUID id, UUID companyId);
+
+    /**
+     * Find the most recent copy job of a company
+     */
+    Optional<WorkflowCopyJob> findFirstByCompanyIdOrderByCreatedAtDesc(UUID companyId);
+
+    /**
+     * Find unfinished jobs that were last touched before the cutoff
+     */
+    @Query("SELECT j.id FROM WorkflowCopyJob j WHERE j.status IN :statuses AND j.updatedAt < :cutoff ORDER BY j.updatedAt")
+    List<UUID> findIdsByStatusInAndUpdatedAtBefore(@Param("statuses") Collection<WorkflowCopyJobStatus> statuses,
+                                                   @Param("cutoff") Instant cutoff,
+                                                   Limit limit);
+
+    /**
+     * Claim a pending job, or a running one whose runner has not touched it since
+     * staleBefore, setting updatedAt to now as the claim's lease; returns 0 if the job has
+     * finished or another runner holds it
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE WorkflowCopyJob j SET j.status = com.projectmaster.app.workflow.entity.WorkflowCopyJobStatus.RUNNING, " +
+           "j.totalTemplates = :totalTemplates, j.startedAt = COALESCE(j.startedAt, :now), j.updatedAt = :now " +
+           "WHERE j.id = :id AND (j.status = com.projectmaster.app.workflow.entity.WorkflowCopyJobStatus.PENDING " +
+           "OR (j.status = com.projectmaster.app.workflow.entity.WorkflowCopyJobStatus.RUNNING AND j.updatedAt < :staleBefore))")
+    int markRunning(@Param("id") UUID id,
+                    @Param("totalTemplates") int totalTemplates,
+                    @Param("now") Instant now,
+                    @Param("staleBefore") Instant staleBefore);
+
+    /**
+     * Record the counts so far and the template being copied next, renewing the lease from
+     * lease to now; returns 0 if another runner has claimed the job since
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE WorkflowCopyJob j SET j.copiedTemplates = :copied, j.skippedTemplates = :skipped, " +
+           "j.currentTemplate = :currentTemplate, j.updatedAt = :now " +
+           "WHERE j.id = :id AND j.status = com.projectmaster.app.workflow.entity.WorkflowCopyJobStatus.RUNNING " +
+           "AND j.updatedAt = :lease")
+    int recordProgress(@Param("id") UUID id,
+                       @Param("copied") int copied,
+                       @Param("skipped") int skipped,
+                       @Param("currentTemplate") String currentTemplate,
+                       @Param("lease") Instant lease,
+                       @Param("now") Instant now);
+
+    /**
+     * Finish a running job with its final counts; returns 0 if another runner has claimed
+     * the job since lease
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE WorkflowCopyJob j SET j.status = :status, j.copiedTemplates = :copied, j.skippedTemplates = :skipped, " +
+           "j.errorMessage = :errorMessage, j.completedAt = :now, j.updatedAt = :now " +
+           "WHERE j.id = :id AND j.status = com.projectmaster.app.workflow.entity.WorkflowCopyJobStatus.RUNNING " +
+           "AND j.updatedAt = :lease")
+    int markFinished(@Param("id") UUID id,
+                     @Param("status") WorkflowCopyJobStatus status,
+                     @Param("copied") int copied,
+                     @Param("skipped") int skipped,
+                     @Param("errorMessage") String errorMessage,
+                     @Param("lease") Instant lease,
+                     @Param("now") Instant now);
+}
@@ -76,4 +76,12 @@ public interface WorkflowStepRequirementRepository extends JpaRepository<Workflo
      * Find all requirements for a workflow step for bulk operations
      */
     List<WorkflowStepRequirement> findByWorkflowStepId(UUID workflowStepId);
+
+    /**
+     * Find all requirements of every step in a workflow template
+     */
+    @Query("SELECT wsr FROM WorkflowStepRequirement wsr " +
+           "WHERE wsr.workflowStep.workflowTask.workflowStage.workflowTemplate.id = :templateId " +
+           "ORDER BY wsr.displayOrder")
+    List<WorkflowStepRequirement> findByWorkflowTemplateIdOrderByDisplayOrder(@Param("templateId") UUID templateId);
 }
@@ -0,0 +1,210 @@
+package com.projectmaster.app.workflow.repository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+/**
+ * Copies a whole workflow template tree into an already saved target template with one
+ * INSERT ... SELECT per level. Every source stage, task and step is first given a new id in
+ * a temporary old-to-new id table, which the inserts join to remap parent references and
+ * both ends of each dependency. The statements join the caller's transaction; the target
+ * template row must have been flushed first. Copies keep the source order: tasks and steps
+ * are read back by created_at, so copied rows get created_at one microsecond apart.
+ */
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class WorkflowTemplateCopier {
+
+    public record CopiedTree(int stages, int tasks, int steps, int requirements, int dependencies) {
+    }
+
+    // Dropped at commit; truncated when several templates are copied in one transaction
+    private static final String CREATE_ID_MAP_SQL =
+            "CREATE TEMP TABLE IF NOT EXISTS workflow_copy_id_map (old_id UUID PRIMARY KEY, new_id UUID NOT NULL) " +
+            "ON COMMIT DROP";
+
+    private static final String CLEAR_ID_MAP_SQL = "TRUNCATE workflow_copy_id_map";
+
+    private static final String ROW_CREATED_AT =
+            "now() + row_number() OVER (ORDER BY %s) * INTERVAL '1 microsecond'";
+
+    // Company template to company template
+
+    private static final String MAP_STAGES_SQL =
+            "INSERT INTO workflow_copy_id_map (old_id, new_id) " +
+            "SELECT s.id, gen_random_uuid() FROM workflow_stages s WHERE s.workflow_template_id = ?";
+
+    private static final String MAP_TASKS_SQL =
+            "INSERT INTO workflow_copy_id_map (old_id, new_id) " +
+            "SELECT t.id, gen_random_uuid() FROM workflow_tasks t " +
+            "JOIN workflow_stages s ON s.id = t.workflow_stage_id WHERE s.workflow_template_id = ?";
+
+    private static final String MAP_STEPS_SQL =
+            "INSERT INTO workflow_copy_id_map (old_id, new_id) " +
+            "SELECT st.id, gen_random_uuid() FROM workflow_steps st " +
+            "JOIN workflow_tasks t ON t.id = st.workflow_task_id " +
+            "JOIN workflow_stages s ON s.id = t.workflow_stage_id WHERE s.workflow_template_id = ?";
+
+    private static final String COPY_STAGES_SQL =
+            "INSERT INTO workflow_stages (id, workflow_template_id, name, description, order_index, parallel_execution, " +
+            "required_approvals, estimated_duration_days, version, standard_workflow_stage_id, created_at, updated_at) " +
+            "SELECT m.new_id, ?, s.name, s.description, s.order_index, s.parallel_execution, s.required_approvals, " +
+            "s.estimated_duration_days, 1, s.id, " + ROW_CREATED_AT.formatted("s.order_index, s.created_at") + ", now() " +
+            "FROM workflow_stages s JOIN workflow_copy_id_map m ON m.old_id = s.id " +
+            "WHERE s.workflow_template_id = ?";
+
+    private static final String COPY_TASKS_SQL =
+            "INSERT INTO workflow_tasks (id, workflow_stage_id, name, description, estimated_days, version, " +
+            "standard_workflow_task_id, created_at, updated_at) " +
+            "SELECT m.new_id, ms.new_id, t.name, t.description, t.estimated_days, 1, t.id, " +
+            ROW_CREATED_AT.formatted("t.created_at") + ", now() " +
+            "FROM workflow_tasks t JOIN workflow_stages s ON s.id = t.workflow_stage_id " +
+            "JOIN workflow_copy_id_map m ON m.old_id = t.id JOIN workflow_copy_id_map ms ON ms.old_id = s.id " +
+            "WHERE s.workflow_template_id = ?";
+
+    private static final String COPY_STEPS_SQL =
+            "INSERT INTO workflow_steps (id, workflow_task_id, name, description, estimated_days, version, specialty_id, " +
+            "standard_workflow_step_id, created_at, updated_at) " +
+            "SELECT m.new_id, mt.new_id, st.name, st.description, st.estimated_days, 1, st.specialty_id, st.id, " +
+            ROW_CREATED_AT.formatted("st.created_at") + ", now() " +
+            "FROM workflow_steps st JOIN workflow_tasks t ON t.id = st.workflow_task_id " +
+            "JOIN workflow_stages s ON s.id = t.workflow_stage_id " +
+            "JOIN workflow_copy_id_map m ON m.old_id = st.id JOIN workflow_copy_id_map mt ON mt.old_id = t.id " +
+            "WHERE s.workflow_template_id = ?";
+
+    private static final String COPY_REQUIREMENTS_SQL =
+            "INSERT INTO workflow_step_requirements (id, workflow_step_id, consumable_category_id, supplier_id, item_name, " +
+            "item_description, brand, model, default_quantity, unit, estimated_cost, procurement_type, is_optional, notes, " +
+            "display_order, supplier_item_code, template_notes, customer_selectable, created_at, updated_at) " +
+            "SELECT gen_random_uuid(), m.new_id, r.consumable_category_id, r.supplier_id, r.item_name, r.item_description, " +
+            "r.brand, r.model, r.default_quantity, r.unit, r.estimated_cost, r.procurement_type, r.is_optional, r.notes, " +
+            "r.display_order, r.supplier_item_code, r.template_notes, r.customer_selectable, now(), now() " +
+            "FROM workflow_step_requirements r JOIN workflow_copy_id_map m ON m.old_id = r.workflow_step_id";
+
+    // Stage dependencies are not copied between company templates
+    private static final String COPY_DEPENDENCIES_SQL =
+            "INSERT INTO workflow_dependencies (id, workflow_template_id, dependent_entity_type, dependent_entity_id, " +
+            "depends_on_entity_type, depends_on_entity_id, dependency_type, lag_days, created_at, updated_at) " +
+            "SELECT gen_random_uuid(), ?, d.dependent_entity_type, md.new_id, d.depends_on_entity_type, mo.new_id, " +
+            "d.dependency_type, d.lag_days, now(), now() " +
+            "FROM workflow_dependencies d JOIN workflow_copy_id_map md ON md.old_id = d.dependent_entity_id " +
+            "JOIN workflow_copy_id_map mo ON mo.old_id = d.depends_on_entity_id " +
+            "WHERE d.workflow_template_id = ? AND d.dependent_entity_type IN ('STEP', 'TASK')";
+
+    // Standard template to company template
+
+    private static final String MAP_STANDARD_STAGES_SQL =
+            "INSERT INTO workflow_copy_id_map (old_id, new_id) " +
+            "SELECT s.id, gen_random_uuid() FROM standard_workflow_stages s WHERE s.standard_workflow_template_id = ?";
+
+    private static final String MAP_STANDARD_TASKS_SQL =
+            "INSERT INTO workflow_copy_id_map (old_id, new_id) " +
+            "SELECT t.id, gen_random_uuid() FROM standard_workflow_tasks t " +
+            "JOIN standard_workflow_stages s ON s.id = t.standard_workflow_stage_id " +
+            "WHERE s.standard_workflow_template_id = ?";
+
+    private static final String MAP_STANDARD_STEPS_SQL =
+            "INSERT INTO workflow_copy_id_map (old_id, new_id) " +
+            "SELECT st.id, gen_random_uuid() FROM standard_workflow_steps st " +
+            "JOIN standard_workflow_tasks t ON t.id = st.standard_workflow_task_id " +
+            "JOIN standard_workflow_stages s ON s.id = t.standard_workflow_stage_id " +
+            "WHERE s.standard_workflow_template_id = ?";
+
+    private static final String COPY_STANDARD_STAGES_SQL =
+            "INSERT INTO workflow_stages (id, workflow_template_id, name, description, order_index, parallel_execution, " +
+            "required_approvals, estimated_duration_days, version, standard_workflow_stage_id, created_at, updated_at) " +
+            "SELECT m.new_id, ?, s.name, s.description, s.order_index, s.parallel_execution, s.required_approvals, " +
+            "s.estimated_duration_days, 1, s.id, " + ROW_CREATED_AT.formatted("s.order_index, s.created_at") + ", now() " +
+            "FROM standard_workflow_stages s JOIN workflow_copy_id_map m ON m.old_id = s.id " +
+            "WHERE s.standard_workflow_template_id = ?";
+
+    private static final String COPY_STANDARD_TASKS_SQL =
+            "INSERT INTO workflow_tasks (id, workflow_stage_id, name, description, estimated_days, version, " +
+            "standard_workflow_task_id, created_at, updated_at) " +
+            "SELECT m.new_id, ms.new_id, t.name, t.description, t.estimated_days, 1, t.id, " +
+            ROW_CREATED_AT.formatted("t.created_at") + ", now() " +
+            "FROM standard_workflow_tasks t JOIN standard_workflow_stages s ON s.id = t.standard_workflow_stage_id " +
+            "JOIN workflow_copy_id_map m ON m.old_id = t.id JOIN workflow_copy_id_map ms ON ms.old_id = s.id " +
+            "WHERE s.standard_workflow_template_id = ?";
+
+    private static final String COPY_STANDARD_STEPS_SQL =
+            "INSERT INTO workflow_steps (id, workflow_task_id, name, description, estimated_days, version, specialty_id, " +
+            "standard_workflow_step_id, created_at, updated_at) " +
+            "SELECT m.new_id, mt.new_id, st.name, st.description, st.estimated_days, 1, st.specialty_id, st.id, " +
+            ROW_CREATED_AT.formatted("st.created_at") + ", now() " +
+            "FROM standard_workflow_steps st JOIN standard_workflow_tasks t ON t.id = st.standard_workflow_task_id " +
+            "JOIN standard_workflow_stages s ON s.id = t.standard_workflow_stage_id " +
+            "JOIN workflow_copy_id_map m ON m.old_id = st.id JOIN workflow_copy_id_map mt ON mt.old_id = t.id " +
+            "WHERE s.standard_workflow_template_id = ?";
+
+    // Only active requirements; company copies are bought and required until edited
+    private static final String COPY_STANDARD_REQUIREMENTS_SQL =
+            "INSERT INTO workflow_step_requirements (id, workflow_step_id, consumable_category_id, item_name, " +
+            "item_description, procurement_type, is_optional, display_order, customer_selectable, created_at, updated_at) " +
+            "SELECT gen_random_uuid(), m.new_id, r.consumable_category_id, r.item_name, r.item_description, 'BUY', false, " +
+            "r.display_order, r.customer_selectable, now(), now() " +
+            "FROM standard_workflow_step_requirements r JOIN workflow_copy_id_map m ON m.old_id = r.standard_workflow_step_id " +
+            "WHERE r.active = true";
+
+    // Stage-level standard dependencies become task-level company dependencies
+    private static final String COPY_STANDARD_DEPENDENCIES_SQL =
+            "INSERT INTO workflow_dependencies (id, workflow_template_id, dependent_entity_type, dependent_entity_id, " +
+            "depends_on_entity_type, depends_on_entity_id, dependency_type, lag_days, created_at, updated_at) " +
+            "SELECT gen_random_uuid(), ?, " +
+            "CASE d.dependent_entity_type WHEN 'STAGE' THEN 'TASK' ELSE d.dependent_entity_type END, md.new_id, " +
+            "CASE d.depends_on_entity_type WHEN 'STAGE' THEN 'TASK' ELSE d.depends_on_entity_type END, mo.new_id, " +
+            "d.dependency_type, d.lag_days, now(), now() " +
+            "FROM standard_workflow_dependencies d JOIN workflow_copy_id_map md ON md.old_id = d.dependent_entity_id " +
+            "JOIN workflow_copy_id_map mo ON mo.old_id = d.depends_on_entity_id " +
+            "WHERE d.standard_workflow_template_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Copy the tree of a company template into another company template
+     */
+    public CopiedTree copyTemplateTree(UUID sourceTemplateId, UUID targetTemplateId) {
+        prepareIdMap();
+        jdbcTemplate.update(MAP_STAGES_SQL, sourceTemplateId);
+        jdbcTemplate.update(MAP_TASKS_SQL, sourceTemplateId);
+        jdbcTemplate.update(MAP_STEPS_SQL, sourceTemplateId);
+
+        CopiedTree copied = new CopiedTree(
+                jdbcTemplate.update(COPY_STAGES_SQL, targetTemplateId, sourceTemplateId),
+                jdbcTemplate.update(COPY_TASKS_SQL, sourceTemplateId),
+                jdbcTemplate.update(COPY_STEPS_SQL, sourceTemplateId),
+                jdbcTemplate.update(COPY_REQUIREMENTS_SQL),
+                jdbcTemplate.update(COPY_DEPENDENCIES_SQL, targetTemplateId, sourceTemplateId));
+        log.debug("Copied template {} to {}: {}", sourceTemplateId, targetTemplateId, copied);
+        return copied;
+    }
+
+    /**
+     * Copy the tree of a standard template into a company template
+     */
+    public CopiedTree copyStandardTemplateTree(UUID standardTemplateId, UUID targetTemplateId) {
+        prepareIdMap();
+        jdbcTemplate.update(MAP_STANDARD_STAGES_SQL, standardTemplateId);
+        jdbcTemplate.update(MAP_STANDARD_TASKS_SQL, standardTemplateId);
+        jdbcTemplate.update(MAP_STANDARD_STEPS_SQL, standardTemplateId);
+
+        CopiedTree copied = new CopiedTree(
+                jdbcTemplate.update(COPY_STANDARD_STAGES_SQL, targetTemplateId, standardTemplateId),
+                jdbcTemplate.update(COPY_STANDARD_TASKS_SQL, standardTemplateId),
+                jdbcTemplate.update(COPY_STANDARD_STEPS_SQL, standardTemplateId),
+                jdbcTemplate.update(COPY_STANDARD_REQUIREMENTS_SQL),
+                jdbcTemplate.update(COPY_STANDARD_DEPENDENCIES_SQL, targetTemplateId, standardTemplateId));
+        log.debug("Copied standard template {} to {}: {}", standardTemplateId, targetTemplateId, copied);
+        return copied;
+    }
+
+    private void prepareIdMap() {
+        jdbcTemplate.execute(CREATE_ID_MAP_SQL);
+        jdbcTemplate.execute(CLEAR_ID_MAP_SQL);
+    }
+}
@@ -18,6 +18,7 @@ import java.util.UUID;
 public class StandardWorkflowDependencyService {
     
     private final StandardWorkflowDependencyRepository standardWorkflowDependencyRepository;
+    private final WorkflowTemplateSnapshotCache workflowTemplateSnapshotCache;
     
     /**
      * Add a dependency to a standard workflow template
@@ -37,6 +38,7 @@ public class StandardWorkflowDependencyService {
             .build();
         
         standardWorkflowDependencyRepository.save(dependency);
+        workflowTemplateSnapshotCache.evict(standardWorkflowTemplateId);
         
         log.info("Added standard workflow dependency: {} {} depends on {} {}", 
                 request.getDependentEntityType(), request.getDependentEntityId(),
@@ -64,6 +66,8 @@ public class StandardWorkflowDependencyService {
      */
     @Transactional
     public void removeStandardWorkflowDependency(UUID dependencyId) {
+        standardWorkflowDependencyRepository.findById(dependencyId)
+            .ifPresent(dependency -> workflowTemplateSnapshotCache.evict(dependency.getStandardWorkflowTemplateId()));
         standardWorkflowDependencyRepository.deleteById(dependencyId);
         log.info("Removed standard workflow dependency: {}", dependencyId);
     }
@@ -86,6 +90,7 @@ public class StandardWorkflowDependencyService {
         dependency.setLagDays(request.getLagDays());
         
         standardWorkflowDependencyRepository.save(dependency);
+        workflowTemplateSnapshotCache.evict(dependency.getStandardWorkflowTemplateId());
         
         log.info("Updated standard workflow dependency: {}", dependencyId);
     }
@@ -0,0 +1,220 @@
+package com.projectmaster.app.workflow.service;
+
+import com.projectmaster.app.common.exception.EntityNotFoundException;
+import com.projectmaster.app.common.job.BackgroundJobs;
+import com.projectmaster.app.company.entity.Company;
+import com.projectmaster.app.company.repository.CompanyRepository;
+import com.projectmaster.app.workflow.dto.WorkflowCopyJobResponse;
+import com.projectmaster.app.workflow.entity.StandardWorkflowTemplate;
+import com.projectmaster.app.workflow.entity.WorkflowCopyJob;
+import com.projectmaster.app.workflow.entity.WorkflowCopyJobStatus;
+import com.projectmaster.app.workflow.repository.StandardWorkflowTemplateRepository;
+import com.projectmaster.app.workflow.repository.WorkflowCopyJobRepository;
+import com.projectmaster.app.workflow.repository.WorkflowTemplateRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Copies the active standard workflow templates to a newly onboarded company off the
+ * request path. A job row is created with the company and run on a virtual thread once that
+ * transaction commits; each template is copied in its own transaction and the job's counts
+ * are updated between templates so clients can poll progress. Jobs interrupted by a restart
+ * are picked up again by a periodic sweep and skip the templates already copied; a running
+ * job is only taken over once its lease (its last update) is older than the retry interval.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WorkflowCopyJobService {
+
+    private static final int SWEEP_BATCH_SIZE = 20;
+    private static final String ACTIVE_NAME_INDEX = "idx_workflow_templates_company_name_active";
+
+    private final WorkflowCopyJobRepository workflowCopyJobRepository;
+    private final StandardWorkflowTemplateRepository standardWorkflowTemplateRepository;
+    private final CompanyRepository companyRepository;
+    private final WorkflowCopyService workflowCopyService;
+    private final WorkflowTemplateRepository workflowTemplateRepository;
+
+    private final BackgroundJobs jobs = new BackgroundJobs("Workflow copy");
+
+    @Value("${app.workflow.copy-jobs.retry-after-minutes:15}")
+    private long retryAfterMinutes;
+
+    @PreDestroy
+    public void shutdown() {
+        jobs.shutdown();
+    }
+
+    /**
+     * Create a job copying every active standard workflow to the company; it starts once
+     * the current transaction (if any) commits
+     */
+    @Transactional
+    public WorkflowCopyJob startStandardWorkflowCopy(Company company) {
+        WorkflowCopyJob job = workflowCopyJobRepository.save(WorkflowCopyJob.builder()
+                .companyId(company.getId())
+                .build());
+        log.info("Queued standard workflow copy job {} for company: {}", job.getId(), company.getName());
+        UUID jobId = job.getId();
+        jobs.submitAfterCommit(jobId, () -> run(jobId));
+        return job;
+    }
+
+    @Transactional(readOnly = true)
+    public WorkflowCopyJobResponse getJob(UUID jobId, UUID companyId) {
+        return workflowCopyJobRepository.findByIdAndCompanyId(jobId, companyId)
+                .map(this::toResponse)
+                .orElseThrow(() -> new EntityNotFoundException("Workflow copy job", jobId));
+    }
+
+    @Transactional(readOnly = true)
+    public WorkflowCopyJobResponse getLatestJob(UUID companyId) {
+        return workflowCopyJobRepository.findFirstByCompanyIdOrderByCreatedAtDesc(companyId)
+                .map(this::toResponse)
+                .orElseThrow(() -> new EntityNotFoundException("No workflow copy job found for company: " + companyId));
+    }
+
+    /**
+     * Resubmit jobs whose run was interrupted, e.g. by a restart (scheduled job)
+     */
+    @Scheduled(cron = "${app.workflow.copy-jobs.sweep-cron:0 */5 * * * ?}") // Run every 5 minutes by default
+    public void resubmitStalledJobs() {
+        Instant cutoff = Instant.now().minus(Duration.ofMinutes(retryAfterMinutes));
+        List<UUID> stalled = workflowCopyJobRepository.findIdsByStatusInAndUpdatedAtBefore(
+                List.of(WorkflowCopyJobStatus.PENDING, WorkflowCopyJobStatus.RUNNING), cutoff, Limit.of(SWEEP_BATCH_SIZE));
+        if (!stalled.isEmpty()) {
+            log.info("Resubmitting {} stalled workflow copy jobs", stalled.size());
+            stalled.forEach(this::submit);
+        }
+    }
+
+    private void submit(UUID jobId) {
+        jobs.submit(jobId, () -> run(jobId));
+    }
+
+    void run(UUID jobId) {
+        WorkflowCopyJob job = workflowCopyJobRepository.findById(jobId).orElse(null);
+        if (job == null || job.getStatus() == WorkflowCopyJobStatus.COMPLETED
+                || job.getStatus() == WorkflowCopyJobStatus.FAILED) {
+            return;
+        }
+
+        // The claim's updatedAt is the lease: every later write compares against it, so a
+        // runner that was presumed dead and has been replaced stops at its next write
+        List<StandardWorkflowTemplate> templates = standardWorkflowTemplateRepository.findByActiveTrue();
+        Instant lease = now();
+        if (workflowCopyJobRepository.markRunning(jobId, templates.size(), lease,
+                lease.minus(Duration.ofMinutes(retryAfterMinutes))) == 0) {
+            return;
+        }
+
+        Company company = companyRepository.findById(job.getCompanyId()).orElse(null);
+        if (company == null) {
+            workflowCopyJobRepository.markFinished(jobId, WorkflowCopyJobStatus.FAILED, 0, 0,
+                    "Company not found: " + job.getCompanyId(), lease, now());
+            return;
+        }
+
+        int copied = 0;
+        int skipped = 0;
+        for (StandardWorkflowTemplate template : templates) {
+            Instant renewed = now();
+            if (workflowCopyJobRepository.recordProgress(jobId, copied, skipped, template.getName(), lease, renewed) == 0) {
+                log.warn("Workflow copy job {} was claimed by another runner; stopping", jobId);
+                return;
+            }
+            lease = renewed;
+            try {
+                // Each template commits on its own, so a resumed job skips the ones already copied
+                if (workflowCopyService.copyStandardWorkflowTemplate(template, company)) {
+                    copied++;
+                } else {
+                    skipped++;
+                }
+            } catch (DataIntegrityViolationException e) {
+                if (!isActiveNameTaken(e, company, template)) {
+                    fail(jobId, template, company, copied, skipped, lease, e);
+                    return;
+                }
+                log.debug("Workflow template '{}' was created concurrently for company {}, skipping",
+                        template.getName(), company.getName());
+                skipped++;
+            } catch (RuntimeException e) {
+                fail(jobId, template, company, copied, skipped, lease, e);
+                return;
+            }
+        }
+
+        if (workflowCopyJobRepository.markFinished(jobId, WorkflowCopyJobStatus.COMPLETED, copied, skipped, null,
+                lease, now()) == 0) {
+            log.warn("Workflow copy job {} was claimed by another runner before it finished", jobId);
+            return;
+        }
+        log.info("Workflow copy job {} finished for company {}: {} templates copied, {} skipped",
+                jobId, company.getName(), copied, skipped);
+    }
+
+    private void fail(UUID jobId, StandardWorkflowTemplate template, Company company, int copied, int skipped,
+                      Instant lease, RuntimeException e) {
+        log.error("Workflow copy job {} failed on template '{}' for company: {}",
+                jobId, template.getName(), company.getName(), e);
+        workflowCopyJobRepository.markFinished(jobId, WorkflowCopyJobStatus.FAILED, copied, skipped,
+                "Failed to copy template '" + template.getName() + "': " + e.getMessage(), lease, now());
+    }
+
+    // Only the unique index on active template names means the company gained the template
+    // meanwhile; any other violated constraint is a real failure of the copy
+    private boolean isActiveNameTaken(DataIntegrityViolationException e, Company company,
+                                      StandardWorkflowTemplate template) {
+        if (e.getCause() instanceof ConstraintViolationException violation
+                && ACTIVE_NAME_INDEX.equalsIgnoreCase(violation.getConstraintName())) {
+            return true;
+        }
+        return workflowTemplateRepository.existsByCompanyIdAndNameAndActiveTrue(company.getId(), template.getName());
+    }
+
+    // Lease timestamps are compared for equality, so match the column's microsecond precision
+    private static Instant now() {
+        return Instant.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    private WorkflowCopyJobResponse toResponse(WorkflowCopyJob job) {
+        int processed = job.getCopiedTemplates() + job.getSkippedTemplates();
+        int percentComplete;
+        if (job.getStatus() == WorkflowCopyJobStatus.COMPLETED) {
+            percentComplete = 100;
+        } else if (job.getTotalTemplates() > 0) {
+            percentComplete = Math.min(100, processed * 100 / job.getTotalTemplates());
+        } else {
+            percentComplete = 0;
+        }
+        return WorkflowCopyJobResponse.builder()
+                .jobId(job.getId())
+                .companyId(job.getCompanyId())
+                .status(job.getStatus())
+                .totalTemplates(job.getTotalTemplates())
+                .copiedTemplates(job.getCopiedTemplates())
+                .skippedTemplates(job.getSkippedTemplates())
+                .percentComplete(percentComplete)
+                .currentTemplate(job.getCurrentTemplate())
+                .errorMessage(job.getErrorMessage())
+                .startedAt(job.getStartedAt())
+                .completedAt(job.getCompletedAt())
+                .build();
+    }
+}
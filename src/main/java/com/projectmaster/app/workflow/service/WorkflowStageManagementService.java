@@ -21,6 +21,7 @@ public class WorkflowStageManagementService {
     private final WorkflowTemplateRepository workflowTemplateRepository;
     private final WorkflowStageRepository workflowStageRepository;
     private final WorkflowService workflowService;
+    private final WorkflowTemplateSnapshotCache workflowTemplateSnapshotCache;
     
     /**
      * Create a new workflow stage
@@ -55,6 +56,7 @@ public class WorkflowStageManagementService {
         // Increment template version
         template.setVersion(template.getVersion() + 1);
         workflowTemplateRepository.save(template);
+        workflowTemplateSnapshotCache.evict(templateId);
         
         return workflowService.getWorkflowTemplateDetail(templateId);
     }
@@ -97,6 +99,7 @@ public class WorkflowStageManagementService {
         // Increment template version
         template.setVersion(template.getVersion() + 1);
         workflowTemplateRepository.save(template);
+        workflowTemplateSnapshotCache.evict(templateId);
         
         return workflowService.getWorkflowTemplateDetail(templateId);
     }
@@ -131,6 +134,7 @@ public class WorkflowStageManagementService {
         // Increment template version
         template.setVersion(template.getVersion() + 1);
         workflowTemplateRepository.save(template);
+        workflowTemplateSnapshotCache.evict(templateId);
         
         return workflowService.getWorkflowTemplateDetail(templateId);
     }
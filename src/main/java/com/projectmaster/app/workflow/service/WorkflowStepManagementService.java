@@ -34,6 +34,7 @@ public class WorkflowStepManagementService {
     private final WorkflowDependencyRepository workflowDependencyRepository;
     private final SpecialtyRepository specialtyRepository;
     private final WorkflowService workflowService;
+    private final WorkflowTemplateSnapshotCache workflowTemplateSnapshotCache;
     
     /**
      * Create a new workflow step
@@ -91,6 +92,7 @@ public class WorkflowStepManagementService {
         // Increment template version
         template.setVersion(template.getVersion() + 1);
         workflowTemplateRepository.save(template);
+        workflowTemplateSnapshotCache.evict(templateId);
         
         return workflowService.getWorkflowTemplateDetail(templateId);
     }
@@ -157,6 +159,7 @@ public class WorkflowStepManagementService {
         // Increment template version
         template.setVersion(template.getVersion() + 1);
         workflowTemplateRepository.save(template);
+        workflowTemplateSnapshotCache.evict(templateId);
         
         return workflowService.getWorkflowTemplateDetail(templateId);
     }
@@ -207,6 +210,7 @@ public class WorkflowStepManagementService {
         // Increment template version
         template.setVersion(template.getVersion() + 1);
         workflowTemplateRepository.save(template);
+        workflowTemplateSnapshotCache.evict(templateId);
         
         return workflowService.getWorkflowTemplateDetail(templateId);
     }
@@ -29,6 +29,7 @@ public class WorkflowStepRequirementManagementService {
     private final WorkflowStepRepository workflowStepRepository;
     private final ConsumableCategoryRepository consumableCategoryRepository;
     private final SupplierRepository supplierRepository;
+    private final WorkflowTemplateSnapshotCache workflowTemplateSnapshotCache;
     
     /**
      * Bulk update requirements for a workflow step
@@ -75,6 +76,8 @@ public class WorkflowStepRequirementManagementService {
             log.debug("Deleted requirement: {} from step: {}", remainingRequirement.getItemName(), stepId);
         }
         
+        workflowTemplateSnapshotCache.evict(step.getWorkflowTask().getWorkflowStage().getWorkflowTemplate().getId());
+        
         log.info("Successfully bulk updated requirements for step: {}", stepId);
     }
     
@@ -28,6 +28,7 @@ public class WorkflowTaskManagementService {
     private final WorkflowTaskRepository workflowTaskRepository;
     private final WorkflowDependencyRepository workflowDependencyRepository;
     private final WorkflowService workflowService;
+    private final WorkflowTemplateSnapshotCache workflowTemplateSnapshotCache;
     
     /**
      * Create a new workflow task
@@ -72,6 +73,7 @@ public class WorkflowTaskManagementService {
         // Increment template version
         template.setVersion(template.getVersion() + 1);
         workflowTemplateRepository.save(template);
+        workflowTemplateSnapshotCache.evict(templateId);
         
         return workflowService.getWorkflowTemplateDetail(templateId);
     }
@@ -125,6 +127,7 @@ public class WorkflowTaskManagementService {
         // Increment template version
         template.setVersion(template.getVersion() + 1);
         workflowTemplateRepository.save(template);
+        workflowTemplateSnapshotCache.evict(templateId);
         
         return workflowService.getWorkflowTemplateDetail(templateId);
     }
@@ -167,6 +170,7 @@ public class WorkflowTaskManagementService {
         // Increment template version
         template.setVersion(template.getVersion() + 1);
         workflowTemplateRepository.save(template);
+        workflowTemplateSnapshotCache.evict(templateId);
         
         return workflowService.getWorkflowTemplateDetail(templateId);
     }
@@ -5,15 +5,10 @@ import com.projectmaster.app.workflow.entity.WorkflowDependency;
 import com.projectmaster.app.workflow.entity.ProjectDependency;
 import com.projectmaster.app.workflow.entity.DependencyEntityType;
 import com.projectmaster.app.workflow.entity.DependencyType;
-import com.projectmaster.app.workflow.entity.DependencyStatus;
 import com.projectmaster.app.workflow.repository.WorkflowDependencyRepository;
 import com.projectmaster.app.workflow.repository.ProjectDependencyRepository;
 import com.projectmaster.app.project.entity.Project;
-import com.projectmaster.app.project.entity.ProjectTask;
-import com.projectmaster.app.project.entity.ProjectStep;
 import com.projectmaster.app.project.repository.ProjectRepository;
-import com.projectmaster.app.project.repository.ProjectTaskRepository;
-import com.projectmaster.app.project.repository.ProjectStepRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -30,8 +25,7 @@ public class WorkflowTemplateBuilder {
     private final WorkflowDependencyRepository workflowDependencyRepository;
     private final ProjectDependencyRepository projectDependencyRepository;
     private final ProjectRepository projectRepository;
-    private final ProjectTaskRepository projectTaskRepository;
-    private final ProjectStepRepository projectStepRepository;
+    private final WorkflowTemplateSnapshotCache workflowTemplateSnapshotCache;
     
     /**
      * Add a dependency to a workflow template
@@ -49,94 +43,13 @@ public class WorkflowTemplateBuilder {
             .build();
         
         workflowDependencyRepository.save(dependency);
+        workflowTemplateSnapshotCache.evict(workflowTemplateId);
         
         log.info("Added workflow dependency: {} {} depends on {} {}", 
                 request.getDependentEntityType(), request.getDependentEntityId(),
                 request.getDependsOnEntityType(), request.getDependsOnEntityId());
     }
     
-    /**
-     * Copy workflow dependencies to project dependencies when creating a project
-     */
-    @Transactional
-    public void copyDependenciesToProject(UUID projectId, UUID workflowTemplateId) {
-        log.info("Copying workflow dependencies from template {} to project {}", 
-                workflowTemplateId, projectId);
-        
-        List<WorkflowDependency> workflowDeps = workflowDependencyRepository
-            .findByWorkflowTemplateId(workflowTemplateId);
-        
-        for (WorkflowDependency wfDep : workflowDeps) {
-            try {
-                ProjectDependency projectDep = createProjectDependency(projectId, wfDep);
-                if (projectDep != null) {
-                    projectDependencyRepository.save(projectDep);
-                }
-            } catch (Exception e) {
-                log.warn("Failed to copy dependency {}: {}", wfDep.getId(), e.getMessage());
-            }
-        }
-        
-        log.info("Copied {} dependencies to project {}", workflowDeps.size(), projectId);
-    }
-    
-    /**
-     * Create a project dependency from a workflow dependency
-     */
-    private ProjectDependency createProjectDependency(UUID projectId, WorkflowDependency wfDep) {
-        // Map workflow entity IDs to project entity IDs
-        UUID dependentProjectEntityId = mapToProjectEntity(
-            wfDep.getDependentEntityId(), wfDep.getDependentEntityType(), projectId);
-        UUID dependsOnProjectEntityId = mapToProjectEntity(
-            wfDep.getDependsOnEntityId(), wfDep.getDependsOnEntityType(), projectId);
-        
-        if (dependentProjectEntityId == null || dependsOnProjectEntityId == null) {
-            log.warn("Could not map workflow entities to project entities for dependency {}", wfDep.getId());
-            return null;
-        }
-        
-        return ProjectDependency.builder()
-            .projectId(projectId)
-            .dependentEntityType(wfDep.getDependentEntityType())
-            .dependentEntityId(dependentProjectEntityId)
-            .dependsOnEntityType(wfDep.getDependsOnEntityType())
-            .dependsOnEntityId(dependsOnProjectEntityId)
-            .dependencyType(wfDep.getDependencyType())
-            .lagDays(wfDep.getLagDays())
-            .status(DependencyStatus.PENDING)
-            .build();
-    }
-    
-    /**
-     * Map workflow entity ID to project entity ID
-     */
-    private UUID mapToProjectEntity(UUID workflowEntityId, DependencyEntityType entityType, UUID projectId) {
-        switch (entityType) {
-            case TASK:
-                // Find project task by workflow task ID
-                List<ProjectTask> projectTasks = projectTaskRepository
-                    .findByProjectIdOrderByStageAndTaskOrder(projectId);
-                return projectTasks.stream()
-                    .filter(pt -> pt.getWorkflowTask().getId().equals(workflowEntityId))
-                    .map(ProjectTask::getId)
-                    .findFirst()
-                    .orElse(null);
-                    
-            case STEP:
-                // Find project step by workflow step ID
-                List<ProjectStep> projectSteps = projectStepRepository
-                    .findByProjectIdOrderByStageAndTaskAndStepOrder(projectId);
-                return projectSteps.stream()
-                    .filter(ps -> ps.getWorkflowStep().getId().equals(workflowEntityId))
-                    .map(ProjectStep::getId)
-                    .findFirst()
-                    .orElse(null);
-                    
-            default:
-                return null;
-        }
-    }
-    
     /**
      * Get all dependencies for a project
      */
@@ -39,6 +39,7 @@ public class WorkflowTemplateManagementService {
     private final WorkflowDependencyRepository workflowDependencyRepository;
     private final CompanyRepository companyRepository;
     private final SpecialtyRepository specialtyRepository;
+    private final WorkflowTemplateSnapshotCache workflowTemplateSnapshotCache;
     
     /**
      * Create a new workflow template
@@ -110,6 +111,7 @@ public class WorkflowTemplateManagementService {
         
         WorkflowTemplate savedTemplate = workflowTemplateRepository.save(template);
         log.debug("Updated template: {}", savedTemplate.getId());
+        workflowTemplateSnapshotCache.evict(templateId);
         
         // Delete existing structure and recreate
         deleteTemplateStructure(templateId);
@@ -144,6 +146,7 @@ public class WorkflowTemplateManagementService {
         // Soft delete
         template.setActive(false);
         workflowTemplateRepository.save(template);
+        workflowTemplateSnapshotCache.evict(templateId);
         
         log.debug("Deleted template: {}", templateId);
     }
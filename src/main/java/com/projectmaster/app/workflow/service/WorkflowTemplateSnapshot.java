@@ -0,0 +1,76 @@
+package com.projectmaster.app.workflow.service;
+
+import com.projectmaster.app.workflow.entity.DependencyEntityType;
+import com.projectmaster.app.workflow.entity.DependencyType;
+import com.projectmaster.app.workflow.entity.WorkflowStepRequirement;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Immutable copy of a workflow template tree (stages, tasks, steps, requirements and
+ * dependencies) detached from the persistence context, shared by the projects created
+ * from a template. Associations are held by id only. For a standard template the version is
+ * null, as are the fields standard templates do not have.
+ */
+public record WorkflowTemplateSnapshot(UUID templateId, boolean standard, Integer version, String name,
+                                       String description, String category, Boolean active, Boolean isDefault,
+                                       List<Stage> stages, List<Dependency> dependencies) {
+
+    public WorkflowTemplateSnapshot {
+        stages = List.copyOf(stages);
+        dependencies = List.copyOf(dependencies);
+    }
+
+    public record Stage(UUID id, String name, String description, Integer orderIndex, Boolean parallelExecution,
+                        Integer requiredApprovals, Integer estimatedDurationDays, Integer version, List<Task> tasks) {
+
+        public Stage {
+            tasks = List.copyOf(tasks);
+        }
+    }
+
+    public record Task(UUID id, String name, String description, Integer estimatedDays, Integer version,
+                       List<Step> steps) {
+
+        public Task {
+            steps = List.copyOf(steps);
+        }
+    }
+
+    public record Step(UUID id, String name, String description, Integer estimatedDays, Integer version,
+                       UUID specialtyId, List<Requirement> requirements) {
+
+        public Step {
+            requirements = List.copyOf(requirements);
+        }
+    }
+
+    public record Requirement(UUID id, UUID categoryId, UUID supplierId, String itemName, String itemDescription,
+                              String brand, String model, BigDecimal defaultQuantity, String unit,
+                              BigDecimal estimatedCost, WorkflowStepRequirement.ProcurementType procurementType,
+                              Boolean isOptional, String notes, Integer displayOrder, String supplierItemCode,
+                              String templateNotes, Boolean customerSelectable) {
+    }
+
+    /**
+     * A dependency between two entities of the template; standard entity types map to the
+     * workflow type of the same name
+     */
+    public record Dependency(UUID id, DependencyEntityType dependentEntityType, UUID dependentEntityId,
+                             DependencyEntityType dependsOnEntityType, UUID dependsOnEntityId,
+                             DependencyType dependencyType, Integer lagDays) {
+    }
+
+    public int taskCount() {
+        return stages.stream().mapToInt(stage -> stage.tasks().size()).sum();
+    }
+
+    public int stepCount() {
+        return stages.stream()
+                .flatMap(stage -> stage.tasks().stream())
+                .mapToInt(task -> task.steps().size())
+                .sum();
+    }
+}
@@ -0,0 +1,218 @@
+package com.projectmaster.app.workflow.service;
+
+import com.projectmaster.app.common.cache.TtlCache;
+import com.projectmaster.app.workflow.entity.DependencyEntityType;
+import com.projectmaster.app.workflow.entity.StandardWorkflowDependency;
+import com.projectmaster.app.workflow.entity.StandardWorkflowStage;
+import com.projectmaster.app.workflow.entity.StandardWorkflowStep;
+import com.projectmaster.app.workflow.entity.StandardWorkflowStepRequirement;
+import com.projectmaster.app.workflow.entity.StandardWorkflowTask;
+import com.projectmaster.app.workflow.entity.StandardWorkflowTemplate;
+import com.projectmaster.app.workflow.entity.WorkflowDependency;
+import com.projectmaster.app.workflow.entity.WorkflowStage;
+import com.projectmaster.app.workflow.entity.WorkflowStep;
+import com.projectmaster.app.workflow.entity.WorkflowStepRequirement;
+import com.projectmaster.app.workflow.entity.WorkflowTask;
+import com.projectmaster.app.workflow.entity.WorkflowTemplate;
+import com.projectmaster.app.workflow.repository.StandardWorkflowDependencyRepository;
+import com.projectmaster.app.workflow.repository.StandardWorkflowStageRepository;
+import com.projectmaster.app.workflow.repository.StandardWorkflowStepRepository;
+import com.projectmaster.app.workflow.repository.StandardWorkflowStepRequirementRepository;
+import com.projectmaster.app.workflow.repository.StandardWorkflowTaskRepository;
+import com.projectmaster.app.workflow.repository.WorkflowDependencyRepository;
+import com.projectmaster.app.workflow.repository.WorkflowStageRepository;
+import com.projectmaster.app.workflow.repository.WorkflowStepRepository;
+import com.projectmaster.app.workflow.repository.WorkflowStepRequirementRepository;
+import com.projectmaster.app.workflow.repository.WorkflowTaskRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Cache of {@link WorkflowTemplateSnapshot}s, each loaded with one query per level of the
+ * template. A cached company template is only used while its version matches, so a
+ * structural change made on any node (which increments the version) is picked up on the
+ * next lookup; the management
+ * services also evict a template when a change commits, which covers changes that do not
+ * increment the version. Standard templates have no version and rely on eviction and the TTL.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WorkflowTemplateSnapshotCache {
+
+    private final WorkflowStageRepository workflowStageRepository;
+    private final WorkflowTaskRepository workflowTaskRepository;
+    private final WorkflowStepRepository workflowStepRepository;
+    private final WorkflowStepRequirementRepository workflowStepRequirementRepository;
+    private final WorkflowDependencyRepository workflowDependencyRepository;
+    private final StandardWorkflowStageRepository standardWorkflowStageRepository;
+    private final StandardWorkflowTaskRepository standardWorkflowTaskRepository;
+    private final StandardWorkflowStepRepository standardWorkflowStepRepository;
+    private final StandardWorkflowStepRequirementRepository standardWorkflowStepRequirementRepository;
+    private final StandardWorkflowDependencyRepository standardWorkflowDependencyRepository;
+
+    @Value("${app.workflow.template-cache.ttl-seconds:600}")
+    private long ttlSeconds;
+
+    @Value("${app.workflow.template-cache.max-entries:500}")
+    private int maxEntries;
+
+    private TtlCache<Key, WorkflowTemplateSnapshot> cache;
+
+    // One entry per template; a snapshot of an older version is replaced when it is next asked for
+    private record Key(UUID templateId, boolean standard) {
+    }
+
+    @PostConstruct
+    public void init() {
+        cache = new TtlCache<>("Workflow template", Duration.ofSeconds(ttlSeconds), maxEntries);
+    }
+
+    /**
+     * Snapshot of a company workflow template at its current version
+     */
+    public WorkflowTemplateSnapshot get(WorkflowTemplate template) {
+        return cache.get(new Key(template.getId(), false),
+                snapshot -> Objects.equals(snapshot.version(), template.getVersion()),
+                () -> loadTemplate(template));
+    }
+
+    /**
+     * Snapshot of a standard workflow template
+     */
+    public WorkflowTemplateSnapshot get(StandardWorkflowTemplate template) {
+        return cache.get(new Key(template.getId(), true), () -> loadStandardTemplate(template));
+    }
+
+    /**
+     * Drop a template's snapshot now and again once the current transaction commits, so a
+     * copy racing the change cannot re-cache the old tree
+     */
+    public void evict(UUID templateId) {
+        cache.evict(new Key(templateId, false));
+        cache.evict(new Key(templateId, true));
+    }
+
+    private WorkflowTemplateSnapshot loadTemplate(WorkflowTemplate template) {
+        UUID templateId = template.getId();
+
+        Map<UUID, List<WorkflowTemplateSnapshot.Requirement>> requirementsByStep = new HashMap<>();
+        for (WorkflowStepRequirement req : workflowStepRequirementRepository.findByWorkflowTemplateIdOrderByDisplayOrder(templateId)) {
+            requirementsByStep.computeIfAbsent(req.getWorkflowStep().getId(), id -> new ArrayList<>())
+                    .add(new WorkflowTemplateSnapshot.Requirement(req.getId(),
+                            req.getCategory() != null ? req.getCategory().getId() : null,
+                            req.getSupplier() != null ? req.getSupplier().getId() : null,
+                            req.getItemName(), req.getItemDescription(), req.getBrand(), req.getModel(),
+                            req.getDefaultQuantity(), req.getUnit(), req.getEstimatedCost(), req.getProcurementType(),
+                            req.getIsOptional(), req.getNotes(), req.getDisplayOrder(), req.getSupplierItemCode(),
+                            req.getTemplateNotes(), req.getCustomerSelectable()));
+        }
+
+        Map<UUID, List<WorkflowTemplateSnapshot.Step>> stepsByTask = new HashMap<>();
+        for (WorkflowStep step : workflowStepRepository.findByWorkflowTemplateId(templateId)) {
+            stepsByTask.computeIfAbsent(step.getWorkflowTask().getId(), id -> new ArrayList<>())
+                    .add(new WorkflowTemplateSnapshot.Step(step.getId(), step.getName(), step.getDescription(),
+                            step.getEstimatedDays(), step.getVersion(),
+                            step.getSpecialty() != null ? step.getSpecialty().getId() : null,
+                            requirementsByStep.getOrDefault(step.getId(), List.of())));
+        }
+
+        Map<UUID, List<WorkflowTemplateSnapshot.Task>> tasksByStage = new HashMap<>();
+        for (WorkflowTask task : workflowTaskRepository.findByWorkflowTemplateIdOrderByStageAndTaskOrder(templateId)) {
+            tasksByStage.computeIfAbsent(task.getWorkflowStage().getId(), id -> new ArrayList<>())
+                    .add(new WorkflowTemplateSnapshot.Task(task.getId(), task.getName(), task.getDescription(),
+                            task.getEstimatedDays(), task.getVersion(),
+                            stepsByTask.getOrDefault(task.getId(), List.of())));
+        }
+
+        List<WorkflowTemplateSnapshot.Stage> stages = new ArrayList<>();
+        for (WorkflowStage stage : workflowStageRepository.findByWorkflowTemplateIdOrderByOrderIndex(templateId)) {
+            stages.add(new WorkflowTemplateSnapshot.Stage(stage.getId(), stage.getName(), stage.getDescription(),
+                    stage.getOrderIndex(), stage.getParallelExecution(), stage.getRequiredApprovals(),
+                    stage.getEstimatedDurationDays(), stage.getVersion(),
+                    tasksByStage.getOrDefault(stage.getId(), List.of())));
+        }
+
+        List<WorkflowTemplateSnapshot.Dependency> dependencies = new ArrayList<>();
+        for (WorkflowDependency dep : workflowDependencyRepository.findByWorkflowTemplateId(templateId)) {
+            dependencies.add(new WorkflowTemplateSnapshot.Dependency(dep.getId(),
+                    dep.getDependentEntityType(), dep.getDependentEntityId(),
+                    dep.getDependsOnEntityType(), dep.getDependsOnEntityId(),
+                    dep.getDependencyType(), dep.getLagDays()));
+        }
+
+        WorkflowTemplateSnapshot snapshot = new WorkflowTemplateSnapshot(templateId, false, template.getVersion(),
+                template.getName(), template.getDescription(), template.getCategory(), template.getActive(),
+                template.getIsDefault(), stages, dependencies);
+        log.debug("Loaded workflow template {} version {}: {} stages, {} tasks, {} steps, {} dependencies",
+                templateId, template.getVersion(), stages.size(), snapshot.taskCount(), snapshot.stepCount(),
+                dependencies.size());
+        return snapshot;
+    }
+
+    private WorkflowTemplateSnapshot loadStandardTemplate(StandardWorkflowTemplate template) {
+        UUID templateId = template.getId();
+
+        Map<UUID, List<WorkflowTemplateSnapshot.Requirement>> requirementsByStep = new HashMap<>();
+        for (StandardWorkflowStepRequirement req : standardWorkflowStepRequirementRepository
+                .findActiveByStandardWorkflowTemplateId(templateId)) {
+            requirementsByStep.computeIfAbsent(req.getStandardWorkflowStep().getId(), id -> new ArrayList<>())
+                    .add(new WorkflowTemplateSnapshot.Requirement(req.getId(),
+                            req.getCategory() != null ? req.getCategory().getId() : null, null,
+                            req.getItemName(), req.getItemDescription(), null, null, null, null, null, null,
+                            null, null, req.getDisplayOrder(), null, null, req.getCustomerSelectable()));
+        }
+
+        Map<UUID, List<WorkflowTemplateSnapshot.Step>> stepsByTask = new HashMap<>();
+        for (StandardWorkflowStep step : standardWorkflowStepRepository
+                .findByStandardWorkflowTemplateIdOrderByStageAndTaskAndStepOrder(templateId)) {
+            stepsByTask.computeIfAbsent(step.getStandardWorkflowTask().getId(), id -> new ArrayList<>())
+                    .add(new WorkflowTemplateSnapshot.Step(step.getId(), step.getName(), step.getDescription(),
+                            step.getEstimatedDays(), null,
+                            step.getSpecialty() != null ? step.getSpecialty().getId() : null,
+                            requirementsByStep.getOrDefault(step.getId(), List.of())));
+        }
+
+        Map<UUID, List<WorkflowTemplateSnapshot.Task>> tasksByStage = new HashMap<>();
+        for (StandardWorkflowTask task : standardWorkflowTaskRepository
+                .findByStandardWorkflowTemplateIdOrderByStageAndTaskOrder(templateId)) {
+            tasksByStage.computeIfAbsent(task.getStandardWorkflowStage().getId(), id -> new ArrayList<>())
+                    .add(new WorkflowTemplateSnapshot.Task(task.getId(), task.getName(), task.getDescription(),
+                            task.getEstimatedDays(), null, stepsByTask.getOrDefault(task.getId(), List.of())));
+        }
+
+        List<WorkflowTemplateSnapshot.Stage> stages = new ArrayList<>();
+        for (StandardWorkflowStage stage : standardWorkflowStageRepository
+                .findByStandardWorkflowTemplateIdOrderByOrderIndex(templateId)) {
+            stages.add(new WorkflowTemplateSnapshot.Stage(stage.getId(), stage.getName(), stage.getDescription(),
+                    stage.getOrderIndex(), stage.getParallelExecution(), stage.getRequiredApprovals(),
+                    stage.getEstimatedDurationDays(), null, tasksByStage.getOrDefault(stage.getId(), List.of())));
+        }
+
+        List<WorkflowTemplateSnapshot.Dependency> dependencies = new ArrayList<>();
+        for (StandardWorkflowDependency dep : standardWorkflowDependencyRepository.findByStandardWorkflowTemplateId(templateId)) {
+            dependencies.add(new WorkflowTemplateSnapshot.Dependency(dep.getId(),
+                    DependencyEntityType.valueOf(dep.getDependentEntityType().name()), dep.getDependentEntityId(),
+                    DependencyEntityType.valueOf(dep.getDependsOnEntityType().name()), dep.getDependsOnEntityId(),
+                    dep.getDependencyType(), dep.getLagDays()));
+        }
+
+        WorkflowTemplateSnapshot snapshot = new WorkflowTemplateSnapshot(templateId, true, null,
+                template.getName(), template.getDescription(), template.getCategory(), template.getActive(),
+                template.getIsDefault(), stages, dependencies);
+        log.debug("Loaded standard workflow template {}: {} stages, {} tasks, {} steps, {} dependencies",
+                templateId, stages.size(), snapshot.taskCount(), snapshot.stepCount(), dependencies.size());
+        return snapshot;
+    }
+}
@@ -0,0 +1,101 @@
+-- Create incrementally maintained reporting rollups for tasks and time entries
+-- Migration: V44__Create_task_reporting_rollups.sql
+
+-- Daily counters per project or per user
+CREATE TABLE task_daily_rollups (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    scope_type VARCHAR(20) NOT NULL,
+    scope_id UUID NOT NULL,
+    rollup_date DATE NOT NULL,
+    tasks_created INTEGER NOT NULL DEFAULT 0,
+    tasks_completed INTEGER NOT NULL DEFAULT 0,
+    logged_minutes BIGINT NOT NULL DEFAULT 0,
+    billable_minutes BIGINT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_task_daily_rollups_scope_date UNIQUE (scope_type, scope_id, rollup_date)
+);
+
+-- Current task count per status per project or per assignee
+CREATE TABLE task_status_rollups (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    scope_type VARCHAR(20) NOT NULL,
+    scope_id UUID NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    task_count BIGINT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_task_status_rollups_scope_status UNIQUE (scope_type, scope_id, status)
+);
+
+-- The unique constraints double as the lookup indexes for (scope_type, scope_id, ...) reads
+
+COMMENT ON TABLE task_daily_rollups IS 'Per-day task and time counters, updated on write and rebuilt nightly';
+COMMENT ON TABLE task_status_rollups IS 'Current task counts by status, updated on write and rebuilt nightly';
+COMMENT ON COLUMN task_daily_rollups.scope_type IS 'PROJECT or USER';
+COMMENT ON COLUMN task_status_rollups.scope_type IS 'PROJECT or USER';
+
+-- Backfill from existing data, as the nightly reconcile job rebuilds them
+INSERT INTO task_status_rollups (id, scope_type, scope_id, status, task_count, created_at, updated_at)
+SELECT gen_random_uuid(), 'PROJECT', pst.project_id, t.status, COUNT(*), now(), now()
+FROM tasks t
+JOIN project_steps s ON s.id = t.project_step_id
+JOIN project_tasks pt ON pt.id = s.project_task_id
+JOIN project_stages pst ON pst.id = pt.project_stage_id
+GROUP BY pst.project_id, t.status;
+
+INSERT INTO task_status_rollups (id, scope_type, scope_id, status, task_count, created_at, updated_at)
+SELECT gen_random_uuid(), 'USER', t.assigned_to, t.status, COUNT(*), now(), now()
+FROM tasks t
+WHERE t.assigned_to IS NOT NULL
+GROUP BY t.assigned_to, t.status;
+
+-- Completions are dated by the task's last update
+INSERT INTO task_daily_rollups (id, scope_type, scope_id, rollup_date, tasks_created, tasks_completed,
+                                logged_minutes, billable_minutes, created_at, updated_at)
+SELECT gen_random_uuid(), 'PROJECT', d.scope_id, d.rollup_date, SUM(d.created), SUM(d.completed),
+       SUM(d.logged), SUM(d.billable), now(), now()
+FROM (
+    SELECT pst.project_id AS scope_id, CAST(t.created_at AT TIME ZONE 'UTC' AS DATE) AS rollup_date,
+           1 AS created, 0 AS completed, 0 AS logged, 0 AS billable
+    FROM tasks t
+    JOIN project_steps s ON s.id = t.project_step_id
+    JOIN project_tasks pt ON pt.id = s.project_task_id
+    JOIN project_stages pst ON pst.id = pt.project_stage_id
+    UNION ALL
+    SELECT pst.project_id, CAST(t.updated_at AT TIME ZONE 'UTC' AS DATE), 0, 1, 0, 0
+    FROM tasks t
+    JOIN project_steps s ON s.id = t.project_step_id
+    JOIN project_tasks pt ON pt.id = s.project_task_id
+    JOIN project_stages pst ON pst.id = pt.project_stage_id
+    WHERE t.status = 'COMPLETED'
+    UNION ALL
+    SELECT pst.project_id, CAST(te.start_time AT TIME ZONE 'UTC' AS DATE), 0, 0, COALESCE(te.duration_minutes, 0),
+           CASE WHEN te.is_billable THEN COALESCE(te.duration_minutes, 0) ELSE 0 END
+    FROM task_time_entries te
+    JOIN tasks t ON t.id = te.task_id
+    JOIN project_steps s ON s.id = t.project_step_id
+    JOIN project_tasks pt ON pt.id = s.project_task_id
+    JOIN project_stages pst ON pst.id = pt.project_stage_id
+) d
+GROUP BY d.scope_id, d.rollup_date;
+
+-- Created by creator, completed by assignee, time by entry owner
+INSERT INTO task_daily_rollups (id, scope_type, scope_id, rollup_date, tasks_created, tasks_completed,
+                                logged_minutes, billable_minutes, created_at, updated_at)
+SELECT gen_random_uuid(), 'USER', d.scope_id, d.rollup_date, SUM(d.created), SUM(d.completed),
+       SUM(d.logged), SUM(d.billable), now(), now()
+FROM (
+    SELECT t.created_by AS scope_id, CAST(t.created_at AT TIME ZONE 'UTC' AS DATE) AS rollup_date,
+           1 AS created, 0 AS completed, 0 AS logged, 0 AS billable
+    FROM tasks t
+    UNION ALL
+    SELECT t.assigned_to, CAST(t.updated_at AT TIME ZONE 'UTC' AS DATE), 0, 1, 0, 0
+    FROM tasks t
+    WHERE t.status = 'COMPLETED' AND t.assigned_to IS NOT NULL
+    UNION ALL
+    SELECT te.user_id, CAST(te.start_time AT TIME ZONE 'UTC' AS DATE), 0, 0, COALESCE(te.duration_minutes, 0),
+           CASE WHEN te.is_billable THEN COALESCE(te.duration_minutes, 0) ELSE 0 END
+    FROM task_time_entries te
+) d
+GROUP BY d.scope_id, d.rollup_date;
@@ -0,0 +1,13 @@
+-- Trigram index so supplier name search can page in the database
+-- Migration: V45__Add_supplier_name_trigram_index.sql
+
+-- Enable pg_trgm extension if it doesn't exist
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Serves LOWER(name) LIKE '%text%' without a sequential scan
+CREATE INDEX IF NOT EXISTS idx_suppliers_name_trgm
+ON suppliers USING gin (LOWER(name) gin_trgm_ops);
+
+-- Supports the active filter and name ordering of the paged search
+CREATE INDEX IF NOT EXISTS idx_suppliers_active_name
+ON suppliers(active, name);
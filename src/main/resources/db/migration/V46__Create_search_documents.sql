@@ -0,0 +1,63 @@
+-- Unified full-text search index for customers, suppliers, contractors and projects
+-- Migration: V46__Create_search_documents.sql
+
+CREATE TABLE IF NOT EXISTS search_documents (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    entity_type VARCHAR(20) NOT NULL,
+    entity_id UUID NOT NULL,
+    company_id UUID,
+    title VARCHAR(255) NOT NULL,
+    subtitle VARCHAR(255),
+    content TEXT,
+    active BOOLEAN NOT NULL DEFAULT true,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_search_documents_entity UNIQUE (entity_type, entity_id)
+);
+
+-- Weighted vector maintained by the database: title (A), subtitle (B), content (C)
+ALTER TABLE search_documents ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(subtitle, '')), 'B') ||
+        setweight(to_tsvector('simple', coalesce(content, '')), 'C')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_search_documents_vector ON search_documents USING gin (search_vector);
+CREATE INDEX IF NOT EXISTS idx_search_documents_company ON search_documents(company_id);
+
+-- Backfill from existing rows; the application keeps documents current afterwards
+INSERT INTO search_documents (entity_type, entity_id, company_id, title, subtitle, content, active)
+SELECT 'CUSTOMER', c.id, c.company_id,
+       concat_ws(' ', c.first_name, c.last_name),
+       c.email,
+       concat_ws(' ', c.phone, c.secondary_contact_name, c.secondary_contact_phone,
+                 a.line1, a.line2, a.suburb_city, a.state_province, a.postcode),
+       coalesce(c.active, true)
+FROM customers c
+LEFT JOIN addresses a ON a.id = c.address_id
+ON CONFLICT (entity_type, entity_id) DO NOTHING;
+
+INSERT INTO search_documents (entity_type, entity_id, company_id, title, subtitle, content, active)
+SELECT 'SUPPLIER', s.id, NULL, s.name, s.contact_person,
+       concat_ws(' ', s.abn, s.email, s.phone, s.address),
+       coalesce(s.active, true)
+FROM suppliers s
+ON CONFLICT (entity_type, entity_id) DO NOTHING;
+
+INSERT INTO search_documents (entity_type, entity_id, company_id, title, subtitle, content, active)
+SELECT 'CONTRACTOR', cc.id, NULL, cc.name, cc.contact_person,
+       concat_ws(' ', cc.abn, cc.email, cc.phone, cc.address),
+       coalesce(cc.active, true)
+FROM contracting_companies cc
+ON CONFLICT (entity_type, entity_id) DO NOTHING;
+
+INSERT INTO search_documents (entity_type, entity_id, company_id, title, subtitle, content, active)
+SELECT 'PROJECT', p.id, p.company_id, p.name, p.project_number,
+       concat_ws(' ', p.description, c.first_name, c.last_name,
+                 a.line1, a.line2, a.suburb_city, a.state_province, a.postcode),
+       p.status <> 'CANCELLED'
+FROM projects p
+LEFT JOIN customers c ON c.id = p.customer_id
+LEFT JOIN addresses a ON a.id = p.address_id
+ON CONFLICT (entity_type, entity_id) DO NOTHING;
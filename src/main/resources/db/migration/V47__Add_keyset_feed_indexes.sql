@@ -0,0 +1,19 @@
+-- Indexes for keyset (createdAt, id) feeds: each page is an index range scan
+-- Migration: V47__Add_keyset_feed_indexes.sql
+
+CREATE INDEX IF NOT EXISTS idx_step_updates_step_feed
+ON step_updates(project_step_id, created_at DESC, id DESC);
+
+-- Task, stage and project feeds join up from steps and walk this index newest first
+CREATE INDEX IF NOT EXISTS idx_step_updates_feed
+ON step_updates(created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_task_notifications_user_feed
+ON task_notifications(user_id, created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_documents_project_feed
+ON documents(project_id, created_at DESC, id DESC)
+WHERE is_archived = false;
+
+CREATE INDEX IF NOT EXISTS idx_projects_company_feed
+ON projects(company_id, created_at DESC, id DESC);
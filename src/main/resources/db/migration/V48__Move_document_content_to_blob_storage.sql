@@ -0,0 +1,13 @@
+-- Document bytes move out of the row into content-addressed blob storage
+-- Migration: V48__Move_document_content_to_blob_storage.sql
+
+-- Hex SHA-256 of the content; the blob's key in storage
+ALTER TABLE documents ADD COLUMN IF NOT EXISTS storage_key VARCHAR(64);
+
+-- file_content is emptied row by row by DocumentBlobMigrationService
+ALTER TABLE documents ALTER COLUMN file_content DROP NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_documents_storage_key ON documents(storage_key);
+
+-- Once no rows have storage_key IS NULL, the column can be dropped:
+-- ALTER TABLE documents DROP COLUMN file_content;
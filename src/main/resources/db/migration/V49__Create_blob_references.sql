@@ -0,0 +1,25 @@
+-- Reference counts for content-addressed blobs shared between documents
+-- Migration: V49__Create_blob_references.sql
+
+CREATE TABLE IF NOT EXISTS blob_references (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    storage_key VARCHAR(64) NOT NULL,
+    reference_count BIGINT NOT NULL DEFAULT 0,
+    size_bytes BIGINT,
+    released_at TIMESTAMP WITH TIME ZONE,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_blob_references_storage_key UNIQUE (storage_key)
+);
+
+CREATE INDEX IF NOT EXISTS idx_blob_references_released_at ON blob_references(released_at);
+
+-- Every live document holds one reference; archived documents hold none
+INSERT INTO blob_references (id, storage_key, reference_count, size_bytes, released_at, created_at, updated_at)
+SELECT gen_random_uuid(), storage_key, COUNT(*) FILTER (WHERE is_archived = false), MAX(file_size),
+       CASE WHEN COUNT(*) FILTER (WHERE is_archived = false) = 0 THEN CURRENT_TIMESTAMP END,
+       CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+FROM documents
+WHERE storage_key IS NOT NULL
+GROUP BY storage_key
+ON CONFLICT (storage_key) DO NOTHING;
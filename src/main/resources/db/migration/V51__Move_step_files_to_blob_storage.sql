@@ -0,0 +1,12 @@
+-- Step photos, step update documents and task attachments move to content-addressed blob storage
+-- Migration: V51__Move_step_files_to_blob_storage.sql
+
+ALTER TABLE project_step_photos ADD COLUMN IF NOT EXISTS storage_key VARCHAR(64);
+ALTER TABLE project_step_photos ALTER COLUMN file_path DROP NOT NULL;
+
+ALTER TABLE step_update_documents ADD COLUMN IF NOT EXISTS storage_key VARCHAR(64);
+
+ALTER TABLE task_attachments ADD COLUMN IF NOT EXISTS storage_key VARCHAR(64);
+ALTER TABLE task_attachments ALTER COLUMN file_path DROP NOT NULL;
+
+-- Files stored before this migration keep their legacy paths and are read from there
@@ -0,0 +1,6 @@
+-- Authentication rejects tokens issued before a user's tokens_valid_after (password change)
+-- Migration: V52_1__Add_user_tokens_valid_after.sql
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS tokens_valid_after TIMESTAMP WITH TIME ZONE;
+
+CREATE INDEX IF NOT EXISTS idx_users_tokens_valid_after ON users (tokens_valid_after) WHERE tokens_valid_after IS NOT NULL;
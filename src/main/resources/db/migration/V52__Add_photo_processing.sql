@@ -0,0 +1,13 @@
+-- Step photos get a background-processed web rendition (upright, EXIF stripped, capped resolution)
+-- Migration: V52__Add_photo_processing.sql
+
+ALTER TABLE project_step_photos ADD COLUMN IF NOT EXISTS rendition_key VARCHAR(64);
+ALTER TABLE project_step_photos ADD COLUMN IF NOT EXISTS processing_status VARCHAR(20);
+ALTER TABLE project_step_photos ADD COLUMN IF NOT EXISTS width INTEGER;
+ALTER TABLE project_step_photos ADD COLUMN IF NOT EXISTS height INTEGER;
+
+-- The periodic sweep looks for photos stuck in PROCESSING
+CREATE INDEX IF NOT EXISTS idx_project_step_photos_processing
+    ON project_step_photos (updated_at) WHERE processing_status = 'PROCESSING';
+
+-- Photos uploaded before this migration keep a NULL status and are served as uploaded
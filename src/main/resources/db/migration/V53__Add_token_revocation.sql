@@ -0,0 +1,18 @@
+-- Tokens can be revoked before they expire: one at a time (logout) or every token of a user
+-- Migration: V53__Add_token_revocation.sql
+
+-- Deactivating a user or company now also moves users.tokens_valid_after (V52_1) forward
+
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    token_id VARCHAR(64) NOT NULL,
+    user_id UUID,
+    expires_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_revoked_tokens_token_id UNIQUE (token_id)
+);
+
+-- Each node polls for rows newer than its watermark, and expired rows are purged hourly
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_created_at ON revoked_tokens (created_at);
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_expires_at ON revoked_tokens (expires_at);
@@ -0,0 +1,21 @@
+-- Standard workflows are copied to a new company by a background job that reports progress
+-- Migration: V54__Add_workflow_copy_jobs.sql
+
+CREATE TABLE IF NOT EXISTS workflow_copy_jobs (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    company_id UUID NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    total_templates INTEGER NOT NULL DEFAULT 0,
+    copied_templates INTEGER NOT NULL DEFAULT 0,
+    skipped_templates INTEGER NOT NULL DEFAULT 0,
+    current_template VARCHAR(255),
+    error_message TEXT,
+    started_at TIMESTAMP WITH TIME ZONE,
+    completed_at TIMESTAMP WITH TIME ZONE,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_workflow_copy_jobs_company ON workflow_copy_jobs (company_id);
+-- The sweep looks for pending or running jobs that have stopped making progress
+CREATE INDEX IF NOT EXISTS idx_workflow_copy_jobs_status_updated ON workflow_copy_jobs (status, updated_at);
@@ -0,0 +1,42 @@
+-- Company calendars are layered on the master calendar instead of holding a full copy of it:
+-- national master holidays, then those of the company's holiday state, then the company's
+-- own additions and removals
+-- Migration: V55__Layer_company_holiday_calendars.sql
+
+-- Master holidays can belong to one state; NULL is the national calendar
+ALTER TABLE master_holidays ADD COLUMN IF NOT EXISTS state_code VARCHAR(10);
+ALTER TABLE master_holidays DROP CONSTRAINT IF EXISTS uk_master_holidays_year_date;
+CREATE UNIQUE INDEX IF NOT EXISTS uk_master_holidays_year_date_state
+    ON master_holidays (holiday_year, holiday_date, COALESCE(state_code, ''));
+CREATE INDEX IF NOT EXISTS idx_master_holidays_state_year ON master_holidays (state_code, holiday_year);
+
+-- The state whose master holidays a company inherits; NULL for national holidays only
+ALTER TABLE companies ADD COLUMN IF NOT EXISTS holiday_state VARCHAR(10);
+
+-- Company rows are now overrides: ADDITION adds or renames a holiday, REMOVAL works through one
+ALTER TABLE company_holidays ADD COLUMN IF NOT EXISTS override_type VARCHAR(10) NOT NULL DEFAULT 'ADDITION';
+
+-- Master holidays a company deleted from its copy become removals, for the years it has holidays
+INSERT INTO company_holidays (id, company_id, holiday_year, holiday_date, holiday_name, description,
+                              override_type, created_at, updated_at)
+SELECT gen_random_uuid(), years.company_id, mh.holiday_year, mh.holiday_date, mh.holiday_name, mh.description,
+       'REMOVAL', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+FROM (SELECT DISTINCT company_id, holiday_year FROM company_holidays) years
+JOIN master_holidays mh ON mh.holiday_year = years.holiday_year AND mh.state_code IS NULL
+WHERE NOT EXISTS (
+    SELECT 1 FROM company_holidays ch
+    WHERE ch.company_id = years.company_id AND ch.holiday_year = mh.holiday_year AND ch.holiday_date = mh.holiday_date
+);
+
+-- Unchanged copies of master holidays are inherited now and no longer stored per company
+DELETE FROM company_holidays ch
+USING master_holidays mh
+WHERE ch.override_type = 'ADDITION'
+  AND mh.state_code IS NULL
+  AND ch.holiday_year = mh.holiday_year
+  AND ch.holiday_date = mh.holiday_date
+  AND ch.holiday_name IS NOT DISTINCT FROM mh.holiday_name
+  AND ch.description IS NOT DISTINCT FROM mh.description;
+
+COMMENT ON COLUMN master_holidays.state_code IS 'State calendar of the holiday; NULL for national holidays';
+COMMENT ON COLUMN company_holidays.override_type IS 'ADDITION adds or renames a holiday, REMOVAL makes a master holiday a working day';
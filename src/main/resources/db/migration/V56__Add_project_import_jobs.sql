@@ -0,0 +1,36 @@
+-- Projects can be imported in bulk from NDJSON or CSV by a background job with per-row results
+-- Migration: V56__Add_project_import_jobs.sql
+
+CREATE TABLE IF NOT EXISTS project_import_jobs (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    company_id UUID NOT NULL,
+    created_by_id UUID,
+    format VARCHAR(10) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    total_rows INTEGER NOT NULL DEFAULT 0,
+    created_projects INTEGER NOT NULL DEFAULT 0,
+    failed_rows INTEGER NOT NULL DEFAULT 0,
+    error_message TEXT,
+    started_at TIMESTAMP WITH TIME ZONE,
+    completed_at TIMESTAMP WITH TIME ZONE,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_project_import_jobs_company ON project_import_jobs (company_id);
+-- The sweep looks for uploads and runs that have stopped making progress
+CREATE INDEX IF NOT EXISTS idx_project_import_jobs_status_updated ON project_import_jobs (status, updated_at);
+
+CREATE TABLE IF NOT EXISTS project_import_rows (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    job_id UUID NOT NULL REFERENCES project_import_jobs (id) ON DELETE CASCADE,
+    row_number INTEGER NOT NULL,
+    project_number VARCHAR(50),
+    status VARCHAR(20) NOT NULL,
+    project_id UUID,
+    message TEXT,
+    payload TEXT,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_project_import_rows_job_row UNIQUE (job_id, row_number)
+);
@@ -0,0 +1,10 @@
+-- Due task notifications are claimed in batches with FOR UPDATE SKIP LOCKED, so every node can dispatch
+-- Migration: V57__Claim_task_notifications_in_batches.sql
+
+-- Failed deliveries are retried until the dispatcher's maximum attempts
+ALTER TABLE task_notifications ADD COLUMN IF NOT EXISTS send_attempts INTEGER NOT NULL DEFAULT 0;
+
+-- Undelivered notifications in the order the dispatcher claims them
+CREATE INDEX IF NOT EXISTS idx_task_notifications_due
+    ON task_notifications (COALESCE(scheduled_for, created_at))
+    WHERE sent_at IS NULL;
@@ -0,0 +1,16 @@
+-- Project exports keep their file list so a resumed export sees the same files at the same indices
+-- Migration: V58__Freeze_project_export_plans.sql
+
+CREATE TABLE IF NOT EXISTS project_exports (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    project_id UUID NOT NULL,
+    company_id UUID NOT NULL,
+    as_of TIMESTAMP WITH TIME ZONE NOT NULL,
+    file_count INTEGER NOT NULL,
+    entry_keys TEXT NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Exports past their retention are removed by a daily job
+CREATE INDEX IF NOT EXISTS idx_project_exports_created ON project_exports (created_at);
@@ -0,0 +1,17 @@
+-- A company has at most one active workflow template of each name, so concurrent copies cannot both create it
+-- Migration: V59__Unique_active_workflow_template_names.sql
+
+-- Keep the oldest of any active duplicates; later copies are deactivated, not deleted, as projects may reference them
+UPDATE workflow_templates t
+SET active = false
+WHERE t.active = true
+  AND EXISTS (
+      SELECT 1 FROM workflow_templates o
+      WHERE o.company_id = t.company_id
+        AND o.name = t.name
+        AND o.active = true
+        AND (o.created_at, o.id) < (t.created_at, t.id)
+  );
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_workflow_templates_company_name_active
+    ON workflow_templates (company_id, name) WHERE active = true;
@@ -0,0 +1,6 @@
+-- Photo processing retries storage errors instead of giving up on the first one
+-- Migration: V60__Add_photo_processing_attempts.sql
+
+ALTER TABLE project_step_photos ADD COLUMN IF NOT EXISTS processing_attempts INTEGER NOT NULL DEFAULT 0;
+
+COMMENT ON COLUMN project_step_photos.processing_attempts IS 'Processing runs cut short by a storage error; the photo is marked FAILED at the configured maximum';
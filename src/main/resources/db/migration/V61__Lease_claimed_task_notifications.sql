@@ -0,0 +1,13 @@
+-- The notification dispatcher claims batches with a lease instead of holding row locks while it sends
+-- Migration: V61__Lease_claimed_task_notifications.sql
+
+-- The dispatcher run holding a notification, and when its claim lapses if that run dies
+ALTER TABLE task_notifications ADD COLUMN IF NOT EXISTS claim_token UUID;
+ALTER TABLE task_notifications ADD COLUMN IF NOT EXISTS claimed_until TIMESTAMP WITH TIME ZONE;
+
+CREATE INDEX IF NOT EXISTS idx_task_notifications_claim_token
+    ON task_notifications (claim_token)
+    WHERE claim_token IS NOT NULL;
+
+COMMENT ON COLUMN task_notifications.claim_token IS 'Dispatcher run currently delivering the notification';
+COMMENT ON COLUMN task_notifications.claimed_until IS 'When the claim lapses and another dispatcher run may retry the notification';
@@ -0,0 +1,71 @@
+package com.projectmaster.app.common.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TtlCacheTest {
+
+    private final TtlCache<String, String> cache = new TtlCache<>("Test", Duration.ofMinutes(1), 10);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void get_ShouldNotCacheValueLoadedWhileKeyWasEvicted() {
+        assertEquals("stale", cache.get("key", () -> {
+            loads.incrementAndGet();
+            // The change commits and evicts while the old value is being read
+            cache.evict("key");
+            return "stale";
+        }));
+
+        assertEquals("fresh", cache.get("key", () -> {
+            loads.incrementAndGet();
+            return "fresh";
+        }));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_ShouldReloadValueThatIsNoLongerCurrent() {
+        cache.get("key", () -> "v1");
+
+        assertEquals("v1", cache.get("key", value -> value.equals("v1"), () -> "v2"));
+        assertEquals("v2", cache.get("key", value -> value.equals("v2"), () -> "v2"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void evict_ShouldDropAgainOnceTransactionCommits() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.get("key", () -> "old");
+            cache.evict("key");
+            // A request racing the change re-caches the old value before it commits
+            cache.get("key", () -> "old");
+            assertEquals(1, cache.size());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void get_ShouldClearWhenFullOfLiveEntries() {
+        for (int i = 0; i < 10; i++) {
+            String key = "key" + i;
+            cache.get(key, () -> key);
+        }
+
+        cache.get("one more", () -> "value");
+
+        assertEquals(1, cache.size());
+    }
+}
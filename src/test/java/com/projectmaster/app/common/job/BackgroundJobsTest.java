@@ -0,0 +1,62 @@
+package com.projectmaster.app.common.job;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BackgroundJobsTest {
+
+    private final BackgroundJobs jobs = new BackgroundJobs("Test");
+
+    @AfterEach
+    void tearDown() {
+        jobs.shutdown();
+    }
+
+    @Test
+    void submit_SkipsAJobAlreadyRunning() throws InterruptedException {
+        UUID jobId = UUID.randomUUID();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+
+        jobs.submit(jobId, () -> {
+            runs.incrementAndGet();
+            started.countDown();
+            awaitQuietly(release);
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        jobs.submit(jobId, runs::incrementAndGet);
+        release.countDown();
+
+        CountDownLatch rerun = new CountDownLatch(1);
+        // Once the first run finishes the id can be submitted again
+        for (int attempt = 0; attempt < 50 && rerun.getCount() > 0; attempt++) {
+            jobs.submit(jobId, rerun::countDown);
+            rerun.await(100, TimeUnit.MILLISECONDS);
+        }
+        assertEquals(0, rerun.getCount());
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void submit_DropsJobsAfterShutdown() {
+        jobs.shutdown();
+
+        assertDoesNotThrow(() -> jobs.submit(UUID.randomUUID(), () -> fail("ran after shutdown")));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.projectmaster.app.common.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageNormalizerTest {
+
+    private final ImageNormalizer normalizer = new ImageNormalizer();
+
+    @Test
+    void readExifOrientation_ShouldFindTagInBigEndianExif() throws Exception {
+        byte[] jpeg = withExifOrientation(landscapeJpeg(), 6);
+
+        assertEquals(6, ImageNormalizer.readExifOrientation(new ByteArrayInputStream(jpeg)));
+        assertEquals(1, ImageNormalizer.readExifOrientation(new ByteArrayInputStream(landscapeJpeg())));
+        assertEquals(1, ImageNormalizer.readExifOrientation(new ByteArrayInputStream("not an image".getBytes())));
+    }
+
+    @Test
+    void normalize_ShouldRotateScaleAndDropExif() throws Exception {
+        byte[] jpeg = withExifOrientation(landscapeJpeg(), 6);
+
+        ImageNormalizer.Rendition rendition = normalizer.normalize(new ByteArrayResource(jpeg), 100);
+
+        // Rotated a quarter turn clockwise: the red left half of the frame ends up on top
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(rendition.jpeg()));
+        assertEquals(50, image.getWidth());
+        assertEquals(100, image.getHeight());
+        assertEquals(200, rendition.originalWidth());
+        assertEquals(400, rendition.originalHeight());
+        assertTrue(new Color(image.getRGB(25, 10)).getRed() > 200);
+        assertTrue(new Color(image.getRGB(25, 90)).getRed() < 50);
+
+        assertEquals(1, ImageNormalizer.readExifOrientation(new ByteArrayInputStream(rendition.jpeg())));
+        assertFalse(new String(rendition.jpeg(), StandardCharsets.ISO_8859_1).contains("Exif"));
+    }
+
+    @Test
+    void normalize_ShouldTellUndecodableContentApartFromReadFailures() throws Exception {
+        // A WebP header, which the decoder has no reader for
+        byte[] webp = "RIFF\0\0\0\0WEBPVP8 ".getBytes(StandardCharsets.US_ASCII);
+
+        assertTrue(normalizer.canDecode(new ByteArrayResource(landscapeJpeg())));
+        assertFalse(normalizer.canDecode(new ByteArrayResource(webp)));
+        assertThrows(ImageNormalizer.UnreadableImageException.class,
+                () -> normalizer.normalize(new ByteArrayResource(webp), 100));
+    }
+
+    private static byte[] landscapeJpeg() throws Exception {
+        BufferedImage image = new BufferedImage(400, 200, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.RED);
+        graphics.fillRect(0, 0, 200, 200);
+        graphics.setColor(Color.BLUE);
+        graphics.fillRect(200, 0, 200, 200);
+        graphics.dispose();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpeg", out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Insert an APP1 EXIF segment holding only an orientation tag right after SOI
+     */
+    private static byte[] withExifOrientation(byte[] jpeg, int orientation) {
+        byte[] tiff = {
+                'M', 'M', 0, 42, 0, 0, 0, 8,                 // big-endian header, IFD0 at offset 8
+                0, 1,                                        // one entry
+                0x01, 0x12, 0, 3, 0, 0, 0, 1, 0, (byte) orientation, 0, 0, // orientation, SHORT, count 1
+                0, 0, 0, 0                                   // no next IFD
+        };
+        byte[] exif = "Exif\0\0".getBytes(StandardCharsets.US_ASCII);
+        int length = 2 + exif.length + tiff.length;
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(jpeg, 0, 2);
+        out.write(0xFF);
+        out.write(0xE1);
+        out.write(length >> 8);
+        out.write(length & 0xFF);
+        out.writeBytes(exif);
+        out.writeBytes(tiff);
+        out.write(jpeg, 2, jpeg.length - 2);
+        return out.toByteArray();
+    }
+}
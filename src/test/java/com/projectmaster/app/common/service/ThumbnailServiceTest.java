@@ -0,0 +1,87 @@
+package com.projectmaster.app.common.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ThumbnailServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ThumbnailService thumbnailService;
+    private byte[] png;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        thumbnailService = new ThumbnailService();
+        ReflectionTestUtils.setField(thumbnailService, "cacheDir", tempDir.toString());
+        ReflectionTestUtils.setField(thumbnailService, "memoryCacheBytes", 1024L * 1024L);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(2000, 1000, BufferedImage.TYPE_INT_ARGB), "png", out);
+        png = out.toByteArray();
+    }
+
+    @Test
+    void fixedSizeFor_ShouldRoundUpToNearestFixedSize() {
+        assertEquals(128, ThumbnailService.fixedSizeFor(50));
+        assertEquals(256, ThumbnailService.fixedSizeFor(200));
+        assertEquals(512, ThumbnailService.fixedSizeFor(4000));
+    }
+
+    @Test
+    void getThumbnail_ShouldScaleLongestSideToFixedSize() throws Exception {
+        Resource thumbnail = thumbnailService.getThumbnail("abc123", 200, () -> new ByteArrayResource(png));
+
+        BufferedImage image = ImageIO.read(thumbnail.getInputStream());
+        assertEquals(256, image.getWidth());
+        assertEquals(128, image.getHeight());
+    }
+
+    @Test
+    void getThumbnail_SecondRequest_ShouldNotReadSourceAgain() throws Exception {
+        AtomicInteger opens = new AtomicInteger();
+        ThumbnailService.ImageSource source = () -> {
+            opens.incrementAndGet();
+            return new ByteArrayResource(png);
+        };
+
+        thumbnailService.getThumbnail("abc123", 128, source);
+        thumbnailService.getThumbnail("abc123", 100, source);
+
+        assertEquals(1, opens.get());
+    }
+
+    @Test
+    void getThumbnail_AfterEvict_ShouldRegenerate() throws Exception {
+        AtomicInteger opens = new AtomicInteger();
+        ThumbnailService.ImageSource source = () -> {
+            opens.incrementAndGet();
+            return new ByteArrayResource(png);
+        };
+
+        thumbnailService.getThumbnail("abc123", 128, source);
+        thumbnailService.evict("abc123");
+        thumbnailService.getThumbnail("abc123", 128, source);
+
+        assertEquals(2, opens.get());
+    }
+
+    @Test
+    void getThumbnail_WithUnsafeKey_ShouldReject() {
+        assertThrows(IllegalArgumentException.class,
+                () -> thumbnailService.getThumbnail("../etc", 128, () -> new ByteArrayResource(png)));
+    }
+}
@@ -0,0 +1,69 @@
+package com.projectmaster.app.common.storage;
+
+import com.projectmaster.app.common.repository.BlobReferenceRepository;
+import com.projectmaster.app.common.service.ThumbnailService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BlobDeletionServiceTest {
+
+    private static final String KEY = "a".repeat(64);
+
+    @Mock
+    private BlobReferenceRepository blobReferenceRepository;
+
+    @Mock
+    private BlobStorage blobStorage;
+
+    @Mock
+    private ThumbnailService thumbnailService;
+
+    @InjectMocks
+    private BlobDeletionService blobDeletionService;
+
+    @Test
+    void deleteIfUnreferenced_ShouldDeleteContentBeforeItsRow() throws Exception {
+        when(blobReferenceRepository.lockIfUnreferenced(KEY)).thenReturn(List.of(KEY));
+        when(blobReferenceRepository.deleteIfUnreferenced(KEY)).thenReturn(1);
+
+        assertTrue(blobDeletionService.deleteIfUnreferenced(KEY));
+
+        InOrder inOrder = inOrder(blobReferenceRepository, blobStorage);
+        inOrder.verify(blobReferenceRepository).lockIfUnreferenced(KEY);
+        inOrder.verify(blobStorage).delete(KEY);
+        inOrder.verify(blobReferenceRepository).deleteIfUnreferenced(KEY);
+        verify(thumbnailService).evict(KEY);
+    }
+
+    @Test
+    void deleteIfUnreferenced_ShouldSkipBlobsReferencedOrBeingAcquired() throws Exception {
+        when(blobReferenceRepository.lockIfUnreferenced(KEY)).thenReturn(List.of());
+
+        assertFalse(blobDeletionService.deleteIfUnreferenced(KEY));
+
+        verify(blobStorage, never()).delete(KEY);
+        verify(blobReferenceRepository, never()).deleteIfUnreferenced(KEY);
+    }
+
+    @Test
+    void deleteIfUnreferenced_ShouldKeepRowWhenContentCannotBeDeleted() throws Exception {
+        when(blobReferenceRepository.lockIfUnreferenced(KEY)).thenReturn(List.of(KEY));
+        when(blobStorage.delete(KEY)).thenThrow(new IOException("disk error"));
+
+        assertFalse(blobDeletionService.deleteIfUnreferenced(KEY));
+
+        verify(blobReferenceRepository, never()).deleteIfUnreferenced(KEY);
+    }
+}
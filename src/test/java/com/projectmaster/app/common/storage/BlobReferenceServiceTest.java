@@ -0,0 +1,132 @@
+package com.projectmaster.app.common.storage;
+
+import com.projectmaster.app.common.repository.BlobReferenceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BlobReferenceServiceTest {
+
+    private static final String KEY_A = "a".repeat(64);
+    private static final String KEY_B = "b".repeat(64);
+
+    @Mock
+    private BlobReferenceRepository blobReferenceRepository;
+
+    @Mock
+    private BlobStorage blobStorage;
+
+    @Mock
+    private BlobDeletionService blobDeletionService;
+
+    @InjectMocks
+    private BlobReferenceService blobReferenceService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(blobReferenceService, "graceHours", 24L);
+        ReflectionTestUtils.setField(blobReferenceService, "batchSize", 10);
+    }
+
+    @Test
+    void collectUnreferencedBlobs_ShouldDeleteEachBlobReleasedBeforeCutoff() {
+        when(blobReferenceRepository.findKeysReleasedBefore(any(Instant.class), any(Limit.class)))
+                .thenReturn(List.of(KEY_A, KEY_B));
+        when(blobDeletionService.deleteIfUnreferenced(KEY_A)).thenReturn(true);
+        // KEY_B was re-acquired by an upload after it was selected
+        when(blobDeletionService.deleteIfUnreferenced(KEY_B)).thenReturn(false);
+
+        blobReferenceService.collectUnreferencedBlobs();
+
+        verify(blobDeletionService).deleteIfUnreferenced(KEY_A);
+        verify(blobDeletionService).deleteIfUnreferenced(KEY_B);
+    }
+
+    @Test
+    void storeAndAcquire_ShouldStoreAgainWhenBlobWasCollectedMeanwhile() throws Exception {
+        byte[] content = {1, 2, 3};
+        StoredBlob blob = new StoredBlob(KEY_A, content.length, new byte[32]);
+        when(blobStorage.store(any(InputStream.class))).thenReturn(blob);
+        // The store skipped the existing blob just before the job deleted it
+        when(blobStorage.exists(KEY_A)).thenReturn(false);
+
+        assertSame(blob, blobReferenceService.storeAndAcquire(new ByteArrayResource(content)));
+
+        InOrder inOrder = inOrder(blobStorage, blobReferenceRepository);
+        inOrder.verify(blobStorage).store(any(InputStream.class));
+        inOrder.verify(blobReferenceRepository).acquire(KEY_A, 3L);
+        inOrder.verify(blobStorage).store(any(InputStream.class));
+    }
+
+    @Test
+    void storeAndAcquire_ShouldStoreOnceWhenBlobIsPresent() throws Exception {
+        when(blobStorage.store(any(InputStream.class))).thenReturn(new StoredBlob(KEY_A, 3, new byte[32]));
+        when(blobStorage.exists(KEY_A)).thenReturn(true);
+
+        blobReferenceService.storeAndAcquire(new ByteArrayResource(new byte[]{1, 2, 3}));
+
+        verify(blobStorage, times(1)).store(any(InputStream.class));
+    }
+
+    @Test
+    void storeAndAcquire_ShouldHandBlobToCollectionWhenTransactionRollsBack() throws Exception {
+        when(blobStorage.store(any(InputStream.class))).thenReturn(new StoredBlob(KEY_A, 3, new byte[32]));
+        when(blobStorage.exists(KEY_A)).thenReturn(true);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            blobReferenceService.storeAndAcquire(new ByteArrayResource(new byte[]{1, 2, 3}));
+            verify(blobReferenceRepository, never()).registerUnreferenced(any(), anyLong());
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(blobReferenceRepository).registerUnreferenced(KEY_A, 3L);
+    }
+
+    @Test
+    void storeAndAcquire_ShouldKeepBlobAloneWhenTransactionCommits() throws Exception {
+        when(blobStorage.store(any(InputStream.class))).thenReturn(new StoredBlob(KEY_A, 3, new byte[32]));
+        when(blobStorage.exists(KEY_A)).thenReturn(true);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            blobReferenceService.storeAndAcquire(new ByteArrayResource(new byte[]{1, 2, 3}));
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(blobReferenceRepository, never()).registerUnreferenced(any(), anyLong());
+    }
+
+    @Test
+    void acquire_ShouldTreatMissingSizeAsZero() {
+        blobReferenceService.acquire(KEY_A, null);
+
+        verify(blobReferenceRepository).acquire(KEY_A, 0L);
+    }
+}
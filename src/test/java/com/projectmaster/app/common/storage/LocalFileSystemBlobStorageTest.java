@@ -0,0 +1,74 @@
+package com.projectmaster.app.common.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalFileSystemBlobStorageTest {
+
+    // SHA-256 of "hello world"
+    private static final String HELLO_KEY = "b94d27b9934d3e08a52e52d7da7dabfac484efe37a5380ee9088f7ace2efcde9";
+
+    @TempDir
+    Path tempDir;
+
+    private LocalFileSystemBlobStorage storage;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        storage = new LocalFileSystemBlobStorage(tempDir.toString());
+    }
+
+    @Test
+    void store_ShouldKeyBlobBySha256AndShardByPrefix() throws Exception {
+        StoredBlob blob = storage.store(stream("hello world"));
+
+        assertEquals(HELLO_KEY, blob.getKey());
+        assertEquals(11, blob.getSize());
+        assertTrue(tempDir.resolve("b9").resolve("4d").resolve(HELLO_KEY).toFile().isFile());
+    }
+
+    @Test
+    void store_SameContentTwice_ShouldReturnSameKey() throws Exception {
+        StoredBlob first = storage.store(stream("hello world"));
+        StoredBlob second = storage.store(stream("hello world"));
+
+        assertEquals(first.getKey(), second.getKey());
+        assertEquals(first.getBase64Checksum(), second.getBase64Checksum());
+    }
+
+    @Test
+    void load_ShouldStreamStoredContent() throws Exception {
+        StoredBlob blob = storage.store(stream("hello world"));
+
+        try (InputStream in = storage.load(blob.getKey()).getInputStream()) {
+            assertEquals("hello world", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void load_AfterDelete_ShouldThrow() throws Exception {
+        StoredBlob blob = storage.store(stream("hello world"));
+
+        assertTrue(storage.delete(blob.getKey()));
+        assertFalse(storage.exists(blob.getKey()));
+        assertThrows(FileNotFoundException.class, () -> storage.load(blob.getKey()));
+    }
+
+    @Test
+    void load_WithMalformedKey_ShouldReject() {
+        assertThrows(IllegalArgumentException.class, () -> storage.load("../../etc/passwd"));
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
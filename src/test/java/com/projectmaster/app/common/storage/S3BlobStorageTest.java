@@ -0,0 +1,128 @@
+package com.projectmaster.app.common.storage;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the S3 backend against a minimal in-process object store
+ */
+class S3BlobStorageTest {
+
+    @TempDir
+    Path tempDir;
+
+    private HttpServer server;
+    private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private S3BlobStorage storage;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+
+        String endpoint = "http://127.0.0.1:" + server.getAddress().getPort();
+        storage = new S3BlobStorage(endpoint, "us-east-1", "bucket", "access", "secret", "blobs", tempDir.toString());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void store_ShouldPutObjectUnderShardedKeyAndLoadItBack() throws IOException {
+        StoredBlob blob = storage.store(new ByteArrayInputStream("site photo".getBytes(StandardCharsets.UTF_8)));
+
+        String path = "/bucket/blobs/" + blob.getKey().substring(0, 2) + "/" + blob.getKey().substring(2, 4) + "/" + blob.getKey();
+        assertTrue(objects.containsKey(path));
+        assertTrue(requests.contains("PUT " + path));
+
+        Resource resource = storage.load(blob.getKey());
+        assertEquals(10, resource.contentLength());
+        try (InputStream in = resource.getInputStream()) {
+            assertEquals("site photo", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void store_ShouldSkipPutWhenContentAlreadyStored() throws IOException {
+        storage.store(new ByteArrayInputStream("same".getBytes(StandardCharsets.UTF_8)));
+        storage.store(new ByteArrayInputStream("same".getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(1, requests.stream().filter(request -> request.startsWith("PUT ")).count());
+    }
+
+    @Test
+    void delete_ShouldRemoveObjectAndReportMissingBlobs() throws IOException {
+        StoredBlob blob = storage.store(new ByteArrayInputStream("temporary".getBytes(StandardCharsets.UTF_8)));
+
+        assertTrue(storage.delete(blob.getKey()));
+        assertFalse(storage.exists(blob.getKey()));
+        assertFalse(storage.delete(blob.getKey()));
+        assertThrows(FileNotFoundException.class, () -> storage.load(blob.getKey()));
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath();
+        requests.add(method + " " + path);
+
+        String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        if (authorization == null || !authorization.startsWith("AWS4-HMAC-SHA256 Credential=access/")) {
+            exchange.sendResponseHeaders(403, -1);
+            exchange.close();
+            return;
+        }
+
+        byte[] object = objects.get(path);
+        switch (method) {
+            case "PUT" -> {
+                objects.put(path, exchange.getRequestBody().readAllBytes());
+                exchange.sendResponseHeaders(200, -1);
+            }
+            case "HEAD" -> {
+                if (object == null) {
+                    exchange.sendResponseHeaders(404, -1);
+                } else {
+                    exchange.getResponseHeaders().add("Content-Length", String.valueOf(object.length));
+                    exchange.sendResponseHeaders(200, -1);
+                }
+            }
+            case "GET" -> {
+                if (object == null) {
+                    exchange.sendResponseHeaders(404, -1);
+                } else {
+                    exchange.sendResponseHeaders(200, object.length);
+                    exchange.getResponseBody().write(object);
+                }
+            }
+            case "DELETE" -> {
+                objects.remove(path);
+                exchange.sendResponseHeaders(204, -1);
+            }
+            default -> exchange.sendResponseHeaders(405, -1);
+        }
+        exchange.close();
+    }
+}
@@ -0,0 +1,106 @@
+package com.projectmaster.app.common.web;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourceRegion;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResourceResponsesTest {
+
+    private static final String ETAG = "\"abc123\"";
+
+    private final Resource resource = new ByteArrayResource("0123456789".getBytes(StandardCharsets.UTF_8));
+
+    @Test
+    void serve_WithoutRange_ShouldReturnFullResource() throws Exception {
+        ResponseEntity<?> response = serve(new MockHttpServletRequest());
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(resource, response.getBody());
+        assertEquals("bytes", response.getHeaders().getFirst(HttpHeaders.ACCEPT_RANGES));
+        assertEquals(ETAG, response.getHeaders().getETag());
+    }
+
+    @Test
+    void serve_WithSingleRange_ShouldReturnPartialRegion() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+
+        ResponseEntity<?> response = serve(request);
+
+        assertEquals(HttpStatus.PARTIAL_CONTENT, response.getStatusCode());
+        ResourceRegion region = (ResourceRegion) response.getBody();
+        assertEquals(2, region.getPosition());
+        assertEquals(4, region.getCount());
+    }
+
+    @Test
+    void serve_WithMultipleRanges_ShouldReturnRegionList() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.RANGE, "bytes=0-1,8-");
+
+        ResponseEntity<?> response = serve(request);
+
+        assertEquals(HttpStatus.PARTIAL_CONTENT, response.getStatusCode());
+        assertEquals(2, ((List<?>) response.getBody()).size());
+    }
+
+    @Test
+    void serve_WithStaleIfRange_ShouldStreamFullBody() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"old\"");
+
+        ResponseEntity<?> response = serve(request);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertInstanceOf(StreamingResponseBody.class, response.getBody());
+        assertEquals(10, response.getHeaders().getContentLength());
+    }
+
+    @Test
+    void serve_WithMatchingIfRange_ShouldHonourRange() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+        request.addHeader(HttpHeaders.IF_RANGE, ETAG);
+
+        assertEquals(HttpStatus.PARTIAL_CONTENT, serve(request).getStatusCode());
+    }
+
+    @Test
+    void serve_WithUnsatisfiableRange_ShouldReturn416() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.RANGE, "bytes=20-30");
+
+        ResponseEntity<?> response = serve(request);
+
+        assertEquals(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE, response.getStatusCode());
+        assertEquals("bytes */10", response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+    }
+
+    @Test
+    void serve_WithMatchingIfNoneMatch_ShouldReturn304() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, ETAG);
+
+        ResponseEntity<?> response = serve(request);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+    }
+
+    private ResponseEntity<?> serve(MockHttpServletRequest request) throws Exception {
+        return ResourceResponses.serve(request, resource, MediaType.TEXT_PLAIN, ETAG, "inline");
+    }
+}
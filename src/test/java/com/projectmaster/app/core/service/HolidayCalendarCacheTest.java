@@ -0,0 +1,137 @@
+package com.projectmaster.app.core.service;
+
+import com.projectmaster.app.company.repository.CompanyRepository;
+import com.projectmaster.app.core.dto.HolidayResponse;
+import com.projectmaster.app.core.entity.CompanyHoliday;
+import com.projectmaster.app.core.entity.HolidayOverrideType;
+import com.projectmaster.app.core.entity.MasterHoliday;
+import com.projectmaster.app.core.repository.CompanyHolidayRepository;
+import com.projectmaster.app.core.repository.MasterHolidayRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HolidayCalendarCacheTest {
+
+    @Mock
+    private MasterHolidayRepository masterHolidayRepository;
+
+    @Mock
+    private CompanyHolidayRepository companyHolidayRepository;
+
+    @Mock
+    private CompanyRepository companyRepository;
+
+    @InjectMocks
+    private HolidayCalendarCache holidayCalendarCache;
+
+    private static final LocalDate NEW_YEAR = LocalDate.of(2026, 1, 1);
+    private static final LocalDate AUSTRALIA_DAY = LocalDate.of(2026, 1, 26);
+    private static final LocalDate SHUTDOWN = LocalDate.of(2026, 1, 2);
+
+    private final UUID companyId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(holidayCalendarCache, "ttlSeconds", 300L);
+        ReflectionTestUtils.setField(holidayCalendarCache, "maxEntries", 10);
+        ReflectionTestUtils.setField(holidayCalendarCache, "yearsBack", 1);
+        ReflectionTestUtils.setField(holidayCalendarCache, "yearsAhead", 1);
+        holidayCalendarCache.init();
+    }
+
+    @Test
+    void get_RecompilesOnceTheCalendarVersionMoves() {
+        when(companyRepository.findById(companyId)).thenReturn(Optional.empty());
+        when(companyHolidayRepository.findCalendarVersion(companyId)).thenReturn("v1", "v1", "v2");
+
+        WorkingDayIndex first = holidayCalendarCache.get(companyId);
+        assertSame(first, holidayCalendarCache.get(companyId));
+        assertNotSame(first, holidayCalendarCache.get(companyId));
+
+        verify(masterHolidayRepository, times(2)).findCalendarHolidays(anyInt(), anyInt(), isNull());
+    }
+
+    @Test
+    void covering_CompilesDatesOutsideTheCachedWindow() {
+        int currentYear = LocalDate.now().getYear();
+        LocalDate farDate = LocalDate.of(currentYear + 5, 3, 2);
+        when(companyRepository.findById(companyId)).thenReturn(Optional.empty());
+        when(companyHolidayRepository.findCalendarVersion(companyId)).thenReturn("v1");
+        when(masterHolidayRepository.findCalendarHolidays(currentYear - 1, currentYear + 1, null))
+                .thenReturn(List.of());
+        when(masterHolidayRepository.findCalendarHolidays(currentYear - 1, currentYear + 5, null))
+                .thenReturn(List.of(master(farDate, "Far holiday", null)));
+
+        WorkingDayIndex index = holidayCalendarCache.covering(companyId, farDate, farDate);
+
+        assertTrue(index.covers(farDate));
+        assertTrue(index.isHoliday(farDate));
+        // The widened window is not cached in place of the default one
+        assertFalse(holidayCalendarCache.get(companyId).covers(farDate));
+    }
+
+    @Test
+    void layer_AppliesStateHolidaysAndCompanyOverrides() {
+        List<MasterHoliday> masters = List.of(
+                master(NEW_YEAR, "New Year's Day", null),
+                master(AUSTRALIA_DAY, "Australia Day", null),
+                master(AUSTRALIA_DAY, "Australia Day (NSW)", "NSW"));
+        List<CompanyHoliday> overrides = List.of(
+                override(NEW_YEAR, HolidayOverrideType.REMOVAL),
+                override(SHUTDOWN, HolidayOverrideType.ADDITION));
+
+        List<HolidayResponse> holidays = HolidayCalendarCache.layer(masters, overrides);
+
+        assertEquals(List.of(SHUTDOWN, AUSTRALIA_DAY), holidays.stream().map(HolidayResponse::getHolidayDate).toList());
+        assertEquals(Boolean.TRUE, holidays.get(0).getCompanySpecific());
+        assertEquals("Australia Day (NSW)", holidays.get(1).getHolidayName());
+        assertEquals("NSW", holidays.get(1).getStateCode());
+    }
+
+    @Test
+    void workingDayIndex_SkipsWeekendsAndHolidays() {
+        // 2026-01-01 is a Thursday
+        WorkingDayIndex index = WorkingDayIndex.compile(NEW_YEAR, LocalDate.of(2026, 12, 31),
+                List.of(NEW_YEAR, AUSTRALIA_DAY));
+
+        assertEquals(1, index.countWorkingDays(NEW_YEAR, LocalDate.of(2026, 1, 4)));
+        assertEquals(LocalDate.of(2026, 1, 27), index.addWorkingDays(LocalDate.of(2026, 1, 23), 1));
+        assertEquals(LocalDate.of(2026, 1, 23), index.subtractWorkingDays(LocalDate.of(2026, 1, 27), 1));
+        assertFalse(index.isWorkingDay(AUSTRALIA_DAY));
+        assertEquals(-1, index.countWorkingDays(LocalDate.of(2025, 12, 31), SHUTDOWN));
+        assertNull(index.addWorkingDays(LocalDate.of(2026, 12, 31), 1));
+    }
+
+    private static MasterHoliday master(LocalDate date, String name, String stateCode) {
+        return MasterHoliday.builder()
+                .holidayYear(date.getYear())
+                .holidayDate(date)
+                .holidayName(name)
+                .stateCode(stateCode)
+                .build();
+    }
+
+    private static CompanyHoliday override(LocalDate date, HolidayOverrideType type) {
+        return CompanyHoliday.builder()
+                .holidayYear(date.getYear())
+                .holidayDate(date)
+                .holidayName("Company day")
+                .overrideType(type)
+                .build();
+    }
+}
@@ -0,0 +1,98 @@
+package com.projectmaster.app.document.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class DocumentAccessLogWriterTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+    }
+
+    private DocumentAccessLogWriter writer(int capacity) {
+        DocumentAccessLogWriter writer = new DocumentAccessLogWriter(jdbcTemplate, capacity);
+        ReflectionTestUtils.setField(writer, "batchSize", 2);
+        ReflectionTestUtils.setField(writer, "flushIntervalMs", 10_000L);
+        ReflectionTestUtils.setField(writer, "offerTimeoutMs", 1L);
+        return writer;
+    }
+
+    private static DocumentAccessLogWriter.AccessEntry entry() {
+        return new DocumentAccessLogWriter.AccessEntry(
+                UUID.randomUUID(), UUID.randomUUID(), "DOWNLOAD", "127.0.0.1", "test", Instant.now());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void stop_ShouldFlushQueuedEntriesInBatches() {
+        DocumentAccessLogWriter writer = writer(10);
+        writer.record(entry());
+        writer.record(entry());
+        writer.record(entry());
+
+        writer.stop();
+
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), rows.capture());
+        assertEquals(3, rows.getAllValues().stream().mapToInt(List::size).sum());
+        assertEquals(0, writer.getQueuedEntries());
+    }
+
+    @Test
+    void stop_ShouldLetRunningWriterFinishBatchAndDrainQueue() throws Exception {
+        DocumentAccessLogWriter writer = writer(10);
+        ReflectionTestUtils.setField(writer, "flushIntervalMs", 20L);
+        ReflectionTestUtils.setField(writer, "shutdownTimeoutSeconds", 10L);
+        CountDownLatch writing = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        AtomicInteger written = new AtomicInteger();
+        doAnswer(invocation -> {
+            writing.countDown();
+            Thread.sleep(100);
+            interrupted.compareAndSet(false, Thread.currentThread().isInterrupted());
+            written.addAndGet(invocation.<List<Object[]>>getArgument(1).size());
+            return new int[0];
+        }).when(jdbcTemplate).batchUpdate(anyString(), anyList());
+        writer.start();
+        writer.record(entry());
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        // Queued while the first batch is being inserted
+        writer.record(entry());
+        writer.record(entry());
+
+        writer.stop();
+
+        assertFalse(interrupted.get());
+        assertEquals(3, written.get());
+        assertEquals(0, writer.getQueuedEntries());
+    }
+
+    @Test
+    void record_ShouldDropEntriesWhenQueueStaysFull() {
+        DocumentAccessLogWriter writer = writer(1);
+        writer.record(entry());
+        writer.record(entry());
+
+        assertEquals(1, writer.getDroppedEntries());
+        assertEquals(1, writer.getQueuedEntries());
+    }
+}
@@ -0,0 +1,85 @@
+package com.projectmaster.app.document.service;
+
+import com.projectmaster.app.common.storage.BlobReferenceService;
+import com.projectmaster.app.common.storage.BlobStorage;
+import com.projectmaster.app.common.storage.StoredBlob;
+import com.projectmaster.app.document.entity.Document;
+import com.projectmaster.app.document.repository.DocumentRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DocumentBlobTransferServiceTest {
+
+    private static final UUID DOCUMENT_ID = UUID.randomUUID();
+    private static final String KEY = "a".repeat(64);
+
+    @Mock
+    private DocumentRepository documentRepository;
+
+    @Mock
+    private BlobStorage blobStorage;
+
+    @Mock
+    private BlobReferenceService blobReferenceService;
+
+    @InjectMocks
+    private DocumentBlobTransferService documentBlobTransferService;
+
+    @Test
+    void transfer_ShouldAcquireReferenceBeforeMarkingDocument() throws Exception {
+        when(documentRepository.lockLegacyContentById(DOCUMENT_ID)).thenReturn(List.<byte[]>of("old".getBytes()));
+        when(documentRepository.findById(DOCUMENT_ID)).thenReturn(Optional.of(document(false)));
+        when(blobReferenceService.storeAndAcquire(any())).thenReturn(new StoredBlob(KEY, 3L, new byte[32]));
+        when(documentRepository.markMigratedToBlobStorage(DOCUMENT_ID, KEY)).thenReturn(1);
+
+        assertTrue(documentBlobTransferService.transfer(DOCUMENT_ID));
+
+        InOrder inOrder = inOrder(blobReferenceService, documentRepository);
+        inOrder.verify(blobReferenceService).storeAndAcquire(any());
+        inOrder.verify(documentRepository).markMigratedToBlobStorage(DOCUMENT_ID, KEY);
+        verify(blobReferenceService, never()).release(any());
+    }
+
+    @Test
+    void transfer_ShouldSkipDocumentLockedByAnotherNode() throws Exception {
+        when(documentRepository.lockLegacyContentById(DOCUMENT_ID)).thenReturn(List.of());
+
+        assertFalse(documentBlobTransferService.transfer(DOCUMENT_ID));
+
+        verifyNoInteractions(blobStorage, blobReferenceService);
+        verify(documentRepository, never()).markMigratedToBlobStorage(any(), any());
+    }
+
+    @Test
+    void transfer_ShouldNotReferenceContentOfArchivedDocument() throws Exception {
+        when(documentRepository.lockLegacyContentById(DOCUMENT_ID)).thenReturn(List.<byte[]>of("old".getBytes()));
+        when(documentRepository.findById(DOCUMENT_ID)).thenReturn(Optional.of(document(true)));
+        when(blobStorage.store(any())).thenReturn(new StoredBlob(KEY, 3L, new byte[32]));
+        when(documentRepository.markMigratedToBlobStorage(DOCUMENT_ID, KEY)).thenReturn(1);
+
+        assertTrue(documentBlobTransferService.transfer(DOCUMENT_ID));
+
+        verifyNoInteractions(blobReferenceService);
+    }
+
+    private Document document(boolean archived) {
+        Document document = new Document();
+        document.setId(DOCUMENT_ID);
+        document.setIsArchived(archived);
+        return document;
+    }
+}
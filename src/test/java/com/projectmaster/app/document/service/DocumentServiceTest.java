@@ -0,0 +1,98 @@
+package com.projectmaster.app.document.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projectmaster.app.common.dto.CursorPage;
+import com.projectmaster.app.common.dto.KeysetCursor;
+import com.projectmaster.app.common.enums.DocumentCategory;
+import com.projectmaster.app.common.enums.DocumentType;
+import com.projectmaster.app.document.dto.DocumentDto;
+import com.projectmaster.app.document.dto.DocumentSummary;
+import com.projectmaster.app.document.repository.DocumentRepository;
+import com.projectmaster.app.project.entity.Project;
+import com.projectmaster.app.project.repository.ProjectRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DocumentServiceTest {
+
+    @Mock
+    private DocumentRepository documentRepository;
+    @Mock
+    private ProjectRepository projectRepository;
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private DocumentService documentService;
+
+    private final UUID projectId = UUID.randomUUID();
+
+    @Test
+    void getDocumentsByProject_MapsSummariesWithoutLoadingEntities() {
+        Project project = Project.builder().name("Smith Residence").build();
+        project.setId(projectId);
+        when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
+        DocumentSummary plans = summary(Instant.parse("2026-05-02T00:00:00Z"), "[\"plans\",\"council\"]");
+        when(documentRepository.findSummariesByProjectId(projectId)).thenReturn(List.of(plans));
+
+        List<DocumentDto> documents = documentService.getDocumentsByProject(projectId, UUID.randomUUID());
+
+        DocumentDto dto = documents.get(0);
+        assertEquals(plans.getId(), dto.getId());
+        assertEquals("Sam Lee", dto.getUploadedByName());
+        assertEquals("Smith Residence", dto.getProjectName());
+        assertEquals("2.0 KB", dto.getFormattedFileSize());
+        assertEquals(List.of("plans", "council"), dto.getTags());
+        verify(documentRepository, never()).findByProjectIdAndIsArchivedFalse(any());
+    }
+
+    @Test
+    void getDocumentsByProject_IgnoresUnreadableTags() {
+        when(projectRepository.findById(projectId)).thenReturn(Optional.of(new Project()));
+        when(documentRepository.findSummariesByProjectId(projectId))
+                .thenReturn(List.of(summary(Instant.parse("2026-05-02T00:00:00Z"), "not json")));
+
+        List<DocumentDto> documents = documentService.getDocumentsByProject(projectId, UUID.randomUUID());
+
+        assertNull(documents.get(0).getTags());
+    }
+
+    @Test
+    void getDocumentFeedByProject_TakesCursorFromLastSummaryOfPage() {
+        DocumentSummary newest = summary(Instant.parse("2026-05-03T00:00:00Z"), null);
+        DocumentSummary older = summary(Instant.parse("2026-05-02T00:00:00Z"), null);
+        DocumentSummary extra = summary(Instant.parse("2026-05-01T00:00:00Z"), null);
+        when(projectRepository.existsById(projectId)).thenReturn(true);
+        when(documentRepository.findFeedByProjectId(eq(projectId), any(), any(), eq(Limit.of(3))))
+                .thenReturn(List.of(newest, older, extra));
+
+        CursorPage<DocumentDto> page = documentService.getDocumentFeedByProject(projectId, null, 2, UUID.randomUUID());
+
+        assertEquals(List.of(newest.getId(), older.getId()), page.getItems().stream().map(DocumentDto::getId).toList());
+        KeysetCursor next = KeysetCursor.decode(page.getNextCursor());
+        assertEquals(older.getCreatedAt(), next.getCreatedAt());
+        assertEquals(older.getId(), next.getId());
+    }
+
+    private DocumentSummary summary(Instant createdAt, String tags) {
+        return new DocumentSummary(UUID.randomUUID(), "plans.pdf", "Plans.pdf", 2048L, "application/pdf",
+                DocumentType.PDF, DocumentCategory.PROJECT_PLANS, "Approved plans", tags, 1, false, false, "c".repeat(64),
+                null, createdAt, createdAt, UUID.randomUUID(), "Sam", "Lee", projectId, "Smith Residence", null, null);
+    }
+}
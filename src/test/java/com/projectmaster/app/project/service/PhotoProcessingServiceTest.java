@@ -0,0 +1,99 @@
+package com.projectmaster.app.project.service;
+
+import com.projectmaster.app.common.enums.PhotoProcessingStatus;
+import com.projectmaster.app.common.service.ImageNormalizer;
+import com.projectmaster.app.common.service.ThumbnailService;
+import com.projectmaster.app.common.storage.BlobReferenceService;
+import com.projectmaster.app.common.storage.BlobStorage;
+import com.projectmaster.app.project.entity.ProjectStepPhoto;
+import com.projectmaster.app.project.repository.ProjectStepPhotoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PhotoProcessingServiceTest {
+
+    private static final UUID PHOTO_ID = UUID.randomUUID();
+
+    @Mock
+    private ProjectStepPhotoRepository photoRepository;
+
+    @Mock
+    private ImageNormalizer imageNormalizer;
+
+    @Mock
+    private ThumbnailService thumbnailService;
+
+    @Mock
+    private BlobStorage blobStorage;
+
+    @Mock
+    private BlobReferenceService blobReferenceService;
+
+    @InjectMocks
+    private PhotoProcessingService photoProcessingService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(photoProcessingService, "maxConcurrent", 1);
+        ReflectionTestUtils.setField(photoProcessingService, "maxAttempts", 3);
+        photoProcessingService.init();
+    }
+
+    @Test
+    void process_ShouldRetryStorageErrorsUntilAttemptsRunOut() throws Exception {
+        when(blobStorage.load("original-key")).thenThrow(new IOException("connection reset"));
+        ProjectStepPhoto photo = photo(0);
+        when(photoRepository.findById(PHOTO_ID)).thenReturn(Optional.of(photo));
+
+        photoProcessingService.process(PHOTO_ID);
+
+        verify(photoRepository).recordFailedAttempt(eq(PHOTO_ID), any(Instant.class));
+        verify(photoRepository, never()).markFailed(any(), any());
+
+        photo.setProcessingAttempts(2);
+        photoProcessingService.process(PHOTO_ID);
+
+        verify(photoRepository).markFailed(eq(PHOTO_ID), any(Instant.class));
+    }
+
+    @Test
+    void process_ShouldMarkUndecodableImageFailedAtOnce() throws Exception {
+        when(photoRepository.findById(PHOTO_ID)).thenReturn(Optional.of(photo(0)));
+        when(blobStorage.load("original-key")).thenReturn(new ByteArrayResource(new byte[]{1}));
+        when(imageNormalizer.normalize(any(), anyInt()))
+                .thenThrow(new ImageNormalizer.UnreadableImageException("Unsupported image format", null));
+
+        photoProcessingService.process(PHOTO_ID);
+
+        verify(photoRepository).markFailed(eq(PHOTO_ID), any(Instant.class));
+        verify(photoRepository, never()).recordFailedAttempt(any(), any());
+        verifyNoInteractions(blobReferenceService);
+    }
+
+    private static ProjectStepPhoto photo(int attempts) {
+        ProjectStepPhoto photo = ProjectStepPhoto.builder()
+                .storageKey("original-key")
+                .processingStatus(PhotoProcessingStatus.PROCESSING)
+                .processingAttempts(attempts)
+                .build();
+        photo.setId(PHOTO_ID);
+        return photo;
+    }
+}
@@ -0,0 +1,187 @@
+package com.projectmaster.app.project.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projectmaster.app.common.storage.BlobStorage;
+import com.projectmaster.app.company.entity.Company;
+import com.projectmaster.app.document.repository.DocumentRepository;
+import com.projectmaster.app.project.dto.ProjectExportFile;
+import com.projectmaster.app.project.entity.Project;
+import com.projectmaster.app.project.entity.ProjectExport;
+import com.projectmaster.app.project.repository.ProjectExportRepository;
+import com.projectmaster.app.project.repository.ProjectRepository;
+import com.projectmaster.app.project.repository.ProjectStepPhotoRepository;
+import com.projectmaster.app.project.repository.StepUpdateDocumentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ByteArrayResource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectExportServiceTest {
+
+    private static final String KEY_A = "a".repeat(64);
+    private static final String KEY_B = "b".repeat(64);
+    private static final String KEY_C = "c".repeat(64);
+
+    @Mock
+    private ProjectRepository projectRepository;
+    @Mock
+    private ProjectExportRepository projectExportRepository;
+    @Mock
+    private DocumentRepository documentRepository;
+    @Mock
+    private ProjectStepPhotoRepository photoRepository;
+    @Mock
+    private StepUpdateDocumentRepository stepUpdateDocumentRepository;
+    @Mock
+    private BlobStorage blobStorage;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<UUID, ProjectExport> savedExports = new HashMap<>();
+    private final ProjectExportFile document = new ProjectExportFile(ProjectExportFile.DOCUMENT, UUID.randomUUID(), null,
+            "plans.pdf", 5L, "application/pdf", KEY_A, null);
+    private ProjectExportService exportService;
+    private UUID projectId;
+    private UUID companyId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        exportService = new ProjectExportService(projectRepository, projectExportRepository, documentRepository,
+                photoRepository, stepUpdateDocumentRepository, blobStorage, objectMapper);
+
+        projectId = UUID.randomUUID();
+        companyId = UUID.randomUUID();
+        Company company = new Company();
+        company.setId(companyId);
+        Project project = new Project();
+        project.setId(projectId);
+        project.setName("Smith Residence");
+        project.setCompany(company);
+        when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
+        lenient().when(projectExportRepository.save(any(ProjectExport.class))).thenAnswer(invocation -> {
+            ProjectExport export = invocation.getArgument(0);
+            export.setId(UUID.randomUUID());
+            savedExports.put(export.getId(), export);
+            return export;
+        });
+        lenient().when(projectExportRepository.findByIdAndCompanyId(any(UUID.class), eq(companyId)))
+                .thenAnswer(invocation -> Optional.ofNullable(savedExports.get(invocation.<UUID>getArgument(0))));
+
+        lenient().when(documentRepository.findExportFilesByProjectId(eq(projectId), any(Instant.class))).thenReturn(List.of(document));
+        when(photoRepository.findExportFilesByProjectId(eq(projectId), any(Instant.class))).thenReturn(List.of(
+                new ProjectExportFile(ProjectExportFile.STEP_PHOTO, UUID.randomUUID(), "Pour slab", "slab.jpg", 4L,
+                        "image/jpeg", KEY_B, null)));
+        when(stepUpdateDocumentRepository.findExportFilesByProjectId(eq(projectId), any(Instant.class))).thenReturn(List.of(
+                new ProjectExportFile(ProjectExportFile.STEP_UPDATE_DOCUMENT, UUID.randomUUID(), "Pour slab",
+                        "../report.txt", null, "text/plain", KEY_C, null)));
+    }
+
+    @Test
+    void writeExport_ShouldStreamManifestAndFilesInIndexOrder() throws Exception {
+        when(blobStorage.load(KEY_A)).thenReturn(new ByteArrayResource("plans".getBytes()));
+        when(blobStorage.load(KEY_B)).thenReturn(new ByteArrayResource("slab".getBytes()));
+        when(blobStorage.load(KEY_C)).thenReturn(new ByteArrayResource("report".getBytes()));
+
+        ProjectExportService.ExportPlan plan = exportService.planExport(projectId, companyId, null);
+        Map<String, String> zip = unzip(export(plan, 0));
+
+        assertEquals(List.of("manifest.json", "documents/00000_plans.pdf", "photos/Pour slab/00001_slab.jpg",
+                "step-updates/Pour slab/00002___report.txt"), List.copyOf(zip.keySet()));
+        assertEquals("slab", zip.get("photos/Pour slab/00001_slab.jpg"));
+
+        JsonNode manifest = objectMapper.readTree(zip.get("manifest.json"));
+        assertEquals(3, manifest.get("fileCount").asInt());
+        assertEquals(plan.asOf().toString(), manifest.get("asOf").asText());
+        assertEquals(plan.exportId().toString(), manifest.get("exportId").asText());
+        assertEquals(KEY_A, manifest.get("files").get(0).get("sha256").asText());
+    }
+
+    @Test
+    void writeExport_FromIndex_ShouldSkipEarlierFilesAndListMissingOnes() throws Exception {
+        when(blobStorage.load(KEY_B)).thenThrow(new FileNotFoundException(KEY_B));
+        when(blobStorage.load(KEY_C)).thenReturn(new ByteArrayResource("report".getBytes()));
+
+        ProjectExportService.ExportPlan plan = exportService.planExport(projectId, companyId, null);
+        Map<String, String> zip = unzip(export(plan, 1));
+
+        assertEquals(List.of("manifest.json", "step-updates/Pour slab/00002___report.txt", "missing-files.json"),
+                List.copyOf(zip.keySet()));
+        assertEquals(1, objectMapper.readTree(zip.get("missing-files.json")).get(0).get("index").asInt());
+        verify(blobStorage, never()).load(KEY_A);
+    }
+
+    @Test
+    void planExport_Resume_ShouldKeepIndicesOfFilesRemovedSinceExportStarted() throws Exception {
+        ProjectExportService.ExportPlan started = exportService.planExport(projectId, companyId, null);
+        // The document is archived before the export is resumed
+        when(documentRepository.findExportFilesByProjectId(eq(projectId), any(Instant.class))).thenReturn(List.of());
+        when(blobStorage.load(KEY_B)).thenReturn(new ByteArrayResource("slab".getBytes()));
+        when(blobStorage.load(KEY_C)).thenReturn(new ByteArrayResource("report".getBytes()));
+
+        ProjectExportService.ExportPlan resumed = exportService.planExport(projectId, companyId, started.exportId());
+        Map<String, String> zip = unzip(export(resumed, 0));
+
+        assertEquals(3, resumed.entries().size());
+        assertEquals(started.asOf(), resumed.asOf());
+        assertEquals(started.entries().get(1).path(), resumed.entries().get(1).path());
+        assertEquals(List.of("manifest.json", "photos/Pour slab/00001_slab.jpg",
+                "step-updates/Pour slab/00002___report.txt", "missing-files.json"), List.copyOf(zip.keySet()));
+        JsonNode removed = objectMapper.readTree(zip.get("missing-files.json")).get(0);
+        assertEquals(0, removed.get("index").asInt());
+        assertEquals(document.getId().toString(), removed.get("id").asText());
+    }
+
+    @Test
+    void writeExport_ShouldReadDocumentsAwaitingBlobMigrationFromTheirRow() throws Exception {
+        ProjectExportFile unmigrated = new ProjectExportFile(ProjectExportFile.DOCUMENT, UUID.randomUUID(), null,
+                "old.pdf", 3L, "application/pdf", null, null);
+        when(documentRepository.findExportFilesByProjectId(eq(projectId), any(Instant.class))).thenReturn(List.of(unmigrated));
+        when(documentRepository.findLegacyContentById(unmigrated.getId())).thenReturn("old".getBytes());
+        when(blobStorage.load(KEY_B)).thenReturn(new ByteArrayResource("slab".getBytes()));
+        when(blobStorage.load(KEY_C)).thenReturn(new ByteArrayResource("report".getBytes()));
+
+        Map<String, String> zip = unzip(export(exportService.planExport(projectId, companyId, null), 0));
+
+        assertEquals("old", zip.get("documents/00000_old.pdf"));
+        assertFalse(zip.containsKey("missing-files.json"));
+    }
+
+    private byte[] export(ProjectExportService.ExportPlan plan, int fromIndex) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.writeExport(plan, fromIndex, out);
+        return out.toByteArray();
+    }
+
+    private static Map<String, String> unzip(byte[] bytes) throws Exception {
+        Map<String, String> entries = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(bytes))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                entries.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+}
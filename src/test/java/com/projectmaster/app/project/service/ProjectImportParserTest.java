@@ -0,0 +1,80 @@
+package com.projectmaster.app.project.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projectmaster.app.common.enums.ProjectStatus;
+import com.projectmaster.app.common.exception.ProjectMasterException;
+import com.projectmaster.app.project.entity.ProjectImportFormat;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProjectImportParserTest {
+
+    private final ProjectImportParser parser = new ProjectImportParser(new ObjectMapper().findAndRegisterModules());
+
+    private final UUID customerId = UUID.randomUUID();
+    private final UUID templateId = UUID.randomUUID();
+
+    @Test
+    void parse_Csv_ReadsQuotedFieldsAndNestsAddress() throws IOException {
+        String csv = "\uFEFFcustomerId,workflowTemplateId,projectNumber,name,budget,plannedStartDate,address.line1,address.postcode\r\n"
+                + customerId + "," + templateId + ",PRJ-1,\"Smith, \"\"Lot 4\"\"\nStage 2\",250000.00,2026-03-02,1 High St,2000\r\n"
+                + customerId + ",not-a-uuid,PRJ-2,Jones,,,,\r\n"
+                + "\r\n"
+                + customerId + "," + templateId + ",PRJ-3\n";
+
+        List<ProjectImportParser.ParsedRow> rows = parse(csv, ProjectImportFormat.CSV);
+
+        assertEquals(3, rows.size());
+        ProjectImportParser.ParsedRow first = rows.get(0);
+        assertNull(first.error());
+        assertEquals("Smith, \"Lot 4\"\nStage 2", first.request().getName());
+        assertEquals(templateId, first.request().getWorkflowTemplateId());
+        assertEquals(new BigDecimal("250000.00"), first.request().getBudget());
+        assertEquals(LocalDate.of(2026, 3, 2), first.request().getPlannedStartDate());
+        assertEquals("2000", first.request().getAddress().getPostcode());
+        assertEquals(ProjectStatus.PLANNING, first.request().getStatus());
+
+        assertEquals(2, rows.get(1).rowNumber());
+        assertNull(rows.get(1).request());
+        assertTrue(rows.get(1).error().startsWith("Invalid value"));
+        assertEquals("Expected 8 columns but found 3", rows.get(2).error());
+    }
+
+    @Test
+    void parse_Csv_RejectsUnknownColumns() {
+        assertThrows(ProjectMasterException.class,
+                () -> parse("projectNumber,colour\nPRJ-1,red\n", ProjectImportFormat.CSV));
+    }
+
+    @Test
+    void parse_Ndjson_ReportsUnreadableLinesAndCarriesOn() throws IOException {
+        String ndjson = "{\"customerId\":\"" + customerId + "\",\"projectNumber\":\"PRJ-1\",\"progressPercentage\":null}\n"
+                + "\n"
+                + "{\"projectNumber\":\n"
+                + "{\"projectNumber\":\"PRJ-3\",\"status\":\"IN_PROGRESS\"}\n";
+
+        List<ProjectImportParser.ParsedRow> rows = parse(ndjson, ProjectImportFormat.NDJSON);
+
+        assertEquals(List.of(1, 2, 3), rows.stream().map(ProjectImportParser.ParsedRow::rowNumber).toList());
+        assertEquals(customerId, rows.get(0).request().getCustomerId());
+        assertEquals(0, rows.get(0).request().getProgressPercentage());
+        assertTrue(rows.get(1).error().startsWith("Invalid JSON"));
+        assertEquals(ProjectStatus.IN_PROGRESS, rows.get(2).request().getStatus());
+    }
+
+    private List<ProjectImportParser.ParsedRow> parse(String body, ProjectImportFormat format) throws IOException {
+        List<ProjectImportParser.ParsedRow> rows = new ArrayList<>();
+        parser.parse(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), format, rows::add);
+        return rows;
+    }
+}
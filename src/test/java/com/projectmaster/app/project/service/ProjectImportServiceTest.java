@@ -0,0 +1,131 @@
+package com.projectmaster.app.project.service;
+
+import com.projectmaster.app.common.exception.ProjectMasterException;
+import com.projectmaster.app.project.entity.ProjectImportFormat;
+import com.projectmaster.app.project.entity.ProjectImportJob;
+import com.projectmaster.app.project.entity.ProjectImportJobStatus;
+import com.projectmaster.app.project.repository.ProjectImportJobRepository;
+import com.projectmaster.app.project.repository.ProjectImportRowRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectImportServiceTest {
+
+    @Mock
+    private ProjectImportJobRepository projectImportJobRepository;
+    @Mock
+    private ProjectImportRowRepository projectImportRowRepository;
+    @Mock
+    private ProjectImportParser projectImportParser;
+
+    @InjectMocks
+    private ProjectImportService importService;
+
+    private final UUID companyId = UUID.randomUUID();
+    private ProjectImportJob job;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ReflectionTestUtils.setField(importService, "maxRows", 5000);
+        ReflectionTestUtils.setField(importService, "retryAfterMinutes", 15L);
+        importService.init();
+
+        job = ProjectImportJob.builder().companyId(companyId).format(ProjectImportFormat.NDJSON).build();
+        job.setId(UUID.randomUUID());
+        lenient().when(projectImportJobRepository.save(any())).thenReturn(job);
+        lenient().when(projectImportJobRepository.touchReceiving(eq(job.getId()), any())).thenReturn(1);
+        // 250 unreadable rows: one full store batch of 200 and a final one of 50
+        lenient().doAnswer(invocation -> {
+            Consumer<ProjectImportParser.ParsedRow> consumer = invocation.getArgument(2);
+            for (int i = 1; i <= 250; i++) {
+                consumer.accept(new ProjectImportParser.ParsedRow(i, null, "Invalid JSON"));
+            }
+            return null;
+        }).when(projectImportParser).parse(any(), any(), any());
+    }
+
+    @AfterEach
+    void tearDown() {
+        importService.shutdown();
+    }
+
+    @Test
+    void startImport_RenewsJobWithEachStoredBatch() {
+        when(projectImportJobRepository.markReceived(eq(job.getId()), eq(250), eq(250), any())).thenReturn(1);
+        when(projectImportJobRepository.findByIdAndCompanyId(job.getId(), companyId)).thenReturn(Optional.of(job));
+
+        importService.startImport(companyId, UUID.randomUUID(), ProjectImportFormat.NDJSON, upload());
+
+        verify(projectImportRowRepository, times(2)).saveAll(anyList());
+        verify(projectImportJobRepository, times(2)).touchReceiving(eq(job.getId()), any());
+        verify(projectImportJobRepository, never()).markFinished(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void startImport_StopsWhenJobWasFailedMidUpload() {
+        when(projectImportJobRepository.touchReceiving(eq(job.getId()), any())).thenReturn(0);
+
+        ProjectMasterException e = assertThrows(ProjectMasterException.class, () ->
+                importService.startImport(companyId, UUID.randomUUID(), ProjectImportFormat.NDJSON, upload()));
+
+        assertEquals("IMPORT_INTERRUPTED", e.getErrorCode());
+        verify(projectImportRowRepository, times(1)).saveAll(anyList());
+        verify(projectImportJobRepository).markFinished(eq(job.getId()), eq(ProjectImportJobStatus.RECEIVING),
+                eq(ProjectImportJobStatus.FAILED), anyString(), any());
+        verify(projectImportJobRepository, never()).markReceived(any(), anyInt(), anyInt(), any());
+    }
+
+    @Test
+    void startImport_FailsWhenJobIsNoLongerReceiving() {
+        when(projectImportJobRepository.markReceived(eq(job.getId()), eq(250), eq(250), any())).thenReturn(0);
+
+        ProjectMasterException e = assertThrows(ProjectMasterException.class, () ->
+                importService.startImport(companyId, UUID.randomUUID(), ProjectImportFormat.NDJSON, upload()));
+
+        assertEquals("IMPORT_INTERRUPTED", e.getErrorCode());
+        verify(projectImportJobRepository, never()).findByIdAndCompanyId(any(), any());
+    }
+
+    @Test
+    void resubmitStalledJobs_FailsOnlyUploadsIdleSinceCutoff() {
+        when(projectImportJobRepository.findIdsByStatusInAndUpdatedAtBefore(
+                eq(List.of(ProjectImportJobStatus.RECEIVING)), any(), any())).thenReturn(List.of(job.getId()));
+        when(projectImportJobRepository.findIdsByStatusInAndUpdatedAtBefore(
+                eq(List.of(ProjectImportJobStatus.PENDING, ProjectImportJobStatus.RUNNING)), any(), any()))
+                .thenReturn(List.of());
+
+        Instant before = Instant.now().minusSeconds(15 * 60);
+        importService.resubmitStalledJobs();
+
+        verify(projectImportJobRepository).markUploadInterrupted(eq(job.getId()), anyString(),
+                argThat(cutoff -> !cutoff.isBefore(before)), any());
+        verify(projectImportJobRepository, never()).markFinished(any(), any(), any(), any(), any());
+    }
+
+    private static InputStream upload() {
+        return new ByteArrayInputStream(new byte[0]);
+    }
+}
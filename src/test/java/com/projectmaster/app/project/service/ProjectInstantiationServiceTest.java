@@ -0,0 +1,159 @@
+package com.projectmaster.app.project.service;
+
+import com.projectmaster.app.project.entity.Project;
+import com.projectmaster.app.project.entity.ProjectStage;
+import com.projectmaster.app.project.entity.ProjectStep;
+import com.projectmaster.app.project.entity.ProjectTask;
+import com.projectmaster.app.project.repository.ProjectRepository;
+import com.projectmaster.app.project.repository.ProjectTreeBatchWriter;
+import com.projectmaster.app.workflow.entity.DependencyEntityType;
+import com.projectmaster.app.workflow.entity.DependencyType;
+import com.projectmaster.app.workflow.entity.ProjectDependency;
+import com.projectmaster.app.workflow.entity.WorkflowTemplate;
+import com.projectmaster.app.workflow.repository.SpecialtyRepository;
+import com.projectmaster.app.workflow.repository.WorkflowStageRepository;
+import com.projectmaster.app.workflow.repository.WorkflowStepRepository;
+import com.projectmaster.app.workflow.repository.WorkflowTaskRepository;
+import com.projectmaster.app.workflow.service.WorkflowTemplateSnapshot;
+import com.projectmaster.app.workflow.service.WorkflowTemplateSnapshotCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectInstantiationServiceTest {
+
+    @Mock
+    private WorkflowTemplateSnapshotCache workflowTemplateSnapshotCache;
+
+    @Mock
+    private WorkflowStageRepository workflowStageRepository;
+
+    @Mock
+    private WorkflowTaskRepository workflowTaskRepository;
+
+    @Mock
+    private WorkflowStepRepository workflowStepRepository;
+
+    @Mock
+    private SpecialtyRepository specialtyRepository;
+
+    @Mock
+    private StepRequirementCopyService stepRequirementCopyService;
+
+    @Mock
+    private ProjectScheduleCalculator projectScheduleCalculator;
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private ProjectTreeBatchWriter projectTreeBatchWriter;
+
+    @InjectMocks
+    private ProjectInstantiationService projectInstantiationService;
+
+    private Project project;
+    private WorkflowTemplate template;
+    private WorkflowTemplateSnapshot.Step firstStep;
+    private WorkflowTemplateSnapshot.Step secondStep;
+    private WorkflowTemplateSnapshot.Stage workflowStage;
+
+    @BeforeEach
+    void setUp() {
+        project = Project.builder().name("House").build();
+        project.setId(UUID.randomUUID());
+        template = WorkflowTemplate.builder().name("Template").version(3).build();
+        template.setId(UUID.randomUUID());
+
+        firstStep = new WorkflowTemplateSnapshot.Step(UUID.randomUUID(), "Erect walls", null, 2, 1,
+                UUID.randomUUID(), List.of());
+        secondStep = new WorkflowTemplateSnapshot.Step(UUID.randomUUID(), "Truss roof", null, 3, 1,
+                UUID.randomUUID(), List.of());
+        WorkflowTemplateSnapshot.Task walls = new WorkflowTemplateSnapshot.Task(UUID.randomUUID(), "Walls", null, 2, 1,
+                List.of(firstStep));
+        WorkflowTemplateSnapshot.Task roof = new WorkflowTemplateSnapshot.Task(UUID.randomUUID(), "Roof", null, 3, 1,
+                List.of(secondStep));
+        workflowStage = new WorkflowTemplateSnapshot.Stage(UUID.randomUUID(), "Frame", null, 1, false, 0, 5, 1,
+                List.of(walls, roof));
+
+        when(stepRequirementCopyService.buildSnapshotRequirements(any(), anyList())).thenReturn(List.of());
+    }
+
+    private void givenSnapshot(List<WorkflowTemplateSnapshot.Dependency> dependencies) {
+        when(workflowTemplateSnapshotCache.get(template)).thenReturn(new WorkflowTemplateSnapshot(template.getId(),
+                false, 3, "Template", null, null, true, false, List.of(workflowStage), dependencies));
+    }
+
+    @Test
+    void instantiate_BuildsTreeWithAssignedIdsAndRemapsDependencies() {
+        givenSnapshot(List.of(new WorkflowTemplateSnapshot.Dependency(UUID.randomUUID(),
+                DependencyEntityType.STEP, secondStep.id(), DependencyEntityType.STEP, firstStep.id(),
+                DependencyType.FINISH_TO_START, 1)));
+
+        ProjectInstantiationService.InstantiatedProject result =
+                projectInstantiationService.instantiate(project, template);
+
+        assertEquals(1, result.stages().size());
+        ProjectStage stage = result.stages().get(0);
+        assertNotNull(stage.getId());
+        assertEquals(3, stage.getWorkflowTemplateVersion());
+        assertEquals(List.of("Walls", "Roof"), stage.getTasks().stream().map(ProjectTask::getName).toList());
+        ProjectStep walls = stage.getTasks().get(0).getSteps().get(0);
+        ProjectStep roof = stage.getTasks().get(1).getSteps().get(0);
+        assertNotNull(walls.getId());
+        assertNotNull(roof.getId());
+
+        assertEquals(1, result.dependencies().size());
+        ProjectDependency projectDependency = result.dependencies().get(0);
+        assertEquals(project.getId(), projectDependency.getProjectId());
+        assertEquals(roof.getId(), projectDependency.getDependentEntityId());
+        assertEquals(walls.getId(), projectDependency.getDependsOnEntityId());
+        assertEquals(1, projectDependency.getLagDays());
+    }
+
+    @Test
+    void instantiate_PlansScheduleAndFlushesProjectBeforeBatchInserts() {
+        givenSnapshot(List.of());
+
+        projectInstantiationService.instantiate(project, template);
+
+        InOrder inOrder = inOrder(projectScheduleCalculator, projectRepository, projectTreeBatchWriter);
+        inOrder.verify(projectScheduleCalculator).planProjectSchedule(eq(project), anyList(), anyList());
+        inOrder.verify(projectRepository).flush();
+        inOrder.verify(projectTreeBatchWriter).insertStages(anyList());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ProjectTask>> tasks = ArgumentCaptor.forClass(List.class);
+        inOrder.verify(projectTreeBatchWriter).insertTasks(tasks.capture());
+        inOrder.verify(projectTreeBatchWriter).insertSteps(anyList());
+        inOrder.verify(projectTreeBatchWriter).insertRequirements(anyList());
+        inOrder.verify(projectTreeBatchWriter).insertDependencies(anyList());
+        assertEquals(2, tasks.getValue().size());
+        verify(projectScheduleCalculator, never()).calculateProjectSchedule(any(), anyList(), anyList());
+    }
+
+    @Test
+    void instantiate_DropsDependenciesOutsideTheTemplate() {
+        givenSnapshot(List.of(new WorkflowTemplateSnapshot.Dependency(UUID.randomUUID(),
+                DependencyEntityType.STEP, secondStep.id(), DependencyEntityType.STEP, UUID.randomUUID(),
+                DependencyType.FINISH_TO_START, 0)));
+
+        ProjectInstantiationService.InstantiatedProject result =
+                projectInstantiationService.instantiate(project, template);
+
+        assertTrue(result.dependencies().isEmpty());
+    }
+}
@@ -1,7 +1,12 @@
 package com.projectmaster.app.project.service;
 
+import com.projectmaster.app.common.dto.CursorPage;
+import com.projectmaster.app.common.dto.KeysetCursor;
 import com.projectmaster.app.common.enums.StageStatus;
 import com.projectmaster.app.common.enums.UserRole;
+import com.projectmaster.app.common.exception.ProjectMasterException;
+import com.projectmaster.app.customer.entity.Customer;
+import com.projectmaster.app.project.dto.ProjectDto;
 import com.projectmaster.app.project.dto.ProjectWorkflowResponse;
 import com.projectmaster.app.project.entity.Project;
 import com.projectmaster.app.project.entity.ProjectStage;
@@ -18,16 +23,20 @@ import com.projectmaster.app.user.entity.User;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -195,4 +204,55 @@ class ProjectServiceTest {
         assertThrows(RuntimeException.class, () -> 
             projectService.getProjectWorkflow(testProject.getId(), userPrincipal));
     }
+
+    @Test
+    void getProjectFeedByCompany_FirstPageStartsAtNewestAndLinksNextPage() {
+        Project newest = feedProject(Instant.parse("2026-05-03T00:00:00Z"));
+        Project middle = feedProject(Instant.parse("2026-05-02T00:00:00Z"));
+        Project extra = feedProject(Instant.parse("2026-05-01T00:00:00Z"));
+        ArgumentCaptor<Instant> createdAt = ArgumentCaptor.forClass(Instant.class);
+        when(projectRepository.findFeedByCompanyId(eq(testCompany.getId()), createdAt.capture(), any(), eq(Limit.of(3))))
+                .thenReturn(List.of(newest, middle, extra));
+
+        CursorPage<ProjectDto> page = projectService.getProjectFeedByCompany(testCompany.getId(), null, 2);
+
+        assertTrue(createdAt.getValue().isAfter(newest.getCreatedAt()));
+        assertEquals(List.of(newest.getId(), middle.getId()), page.getItems().stream().map(ProjectDto::getId).toList());
+        assertTrue(page.isHasNext());
+        KeysetCursor next = KeysetCursor.decode(page.getNextCursor());
+        assertEquals(middle.getCreatedAt(), next.getCreatedAt());
+        assertEquals(middle.getId(), next.getId());
+    }
+
+    @Test
+    void getProjectFeedByCompany_ContinuesAfterCursorAndEndsOnShortPage() {
+        Project last = feedProject(Instant.parse("2026-05-01T00:00:00Z"));
+        KeysetCursor cursor = KeysetCursor.of(Instant.parse("2026-05-02T00:00:00Z"), UUID.randomUUID());
+        when(projectRepository.findFeedByCompanyId(testCompany.getId(), cursor.getCreatedAt(), cursor.getId(), Limit.of(3)))
+                .thenReturn(List.of(last));
+
+        CursorPage<ProjectDto> page = projectService.getProjectFeedByCompany(testCompany.getId(), cursor.encode(), 2);
+
+        assertEquals(1, page.getSize());
+        assertFalse(page.isHasNext());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void getProjectFeedByCompany_RejectsMalformedCursor() {
+        ProjectMasterException e = assertThrows(ProjectMasterException.class, () ->
+                projectService.getProjectFeedByCompany(testCompany.getId(), "not-a-cursor", 2));
+
+        assertEquals("INVALID_CURSOR", e.getErrorCode());
+        verifyNoInteractions(projectRepository);
+    }
+
+    private Project feedProject(Instant createdAt) {
+        Customer customer = Customer.builder().firstName("Jo").lastName("Smith").build();
+        customer.setId(UUID.randomUUID());
+        Project project = Project.builder().name("Feed Project").company(testCompany).customer(customer).build();
+        project.setId(UUID.randomUUID());
+        project.setCreatedAt(createdAt);
+        return project;
+    }
 }
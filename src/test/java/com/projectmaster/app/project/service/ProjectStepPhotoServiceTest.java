@@ -0,0 +1,82 @@
+package com.projectmaster.app.project.service;
+
+import com.projectmaster.app.common.enums.PhotoProcessingStatus;
+import com.projectmaster.app.common.enums.UserRole;
+import com.projectmaster.app.common.exception.EntityNotFoundException;
+import com.projectmaster.app.common.storage.BlobStorage;
+import com.projectmaster.app.project.entity.ProjectStepPhoto;
+import com.projectmaster.app.user.entity.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.security.access.AccessDeniedException;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectStepPhotoServiceTest {
+
+    @Mock
+    private BlobStorage blobStorage;
+
+    @InjectMocks
+    private ProjectStepPhotoService photoService;
+
+    @Test
+    void loadPhotoFile_DoesNotServeOriginalUntilProcessed() {
+        for (PhotoProcessingStatus status : new PhotoProcessingStatus[]{PhotoProcessingStatus.PROCESSING, PhotoProcessingStatus.FAILED}) {
+            ProjectStepPhoto photo = photo(status, null, user(UserRole.TRADIE));
+
+            assertThrows(EntityNotFoundException.class, () -> photoService.loadPhotoFile(photo));
+        }
+        verifyNoInteractions(blobStorage);
+    }
+
+    @Test
+    void loadPhotoFile_ServesRenditionOnceReady() throws Exception {
+        ProjectStepPhoto photo = photo(PhotoProcessingStatus.READY, "rendition-key", user(UserRole.TRADIE));
+        Resource rendition = new ByteArrayResource(new byte[]{1});
+        when(blobStorage.load("rendition-key")).thenReturn(rendition);
+
+        assertSame(rendition, photoService.loadPhotoFile(photo));
+        verify(blobStorage, never()).load("original-key");
+    }
+
+    @Test
+    void loadOriginalPhotoFile_RestrictsUnprocessedOriginalsToUploaderOrAdmin() throws Exception {
+        User uploader = user(UserRole.PROJECT_MANAGER);
+        ProjectStepPhoto photo = photo(PhotoProcessingStatus.FAILED, null, uploader);
+        when(blobStorage.load("original-key")).thenReturn(new ByteArrayResource(new byte[]{1}));
+
+        assertNotNull(photoService.loadOriginalPhotoFile(photo, uploader));
+        assertNotNull(photoService.loadOriginalPhotoFile(photo, user(UserRole.ADMIN)));
+        assertThrows(AccessDeniedException.class,
+                () -> photoService.loadOriginalPhotoFile(photo, user(UserRole.PROJECT_MANAGER)));
+        verify(blobStorage, times(2)).load(anyString());
+    }
+
+    private static ProjectStepPhoto photo(PhotoProcessingStatus status, String renditionKey, User uploader) {
+        ProjectStepPhoto photo = ProjectStepPhoto.builder()
+                .storageKey("original-key")
+                .renditionKey(renditionKey)
+                .processingStatus(status)
+                .uploadedByUser(uploader)
+                .build();
+        photo.setId(UUID.randomUUID());
+        return photo;
+    }
+
+    private static User user(UserRole role) {
+        User user = User.builder().role(role).build();
+        user.setId(UUID.randomUUID());
+        return user;
+    }
+}
@@ -0,0 +1,65 @@
+package com.projectmaster.app.search.service;
+
+import com.projectmaster.app.common.enums.UserRole;
+import com.projectmaster.app.company.entity.Company;
+import com.projectmaster.app.search.repository.SearchDocumentRepository;
+import com.projectmaster.app.user.entity.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.access.AccessDeniedException;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SearchServiceTest {
+
+    @Mock
+    private SearchDocumentRepository searchDocumentRepository;
+
+    @InjectMocks
+    private SearchService searchService;
+
+    @Test
+    void searchForUser_ScopesCompanyUsersToTheirCompany() {
+        Company company = Company.builder().name("Acme Builders").build();
+        company.setId(UUID.randomUUID());
+        User user = User.builder().role(UserRole.ADMIN).company(company).build();
+        when(searchDocumentRepository.searchForCompany(eq("smi:*"), eq(company.getId()), eq(""), any()))
+                .thenReturn(Page.empty());
+
+        searchService.searchForUser("smi", user, null, PageRequest.of(0, 20));
+
+        verify(searchDocumentRepository, never()).searchAll(any(), any(), any());
+    }
+
+    @Test
+    void searchForUser_SearchesEveryCompanyOnlyForSuperUsers() {
+        User superUser = User.builder().role(UserRole.SUPER_USER).build();
+        when(searchDocumentRepository.searchAll(eq("smi:*"), eq(""), any())).thenReturn(Page.empty());
+
+        searchService.searchForUser("smi", superUser, null, PageRequest.of(0, 20));
+
+        verify(searchDocumentRepository).searchAll(eq("smi:*"), eq(""), any());
+    }
+
+    @Test
+    void searchForUser_RejectsUsersWithoutCompany() {
+        // Contracting-company staff have no builder company
+        for (UserRole role : new UserRole[]{UserRole.ADMIN, UserRole.TRADIE}) {
+            User user = User.builder().role(role).build();
+
+            assertThrows(AccessDeniedException.class,
+                    () -> searchService.searchForUser("smi", user, null, PageRequest.of(0, 20)));
+        }
+        verifyNoInteractions(searchDocumentRepository);
+    }
+}
@@ -0,0 +1,85 @@
+package com.projectmaster.app.security.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    private RateLimitProperties properties;
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitProperties();
+        RateLimitProperties.GroupLimit limit = new RateLimitProperties.GroupLimit();
+        limit.setUserPerMinute(2);
+        limit.setCompanyPerMinute(3);
+        properties.getGroups().put(RateLimitGroup.CRITICAL_PATH, limit);
+        properties.setHeavyMaxConcurrent(1);
+        properties.setHeavyMaxQueued(0);
+        rateLimiter = new RateLimiter(properties);
+        rateLimiter.init();
+    }
+
+    @Test
+    void tryAcquire_ShouldLimitEachUserAndTheirCompany() {
+        UUID companyId = UUID.randomUUID();
+        UUID alice = UUID.randomUUID();
+        UUID bob = UUID.randomUUID();
+        long now = 0;
+
+        assertTrue(rateLimiter.tryAcquire(RateLimitGroup.CRITICAL_PATH, alice, companyId, now).allowed());
+        assertTrue(rateLimiter.tryAcquire(RateLimitGroup.CRITICAL_PATH, alice, companyId, now).allowed());
+
+        RateLimiter.Decision userLimited = rateLimiter.tryAcquire(RateLimitGroup.CRITICAL_PATH, alice, companyId, now);
+        assertFalse(userLimited.allowed());
+        assertEquals("user", userLimited.limitedBy());
+        assertEquals(30, userLimited.retryAfterSeconds());
+
+        assertTrue(rateLimiter.tryAcquire(RateLimitGroup.CRITICAL_PATH, bob, companyId, now).allowed());
+        RateLimiter.Decision companyLimited = rateLimiter.tryAcquire(RateLimitGroup.CRITICAL_PATH, bob, companyId, now);
+        assertFalse(companyLimited.allowed());
+        assertEquals("company", companyLimited.limitedBy());
+
+        // Other groups and other companies have their own buckets
+        assertTrue(rateLimiter.tryAcquire(RateLimitGroup.REPORTS, alice, companyId, now).allowed());
+        assertTrue(rateLimiter.tryAcquire(RateLimitGroup.CRITICAL_PATH, UUID.randomUUID(), UUID.randomUUID(), now).allowed());
+    }
+
+    @Test
+    void tryAcquire_ShouldRefillOverTime() {
+        UUID userId = UUID.randomUUID();
+        long now = 0;
+        rateLimiter.tryAcquire(RateLimitGroup.CRITICAL_PATH, userId, null, now);
+        rateLimiter.tryAcquire(RateLimitGroup.CRITICAL_PATH, userId, null, now);
+        assertFalse(rateLimiter.tryAcquire(RateLimitGroup.CRITICAL_PATH, userId, null, now).allowed());
+
+        long halfMinute = TimeUnit.SECONDS.toNanos(30);
+        assertTrue(rateLimiter.tryAcquire(RateLimitGroup.CRITICAL_PATH, userId, null, now + halfMinute).allowed());
+        assertFalse(rateLimiter.tryAcquire(RateLimitGroup.CRITICAL_PATH, userId, null, now + halfMinute).allowed());
+    }
+
+    @Test
+    void acquireHeavySlot_WhenFullAndNoQueue_ShouldShed() throws Exception {
+        assertTrue(rateLimiter.acquireHeavySlot());
+        assertFalse(rateLimiter.acquireHeavySlot());
+
+        rateLimiter.releaseHeavySlot();
+        assertTrue(rateLimiter.acquireHeavySlot());
+    }
+
+    @Test
+    void match_ShouldMapEndpointsToGroups() {
+        assertEquals(RateLimitGroup.CRITICAL_PATH,
+                RateLimitGroup.match("GET", "/api/projects/" + UUID.randomUUID() + "/parallel-execution/critical-path"));
+        assertEquals(RateLimitGroup.SCHEDULE_RECALCULATION,
+                RateLimitGroup.match("POST", "/api/projects/" + UUID.randomUUID() + "/recalculate-schedule"));
+        assertEquals(RateLimitGroup.REPORTS, RateLimitGroup.match("GET", "/api/task-reporting/user/abc/productivity"));
+        assertNull(RateLimitGroup.match("GET", "/api/projects/" + UUID.randomUUID()));
+    }
+}
@@ -0,0 +1,69 @@
+package com.projectmaster.app.security.service;
+
+import com.projectmaster.app.common.enums.UserRole;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceTest {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private JwtService jwtService;
+    private UserDetails userDetails;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = newService(86400000L);
+        userDetails = User.withUsername("jane@example.com").password("x").authorities(List.of()).build();
+    }
+
+    @Test
+    void verify_ShouldParseOnceAndServeRepeatVerificationsFromCache() {
+        UUID userId = UUID.randomUUID();
+        UUID companyId = UUID.randomUUID();
+        String token = jwtService.generateToken(userDetails, userId, UserRole.PROJECT_MANAGER, companyId);
+
+        VerifiedToken verified = jwtService.verify(token);
+
+        assertEquals("jane@example.com", verified.subject());
+        assertEquals(userId, verified.userId());
+        assertEquals(UserRole.PROJECT_MANAGER, verified.role());
+        assertEquals(companyId, verified.companyId());
+        assertFalse(verified.isRefreshToken());
+        assertSame(verified, jwtService.verify(token));
+        assertTrue(jwtService.isTokenValid(token, userDetails));
+    }
+
+    @Test
+    void verify_ShouldRejectTamperedAndExpiredTokens() {
+        String token = jwtService.generateToken(userDetails, UUID.randomUUID(), UserRole.TRADIE, null);
+        jwtService.verify(token);
+
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+        assertThrows(SignatureException.class, () -> jwtService.verify(tampered));
+
+        JwtService expiring = newService(-1000L);
+        String expired = expiring.generateToken(userDetails, UUID.randomUUID(), UserRole.TRADIE, null);
+        assertThrows(ExpiredJwtException.class, () -> expiring.verify(expired));
+    }
+
+    private static JwtService newService(long expirationMillis) {
+        JwtService service = new JwtService();
+        ReflectionTestUtils.setField(service, "secretKey", SECRET);
+        ReflectionTestUtils.setField(service, "jwtExpiration", expirationMillis);
+        ReflectionTestUtils.setField(service, "refreshExpiration", 604800000L);
+        ReflectionTestUtils.setField(service, "verifiedCacheSize", 64);
+        service.init();
+        return service;
+    }
+}
@@ -0,0 +1,107 @@
+package com.projectmaster.app.security.service;
+
+import com.projectmaster.app.common.enums.UserRole;
+import com.projectmaster.app.security.entity.RevokedToken;
+import com.projectmaster.app.security.repository.RevokedTokenRepository;
+import com.projectmaster.app.user.entity.User;
+import com.projectmaster.app.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationServiceTest {
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private TokenRevocationService tokenRevocationService;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(tokenRevocationService, "expectedTokens", 1000);
+        ReflectionTestUtils.setField(tokenRevocationService, "refreshExpiration", 604800000L);
+        when(revokedTokenRepository.findByExpiresAtAfter(any())).thenReturn(List.of());
+        when(userRepository.findByTokensValidAfterAfter(any())).thenReturn(List.of());
+        tokenRevocationService.init();
+    }
+
+    @Test
+    void revokeToken_ShouldRejectThatTokenOnlyWithoutDatabaseLookups() {
+        VerifiedToken revoked = token(UUID.randomUUID().toString(), Instant.now());
+        VerifiedToken other = token(UUID.randomUUID().toString(), Instant.now());
+
+        tokenRevocationService.revokeToken(revoked);
+
+        verify(revokedTokenRepository).revoke(revoked.tokenId(), userId, revoked.expiresAt());
+        assertTrue(tokenRevocationService.isRevoked(revoked));
+        assertFalse(tokenRevocationService.isRevoked(other));
+        verify(revokedTokenRepository, never()).findByCreatedAtAfterOrderByCreatedAtAsc(any());
+    }
+
+    @Test
+    void refresh_ShouldPickUpRevocationsFromOtherNodes() {
+        Instant issuedAt = Instant.now().minus(10, ChronoUnit.MINUTES);
+        VerifiedToken loggedOut = token(UUID.randomUUID().toString(), issuedAt);
+        VerifiedToken otherUserToken = new VerifiedToken(UUID.randomUUID().toString(), "bob@example.com",
+                UUID.randomUUID(), UserRole.TRADIE, null, "ACCESS", issuedAt, issuedAt.plus(1, ChronoUnit.DAYS));
+
+        RevokedToken row = RevokedToken.builder()
+                .tokenId(loggedOut.tokenId())
+                .userId(userId)
+                .expiresAt(loggedOut.expiresAt())
+                .build();
+        row.setCreatedAt(Instant.now());
+        UserRepository.TokenEpoch epoch = mock(UserRepository.TokenEpoch.class);
+        when(epoch.getId()).thenReturn(otherUserToken.userId());
+        when(epoch.getTokensValidAfter()).thenReturn(Instant.now());
+        when(revokedTokenRepository.findByCreatedAtAfterOrderByCreatedAtAsc(any())).thenReturn(List.of(row));
+        when(userRepository.findByTokensValidAfterAfter(any())).thenReturn(List.of(epoch));
+
+        assertFalse(tokenRevocationService.isRevoked(loggedOut));
+        assertFalse(tokenRevocationService.isRevoked(otherUserToken));
+
+        tokenRevocationService.refresh();
+
+        assertTrue(tokenRevocationService.isRevoked(loggedOut));
+        assertTrue(tokenRevocationService.isRevoked(otherUserToken));
+        assertFalse(tokenRevocationService.isRevoked(token(UUID.randomUUID().toString(), Instant.now().plusSeconds(5))));
+    }
+
+    @Test
+    void revokeAllForUser_ShouldRejectTokensIssuedBeforeTheEpoch() {
+        User user = User.builder().email("jane@example.com").role(UserRole.PROJECT_MANAGER).build();
+        user.setId(userId);
+        VerifiedToken earlier = token(UUID.randomUUID().toString(), Instant.now().minus(1, ChronoUnit.HOURS));
+
+        tokenRevocationService.revokeAllForUser(user);
+
+        assertNotNull(user.getTokensValidAfter());
+        assertTrue(tokenRevocationService.isRevoked(earlier));
+        assertFalse(tokenRevocationService.isRevoked(token(UUID.randomUUID().toString(), Instant.now().plusSeconds(5))));
+    }
+
+    private VerifiedToken token(String tokenId, Instant issuedAt) {
+        return new VerifiedToken(tokenId, "jane@example.com", userId, UserRole.PROJECT_MANAGER, null, "ACCESS",
+                issuedAt, issuedAt.plus(1, ChronoUnit.DAYS));
+    }
+}
@@ -0,0 +1,81 @@
+package com.projectmaster.app.security.service;
+
+import com.projectmaster.app.common.enums.UserRole;
+import com.projectmaster.app.company.entity.Company;
+import com.projectmaster.app.user.entity.User;
+import com.projectmaster.app.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserStateCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private UserStateCache userStateCache;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(userStateCache, "ttlSeconds", 60L);
+        ReflectionTestUtils.setField(userStateCache, "maxEntries", 100);
+        userStateCache.init();
+
+        Company company = new Company();
+        company.setId(UUID.randomUUID());
+        user = User.builder()
+                .company(company)
+                .email("jane@example.com")
+                .firstName("Jane")
+                .lastName("Smith")
+                .role(UserRole.PROJECT_MANAGER)
+                .build();
+        user.setId(UUID.randomUUID());
+    }
+
+    @Test
+    void get_ShouldServeRepeatLookupsFromCacheUntilEvicted() {
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+
+        UserStateCache.UserState first = userStateCache.get(user.getId());
+        UserStateCache.UserState second = userStateCache.get(user.getId());
+
+        assertSame(first, second);
+        assertEquals(user.getCompany().getId(), first.toUser().getCompany().getId());
+        verify(userRepository, times(1)).findById(user.getId());
+
+        user.setActive(false);
+        userStateCache.evict(user.getId());
+
+        assertFalse(userStateCache.get(user.getId()).active());
+        verify(userRepository, times(2)).findById(user.getId());
+    }
+
+    @Test
+    void isRevoked_ShouldRejectTokensIssuedBeforeTheEpochSecond() {
+        Instant changedAt = Instant.parse("2025-03-01T10:00:00.500Z");
+        user.setTokensValidAfter(changedAt);
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+
+        UserStateCache.UserState state = userStateCache.get(user.getId());
+
+        assertTrue(state.isRevoked(Instant.parse("2025-03-01T09:59:59Z")));
+        // Issued in the same second, e.g. the login right after the password change
+        assertFalse(state.isRevoked(Instant.parse("2025-03-01T10:00:00Z")));
+    }
+}
@@ -0,0 +1,77 @@
+package com.projectmaster.app.supplier.service;
+
+import com.projectmaster.app.consumable.entity.ConsumableCategory;
+import com.projectmaster.app.supplier.dto.SupplierResponse;
+import com.projectmaster.app.supplier.entity.Supplier;
+import com.projectmaster.app.supplier.entity.SupplierCategory;
+import com.projectmaster.app.supplier.repository.SupplierCategoryRepository;
+import com.projectmaster.app.supplier.repository.SupplierRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SupplierServiceTest {
+
+    @Mock
+    private SupplierRepository supplierRepository;
+    @Mock
+    private SupplierCategoryRepository supplierCategoryRepository;
+
+    @InjectMocks
+    private SupplierService supplierService;
+
+    @Test
+    void searchSuppliers_PagesInDatabaseWithoutClientSort() {
+        when(supplierRepository.searchActiveByName(any(), any())).thenReturn(Page.empty());
+
+        supplierService.searchSuppliers("timber", PageRequest.of(2, 10, Sort.by("createdAt")));
+
+        // The query orders by name, so a requested sort is not passed on
+        verify(supplierRepository).searchActiveByName("timber", PageRequest.of(2, 10));
+        verifyNoInteractions(supplierCategoryRepository);
+    }
+
+    @Test
+    void searchSuppliers_LoadsCategoriesForWholePageInOneQuery() {
+        Supplier acme = supplier("Acme Timber");
+        Supplier bolts = supplier("Bolts R Us");
+        ConsumableCategory framing = ConsumableCategory.builder().name("Framing").categoryGroup("Structure").build();
+        framing.setId(UUID.randomUUID());
+        SupplierCategory acmeFraming = SupplierCategory.builder()
+                .supplier(acme).category(framing).isPrimaryCategory(true).build();
+        when(supplierRepository.searchActiveByName("t", PageRequest.of(0, 2)))
+                .thenReturn(new PageImpl<>(List.of(acme, bolts), PageRequest.of(0, 2), 5));
+        when(supplierCategoryRepository.findBySupplierIdInAndActiveTrue(List.of(acme.getId(), bolts.getId())))
+                .thenReturn(List.of(acmeFraming));
+
+        Page<SupplierResponse> page = supplierService.searchSuppliers("t", PageRequest.of(0, 2));
+
+        assertEquals(5, page.getTotalElements());
+        assertEquals(List.of("Acme Timber", "Bolts R Us"), page.getContent().stream().map(SupplierResponse::getName).toList());
+        SupplierResponse.CategoryInfo category = page.getContent().get(0).getCategories().get(0);
+        assertEquals("Framing", category.getCategoryName());
+        assertTrue(category.getIsPrimaryCategory());
+        assertTrue(page.getContent().get(1).getCategories().isEmpty());
+        verify(supplierCategoryRepository, times(1)).findBySupplierIdInAndActiveTrue(any());
+    }
+
+    private static Supplier supplier(String name) {
+        Supplier supplier = Supplier.builder().name(name).active(true).build();
+        supplier.setId(UUID.randomUUID());
+        return supplier;
+    }
+}
@@ -0,0 +1,153 @@
+package com.projectmaster.app.task.service;
+
+import com.projectmaster.app.common.enums.NotificationType;
+import com.projectmaster.app.task.entity.Task;
+import com.projectmaster.app.task.entity.TaskNotification;
+import com.projectmaster.app.task.repository.TaskNotificationRepository;
+import com.projectmaster.app.user.entity.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskNotificationDispatcherTest {
+
+    @Mock
+    private TaskNotificationRepository notificationRepository;
+
+    @Mock
+    private TaskNotificationSender notificationSender;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private TaskNotificationDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new TaskNotificationDispatcher(notificationRepository, notificationSender, meterRegistry);
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 3);
+        ReflectionTestUtils.setField(dispatcher, "maxConcurrentSends", 2);
+        ReflectionTestUtils.setField(dispatcher, "sendTimeoutSeconds", 5L);
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", 5);
+        dispatcher.init();
+    }
+
+    @Test
+    void dispatchBatch_MarksDeliveredSentAndCountsFailures() {
+        TaskNotification first = notification();
+        TaskNotification broken = notification();
+        TaskNotification third = notification();
+        claim(List.of(first, broken, third));
+        doAnswer(invocation -> {
+            TaskNotificationDispatcher.Delivery delivery = invocation.getArgument(0);
+            if (delivery.notificationId().equals(broken.getId())) {
+                throw new IllegalStateException("mail server down");
+            }
+            return null;
+        }).when(notificationSender).send(any());
+
+        TaskNotificationDispatcher.BatchResult result = dispatcher.dispatchBatch();
+
+        assertEquals(new TaskNotificationDispatcher.BatchResult(3, 2, 1, true), result);
+        UUID claimToken = claimToken();
+        verify(notificationRepository).markSent(eq(List.of(first.getId(), third.getId())), eq(claimToken), any(Instant.class));
+        verify(notificationRepository).recordFailedAttempts(List.of(broken.getId()), claimToken);
+        assertEquals(2.0, meterRegistry.counter("notifications.dispatch.sent").count());
+        assertEquals(1.0, meterRegistry.counter("notifications.dispatch.failed").count());
+    }
+
+    @Test
+    void dispatchBatch_TimeoutStartsOnceSendPermitIsAcquired() {
+        ReflectionTestUtils.setField(dispatcher, "maxConcurrentSends", 1);
+        ReflectionTestUtils.setField(dispatcher, "sendTimeoutSeconds", 1L);
+        dispatcher.init();
+        claim(List.of(notification(), notification(), notification()));
+        // Each send fits the timeout, but the last one waits longer than that for its permit
+        doAnswer(invocation -> {
+            Thread.sleep(600);
+            return null;
+        }).when(notificationSender).send(any());
+
+        TaskNotificationDispatcher.BatchResult result = dispatcher.dispatchBatch();
+
+        assertEquals(new TaskNotificationDispatcher.BatchResult(3, 3, 0, true), result);
+        verify(notificationRepository, never()).recordFailedAttempts(any(), any());
+    }
+
+    @Test
+    void dispatchBatch_NothingDue() {
+        when(notificationRepository.claimPendingNotifications(any(UUID.class), any(Instant.class), any(Instant.class),
+                anyInt(), anyInt())).thenReturn(0);
+
+        assertFalse(dispatcher.dispatchBatch().full());
+        verify(notificationRepository, never()).findByClaimToken(any());
+        verify(notificationRepository, never()).markSent(any(), any(), any());
+        verifyNoInteractions(notificationSender);
+    }
+
+    @Test
+    void refreshBacklog_PublishesCountAndAge() {
+        Object[] summary = {7L, Instant.now().minusSeconds(120)};
+        when(notificationRepository.summarizeBacklog(any(Instant.class), eq(5))).thenReturn(List.<Object[]>of(summary));
+
+        assertEquals(7, dispatcher.refreshBacklog());
+        assertEquals(7.0, meterRegistry.get("notifications.dispatch.backlog").gauge().value());
+        assertTrue(meterRegistry.get("notifications.dispatch.oldest.pending").gauge().value() >= 120);
+    }
+
+    @Test
+    void dispatchBatch_LeaseOutlastsSlowestBatch() {
+        claim(List.of(notification()));
+
+        Instant before = Instant.now();
+        dispatcher.dispatchBatch();
+
+        ArgumentCaptor<Instant> claimedUntil = ArgumentCaptor.forClass(Instant.class);
+        verify(notificationRepository).claimPendingNotifications(any(UUID.class), any(Instant.class),
+                claimedUntil.capture(), eq(5), eq(3));
+        // Three sends two at a time take at most two rounds of the 5 second timeout
+        assertTrue(claimedUntil.getValue().isAfter(before.plusSeconds(10)));
+    }
+
+    private void claim(List<TaskNotification> notifications) {
+        when(notificationRepository.claimPendingNotifications(any(UUID.class), any(Instant.class), any(Instant.class),
+                eq(5), eq(3))).thenReturn(notifications.size());
+        when(notificationRepository.findByClaimToken(any(UUID.class))).thenReturn(notifications);
+    }
+
+    private UUID claimToken() {
+        ArgumentCaptor<UUID> claimToken = ArgumentCaptor.forClass(UUID.class);
+        verify(notificationRepository).claimPendingNotifications(claimToken.capture(), any(Instant.class),
+                any(Instant.class), anyInt(), anyInt());
+        verify(notificationRepository).findByClaimToken(claimToken.getValue());
+        return claimToken.getValue();
+    }
+
+    private static TaskNotification notification() {
+        User user = User.builder().email("tradie@example.com").build();
+        user.setId(UUID.randomUUID());
+        Task task = Task.builder().title("Frame walls").build();
+        task.setId(UUID.randomUUID());
+        TaskNotification notification = TaskNotification.builder()
+                .task(task)
+                .user(user)
+                .notificationType(NotificationType.TASK_DUE_SOON)
+                .title("Task Due Soon")
+                .build();
+        notification.setId(UUID.randomUUID());
+        return notification;
+    }
+}
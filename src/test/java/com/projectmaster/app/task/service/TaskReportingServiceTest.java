@@ -0,0 +1,155 @@
+package com.projectmaster.app.task.service;
+
+import com.projectmaster.app.common.enums.RollupScope;
+import com.projectmaster.app.common.enums.TaskPriority;
+import com.projectmaster.app.common.enums.TaskStatus;
+import com.projectmaster.app.task.repository.TaskActivityLogRepository;
+import com.projectmaster.app.task.repository.TaskCommentRepository;
+import com.projectmaster.app.task.repository.TaskRepository;
+import com.projectmaster.app.task.repository.TaskTimeEntryRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskReportingServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+    @Mock
+    private TaskTimeEntryRepository timeEntryRepository;
+    @Mock
+    private TaskCommentRepository commentRepository;
+    @Mock
+    private TaskActivityLogRepository activityLogRepository;
+    @Mock
+    private TaskRollupService rollupService;
+
+    @InjectMocks
+    private TaskReportingService reportingService;
+
+    private final UUID projectId = UUID.randomUUID();
+    private final UUID userId = UUID.randomUUID();
+
+    @Test
+    void getProjectTaskStatistics_CombinesAggregateRowWithRollups() {
+        // total, milestones, blocked, overdue, estimated hours, actual hours, average completion
+        Object[] totals = {12L, 2L, 1L, 3L, 40L, 35L, 62.5};
+        when(taskRepository.aggregateTotalsByProjectId(eq(projectId), any())).thenReturn(List.<Object[]>of(totals));
+        when(rollupService.getTotalMinutes(RollupScope.PROJECT, projectId)).thenReturn(new long[]{600, 480});
+        when(rollupService.getStatusCounts(RollupScope.PROJECT, projectId)).thenReturn(statusCounts(5, 4, 2, 1));
+        when(taskRepository.countByPriorityForProject(projectId))
+                .thenReturn(List.<Object[]>of(new Object[]{TaskPriority.HIGH, 7L}));
+
+        TaskReportingService.ProjectTaskStatistics stats = reportingService.getProjectTaskStatistics(projectId);
+
+        assertEquals(12, stats.getTotalTasks());
+        assertEquals(5, stats.getOpenTasks());
+        assertEquals(2, stats.getCompletedTasks());
+        assertEquals(2, stats.getMilestones());
+        assertEquals(1, stats.getBlockedTasks());
+        assertEquals(3, stats.getOverdueTasks());
+        assertEquals(40, stats.getTotalEstimatedHours());
+        assertEquals(600, stats.getTotalLoggedMinutes());
+        assertEquals(62.5, stats.getAverageCompletionPercentage());
+        assertEquals(7, stats.getTasksByPriority().get(TaskPriority.HIGH));
+        assertEquals(0, stats.getTasksByPriority().get(TaskPriority.LOW));
+    }
+
+    @Test
+    void getUserProductivityStatistics_CountsOnTimeAndLateInOnePass() {
+        LocalDate due = LocalDate.of(2026, 4, 10);
+        when(taskRepository.streamDueDatesByAssigneeAndStatus(userId, TaskStatus.COMPLETED)).thenReturn(Stream.of(
+                new Object[]{due, Instant.parse("2026-04-10T23:00:00Z")},
+                new Object[]{due, Instant.parse("2026-04-12T09:00:00Z")},
+                new Object[]{null, Instant.parse("2026-04-12T09:00:00Z")}));
+        when(rollupService.getTotalMinutes(RollupScope.USER, userId)).thenReturn(new long[]{120, 60});
+        when(rollupService.getMinutesInRange(eq(RollupScope.USER), eq(userId), any(), any())).thenReturn(new long[]{90, 30});
+        when(activityLogRepository.streamTimestampsByUserIdAndDateRange(eq(userId), any(), any())).thenReturn(Stream.of(
+                Instant.parse("2026-04-01T08:00:00Z"), Instant.parse("2026-04-01T17:00:00Z"),
+                Instant.parse("2026-04-02T08:00:00Z")));
+        when(taskRepository.countByAssignedToId(userId)).thenReturn(4L);
+
+        TaskReportingService.UserProductivityStatistics stats = reportingService.getUserProductivityStatistics(
+                userId, LocalDate.of(2026, 4, 1), LocalDate.of(2026, 4, 30));
+
+        assertEquals(3, stats.getCompletedTasks());
+        assertEquals(1, stats.getTasksCompletedOnTime());
+        assertEquals(1, stats.getTasksCompletedLate());
+        assertEquals(120, stats.getTotalLoggedMinutes());
+        assertEquals(30, stats.getBillableMinutes());
+        assertEquals(2, stats.getActiveDays());
+        assertEquals(4, stats.getAssignedTasks());
+    }
+
+    @Test
+    void getTimeTrackingReport_BuildsRangeFiguresFromStreamedEntries() {
+        UUID otherUser = UUID.randomUUID();
+        UUID taskA = UUID.randomUUID();
+        UUID taskB = UUID.randomUUID();
+        when(rollupService.getTotalMinutes(RollupScope.PROJECT, projectId)).thenReturn(new long[]{500, 300});
+        when(timeEntryRepository.streamByProjectIdAndDateRange(eq(projectId), any(), any())).thenReturn(Stream.of(
+                new Object[]{userId, taskA, Instant.parse("2026-04-01T08:00:00Z"), 60, true},
+                new Object[]{userId, taskB, Instant.parse("2026-04-01T13:00:00Z"), 30, false},
+                new Object[]{otherUser, taskA, Instant.parse("2026-04-02T08:00:00Z"), null, null}));
+
+        TaskReportingService.TimeTrackingReport report = reportingService.getTimeTrackingReport(
+                projectId, LocalDate.of(2026, 4, 1), LocalDate.of(2026, 4, 30));
+
+        assertEquals(500, report.getTotalLoggedMinutes());
+        assertEquals(300, report.getBillableMinutes());
+        assertEquals(30, report.getNonBillableMinutes());
+        assertEquals(3, report.getTimeEntriesCount());
+        assertEquals(2, report.getUniqueUsers());
+        assertEquals(45.0, report.getAverageSessionDuration());
+        assertEquals(Map.of(userId, 90, otherUser, 0), report.getTimeByUser());
+        assertEquals(Map.of(taskA, 60, taskB, 30), report.getTimeByTask());
+        assertEquals(90, report.getDailyTimeBreakdown().get(LocalDate.of(2026, 4, 1)));
+    }
+
+    @Test
+    void getTeamPerformanceMetrics_RanksMembersByCompletionRate() {
+        UUID steady = UUID.randomUUID();
+        UUID idle = UUID.randomUUID();
+        when(taskRepository.countByAssigneeForProject(projectId)).thenReturn(List.of(
+                new Object[]{idle, 4L, 1L},
+                new Object[]{steady, 2L, 2L}));
+        when(taskRepository.aggregateTotalsByProjectId(eq(projectId), any()))
+                .thenReturn(List.<Object[]>of(new Object[]{6L, 0L, 0L, 0L, null, null, null}));
+        when(rollupService.getTotalMinutes(RollupScope.PROJECT, projectId)).thenReturn(new long[]{0, 0});
+        when(rollupService.getStatusCounts(RollupScope.PROJECT, projectId)).thenReturn(statusCounts(3, 0, 3, 0));
+        when(taskRepository.countByPriorityForProject(projectId)).thenReturn(List.of());
+
+        TaskReportingService.TeamPerformanceMetrics metrics = reportingService.getTeamPerformanceMetrics(projectId);
+
+        assertEquals(2, metrics.getTotalTeamMembers());
+        assertEquals(3.0, metrics.getAverageTasksPerMember());
+        assertEquals(62.5, metrics.getAverageCompletionRate());
+        assertEquals(List.of(steady, idle), metrics.getTopPerformers());
+        assertEquals(30.0, metrics.getTeamProductivityScore());
+    }
+
+    private static Map<TaskStatus, Integer> statusCounts(int open, int inProgress, int completed, int cancelled) {
+        Map<TaskStatus, Integer> counts = new EnumMap<>(TaskStatus.class);
+        counts.put(TaskStatus.OPEN, open);
+        counts.put(TaskStatus.IN_PROGRESS, inProgress);
+        counts.put(TaskStatus.COMPLETED, completed);
+        counts.put(TaskStatus.CANCELLED, cancelled);
+        return counts;
+    }
+}
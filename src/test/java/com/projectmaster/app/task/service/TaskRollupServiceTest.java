@@ -0,0 +1,191 @@
+package com.projectmaster.app.task.service;
+
+import com.projectmaster.app.common.enums.TaskStatus;
+import com.projectmaster.app.project.entity.Project;
+import com.projectmaster.app.project.entity.ProjectStage;
+import com.projectmaster.app.project.entity.ProjectStep;
+import com.projectmaster.app.project.entity.ProjectTask;
+import com.projectmaster.app.task.entity.Task;
+import com.projectmaster.app.task.entity.TaskTimeEntry;
+import com.projectmaster.app.task.repository.TaskDailyRollupRepository;
+import com.projectmaster.app.task.repository.TaskStatusRollupRepository;
+import com.projectmaster.app.task.repository.TaskTimeEntryRepository;
+import com.projectmaster.app.user.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskRollupServiceTest {
+
+    private static final Instant CREATED_AT = Instant.parse("2026-03-02T10:00:00Z");
+    private static final LocalDate CREATED_ON = LocalDate.of(2026, 3, 2);
+
+    @Mock
+    private TaskDailyRollupRepository dailyRollupRepository;
+    @Mock
+    private TaskStatusRollupRepository statusRollupRepository;
+    @Mock
+    private TaskTimeEntryRepository timeEntryRepository;
+
+    @InjectMocks
+    private TaskRollupService rollupService;
+
+    private UUID previousProjectId;
+    private UUID projectId;
+    private User assignee;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        previousProjectId = UUID.randomUUID();
+        projectId = UUID.randomUUID();
+        assignee = User.builder().email("tradie@example.com").build();
+        assignee.setId(UUID.randomUUID());
+        task = Task.builder().title("Frame walls").assignedTo(assignee).projectStep(stepOf(projectId)).build();
+        task.setId(UUID.randomUUID());
+        task.setCreatedAt(CREATED_AT);
+    }
+
+    @Test
+    void recordTaskMoved_MovesStatusCountBetweenProjects() {
+        task.setStatus(TaskStatus.IN_PROGRESS);
+        when(timeEntryRepository.findByTaskIdOrderByStartTimeDesc(task.getId())).thenReturn(List.of());
+
+        rollupService.recordTaskMoved(task, previousProjectId, TaskStatus.OPEN);
+
+        verify(statusRollupRepository).increment("PROJECT", previousProjectId, "OPEN", -1);
+        verify(statusRollupRepository).increment("PROJECT", projectId, "IN_PROGRESS", 1);
+        verify(statusRollupRepository).increment("USER", assignee.getId(), "OPEN", -1);
+        verify(statusRollupRepository).increment("USER", assignee.getId(), "IN_PROGRESS", 1);
+        verify(dailyRollupRepository).increment("PROJECT", previousProjectId, CREATED_ON, -1, 0, 0, 0);
+        verify(dailyRollupRepository).increment("PROJECT", projectId, CREATED_ON, 1, 0, 0, 0);
+        verifyNoMoreInteractions(statusRollupRepository, dailyRollupRepository);
+    }
+
+    @Test
+    void recordTaskMoved_LeavesAssigneeCountsWhenStatusIsUnchanged() {
+        task.setStatus(TaskStatus.OPEN);
+        when(timeEntryRepository.findByTaskIdOrderByStartTimeDesc(task.getId())).thenReturn(List.of());
+
+        rollupService.recordTaskMoved(task, previousProjectId, TaskStatus.OPEN);
+
+        verify(statusRollupRepository).increment("PROJECT", previousProjectId, "OPEN", -1);
+        verify(statusRollupRepository).increment("PROJECT", projectId, "OPEN", 1);
+        verify(statusRollupRepository, never()).increment(eq("USER"), any(), any(), anyLong());
+    }
+
+    @Test
+    void recordTaskMoved_MovesLoggedTime() {
+        task.setStatus(TaskStatus.OPEN);
+        TaskTimeEntry billable = TaskTimeEntry.builder()
+                .startTime(Instant.parse("2026-03-03T08:00:00Z")).durationMinutes(90).isBillable(true).build();
+        TaskTimeEntry unbillable = TaskTimeEntry.builder()
+                .startTime(Instant.parse("2026-03-04T08:00:00Z")).durationMinutes(30).isBillable(false).build();
+        when(timeEntryRepository.findByTaskIdOrderByStartTimeDesc(task.getId())).thenReturn(List.of(billable, unbillable));
+
+        rollupService.recordTaskMoved(task, previousProjectId, TaskStatus.OPEN);
+
+        verify(dailyRollupRepository).increment("PROJECT", previousProjectId, LocalDate.of(2026, 3, 3), 0, 0, -90, -90);
+        verify(dailyRollupRepository).increment("PROJECT", projectId, LocalDate.of(2026, 3, 3), 0, 0, 90, 90);
+        verify(dailyRollupRepository).increment("PROJECT", previousProjectId, LocalDate.of(2026, 3, 4), 0, 0, -30, 0);
+        verify(dailyRollupRepository).increment("PROJECT", projectId, LocalDate.of(2026, 3, 4), 0, 0, 30, 0);
+    }
+
+    @Test
+    void recordTaskMoved_CountsCompletionForNewProject() {
+        task.setStatus(TaskStatus.COMPLETED);
+        when(timeEntryRepository.findByTaskIdOrderByStartTimeDesc(task.getId())).thenReturn(List.of());
+
+        rollupService.recordTaskMoved(task, previousProjectId, TaskStatus.IN_PROGRESS);
+
+        verify(dailyRollupRepository).increment(eq("PROJECT"), eq(projectId), any(LocalDate.class), eq(0), eq(1), eq(0L), eq(0L));
+        verify(dailyRollupRepository).increment(eq("USER"), eq(assignee.getId()), any(LocalDate.class), eq(0), eq(1), eq(0L), eq(0L));
+        verify(dailyRollupRepository, never()).increment(eq("PROJECT"), eq(previousProjectId), any(), anyInt(), eq(1),
+                anyLong(), anyLong());
+    }
+
+    @Test
+    void recordTaskMoved_WithinProjectIsAStatusChange() {
+        task.setStatus(TaskStatus.IN_PROGRESS);
+
+        rollupService.recordTaskMoved(task, projectId, TaskStatus.OPEN);
+
+        verify(statusRollupRepository).increment("PROJECT", projectId, "OPEN", -1);
+        verify(statusRollupRepository).increment("PROJECT", projectId, "IN_PROGRESS", 1);
+        verifyNoInteractions(dailyRollupRepository, timeEntryRepository);
+    }
+
+    @Test
+    void recordStatusChange_TakesCompletionOffTheDayItWasCounted() {
+        task.setStatus(TaskStatus.IN_PROGRESS);
+        task.setUpdatedAt(Instant.parse("2026-03-05T16:00:00Z"));
+
+        rollupService.recordStatusChange(task, TaskStatus.COMPLETED);
+
+        verify(dailyRollupRepository).increment("PROJECT", projectId, LocalDate.of(2026, 3, 5), 0, -1, 0, 0);
+        verify(dailyRollupRepository).increment("USER", assignee.getId(), LocalDate.of(2026, 3, 5), 0, -1, 0, 0);
+        verify(dailyRollupRepository, never()).increment(any(), any(), any(), anyInt(), eq(1), anyLong(), anyLong());
+    }
+
+    @Test
+    void recordTaskDeleted_RemovesCountersAndLoggedTime() {
+        User creator = User.builder().email("pm@example.com").build();
+        creator.setId(UUID.randomUUID());
+        User logger = User.builder().email("apprentice@example.com").build();
+        logger.setId(UUID.randomUUID());
+        task.setCreatedBy(creator);
+        task.setStatus(TaskStatus.COMPLETED);
+        task.setUpdatedAt(Instant.parse("2026-03-05T16:00:00Z"));
+        TaskTimeEntry entry = TaskTimeEntry.builder().user(logger)
+                .startTime(Instant.parse("2026-03-03T08:00:00Z")).durationMinutes(90).isBillable(true).build();
+        when(timeEntryRepository.findByTaskIdOrderByStartTimeDesc(task.getId())).thenReturn(List.of(entry));
+
+        rollupService.recordTaskDeleted(task);
+
+        verify(statusRollupRepository).increment("PROJECT", projectId, "COMPLETED", -1);
+        verify(statusRollupRepository).increment("USER", assignee.getId(), "COMPLETED", -1);
+        verify(dailyRollupRepository).increment("PROJECT", projectId, CREATED_ON, -1, 0, 0, 0);
+        verify(dailyRollupRepository).increment("USER", creator.getId(), CREATED_ON, -1, 0, 0, 0);
+        verify(dailyRollupRepository).increment("PROJECT", projectId, LocalDate.of(2026, 3, 5), 0, -1, 0, 0);
+        verify(dailyRollupRepository).increment("USER", assignee.getId(), LocalDate.of(2026, 3, 5), 0, -1, 0, 0);
+        verify(dailyRollupRepository).increment("PROJECT", projectId, LocalDate.of(2026, 3, 3), 0, 0, -90, -90);
+        verify(dailyRollupRepository).increment("USER", logger.getId(), LocalDate.of(2026, 3, 3), 0, 0, -90, -90);
+        verifyNoMoreInteractions(statusRollupRepository, dailyRollupRepository);
+    }
+
+    @Test
+    void reconcileRollups_SkipsWhileAnotherNodeIsRebuilding() {
+        when(statusRollupRepository.tryLockRebuild()).thenReturn(false);
+
+        assertFalse(rollupService.reconcileRollups());
+
+        verify(statusRollupRepository, never()).deleteAllRollups();
+        verifyNoInteractions(dailyRollupRepository);
+    }
+
+    private static ProjectStep stepOf(UUID projectId) {
+        Project project = Project.builder().name("Smith Residence").build();
+        project.setId(projectId);
+        ProjectStage stage = ProjectStage.builder().project(project).build();
+        ProjectTask projectTask = ProjectTask.builder().projectStage(stage).build();
+        ProjectStep step = ProjectStep.builder().projectTask(projectTask).name("Framing").build();
+        step.setId(UUID.randomUUID());
+        return step;
+    }
+}
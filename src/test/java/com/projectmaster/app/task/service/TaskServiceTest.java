@@ -0,0 +1,103 @@
+package com.projectmaster.app.task.service;
+
+import com.projectmaster.app.common.enums.TaskStatus;
+import com.projectmaster.app.common.exception.ProjectMasterException;
+import com.projectmaster.app.company.entity.Company;
+import com.projectmaster.app.project.entity.Project;
+import com.projectmaster.app.project.entity.ProjectStage;
+import com.projectmaster.app.project.entity.ProjectStep;
+import com.projectmaster.app.project.entity.ProjectTask;
+import com.projectmaster.app.project.repository.ProjectStepRepository;
+import com.projectmaster.app.task.dto.UpdateTaskRequest;
+import com.projectmaster.app.task.entity.Task;
+import com.projectmaster.app.task.repository.TaskRepository;
+import com.projectmaster.app.user.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+    @Mock
+    private ProjectStepRepository projectStepRepository;
+    @Mock
+    private TaskRollupService rollupService;
+
+    @InjectMocks
+    private TaskService taskService;
+
+    private Company company;
+    private Project previousProject;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        company = Company.builder().name("Builder Co").build();
+        company.setId(UUID.randomUUID());
+        previousProject = projectOf(company);
+        User creator = User.builder().firstName("Sam").lastName("Lee").email("sam@example.com").build();
+        creator.setId(UUID.randomUUID());
+        task = Task.builder()
+                .title("Frame walls")
+                .status(TaskStatus.OPEN)
+                .createdBy(creator)
+                .projectStep(stepOf(previousProject))
+                .build();
+        task.setId(UUID.randomUUID());
+        when(taskRepository.findById(task.getId())).thenReturn(Optional.of(task));
+    }
+
+    @Test
+    void updateTask_MovedToAnotherProjectRecordsPreviousProjectAndStatus() {
+        ProjectStep newStep = stepOf(projectOf(company));
+        when(projectStepRepository.findById(newStep.getId())).thenReturn(Optional.of(newStep));
+        when(taskRepository.save(task)).thenReturn(task);
+
+        taskService.updateTask(task.getId(), UpdateTaskRequest.builder()
+                .projectStepId(newStep.getId())
+                .status(TaskStatus.IN_PROGRESS)
+                .build());
+
+        assertSame(newStep, task.getProjectStep());
+        verify(rollupService).recordTaskMoved(task, previousProject.getId(), TaskStatus.OPEN);
+    }
+
+    @Test
+    void updateTask_RejectsStepOfAnotherCompany() {
+        Company other = Company.builder().name("Other Co").build();
+        other.setId(UUID.randomUUID());
+        ProjectStep foreignStep = stepOf(projectOf(other));
+        when(projectStepRepository.findById(foreignStep.getId())).thenReturn(Optional.of(foreignStep));
+
+        assertThrows(ProjectMasterException.class, () -> taskService.updateTask(task.getId(),
+                UpdateTaskRequest.builder().projectStepId(foreignStep.getId()).build()));
+
+        verifyNoInteractions(rollupService);
+    }
+
+    private static Project projectOf(Company company) {
+        Project project = Project.builder().name("Smith Residence").company(company).build();
+        project.setId(UUID.randomUUID());
+        return project;
+    }
+
+    private static ProjectStep stepOf(Project project) {
+        ProjectStage stage = ProjectStage.builder().project(project).build();
+        ProjectTask projectTask = ProjectTask.builder().projectStage(stage).build();
+        ProjectStep step = ProjectStep.builder().projectTask(projectTask).name("Framing").build();
+        step.setId(UUID.randomUUID());
+        return step;
+    }
+}
@@ -0,0 +1,245 @@
+package com.projectmaster.app.upload.service;
+
+import com.projectmaster.app.common.enums.UploadSessionStatus;
+import com.projectmaster.app.common.exception.ProjectMasterException;
+import com.projectmaster.app.common.storage.BlobReferenceService;
+import com.projectmaster.app.common.storage.BlobStorage;
+import com.projectmaster.app.common.storage.StoredBlob;
+import com.projectmaster.app.upload.dto.UploadSessionResponse;
+import com.projectmaster.app.upload.entity.UploadPart;
+import com.projectmaster.app.upload.entity.UploadSession;
+import com.projectmaster.app.upload.repository.UploadPartRepository;
+import com.projectmaster.app.upload.repository.UploadSessionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChunkedUploadServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private UploadSessionRepository sessionRepository;
+
+    @Mock
+    private UploadPartRepository partRepository;
+
+    @Mock
+    private BlobStorage blobStorage;
+
+    @Mock
+    private BlobReferenceService blobReferenceService;
+
+    @InjectMocks
+    private ChunkedUploadService chunkedUploadService;
+
+    private final UUID userId = UUID.randomUUID();
+    private final byte[] content = "0123456789abcdefghij".getBytes();
+    private final Map<String, byte[]> blobs = new HashMap<>();
+    private final Map<Integer, UploadPart> parts = new TreeMap<>();
+    private UploadSession session;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ReflectionTestUtils.setField(chunkedUploadService, "recordService",
+                new ChunkedUploadRecordService(sessionRepository, partRepository, blobReferenceService));
+        ReflectionTestUtils.setField(chunkedUploadService, "stagingDir", tempDir.toString());
+        ReflectionTestUtils.setField(chunkedUploadService, "expiryHours", 24L);
+
+        session = UploadSession.builder()
+                .ownerId(userId)
+                .filename("site.jpg")
+                .contentType("image/jpeg")
+                .totalSize((long) content.length)
+                .partSize(8)
+                .totalParts(3)
+                .sha256(sha256(content))
+                .expiresAt(Instant.now().plusSeconds(3600))
+                .build();
+        session.setId(UUID.randomUUID());
+        lenient().when(sessionRepository.findById(session.getId())).thenReturn(Optional.of(session));
+        lenient().when(sessionRepository.findByIdForUpdate(session.getId())).thenReturn(Optional.of(session));
+        lenient().when(sessionRepository.save(any(UploadSession.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Blob storage and part rows kept in memory
+        lenient().when(blobReferenceService.storeAndAcquire(any(InputStreamSource.class))).thenAnswer(invocation -> {
+            byte[] bytes;
+            try (InputStream input = invocation.<InputStreamSource>getArgument(0).getInputStream()) {
+                bytes = input.readAllBytes();
+            }
+            blobs.put(sha256(bytes), bytes);
+            return new StoredBlob(sha256(bytes), bytes.length, MessageDigest.getInstance("SHA-256").digest(bytes));
+        });
+        lenient().when(blobStorage.load(anyString()))
+                .thenAnswer(invocation -> new ByteArrayResource(blobs.get(invocation.<String>getArgument(0))));
+        lenient().when(partRepository.save(any(UploadPart.class))).thenAnswer(invocation -> {
+            UploadPart part = invocation.getArgument(0);
+            parts.put(part.getPartNumber(), part);
+            return part;
+        });
+        lenient().when(partRepository.findByUploadSessionIdAndPartNumber(eq(session.getId()), anyInt()))
+                .thenAnswer(invocation -> Optional.ofNullable(parts.get(invocation.<Integer>getArgument(1))));
+        lenient().when(partRepository.findByUploadSessionIdOrderByPartNumberAsc(session.getId()))
+                .thenAnswer(invocation -> List.copyOf(parts.values()));
+    }
+
+    @Test
+    void uploadPart_ShouldRejectPartWhoseChecksumDoesNotMatch() {
+        byte[] part = slice(0, 8);
+
+        ProjectMasterException exception = assertThrows(ProjectMasterException.class, () ->
+                chunkedUploadService.uploadPart(session.getId(), 1, sha256("other".getBytes()),
+                        new ByteArrayInputStream(part), userId));
+
+        assertEquals("UPLOAD_CHECKSUM_MISMATCH", exception.getErrorCode());
+        verify(partRepository, never()).save(any());
+    }
+
+    @Test
+    void uploadPart_ShouldRejectPartOfWrongSize() {
+        byte[] part = slice(0, 6);
+
+        ProjectMasterException exception = assertThrows(ProjectMasterException.class, () ->
+                chunkedUploadService.uploadPart(session.getId(), 1, sha256(part), new ByteArrayInputStream(part), userId));
+
+        assertEquals("INVALID_UPLOAD_PART", exception.getErrorCode());
+    }
+
+    @Test
+    void uploadPart_ShouldReleaseContentOfReplacedPart() throws Exception {
+        byte[] first = slice(0, 8);
+        byte[] resent = "ABCDEFGH".getBytes();
+        chunkedUploadService.uploadPart(session.getId(), 1, sha256(first), new ByteArrayInputStream(first), userId);
+
+        chunkedUploadService.uploadPart(session.getId(), 1, sha256(resent), new ByteArrayInputStream(resent), userId);
+
+        verify(blobReferenceService).release(sha256(first));
+        assertEquals(sha256(resent), parts.get(1).getSha256());
+    }
+
+    @Test
+    void completeUpload_ShouldAssemblePartsInOrderIntoBlobStorage() throws Exception {
+        uploadAllParts();
+
+        UploadSessionResponse response = chunkedUploadService.completeUpload(session.getId(), userId);
+
+        assertEquals(UploadSessionStatus.COMPLETED, response.getStatus());
+        assertEquals(sha256(content), session.getStorageKey());
+        assertArrayEquals(content, blobs.get(sha256(content)));
+        // The session's reference replaces those of its parts
+        String fileKey = sha256(content);
+        verify(blobReferenceService, times(3)).release(argThat(key -> !key.equals(fileKey)));
+        verify(partRepository).deleteByUploadSessionId(session.getId());
+    }
+
+    @Test
+    void completeUpload_ShouldReleaseFileWhoseChecksumDoesNotMatch() throws Exception {
+        session.setSha256(sha256("something else".getBytes()));
+        uploadAllParts();
+
+        ProjectMasterException exception = assertThrows(ProjectMasterException.class, () ->
+                chunkedUploadService.completeUpload(session.getId(), userId));
+
+        assertEquals("UPLOAD_CHECKSUM_MISMATCH", exception.getErrorCode());
+        verify(blobReferenceService).release(sha256(content));
+        assertEquals(UploadSessionStatus.INITIATED, session.getStatus());
+    }
+
+    @Test
+    void completeUpload_ShouldRejectMissingParts() {
+        parts.put(1, part(1));
+
+        ProjectMasterException exception = assertThrows(ProjectMasterException.class, () ->
+                chunkedUploadService.completeUpload(session.getId(), userId));
+
+        assertEquals("UPLOAD_INCOMPLETE", exception.getErrorCode());
+    }
+
+    @Test
+    void claimUpload_ShouldRejectExpiredUpload() throws Exception {
+        session.setStatus(UploadSessionStatus.COMPLETED);
+        session.setStorageKey(sha256(content));
+        session.setExpiresAt(Instant.now().minusSeconds(60));
+
+        ProjectMasterException exception = assertThrows(ProjectMasterException.class, () ->
+                chunkedUploadService.claimUpload(session.getId(), userId));
+
+        assertEquals("UPLOAD_EXPIRED", exception.getErrorCode());
+        assertEquals(UploadSessionStatus.COMPLETED, session.getStatus());
+        verify(blobReferenceService, never()).release(anyString());
+    }
+
+    @Test
+    void expireStaleUploads_ShouldReleaseLockedCompletedUploadOnce() throws Exception {
+        session.setStatus(UploadSessionStatus.COMPLETED);
+        session.setStorageKey(sha256(content));
+        session.setExpiresAt(Instant.now().minusSeconds(60));
+        when(sessionRepository.lockExpired(any(Instant.class), anyInt())).thenReturn(List.of(session));
+
+        chunkedUploadService.expireStaleUploads();
+
+        assertEquals(UploadSessionStatus.EXPIRED, session.getStatus());
+        verify(blobReferenceService, times(1)).release(session.getStorageKey());
+    }
+
+    @Test
+    void expireStaleUploads_ShouldSkipUploadClaimedBeforeItWasLocked() {
+        session.setStatus(UploadSessionStatus.CONSUMED);
+        session.setExpiresAt(Instant.now().minusSeconds(60));
+        when(sessionRepository.lockExpired(any(Instant.class), anyInt())).thenReturn(List.of(session));
+
+        chunkedUploadService.expireStaleUploads();
+
+        assertEquals(UploadSessionStatus.CONSUMED, session.getStatus());
+        verifyNoInteractions(blobReferenceService);
+        verify(sessionRepository, never()).save(any());
+    }
+
+    private void uploadAllParts() throws Exception {
+        int[][] ranges = {{0, 8}, {8, 16}, {16, 20}};
+        for (int i = 0; i < ranges.length; i++) {
+            byte[] part = slice(ranges[i][0], ranges[i][1]);
+            chunkedUploadService.uploadPart(session.getId(), i + 1, sha256(part), new ByteArrayInputStream(part), userId);
+        }
+    }
+
+    private UploadPart part(int partNumber) {
+        return UploadPart.builder().uploadSession(session).partNumber(partNumber).sha256("0".repeat(64)).build();
+    }
+
+    private byte[] slice(int from, int to) {
+        byte[] part = new byte[to - from];
+        System.arraycopy(content, from, part, 0, part.length);
+        return part;
+    }
+
+    private static String sha256(byte[] bytes) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+    }
+}
@@ -0,0 +1,190 @@
+package com.projectmaster.app.workflow.service;
+
+import com.projectmaster.app.company.entity.Company;
+import com.projectmaster.app.company.repository.CompanyRepository;
+import com.projectmaster.app.workflow.entity.StandardWorkflowTemplate;
+import com.projectmaster.app.workflow.entity.WorkflowCopyJob;
+import com.projectmaster.app.workflow.entity.WorkflowCopyJobStatus;
+import com.projectmaster.app.workflow.repository.StandardWorkflowTemplateRepository;
+import com.projectmaster.app.workflow.repository.WorkflowCopyJobRepository;
+import com.projectmaster.app.workflow.repository.WorkflowTemplateRepository;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WorkflowCopyJobServiceTest {
+
+    @Mock
+    private WorkflowCopyJobRepository workflowCopyJobRepository;
+
+    @Mock
+    private StandardWorkflowTemplateRepository standardWorkflowTemplateRepository;
+
+    @Mock
+    private CompanyRepository companyRepository;
+
+    @Mock
+    private WorkflowCopyService workflowCopyService;
+
+    @Mock
+    private WorkflowTemplateRepository workflowTemplateRepository;
+
+    @InjectMocks
+    private WorkflowCopyJobService jobService;
+
+    private Company company;
+    private WorkflowCopyJob job;
+    private StandardWorkflowTemplate house;
+    private StandardWorkflowTemplate unit;
+
+    @BeforeEach
+    void setUp() {
+        company = Company.builder().name("Builder Co").build();
+        company.setId(UUID.randomUUID());
+        job = WorkflowCopyJob.builder().companyId(company.getId()).build();
+        job.setId(UUID.randomUUID());
+        house = StandardWorkflowTemplate.builder().name("House").build();
+        unit = StandardWorkflowTemplate.builder().name("Unit").build();
+
+        when(workflowCopyJobRepository.findById(job.getId())).thenReturn(Optional.of(job));
+        lenient().when(companyRepository.findById(company.getId())).thenReturn(Optional.of(company));
+        when(standardWorkflowTemplateRepository.findByActiveTrue()).thenReturn(List.of(house, unit));
+        when(workflowCopyJobRepository.markRunning(eq(job.getId()), eq(2), any(), any())).thenReturn(1);
+        lenient().when(workflowCopyJobRepository.recordProgress(eq(job.getId()), anyInt(), anyInt(), anyString(), any(), any()))
+                .thenReturn(1);
+        lenient().when(workflowCopyJobRepository.markFinished(eq(job.getId()), any(), anyInt(), anyInt(), any(), any(), any()))
+                .thenReturn(1);
+    }
+
+    @Test
+    void run_CopiesEachTemplateAndRecordsProgress() {
+        when(workflowCopyService.copyStandardWorkflowTemplate(house, company)).thenReturn(true);
+        when(workflowCopyService.copyStandardWorkflowTemplate(unit, company)).thenReturn(false);
+
+        jobService.run(job.getId());
+
+        verify(workflowCopyJobRepository).recordProgress(eq(job.getId()), eq(0), eq(0), eq("House"), any(), any());
+        verify(workflowCopyJobRepository).recordProgress(eq(job.getId()), eq(1), eq(0), eq("Unit"), any(), any());
+        verify(workflowCopyJobRepository).markFinished(eq(job.getId()), eq(WorkflowCopyJobStatus.COMPLETED),
+                eq(1), eq(1), isNull(), any(), any());
+    }
+
+    @Test
+    void run_StopsAtFirstFailedTemplate() {
+        when(workflowCopyService.copyStandardWorkflowTemplate(house, company))
+                .thenThrow(new IllegalStateException("boom"));
+
+        jobService.run(job.getId());
+
+        verify(workflowCopyJobRepository).markFinished(eq(job.getId()), eq(WorkflowCopyJobStatus.FAILED),
+                eq(0), eq(0), anyString(), any(), any());
+        verify(workflowCopyService, never()).copyStandardWorkflowTemplate(unit, company);
+    }
+
+    @Test
+    void run_IgnoresFinishedJob() {
+        job.setStatus(WorkflowCopyJobStatus.COMPLETED);
+        reset(companyRepository, standardWorkflowTemplateRepository, workflowCopyJobRepository);
+        when(workflowCopyJobRepository.findById(job.getId())).thenReturn(Optional.of(job));
+
+        jobService.run(job.getId());
+
+        verify(workflowCopyJobRepository, never()).markRunning(any(), anyInt(), any(), any());
+        verifyNoInteractions(workflowCopyService);
+        assertEquals(WorkflowCopyJobStatus.COMPLETED, job.getStatus());
+    }
+
+    @Test
+    void run_StopsWhenAnotherRunnerHoldsTheJob() {
+        reset(workflowCopyJobRepository);
+        when(workflowCopyJobRepository.findById(job.getId())).thenReturn(Optional.of(job));
+        when(workflowCopyJobRepository.markRunning(eq(job.getId()), eq(2), any(), any())).thenReturn(0);
+
+        jobService.run(job.getId());
+
+        verifyNoInteractions(workflowCopyService);
+        verify(workflowCopyJobRepository, never()).markFinished(any(), any(), anyInt(), anyInt(), any(), any(), any());
+    }
+
+    @Test
+    void run_StopsWhenLeaseIsTakenOverMidway() {
+        when(workflowCopyService.copyStandardWorkflowTemplate(house, company)).thenReturn(true);
+        when(workflowCopyJobRepository.recordProgress(eq(job.getId()), eq(1), eq(0), eq("Unit"), any(), any()))
+                .thenReturn(0);
+
+        jobService.run(job.getId());
+
+        verify(workflowCopyService, never()).copyStandardWorkflowTemplate(unit, company);
+        verify(workflowCopyJobRepository, never()).markFinished(any(), any(), anyInt(), anyInt(), any(), any(), any());
+    }
+
+    @Test
+    void run_RenewsLeaseWithEachProgressUpdate() {
+        when(workflowCopyService.copyStandardWorkflowTemplate(any(), eq(company))).thenReturn(true);
+        ArgumentCaptor<Instant> claimedAt = ArgumentCaptor.forClass(Instant.class);
+
+        jobService.run(job.getId());
+
+        verify(workflowCopyJobRepository).markRunning(eq(job.getId()), eq(2), claimedAt.capture(), any());
+        ArgumentCaptor<Instant> leases = ArgumentCaptor.forClass(Instant.class);
+        ArgumentCaptor<Instant> renewals = ArgumentCaptor.forClass(Instant.class);
+        verify(workflowCopyJobRepository, times(2)).recordProgress(eq(job.getId()), anyInt(), anyInt(), anyString(),
+                leases.capture(), renewals.capture());
+        assertEquals(claimedAt.getValue(), leases.getAllValues().get(0));
+        assertEquals(renewals.getAllValues().get(0), leases.getAllValues().get(1));
+        verify(workflowCopyJobRepository).markFinished(eq(job.getId()), eq(WorkflowCopyJobStatus.COMPLETED),
+                eq(2), eq(0), isNull(), eq(renewals.getAllValues().get(1)), any());
+    }
+
+    @Test
+    void run_SkipsTemplateCreatedConcurrently() {
+        when(workflowCopyService.copyStandardWorkflowTemplate(house, company))
+                .thenThrow(violation("idx_workflow_templates_company_name_active"));
+        when(workflowCopyService.copyStandardWorkflowTemplate(unit, company)).thenReturn(true);
+
+        jobService.run(job.getId());
+
+        verify(workflowCopyJobRepository).markFinished(eq(job.getId()), eq(WorkflowCopyJobStatus.COMPLETED),
+                eq(1), eq(1), isNull(), any(), any());
+        verifyNoInteractions(workflowTemplateRepository);
+    }
+
+    @Test
+    void run_FailsOnOtherConstraintViolations() {
+        when(workflowCopyService.copyStandardWorkflowTemplate(house, company))
+                .thenThrow(violation("workflow_stages_workflow_template_id_fkey"));
+        when(workflowTemplateRepository.existsByCompanyIdAndNameAndActiveTrue(company.getId(), "House")).thenReturn(false);
+
+        jobService.run(job.getId());
+
+        verify(workflowCopyJobRepository).markFinished(eq(job.getId()), eq(WorkflowCopyJobStatus.FAILED),
+                eq(0), eq(0), contains("House"), any(), any());
+        verify(workflowCopyService, never()).copyStandardWorkflowTemplate(unit, company);
+    }
+
+    private static DataIntegrityViolationException violation(String constraintName) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("duplicate key", new SQLException(), constraintName));
+    }
+}
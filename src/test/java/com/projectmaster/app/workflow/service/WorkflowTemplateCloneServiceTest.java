@@ -1,22 +1,9 @@
 package com.projectmaster.app.workflow.service;
 
 import com.projectmaster.app.workflow.entity.WorkflowTemplate;
-import com.projectmaster.app.workflow.entity.WorkflowStage;
-import com.projectmaster.app.workflow.entity.WorkflowTask;
-import com.projectmaster.app.workflow.entity.WorkflowStep;
-import com.projectmaster.app.workflow.entity.WorkflowDependency;
-import com.projectmaster.app.workflow.entity.WorkflowStepRequirement;
-import com.projectmaster.app.workflow.entity.DependencyEntityType;
-import com.projectmaster.app.workflow.entity.DependencyType;
+import com.projectmaster.app.workflow.repository.WorkflowTemplateCopier;
 import com.projectmaster.app.workflow.repository.WorkflowTemplateRepository;
-import com.projectmaster.app.workflow.repository.WorkflowStageRepository;
-import com.projectmaster.app.workflow.repository.WorkflowTaskRepository;
-import com.projectmaster.app.workflow.repository.WorkflowStepRepository;
-import com.projectmaster.app.workflow.repository.WorkflowDependencyRepository;
-import com.projectmaster.app.workflow.repository.WorkflowStepRequirementRepository;
 import com.projectmaster.app.company.entity.Company;
-import com.projectmaster.app.consumable.entity.ConsumableCategory;
-import com.projectmaster.app.workflow.entity.Specialty;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -24,7 +11,6 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -39,28 +25,13 @@ class WorkflowTemplateCloneServiceTest {
     private WorkflowTemplateRepository workflowTemplateRepository;
     
     @Mock
-    private WorkflowStageRepository workflowStageRepository;
-    
-    @Mock
-    private WorkflowTaskRepository workflowTaskRepository;
-    
-    @Mock
-    private WorkflowStepRepository workflowStepRepository;
-    
-    @Mock
-    private WorkflowDependencyRepository workflowDependencyRepository;
-    
-    @Mock
-    private WorkflowStepRequirementRepository workflowStepRequirementRepository;
+    private WorkflowTemplateCopier workflowTemplateCopier;
 
     @InjectMocks
     private WorkflowTemplateCloneService cloneService;
 
     private WorkflowTemplate sourceTemplate;
     private Company company;
-    private WorkflowStage sourceStage;
-    private WorkflowTask sourceTask;
-    private WorkflowStep sourceStep;
 
     @BeforeEach
     void setUp() {
@@ -79,37 +50,7 @@ class WorkflowTemplateCloneServiceTest {
                 .isDefault(false)
                 .version(1)
                 .build();
-
-        // Create source stage
-        sourceStage = WorkflowStage.builder()
-                .workflowTemplate(sourceTemplate)
-                .name("Foundation Stage")
-                .description("Foundation work")
-                .orderIndex(1)
-                .parallelExecution(false)
-                .requiredApprovals(0)
-                .estimatedDurationDays(10)
-                .version(1)
-                .build();
-
-        // Create source task
-        sourceTask = WorkflowTask.builder()
-                .workflowStage(sourceStage)
-                .name("Excavation Task")
-                .description("Excavation work")
-                .estimatedDays(5)
-                .version(1)
-                .build();
-
-        // Create source step
-        sourceStep = WorkflowStep.builder()
-                .workflowTask(sourceTask)
-                .name("Site Survey")
-                .description("Survey the site")
-                .estimatedDays(1)
-                .specialty(Specialty.builder().specialtyName("Surveyor").specialtyType("Construction").build())
-                .version(1)
-                .build();
+        sourceTemplate.setId(UUID.randomUUID());
     }
 
     @Test
@@ -122,49 +63,20 @@ class WorkflowTemplateCloneServiceTest {
                 .thenReturn(Optional.of(sourceTemplate));
         when(workflowTemplateRepository.existsByCompanyIdAndNameAndActiveTrue(company.getId(), newTemplateName))
                 .thenReturn(false);
-        when(workflowTemplateRepository.save(any(WorkflowTemplate.class)))
-                .thenReturn(WorkflowTemplate.builder()
-                        .company(company)
-                        .name(newTemplateName)
-                        .description(newDescription)
-                        .category("Construction")
-                        .active(true)
-                        .isDefault(false)
-                        .version(1)
-                        .build());
-
-        when(workflowStageRepository.findByWorkflowTemplateIdOrderByOrderIndex(sourceTemplate.getId()))
-                .thenReturn(List.of(sourceStage));
-        when(workflowStageRepository.save(any(WorkflowStage.class)))
-                .thenReturn(WorkflowStage.builder()
-                        .workflowTemplate(sourceTemplate)
-                        .name("Foundation Stage")
-                        .description("Foundation work")
-                        .orderIndex(1)
-                        .build());
-
-        when(workflowTaskRepository.findByWorkflowStageIdOrderByCreatedAt(sourceStage.getId()))
-                .thenReturn(List.of(sourceTask));
-        when(workflowTaskRepository.save(any(WorkflowTask.class)))
-                .thenReturn(WorkflowTask.builder()
-                        .workflowStage(sourceStage)
-                        .name("Excavation Task")
-                        .description("Excavation work")
-                        .build());
-
-        when(workflowStepRepository.findByWorkflowTaskIdOrderByCreatedAt(sourceTask.getId()))
-                .thenReturn(List.of(sourceStep));
-        when(workflowStepRepository.save(any(WorkflowStep.class)))
-                .thenReturn(WorkflowStep.builder()
-                        .workflowTask(sourceTask)
-                        .name("Site Survey")
-                        .description("Survey the site")
-                        .build());
-
-        when(workflowStepRequirementRepository.findByWorkflowStepIdOrderByDisplayOrder(any()))
-                .thenReturn(List.of());
-        when(workflowDependencyRepository.findByWorkflowTemplateIdAndDependentEntityType(any(), any()))
-                .thenReturn(List.of());
+        WorkflowTemplate savedTemplate = WorkflowTemplate.builder()
+                .company(company)
+                .name(newTemplateName)
+                .description(newDescription)
+                .category("Construction")
+                .active(true)
+                .isDefault(false)
+                .version(1)
+                .build();
+        savedTemplate.setId(UUID.randomUUID());
+        when(workflowTemplateRepository.saveAndFlush(any(WorkflowTemplate.class)))
+                .thenReturn(savedTemplate);
+        when(workflowTemplateCopier.copyTemplateTree(sourceTemplate.getId(), savedTemplate.getId()))
+                .thenReturn(new WorkflowTemplateCopier.CopiedTree(1, 1, 1, 0, 0));
 
         // Act
         WorkflowTemplate result = cloneService.cloneTemplateWithinCompany(
@@ -180,13 +92,8 @@ class WorkflowTemplateCloneServiceTest {
         // Verify repository interactions
         verify(workflowTemplateRepository).findById(sourceTemplate.getId());
         verify(workflowTemplateRepository).existsByCompanyIdAndNameAndActiveTrue(company.getId(), newTemplateName);
-        verify(workflowTemplateRepository).save(any(WorkflowTemplate.class));
-        verify(workflowStageRepository).findByWorkflowTemplateIdOrderByOrderIndex(sourceTemplate.getId());
-        verify(workflowStageRepository).save(any(WorkflowStage.class));
-        verify(workflowTaskRepository).findByWorkflowStageIdOrderByCreatedAt(sourceStage.getId());
-        verify(workflowTaskRepository).save(any(WorkflowTask.class));
-        verify(workflowStepRepository).findByWorkflowTaskIdOrderByCreatedAt(sourceTask.getId());
-        verify(workflowStepRepository).save(any(WorkflowStep.class));
+        verify(workflowTemplateRepository).saveAndFlush(any(WorkflowTemplate.class));
+        verify(workflowTemplateCopier).copyTemplateTree(sourceTemplate.getId(), savedTemplate.getId());
     }
 
     @Test
@@ -217,5 +124,6 @@ class WorkflowTemplateCloneServiceTest {
         });
 
         assertEquals("Template with name 'Existing Template' already exists for this company", exception.getMessage());
+        verifyNoInteractions(workflowTemplateCopier);
     }
 }
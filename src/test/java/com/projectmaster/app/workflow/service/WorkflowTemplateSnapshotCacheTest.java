@@ -0,0 +1,153 @@
+package com.projectmaster.app.workflow.service;
+
+import com.projectmaster.app.workflow.entity.DependencyEntityType;
+import com.projectmaster.app.workflow.entity.DependencyType;
+import com.projectmaster.app.workflow.entity.Specialty;
+import com.projectmaster.app.workflow.entity.WorkflowDependency;
+import com.projectmaster.app.workflow.entity.WorkflowStage;
+import com.projectmaster.app.workflow.entity.WorkflowStep;
+import com.projectmaster.app.workflow.entity.WorkflowTask;
+import com.projectmaster.app.workflow.entity.WorkflowTemplate;
+import com.projectmaster.app.workflow.repository.StandardWorkflowDependencyRepository;
+import com.projectmaster.app.workflow.repository.StandardWorkflowStageRepository;
+import com.projectmaster.app.workflow.repository.StandardWorkflowStepRepository;
+import com.projectmaster.app.workflow.repository.StandardWorkflowStepRequirementRepository;
+import com.projectmaster.app.workflow.repository.StandardWorkflowTaskRepository;
+import com.projectmaster.app.workflow.repository.WorkflowDependencyRepository;
+import com.projectmaster.app.workflow.repository.WorkflowStageRepository;
+import com.projectmaster.app.workflow.repository.WorkflowStepRepository;
+import com.projectmaster.app.workflow.repository.WorkflowStepRequirementRepository;
+import com.projectmaster.app.workflow.repository.WorkflowTaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WorkflowTemplateSnapshotCacheTest {
+
+    @Mock
+    private WorkflowStageRepository workflowStageRepository;
+
+    @Mock
+    private WorkflowTaskRepository workflowTaskRepository;
+
+    @Mock
+    private WorkflowStepRepository workflowStepRepository;
+
+    @Mock
+    private WorkflowStepRequirementRepository workflowStepRequirementRepository;
+
+    @Mock
+    private WorkflowDependencyRepository workflowDependencyRepository;
+
+    @Mock
+    private StandardWorkflowStageRepository standardWorkflowStageRepository;
+
+    @Mock
+    private StandardWorkflowTaskRepository standardWorkflowTaskRepository;
+
+    @Mock
+    private StandardWorkflowStepRepository standardWorkflowStepRepository;
+
+    @Mock
+    private StandardWorkflowStepRequirementRepository standardWorkflowStepRequirementRepository;
+
+    @Mock
+    private StandardWorkflowDependencyRepository standardWorkflowDependencyRepository;
+
+    @InjectMocks
+    private WorkflowTemplateSnapshotCache cache;
+
+    private WorkflowTemplate template;
+    private WorkflowStep firstStep;
+    private WorkflowStep secondStep;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 600L);
+        ReflectionTestUtils.setField(cache, "maxEntries", 100);
+        cache.init();
+
+        template = WorkflowTemplate.builder().name("House").version(2).build();
+        template.setId(UUID.randomUUID());
+        WorkflowStage stage = WorkflowStage.builder().workflowTemplate(template).name("Frame").orderIndex(1).build();
+        stage.setId(UUID.randomUUID());
+        WorkflowTask task = WorkflowTask.builder().workflowStage(stage).name("Walls").build();
+        task.setId(UUID.randomUUID());
+        Specialty specialty = Specialty.builder().specialtyName("Carpenter").build();
+        specialty.setId(UUID.randomUUID());
+        firstStep = WorkflowStep.builder().workflowTask(task).name("Frame walls").specialty(specialty).build();
+        firstStep.setId(UUID.randomUUID());
+        secondStep = WorkflowStep.builder().workflowTask(task).name("Brace walls").specialty(specialty).build();
+        secondStep.setId(UUID.randomUUID());
+        WorkflowDependency dependency = WorkflowDependency.builder()
+                .workflowTemplateId(template.getId())
+                .dependentEntityType(DependencyEntityType.STEP)
+                .dependentEntityId(secondStep.getId())
+                .dependsOnEntityType(DependencyEntityType.STEP)
+                .dependsOnEntityId(firstStep.getId())
+                .dependencyType(DependencyType.FINISH_TO_START)
+                .build();
+
+        lenient().when(workflowStageRepository.findByWorkflowTemplateIdOrderByOrderIndex(template.getId()))
+                .thenReturn(List.of(stage));
+        lenient().when(workflowTaskRepository.findByWorkflowTemplateIdOrderByStageAndTaskOrder(template.getId()))
+                .thenReturn(List.of(task));
+        lenient().when(workflowStepRepository.findByWorkflowTemplateId(template.getId()))
+                .thenReturn(List.of(firstStep, secondStep));
+        lenient().when(workflowStepRequirementRepository.findByWorkflowTemplateIdOrderByDisplayOrder(template.getId()))
+                .thenReturn(List.of());
+        lenient().when(workflowDependencyRepository.findByWorkflowTemplateId(template.getId()))
+                .thenReturn(List.of(dependency));
+    }
+
+    @Test
+    void get_BuildsTreeFromOneQueryPerLevel() {
+        WorkflowTemplateSnapshot snapshot = cache.get(template);
+
+        assertEquals(2, snapshot.version());
+        assertEquals(1, snapshot.stages().size());
+        WorkflowTemplateSnapshot.Task task = snapshot.stages().get(0).tasks().get(0);
+        assertEquals(List.of("Frame walls", "Brace walls"),
+                task.steps().stream().map(WorkflowTemplateSnapshot.Step::name).toList());
+        assertEquals(firstStep.getSpecialty().getId(), task.steps().get(0).specialtyId());
+        assertEquals(firstStep.getId(), snapshot.dependencies().get(0).dependsOnEntityId());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.stages().clear());
+
+        verify(workflowStepRepository, times(1)).findByWorkflowTemplateId(template.getId());
+    }
+
+    @Test
+    void get_ReusesSnapshotUntilVersionChanges() {
+        WorkflowTemplateSnapshot first = cache.get(template);
+        assertSame(first, cache.get(template));
+        verify(workflowStageRepository, times(1)).findByWorkflowTemplateIdOrderByOrderIndex(template.getId());
+
+        template.setVersion(3);
+        WorkflowTemplateSnapshot reloaded = cache.get(template);
+
+        assertNotSame(first, reloaded);
+        assertEquals(3, reloaded.version());
+        verify(workflowStageRepository, times(2)).findByWorkflowTemplateIdOrderByOrderIndex(template.getId());
+    }
+
+    @Test
+    void evict_ForcesReload() {
+        WorkflowTemplateSnapshot first = cache.get(template);
+
+        cache.evict(template.getId());
+
+        assertNotSame(first, cache.get(template));
+        verify(workflowStageRepository, times(2)).findByWorkflowTemplateIdOrderByOrderIndex(template.getId());
+    }
+}